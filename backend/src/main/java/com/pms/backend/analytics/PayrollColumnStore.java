@@ -0,0 +1,507 @@
+package com.pms.backend.analytics;
+
+import com.pms.backend.event.EmployeeDeletedEvent;
+import com.pms.backend.event.PayrollRunLockedEvent;
+import com.pms.backend.repository.PayrollItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * In-process columnar store of locked payroll items
+ *
+ * Locked payroll items are immutable, so they are kept here as primitive columns:
+ * amounts as long cents and department, job role, year and month as int codes.
+ * Department and job role are the ones stamped on the item at lock, so a later transfer of the
+ * employee changes neither this store nor the JPQL reports and cost rollups it agrees with.
+ * Reports scan these arrays instead of re-aggregating payroll_items in MySQL.
+ *
+ * Writers (startup load, run lock, employee delete) are serialized and publish a new
+ * immutable snapshot; readers only ever see a fully built snapshot.
+ */
+@Component
+public class PayrollColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollColumnStore.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final PayrollItemRepository payrollItemRepository;
+    private final boolean enabled;
+
+    // Dictionaries, only touched by writers (guarded by this)
+    private final Map<String, Integer> employeeCodes = new HashMap<>();
+    private final Map<String, Integer> departmentCodes = new HashMap<>();
+    private final Map<String, Integer> jobRoleCodes = new HashMap<>();
+    private final List<String> departmentIds = new ArrayList<>();
+    private final List<String> jobRoleIds = new ArrayList<>();
+    private final Set<String> loadedRunIds = new HashSet<>();
+
+    private volatile Snapshot snapshot = Snapshot.empty();
+    private volatile boolean ready = false;
+
+    @Autowired
+    public PayrollColumnStore(PayrollItemRepository payrollItemRepository,
+                              @Value("${reports.analytics.column-store.enabled:true}") boolean enabled) {
+        this.payrollItemRepository = payrollItemRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether reports can be answered from the store
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Number of payroll items currently held
+     */
+    public int size() {
+        return snapshot.size;
+    }
+
+    // ====== LOADING ======
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            logger.info("Payroll column store disabled, reports will query the database");
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Reports keep working from the database; the store is only an accelerator
+            logger.warn("Payroll column store could not be loaded, reports will query the database: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the store from all locked payroll runs
+     */
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        List<Object[]> facts = payrollItemRepository.findLockedPayrollFacts(null);
+
+        employeeCodes.clear();
+        departmentCodes.clear();
+        jobRoleCodes.clear();
+        departmentIds.clear();
+        jobRoleIds.clear();
+        loadedRunIds.clear();
+
+        Builder builder = new Builder(Math.max(INITIAL_CAPACITY, facts.size()));
+        for (Object[] fact : facts) {
+            loadedRunIds.add((String) fact[0]);
+            builder.add(fact);
+        }
+        snapshot = builder.build();
+        ready = true;
+
+        logger.info("Payroll column store loaded {} items from {} locked runs in {} ms",
+                snapshot.size, loadedRunIds.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Append the items of a newly locked run once the lock has committed
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPayrollRunLocked(PayrollRunLockedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        appendRun(event.getRunId(), payrollItemRepository.findLockedPayrollFacts(event.getRunId()));
+    }
+
+    /**
+     * Drop the items of a deleted employee (payroll_items cascade on employee delete)
+     */
+    @TransactionalEventListener
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        if (isReady()) {
+            removeEmployee(event.getEmployeeId());
+        }
+    }
+
+    synchronized void appendRun(String runId, List<Object[]> facts) {
+        if (!loadedRunIds.add(runId) || facts.isEmpty()) {
+            return;
+        }
+
+        Snapshot current = snapshot;
+        Builder builder = new Builder(current, current.size + facts.size());
+        for (Object[] fact : facts) {
+            builder.add(fact);
+        }
+        snapshot = builder.build();
+
+        logger.debug("Payroll column store appended {} items for run {}", facts.size(), runId);
+    }
+
+    synchronized void removeEmployee(String employeeId) {
+        Integer code = employeeCodes.get(employeeId);
+        if (code == null) {
+            return;
+        }
+
+        Snapshot current = snapshot;
+        Builder builder = new Builder(Math.max(INITIAL_CAPACITY, current.size));
+        for (int i = 0; i < current.size; i++) {
+            if (current.employee[i] != code) {
+                builder.copyRow(current, i);
+            }
+        }
+        snapshot = builder.build();
+    }
+
+    // ====== QUERIES ======
+
+    /**
+     * Aggregate locked payroll costs by department
+     * Filters follow the department cost report: all optional, combined with AND
+     * @return one aggregate per department with data, in no particular order
+     */
+    public List<Aggregate> aggregateByDepartment(Integer year, Integer month, Integer startYear, Integer endYear) {
+        Snapshot s = snapshot;
+        int minYear = Integer.MIN_VALUE;
+        int maxYear = Integer.MAX_VALUE;
+        if (year != null) {
+            minYear = maxYear = year;
+        }
+        if (startYear != null) {
+            minYear = Math.max(minYear, startYear);
+        }
+        if (endYear != null) {
+            maxYear = Math.min(maxYear, endYear);
+        }
+        int wantedMonth = month != null ? month : -1;
+
+        int departments = s.departmentIds.length;
+        long[] base = new long[departments];
+        long[] bonus = new long[departments];
+        long[] deductions = new long[departments];
+        long[] net = new long[departments];
+        BitSet[] employees = new BitSet[departments];
+
+        for (int i = 0; i < s.size; i++) {
+            int y = s.year[i];
+            if (y < minYear || y > maxYear || (wantedMonth >= 0 && s.month[i] != wantedMonth)) {
+                continue;
+            }
+            int d = s.department[i];
+            if (d < 0) {
+                continue;
+            }
+            base[d] += s.base[i];
+            bonus[d] += s.bonus[i];
+            deductions[d] += s.deductions[i];
+            net[d] += s.net[i];
+            if (employees[d] == null) {
+                employees[d] = new BitSet();
+            }
+            employees[d].set(s.employee[i]);
+        }
+
+        List<Aggregate> result = new ArrayList<>();
+        for (int d = 0; d < departments; d++) {
+            if (employees[d] != null) {
+                result.add(new Aggregate(s.departmentIds[d], null, null, employees[d].cardinality(),
+                        base[d], bonus[d], deductions[d], net[d]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Aggregate locked payroll costs by run period (year and month)
+     * A period has exactly one run and each employee appears once per run,
+     * so the item count is the distinct employee count
+     * @return one aggregate per period with data, in no particular order
+     */
+    public List<Aggregate> aggregateByMonth(Integer startYear, Integer endYear) {
+        Snapshot s = snapshot;
+        if (s.size == 0) {
+            return new ArrayList<>();
+        }
+        int minYear = startYear != null ? Math.max(startYear, s.minYear) : s.minYear;
+        int maxYear = endYear != null ? Math.min(endYear, s.maxYear) : s.maxYear;
+        if (minYear > maxYear) {
+            return new ArrayList<>();
+        }
+
+        int periods = (maxYear - minYear + 1) * 12;
+        long[] count = new long[periods];
+        long[] base = new long[periods];
+        long[] bonus = new long[periods];
+        long[] deductions = new long[periods];
+        long[] net = new long[periods];
+
+        for (int i = 0; i < s.size; i++) {
+            int y = s.year[i];
+            if (y < minYear || y > maxYear) {
+                continue;
+            }
+            int p = (y - minYear) * 12 + s.month[i] - 1;
+            count[p]++;
+            base[p] += s.base[i];
+            bonus[p] += s.bonus[i];
+            deductions[p] += s.deductions[i];
+            net[p] += s.net[i];
+        }
+
+        List<Aggregate> result = new ArrayList<>();
+        for (int p = 0; p < periods; p++) {
+            if (count[p] > 0) {
+                result.add(new Aggregate(null, minYear + p / 12, p % 12 + 1, count[p],
+                        base[p], bonus[p], deductions[p], net[p]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Aggregated payroll amounts for one department or one period
+     */
+    public static final class Aggregate {
+
+        private final String departmentId;
+        private final Integer year;
+        private final Integer month;
+        private final long employeeCount;
+        private final long baseCents;
+        private final long bonusCents;
+        private final long deductionCents;
+        private final long netCents;
+
+        Aggregate(String departmentId, Integer year, Integer month, long employeeCount,
+                  long baseCents, long bonusCents, long deductionCents, long netCents) {
+            this.departmentId = departmentId;
+            this.year = year;
+            this.month = month;
+            this.employeeCount = employeeCount;
+            this.baseCents = baseCents;
+            this.bonusCents = bonusCents;
+            this.deductionCents = deductionCents;
+            this.netCents = netCents;
+        }
+
+        public String getDepartmentId() {
+            return departmentId;
+        }
+
+        public Integer getYear() {
+            return year;
+        }
+
+        public Integer getMonth() {
+            return month;
+        }
+
+        public long getEmployeeCount() {
+            return employeeCount;
+        }
+
+        public BigDecimal getTotalBaseSalary() {
+            return BigDecimal.valueOf(baseCents, 2);
+        }
+
+        public BigDecimal getTotalBonus() {
+            return BigDecimal.valueOf(bonusCents, 2);
+        }
+
+        public BigDecimal getTotalDeductions() {
+            return BigDecimal.valueOf(deductionCents, 2);
+        }
+
+        public BigDecimal getTotalNetSalary() {
+            return BigDecimal.valueOf(netCents, 2);
+        }
+
+        public long getNetCents() {
+            return netCents;
+        }
+    }
+
+    // ====== INTERNALS ======
+
+    private static long toCents(Object amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return ((BigDecimal) amount).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static int encode(String key, Map<String, Integer> codes, List<String> keys) {
+        if (key == null) {
+            return -1;
+        }
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = keys.size();
+            codes.put(key, code);
+            keys.add(key);
+        }
+        return code;
+    }
+
+    /**
+     * Immutable view of the columns; arrays may be longer than size
+     */
+    private static final class Snapshot {
+        final int size;
+        final int[] employee;
+        final int[] department;
+        final int[] jobRole;
+        final int[] year;
+        final int[] month;
+        final long[] base;
+        final long[] bonus;
+        final long[] deductions;
+        final long[] net;
+        final String[] departmentIds;
+        final int minYear;
+        final int maxYear;
+
+        Snapshot(int size, int[] employee, int[] department, int[] jobRole, int[] year, int[] month,
+                 long[] base, long[] bonus, long[] deductions, long[] net,
+                 String[] departmentIds, int minYear, int maxYear) {
+            this.size = size;
+            this.employee = employee;
+            this.department = department;
+            this.jobRole = jobRole;
+            this.year = year;
+            this.month = month;
+            this.base = base;
+            this.bonus = bonus;
+            this.deductions = deductions;
+            this.net = net;
+            this.departmentIds = departmentIds;
+            this.minYear = minYear;
+            this.maxYear = maxYear;
+        }
+
+        static Snapshot empty() {
+            return new Snapshot(0, new int[0], new int[0], new int[0], new int[0], new int[0],
+                    new long[0], new long[0], new long[0], new long[0], new String[0],
+                    Integer.MAX_VALUE, Integer.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Fills columns for a new snapshot; only used while holding the store lock
+     */
+    private final class Builder {
+        int size;
+        int[] employee;
+        int[] department;
+        int[] jobRole;
+        int[] year;
+        int[] month;
+        long[] base;
+        long[] bonus;
+        long[] deductions;
+        long[] net;
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+
+        Builder(int capacity) {
+            employee = new int[capacity];
+            department = new int[capacity];
+            jobRole = new int[capacity];
+            year = new int[capacity];
+            month = new int[capacity];
+            base = new long[capacity];
+            bonus = new long[capacity];
+            deductions = new long[capacity];
+            net = new long[capacity];
+        }
+
+        /**
+         * Continue from the rows of an existing snapshot, sharing its arrays when they have room.
+         * Writing past its size is safe: readers of the old snapshot never look beyond it.
+         */
+        Builder(Snapshot current, int capacity) {
+            size = current.size;
+            employee = current.employee;
+            department = current.department;
+            jobRole = current.jobRole;
+            year = current.year;
+            month = current.month;
+            base = current.base;
+            bonus = current.bonus;
+            deductions = current.deductions;
+            net = current.net;
+            minYear = current.minYear;
+            maxYear = current.maxYear;
+            ensureCapacity(capacity);
+        }
+
+        void add(Object[] fact) {
+            ensureCapacity(size + 1);
+            employee[size] = employeeCodes.computeIfAbsent((String) fact[1], id -> employeeCodes.size());
+            department[size] = encode((String) fact[2], departmentCodes, departmentIds);
+            jobRole[size] = encode((String) fact[3], jobRoleCodes, jobRoleIds);
+            setPeriod(((Number) fact[4]).intValue(), ((Number) fact[5]).intValue());
+            base[size] = toCents(fact[6]);
+            bonus[size] = toCents(fact[7]);
+            deductions[size] = toCents(fact[8]);
+            net[size] = toCents(fact[9]);
+            size++;
+        }
+
+        void copyRow(Snapshot from, int i) {
+            ensureCapacity(size + 1);
+            employee[size] = from.employee[i];
+            department[size] = from.department[i];
+            jobRole[size] = from.jobRole[i];
+            setPeriod(from.year[i], from.month[i]);
+            base[size] = from.base[i];
+            bonus[size] = from.bonus[i];
+            deductions[size] = from.deductions[i];
+            net[size] = from.net[i];
+            size++;
+        }
+
+        private void setPeriod(int y, int m) {
+            year[size] = y;
+            month[size] = m;
+            minYear = Math.min(minYear, y);
+            maxYear = Math.max(maxYear, y);
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= employee.length) {
+                return;
+            }
+            int capacity = Math.max(required, employee.length * 2);
+            employee = Arrays.copyOf(employee, capacity);
+            department = Arrays.copyOf(department, capacity);
+            jobRole = Arrays.copyOf(jobRole, capacity);
+            year = Arrays.copyOf(year, capacity);
+            month = Arrays.copyOf(month, capacity);
+            base = Arrays.copyOf(base, capacity);
+            bonus = Arrays.copyOf(bonus, capacity);
+            deductions = Arrays.copyOf(deductions, capacity);
+            net = Arrays.copyOf(net, capacity);
+        }
+
+        Snapshot build() {
+            return new Snapshot(size, employee, department, jobRole, year, month,
+                    base, bonus, deductions, net, departmentIds.toArray(new String[0]), minYear, maxYear);
+        }
+    }
+}
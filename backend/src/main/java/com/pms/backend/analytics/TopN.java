@@ -0,0 +1,51 @@
+package com.pms.backend.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded-heap top-N selection for in-memory report sources
+ * Only offset + limit candidates are kept, so selecting a page out of n items
+ * costs O(n log(offset + limit)) time and O(offset + limit) memory instead of a full sort
+ */
+public final class TopN {
+    
+    private TopN() {}
+    
+    /**
+     * Select the items ranked offset .. offset + limit - 1
+     * @param source Items to rank (iterated once)
+     * @param order Ranking order, best first
+     * @param offset Number of top items to skip
+     * @param limit Maximum number of items to return
+     * @return Selected items in ranking order
+     */
+    public static <T> List<T> select(Iterable<T> source, Comparator<? super T> order, int offset, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Summed as long: offset + limit can overflow int, and the heap never outgrows the source anyway
+        int capacity = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        
+        // Root is the worst item kept so far
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(capacity, 1024), Collections.reverseOrder(order));
+        for (T item : source) {
+            if (heap.size() < capacity) {
+                heap.add(item);
+            } else if (order.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        
+        List<T> ranked = new ArrayList<>(heap);
+        ranked.sort(order);
+        if (offset >= ranked.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(ranked.subList(offset, ranked.size()));
+    }
+}
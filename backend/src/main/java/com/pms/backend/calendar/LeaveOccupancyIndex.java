@@ -0,0 +1,203 @@
+package com.pms.backend.calendar;
+
+import com.pms.backend.dto.leave.TeamAvailabilityDto;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.event.EmployeeDeletedEvent;
+import com.pms.backend.event.EmployeesChangedEvent;
+import com.pms.backend.event.LeaveRequestsChangedEvent;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory team availability calendar: pending and approved leave as per-employee day bitsets
+ *
+ * Loaded at startup with all leave ending on or after today minus the lookback, then kept current
+ * from leave and employee change events after each commit. Windows starting before the loaded
+ * origin, or any window while the index is not loaded, are answered by building the same
+ * calendar from a database query. Writers hold the write lock, reads share the read lock.
+ */
+@Component
+public class LeaveOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveOccupancyIndex.class);
+
+    private static final int RELOAD_CHUNK = 1000;
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final int lookbackDays;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; replaced on reload
+    private OccupancyCalendar calendar;
+
+    private volatile boolean ready = false;
+
+    @Autowired
+    public LeaveOccupancyIndex(LeaveRequestRepository leaveRequestRepository,
+                               EmployeeRepository employeeRepository,
+                               @Value("${leave.calendar.index.enabled:true}") boolean enabled,
+                               @Value("${leave.calendar.index.lookback-days:92}") int lookbackDays) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.lookbackDays = lookbackDays;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    // ====== LOADING ======
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            logger.info("Leave occupancy index disabled, availability will query the database");
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Availability keeps working from the database; the index is only an accelerator
+            logger.warn("Leave occupancy index could not be loaded, availability will query the database: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the calendar from pending and approved leave ending on or after today minus the lookback
+     */
+    public void reload() {
+        long started = System.nanoTime();
+        LocalDate origin = LocalDate.now().minusDays(lookbackDays);
+        OccupancyCalendar loaded = new OccupancyCalendar(origin);
+        List<Object[]> rows = leaveRequestRepository.findOccupancy(null, origin, null);
+        rows.forEach(loaded::put);
+
+        lock.writeLock().lock();
+        try {
+            calendar = loaded;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Leave occupancy index loaded {} leave requests for {} employees from {} in {} ms",
+                loaded.leaveCount(), loaded.employeeCount(), origin, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // ====== MAINTENANCE ======
+
+    /**
+     * Re-read applied, decided or cancelled leave once the change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onLeaveRequestsChanged(LeaveRequestsChangedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        List<String> leaveIds = event.getLeaveIds();
+        for (int from = 0; from < leaveIds.size(); from += RELOAD_CHUNK) {
+            List<String> chunk = leaveIds.subList(from, Math.min(from + RELOAD_CHUNK, leaveIds.size()));
+            List<Object[]> rows = leaveRequestRepository.findOccupancyByLeaveIdIn(chunk);
+
+            lock.writeLock().lock();
+            try {
+                chunk.forEach(calendar::remove);
+                rows.forEach(calendar::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Follow renames and department moves of employees that have leave in the calendar
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        List<String> known = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String employeeId : event.getEmployeeIds()) {
+                if (calendar.hasEmployee(employeeId)) {
+                    known.add(employeeId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (known.isEmpty()) {
+            return;
+        }
+
+        List<Employee> employees = employeeRepository.findAllById(known);
+        lock.writeLock().lock();
+        try {
+            for (Employee employee : employees) {
+                calendar.updateEmployee(employee.getEmployeeId(),
+                        employee.getFirstName() + " " + employee.getLastName(), employee.getDepartmentId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            calendar.removeEmployee(event.getEmployeeId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ====== QUERIES ======
+
+    /**
+     * Who in the department is on pending or approved leave, per day of [fromDate, toDate]
+     */
+    public TeamAvailabilityDto availability(String departmentId, LocalDate fromDate, LocalDate toDate) {
+        if (isReady()) {
+            lock.readLock().lock();
+            try {
+                if (!fromDate.isBefore(calendar.origin())) {
+                    return calendar.availability(departmentId, fromDate, toDate);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Not loaded, or the window starts before the loaded days: same calendar, built for this window only
+        OccupancyCalendar window = new OccupancyCalendar(fromDate);
+        leaveRequestRepository.findOccupancy(departmentId, fromDate, toDate).forEach(window::put);
+        return window.availability(departmentId, fromDate, toDate);
+    }
+}
@@ -0,0 +1,228 @@
+package com.pms.backend.calendar;
+
+import com.pms.backend.dto.leave.AbsenteeDto;
+import com.pms.backend.dto.leave.DayAvailabilityDto;
+import com.pms.backend.dto.leave.TeamAvailabilityDto;
+import com.pms.backend.entity.enums.LeaveStatus;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Day-occupancy of pending and approved leave, grouped by department
+ *
+ * Each employee with leave holds two bitsets (approved, pending) where bit i is the day
+ * originDay + i. The bits are rebuilt from the employee's few leave spans on every change,
+ * so overlapping or replaced spans never leave stale days behind. Days before originDay are
+ * not represented. Not thread-safe; LeaveOccupancyIndex guards it with a lock.
+ */
+class OccupancyCalendar {
+
+    private final long originDay;
+    private final Map<String, Map<String, EmployeeDays>> employeesByDepartment = new HashMap<>();
+    private final Map<String, EmployeeDays> employees = new HashMap<>();
+    private final Map<String, EmployeeDays> employeeByLeaveId = new HashMap<>();
+
+    OccupancyCalendar(LocalDate origin) {
+        this.originDay = origin.toEpochDay();
+    }
+
+    LocalDate origin() {
+        return LocalDate.ofEpochDay(originDay);
+    }
+
+    int employeeCount() {
+        return employees.size();
+    }
+
+    int leaveCount() {
+        return employeeByLeaveId.size();
+    }
+
+    boolean hasEmployee(String employeeId) {
+        return employees.containsKey(employeeId);
+    }
+
+    /**
+     * Add or replace a leave span from a findOccupancy row
+     * Row: leaveId, employeeId, startDate, endDate, status, firstName, lastName, departmentId
+     */
+    void put(Object[] row) {
+        put((String) row[0], (String) row[1], (LocalDate) row[2], (LocalDate) row[3], (LeaveStatus) row[4],
+                row[5] + " " + row[6], (String) row[7]);
+    }
+
+    void put(String leaveId, String employeeId, LocalDate startDate, LocalDate endDate, LeaveStatus status,
+             String employeeName, String departmentId) {
+        remove(leaveId);
+        if (status != LeaveStatus.Pending && status != LeaveStatus.Approved) {
+            return;
+        }
+        if (endDate.toEpochDay() < originDay || departmentId == null) {
+            return;
+        }
+
+        EmployeeDays days = employees.get(employeeId);
+        if (days == null) {
+            days = new EmployeeDays(employeeId);
+            employees.put(employeeId, days);
+        }
+        moveEmployee(days, employeeName, departmentId);
+        days.spans.put(leaveId, new Span(startDate.toEpochDay(), endDate.toEpochDay(), status));
+        days.rebuild(originDay);
+        employeeByLeaveId.put(leaveId, days);
+    }
+
+    void remove(String leaveId) {
+        EmployeeDays days = employeeByLeaveId.remove(leaveId);
+        if (days == null) {
+            return;
+        }
+        days.spans.remove(leaveId);
+        if (days.spans.isEmpty()) {
+            removeEmployee(days.employeeId);
+        } else {
+            days.rebuild(originDay);
+        }
+    }
+
+    /**
+     * Follow a rename or department change of an employee who has leave in the calendar
+     */
+    void updateEmployee(String employeeId, String employeeName, String departmentId) {
+        EmployeeDays days = employees.get(employeeId);
+        if (days == null) {
+            return;
+        }
+        if (departmentId == null) {
+            removeEmployee(employeeId);
+        } else {
+            moveEmployee(days, employeeName, departmentId);
+        }
+    }
+
+    void removeEmployee(String employeeId) {
+        EmployeeDays days = employees.remove(employeeId);
+        if (days == null) {
+            return;
+        }
+        days.spans.keySet().forEach(employeeByLeaveId::remove);
+        Map<String, EmployeeDays> department = employeesByDepartment.get(days.departmentId);
+        if (department != null) {
+            department.remove(employeeId);
+            if (department.isEmpty()) {
+                employeesByDepartment.remove(days.departmentId);
+            }
+        }
+    }
+
+    /**
+     * Absences per day of [fromDate, toDate]; fromDate must not be before the origin
+     * Only the department's employees with leave are visited, and for each only the set
+     * bits inside the window.
+     */
+    TeamAvailabilityDto availability(String departmentId, LocalDate fromDate, LocalDate toDate) {
+        int first = (int) (fromDate.toEpochDay() - originDay);
+        int dayCount = (int) (toDate.toEpochDay() - fromDate.toEpochDay()) + 1;
+        if (first < 0) {
+            throw new IllegalArgumentException("Window starts before the calendar origin " + origin());
+        }
+
+        TeamAvailabilityDto result = new TeamAvailabilityDto();
+        result.setDepartmentId(departmentId);
+        result.setFromDate(fromDate);
+        result.setToDate(toDate);
+        List<DayAvailabilityDto> days = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            days.add(new DayAvailabilityDto(fromDate.plusDays(i)));
+        }
+        result.setDays(days);
+
+        Map<String, EmployeeDays> department = employeesByDepartment.get(departmentId);
+        if (department == null) {
+            return result;
+        }
+        for (EmployeeDays employee : department.values()) {
+            collect(employee, employee.approved, LeaveStatus.Approved, first, dayCount, days);
+            collect(employee, employee.pending, LeaveStatus.Pending, first, dayCount, days);
+        }
+
+        Comparator<AbsenteeDto> byName = Comparator.comparing(AbsenteeDto::getEmployeeName,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)).thenComparing(AbsenteeDto::getEmployeeId);
+        for (DayAvailabilityDto day : days) {
+            day.getAbsentees().sort(byName);
+        }
+        return result;
+    }
+
+    private void collect(EmployeeDays employee, BitSet bits, LeaveStatus status, int first, int dayCount,
+                         List<DayAvailabilityDto> days) {
+        int end = first + dayCount;
+        for (int bit = bits.nextSetBit(first); bit >= 0 && bit < end; bit = bits.nextSetBit(bit + 1)) {
+            DayAvailabilityDto day = days.get(bit - first);
+            if (status == LeaveStatus.Approved) {
+                day.setAbsentCount(day.getAbsentCount() + 1);
+            } else {
+                day.setPendingCount(day.getPendingCount() + 1);
+            }
+            day.getAbsentees().add(new AbsenteeDto(employee.employeeId, employee.name, status));
+        }
+    }
+
+    private void moveEmployee(EmployeeDays days, String employeeName, String departmentId) {
+        days.name = employeeName;
+        if (departmentId.equals(days.departmentId)) {
+            return;
+        }
+        if (days.departmentId != null) {
+            Map<String, EmployeeDays> previous = employeesByDepartment.get(days.departmentId);
+            previous.remove(days.employeeId);
+            if (previous.isEmpty()) {
+                employeesByDepartment.remove(days.departmentId);
+            }
+        }
+        days.departmentId = departmentId;
+        employeesByDepartment.computeIfAbsent(departmentId, key -> new HashMap<>()).put(days.employeeId, days);
+    }
+
+    private static final class EmployeeDays {
+        final String employeeId;
+        final Map<String, Span> spans = new HashMap<>(4);
+        final BitSet approved = new BitSet();
+        final BitSet pending = new BitSet();
+        String name;
+        String departmentId;
+
+        EmployeeDays(String employeeId) {
+            this.employeeId = employeeId;
+        }
+
+        /**
+         * Approved wins over pending if two spans ever cover the same day
+         */
+        void rebuild(long originDay) {
+            approved.clear();
+            pending.clear();
+            for (Span span : spans.values()) {
+                int from = (int) (Math.max(span.startDay, originDay) - originDay);
+                int to = (int) (span.endDay - originDay) + 1;
+                if (to > from) {
+                    (span.status == LeaveStatus.Approved ? approved : pending).set(from, to);
+                }
+            }
+            pending.andNot(approved);
+        }
+    }
+
+    private static final class Span {
+        final long startDay;
+        final long endDay;
+        final LeaveStatus status;
+
+        Span(long startDay, long endDay, LeaveStatus status) {
+            this.startDay = startDay;
+            this.endDay = endDay;
+            this.status = status;
+        }
+    }
+}
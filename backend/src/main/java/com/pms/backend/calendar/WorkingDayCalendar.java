@@ -0,0 +1,127 @@
+package com.pms.backend.calendar;
+
+import com.pms.backend.entity.Holiday;
+import com.pms.backend.event.HolidaysChangedEvent;
+import com.pms.backend.repository.HolidayRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Working days: every day except the weekly off-days and the holidays observed at a location
+ *
+ * For each (location, year) a prefix table is built once: table[i] is the number of working
+ * days among the first i days of the year. A count between two dates is then one subtraction
+ * per calendar year spanned. Tables are built on first use and dropped when holidays change.
+ * A null location means the company-wide calendar (holidays without a location).
+ */
+@Component
+public class WorkingDayCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingDayCalendar.class);
+
+    private static final String COMPANY_WIDE = "";
+
+    private final HolidayRepository holidayRepository;
+    private final Set<DayOfWeek> weeklyOffDays;
+    private final ConcurrentHashMap<String, int[]> tables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WorkingDayCalendar(HolidayRepository holidayRepository,
+                              @Value("${calendar.weekly-off-days:SATURDAY,SUNDAY}") String weeklyOffDays) {
+        this.holidayRepository = holidayRepository;
+        this.weeklyOffDays = parseDays(weeklyOffDays);
+    }
+
+    /**
+     * Company-wide working days in [fromDate, toDate], both inclusive; 0 if fromDate is after toDate
+     */
+    public int workingDaysBetween(LocalDate fromDate, LocalDate toDate) {
+        return workingDaysBetween(fromDate, toDate, null);
+    }
+
+    /**
+     * Working days at a location in [fromDate, toDate], both inclusive; 0 if fromDate is after toDate
+     */
+    public int workingDaysBetween(LocalDate fromDate, LocalDate toDate, String location) {
+        if (fromDate.isAfter(toDate)) {
+            return 0;
+        }
+        int total = 0;
+        for (int year = fromDate.getYear(); year <= toDate.getYear(); year++) {
+            int[] table = table(location, year);
+            int first = year == fromDate.getYear() ? fromDate.getDayOfYear() - 1 : 0;
+            int last = year == toDate.getYear() ? toDate.getDayOfYear() : table.length - 1;
+            total += table[last] - table[first];
+        }
+        return total;
+    }
+
+    public int workingDaysIn(YearMonth month) {
+        return workingDaysBetween(month.atDay(1), month.atEndOfMonth());
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return workingDaysBetween(date, date) == 1;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHolidaysChanged(HolidaysChangedEvent event) {
+        // Location-specific tables of the year go too; there are few and they rebuild on demand
+        String suffix = ":" + event.getYear();
+        tables.keySet().removeIf(key -> key.endsWith(suffix));
+    }
+
+    int cachedTables() {
+        return tables.size();
+    }
+
+    private int[] table(String location, int year) {
+        String key = (location == null ? COMPANY_WIDE : location) + ":" + year;
+        return tables.computeIfAbsent(key, k -> build(location, year));
+    }
+
+    private int[] build(String location, int year) {
+        LocalDate first = LocalDate.ofYearDay(year, 1);
+        int days = first.lengthOfYear();
+        boolean[] off = new boolean[days];
+        for (int i = 0; i < days; i++) {
+            off[i] = weeklyOffDays.contains(first.plusDays(i).getDayOfWeek());
+        }
+
+        int holidays = 0;
+        for (Holiday holiday : holidayRepository.findObservedBetween(location, first, first.plusDays(days - 1))) {
+            off[holiday.getHolidayDate().getDayOfYear() - 1] = true;
+            holidays++;
+        }
+
+        int[] table = new int[days + 1];
+        for (int i = 0; i < days; i++) {
+            table[i + 1] = table[i] + (off[i] ? 0 : 1);
+        }
+        logger.debug("Working-day table for {} {}: {} working days, {} holidays",
+                location == null ? "company" : location, year, table[days], holidays);
+        return table;
+    }
+
+    private static Set<DayOfWeek> parseDays(String days) {
+        Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : days.split(",")) {
+            if (!day.isBlank()) {
+                result.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+package com.pms.backend.config;
+
+import com.pms.backend.datasource.StatementInstrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy that reports every statement to
+ * StatementInstrumentation. Replaces spring.jpa.show-sql, which printed every statement synchronously
+ * without saying which endpoint issued it. Flyway's own pool (with a replica configured) is not wrapped.
+ */
+@Configuration
+public class StatementInstrumentationConfig {
+
+    @Bean
+    public StatementInstrumentation statementInstrumentation(
+            MeterRegistry meterRegistry,
+            @Value("${jdbc.slow-query.threshold-ms:500}") long slowThresholdMillis,
+            @Value("${jdbc.query-budget.max-statements:0}") int statementBudget,
+            @Value("${jdbc.query-budget.action:WARN}") StatementInstrumentation.BudgetAction budgetAction) {
+        return new StatementInstrumentation(meterRegistry, slowThresholdMillis, statementBudget, budgetAction);
+    }
+
+    /**
+     * Static and looking the listener up on first use, so the DataSource is not held back until the
+     * meter registry exists
+     */
+    @Bean
+    public static BeanPostProcessor statementInstrumentationDataSourceWrapper(
+            ObjectProvider<StatementInstrumentation> statementInstrumentation) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new LazyListener(statementInstrumentation))
+                        .build();
+            }
+        };
+    }
+
+    private static final class LazyListener implements QueryExecutionListener {
+        private final ObjectProvider<StatementInstrumentation> provider;
+        private volatile StatementInstrumentation delegate;
+
+        private LazyListener(ObjectProvider<StatementInstrumentation> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            delegate().beforeQuery(execInfo, queryInfoList);
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            delegate().afterQuery(execInfo, queryInfoList);
+        }
+
+        private StatementInstrumentation delegate() {
+            StatementInstrumentation instrumentation = delegate;
+            if (instrumentation == null) {
+                instrumentation = provider.getObject();
+                delegate = instrumentation;
+            }
+            return instrumentation;
+        }
+    }
+}
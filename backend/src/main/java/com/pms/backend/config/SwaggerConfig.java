@@ -1,5 +1,7 @@
 package com.pms.backend.config;
 
+import com.pms.backend.web.CurrentEmployee;
+import com.pms.backend.web.CurrentUser;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import io.swagger.v3.oas.annotations.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
@@ -41,4 +44,9 @@ import org.springframework.context.annotation.Configuration;
     in = SecuritySchemeIn.HEADER
 )
 public class SwaggerConfig {
+
+    static {
+        // Resolved from the token, not sent by clients
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class, CurrentEmployee.class);
+    }
 }
\ No newline at end of file
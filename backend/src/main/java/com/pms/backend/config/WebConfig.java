@@ -0,0 +1,35 @@
+package com.pms.backend.config;
+
+import com.pms.backend.web.CurrentIdentityArgumentResolver;
+import com.pms.backend.web.StatementBudgetInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentIdentityArgumentResolver currentIdentityArgumentResolver;
+    private final StatementBudgetInterceptor statementBudgetInterceptor;
+
+    @Autowired
+    public WebConfig(CurrentIdentityArgumentResolver currentIdentityArgumentResolver,
+                     StatementBudgetInterceptor statementBudgetInterceptor) {
+        this.currentIdentityArgumentResolver = currentIdentityArgumentResolver;
+        this.statementBudgetInterceptor = statementBudgetInterceptor;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentIdentityArgumentResolver);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(statementBudgetInterceptor);
+    }
+}
@@ -6,12 +6,23 @@ import com.pms.backend.dto.auth.LoginRequest;
 import com.pms.backend.entity.User;
 import com.pms.backend.repository.UserRepository;
 import com.pms.backend.security.JwtTokenProvider;
+import com.pms.backend.security.LoginRateLimiter;
+import com.pms.backend.security.LoginThrottledException;
+import com.pms.backend.security.PasswordVerificationExecutor;
+import com.pms.backend.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,40 +33,42 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/auth")
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
+    private final LoginRateLimiter loginRateLimiter;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
 
     @Autowired
-    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider, UserRepository userRepository) {
+    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider, UserRepository userRepository,
+                          LoginRateLimiter loginRateLimiter, PasswordVerificationExecutor passwordVerificationExecutor) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userRepository = userRepository;
+        this.loginRateLimiter = loginRateLimiter;
+        this.passwordVerificationExecutor = passwordVerificationExecutor;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         try {
-            System.out.println("Login attempt for username: " + loginRequest.getUsername());
-            Authentication authentication = authenticationManager.authenticate(
+            logger.debug("Login attempt for username: {}", loginRequest.getUsername());
+            loginRateLimiter.acquire(loginRequest.getUsername(), request.getRemoteAddr());
+
+            // BCrypt runs on the bounded verification pool, so a login storm cannot take every core
+            Authentication authentication = passwordVerificationExecutor.verify(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginRequest.getUsername(),
                             loginRequest.getPassword()
                     )
-            );
+            ));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String token = jwtTokenProvider.generateToken(authentication);
 
-            User user = userRepository.findByUsername(loginRequest.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            JwtAuthResponse.UserInfo userInfo = new JwtAuthResponse.UserInfo(
-                    user.getUserId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getRole()
-            );
+            JwtAuthResponse.UserInfo userInfo = toUserInfo(authentication, loginRequest.getUsername());
 
             JwtAuthResponse jwtResponse = new JwtAuthResponse(token, userInfo);
 
@@ -65,7 +78,11 @@ public class AuthController {
                     jwtResponse
             ));
 
-        } catch (Exception ex) {
+        } catch (LoginThrottledException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(new ApiResponse<>(false, ex.getMessage(), null));
+        } catch (AuthenticationException ex) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(
                     false,
                     "Invalid username or password",
@@ -73,4 +90,28 @@ public class AuthController {
             ));
         }
     }
+
+    /**
+     * User details from the authenticated principal; looks the user up only if the principal lacks them
+     */
+    private JwtAuthResponse.UserInfo toUserInfo(Authentication authentication, String username) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.getEmail() != null) {
+            return new JwtAuthResponse.UserInfo(
+                    principal.getUserId(),
+                    principal.getUsername(),
+                    principal.getEmail(),
+                    principal.getRole()
+            );
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new BadCredentialsException("User not found"));
+
+        return new JwtAuthResponse.UserInfo(
+                user.getUserId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole()
+        );
+    }
 }
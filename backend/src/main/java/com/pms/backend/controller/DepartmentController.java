@@ -5,6 +5,8 @@ import com.pms.backend.dto.department.DepartmentCreateRequest;
 import com.pms.backend.dto.department.DepartmentResponse;
 import com.pms.backend.dto.department.DepartmentUpdateRequest;
 import com.pms.backend.service.DepartmentService;
+import com.pms.backend.service.ResourceVersionService;
+import com.pms.backend.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,10 +28,13 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService,
+                                ResourceVersionService resourceVersionService) {
         this.departmentService = departmentService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @PostMapping
@@ -47,7 +53,12 @@ public class DepartmentController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get department by ID", description = "Retrieve a specific department by ID (Admin only)")
     public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(
-            @Parameter(description = "Department ID") @PathVariable String departmentId) {
+            @Parameter(description = "Department ID") @PathVariable String departmentId,
+            WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getDepartmentVersion(departmentId))) {
+            return null;
+        }
         
         DepartmentResponse department = departmentService.getDepartmentById(departmentId);
         
@@ -57,7 +68,11 @@ public class DepartmentController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all departments", description = "Retrieve all departments (Admin only)")
-    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments() {
+    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments(WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getDepartmentsVersion())) {
+            return null;
+        }
         
         List<DepartmentResponse> departments = departmentService.getAllDepartments();
         
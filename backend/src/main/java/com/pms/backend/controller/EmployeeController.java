@@ -1,24 +1,38 @@
 package com.pms.backend.controller;
 
+import com.pms.backend.datasource.StatementBudget;
 import com.pms.backend.dto.ApiResponse;
+import com.pms.backend.dto.CursorPage;
 import com.pms.backend.dto.employee.EmployeeCreateRequest;
+import com.pms.backend.dto.employee.EmployeeImportFormat;
+import com.pms.backend.dto.employee.EmployeeImportResult;
 import com.pms.backend.dto.employee.EmployeeResponse;
+import com.pms.backend.dto.employee.EmployeeSearchHit;
 import com.pms.backend.dto.employee.EmployeeUpdateRequest;
+import com.pms.backend.dto.salary.SalaryRevisionRequest;
+import com.pms.backend.dto.salary.SalaryRevisionResult;
 import com.pms.backend.dto.salary.SalaryStructureRequest;
 import com.pms.backend.dto.salary.SalaryStructureResponse;
+import com.pms.backend.idempotency.Idempotent;
+import com.pms.backend.service.EmployeeImportService;
 import com.pms.backend.service.EmployeeService;
+import com.pms.backend.service.ResourceVersionService;
 import com.pms.backend.service.SalaryStructureService;
+import com.pms.backend.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -29,14 +43,21 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
     private final SalaryStructureService salaryStructureService;
+    private final ResourceVersionService resourceVersionService;
+    private final EmployeeImportService employeeImportService;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService, SalaryStructureService salaryStructureService) {
+    public EmployeeController(EmployeeService employeeService, SalaryStructureService salaryStructureService,
+                              ResourceVersionService resourceVersionService,
+                              EmployeeImportService employeeImportService) {
         this.employeeService = employeeService;
         this.salaryStructureService = salaryStructureService;
+        this.resourceVersionService = resourceVersionService;
+        this.employeeImportService = employeeImportService;
     }
 
     @PostMapping
+    @Idempotent
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create new employee", 
                description = "Create a new employee with associated user account (Admin only)")
@@ -49,12 +70,35 @@ public class EmployeeController {
                 .body(new ApiResponse<>(true, "Employee created successfully", employee));
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @StatementBudget(StatementBudget.UNLIMITED)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import employees", 
+               description = "Stream employees as CSV (header row with the create-request field names) or NDJSON; " +
+                             "valid rows are inserted in batches and every rejected row is reported (Admin only)")
+    public ResponseEntity<ApiResponse<EmployeeImportResult>> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        
+        EmployeeImportResult result = employeeImportService.importEmployees(
+                body, EmployeeImportFormat.fromContentType(contentType));
+        
+        String message = String.format("Imported %d of %d employees (%d rejected)", 
+                                       result.getImportedCount(), result.getTotalRows(), result.getFailedCount());
+        return ResponseEntity.ok(new ApiResponse<>(true, message, result));
+    }
+
     @GetMapping("/{employeeId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get employee by ID", 
                description = "Retrieve a specific employee by ID (Admin only)")
     public ResponseEntity<ApiResponse<EmployeeResponse>> getEmployeeById(
-            @Parameter(description = "Employee ID") @PathVariable String employeeId) {
+            @Parameter(description = "Employee ID") @PathVariable String employeeId,
+            WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getEmployeeVersion(employeeId))) {
+            return null;
+        }
         
         EmployeeResponse employee = employeeService.getEmployeeById(employeeId);
         
@@ -65,13 +109,55 @@ public class EmployeeController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all employees", 
                description = "Retrieve all employees (Admin only)")
-    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getAllEmployees() {
+    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getAllEmployees(WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getEmployeesVersion())) {
+            return null;
+        }
         
         List<EmployeeResponse> employees = employeeService.getAllEmployees();
         
         return ResponseEntity.ok(new ApiResponse<>(true, "Employees retrieved successfully", employees));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get employees page", 
+               description = "Retrieve one page of employees, filtered and sorted, with a cursor for the next page (Admin only)")
+    public ResponseEntity<ApiResponse<CursorPage<EmployeeResponse>>> getEmployeesPage(
+            @Parameter(description = "Filter by department ID (optional)") 
+            @RequestParam(required = false) String departmentId,
+            @Parameter(description = "Filter by job role ID (optional)") 
+            @RequestParam(required = false) String jobId,
+            @Parameter(description = "Filter by first or last name prefix (optional)") 
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Sort order: name or createdAt (default name)") 
+            @RequestParam(defaultValue = "name") String sort,
+            @Parameter(description = "Cursor returned by the previous page (optional)") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") 
+            @RequestParam(required = false) Integer limit) {
+        
+        CursorPage<EmployeeResponse> page = employeeService.getEmployeesPage(departmentId, jobId, name, sort, cursor, limit);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Employees retrieved successfully", page));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search employees",
+               description = "Ranked typeahead over name, username, email, department and job title (Admin only)")
+    public ResponseEntity<ApiResponse<List<EmployeeSearchHit>>> searchEmployees(
+            @Parameter(description = "Search text; every word must match the start of a field word, or (3+ characters) part of a name or username")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions, 1 to 50 (default 10)")
+            @RequestParam(required = false) Integer limit) {
+        
+        List<EmployeeSearchHit> hits = employeeService.searchEmployees(q, limit);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Employees found successfully", hits));
+    }
+
     @PutMapping("/{employeeId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update employee", 
@@ -104,7 +190,12 @@ public class EmployeeController {
     @Operation(summary = "Get employee salary history", 
                description = "Retrieve the complete salary structure history for an employee (Admin only)")
     public ResponseEntity<ApiResponse<List<SalaryStructureResponse>>> getEmployeeSalaryHistory(
-            @Parameter(description = "Employee ID") @PathVariable String employeeId) {
+            @Parameter(description = "Employee ID") @PathVariable String employeeId,
+            WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getSalaryStructuresVersion(employeeId))) {
+            return null;
+        }
         
         List<SalaryStructureResponse> salaryHistory = salaryStructureService.getStructureHistoryForEmployee(employeeId);
         
@@ -125,6 +216,24 @@ public class EmployeeController {
                 .body(new ApiResponse<>(true, "Salary structure assigned successfully", salaryStructure));
     }
 
+    @PostMapping("/salary-revisions")
+    @StatementBudget(StatementBudget.UNLIMITED)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Revise salaries in bulk", 
+               description = "Apply a percentage or fixed raise from one effective date to every employee selected by " +
+                             "department, job role and/or employee IDs; dryRun=true previews without saving (Admin only)")
+    public ResponseEntity<ApiResponse<SalaryRevisionResult>> reviseSalaries(
+            @Valid @RequestBody SalaryRevisionRequest request,
+            @Parameter(description = "Preview the revision without saving it (default false)") 
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        
+        SalaryRevisionResult result = salaryStructureService.reviseSalaries(request, dryRun);
+        
+        String message = String.format(dryRun ? "%d salaries would be revised (%d skipped)" : "%d salaries revised (%d skipped)",
+                                       result.getRevisedCount(), result.getSkippedCount());
+        return ResponseEntity.ok(new ApiResponse<>(true, message, result));
+    }
+
     @GetMapping("/{employeeId}/salary-structures/current")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get current salary structure", 
@@ -0,0 +1,91 @@
+package com.pms.backend.controller;
+
+import com.pms.backend.dto.ApiResponse;
+import com.pms.backend.dto.holiday.HolidayRequest;
+import com.pms.backend.dto.holiday.HolidayResponse;
+import com.pms.backend.service.HolidayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/holidays")
+@Tag(name = "Holiday Calendar", description = "Public holidays and working-day counts")
+@SecurityRequirement(name = "Bearer Authentication")
+public class HolidayController {
+
+    private final HolidayService holidayService;
+
+    @Autowired
+    public HolidayController(HolidayService holidayService) {
+        this.holidayService = holidayService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Add holiday", 
+               description = "Add a public holiday, company-wide or for one location (Admin only)")
+    public ResponseEntity<ApiResponse<HolidayResponse>> createHoliday(
+            @Valid @RequestBody HolidayRequest request) {
+        
+        HolidayResponse holiday = holidayService.createHoliday(request);
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(true, "Holiday created successfully", holiday));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Operation(summary = "Get holidays", 
+               description = "Holidays of a year; with a location, only those observed there")
+    public ResponseEntity<ApiResponse<List<HolidayResponse>>> getHolidays(
+            @Parameter(description = "Year (default current year)") 
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Location (optional)") 
+            @RequestParam(required = false) String location) {
+        
+        int resolvedYear = year != null ? year : LocalDate.now().getYear();
+        List<HolidayResponse> holidays = holidayService.getHolidays(resolvedYear, location);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Holidays retrieved successfully", holidays));
+    }
+
+    @GetMapping("/working-days")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Operation(summary = "Count working days", 
+               description = "Working days between two dates, both inclusive, excluding weekly off-days and holidays")
+    public ResponseEntity<ApiResponse<Integer>> getWorkingDays(
+            @Parameter(description = "First day") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Last day") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Location (optional, company-wide calendar if omitted)") 
+            @RequestParam(required = false) String location) {
+        
+        int workingDays = holidayService.getWorkingDays(fromDate, toDate, location);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Working days calculated successfully", workingDays));
+    }
+
+    @DeleteMapping("/{holidayId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete holiday", description = "Remove a public holiday (Admin only)")
+    public ResponseEntity<ApiResponse<Void>> deleteHoliday(
+            @Parameter(description = "Holiday ID") @PathVariable String holidayId) {
+        
+        holidayService.deleteHoliday(holidayId);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Holiday deleted successfully", null));
+    }
+}
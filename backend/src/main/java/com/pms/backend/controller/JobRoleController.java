@@ -5,6 +5,8 @@ import com.pms.backend.dto.jobrole.JobRoleCreateRequest;
 import com.pms.backend.dto.jobrole.JobRoleResponse;
 import com.pms.backend.dto.jobrole.JobRoleUpdateRequest;
 import com.pms.backend.service.JobRoleService;
+import com.pms.backend.service.ResourceVersionService;
+import com.pms.backend.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,10 +28,13 @@ import java.util.List;
 public class JobRoleController {
 
     private final JobRoleService jobRoleService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public JobRoleController(JobRoleService jobRoleService) {
+    public JobRoleController(JobRoleService jobRoleService,
+                             ResourceVersionService resourceVersionService) {
         this.jobRoleService = jobRoleService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @PostMapping
@@ -47,7 +53,12 @@ public class JobRoleController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get job role by ID", description = "Retrieve a specific job role by ID (Admin only)")
     public ResponseEntity<ApiResponse<JobRoleResponse>> getJobRoleById(
-            @Parameter(description = "Job Role ID") @PathVariable String jobId) {
+            @Parameter(description = "Job Role ID") @PathVariable String jobId,
+            WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getJobRoleVersion(jobId))) {
+            return null;
+        }
         
         JobRoleResponse jobRole = jobRoleService.getJobRoleById(jobId);
         
@@ -57,7 +68,11 @@ public class JobRoleController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all job roles", description = "Retrieve all job roles (Admin only)")
-    public ResponseEntity<ApiResponse<List<JobRoleResponse>>> getAllJobRoles() {
+    public ResponseEntity<ApiResponse<List<JobRoleResponse>>> getAllJobRoles(WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getJobRolesVersion())) {
+            return null;
+        }
         
         List<JobRoleResponse> jobRoles = jobRoleService.getAllJobRoles();
         
@@ -0,0 +1,123 @@
+package com.pms.backend.controller;
+
+import com.pms.backend.datasource.StatementBudget;
+import com.pms.backend.dto.ApiResponse;
+import com.pms.backend.dto.accrual.AccrualEntryResponse;
+import com.pms.backend.dto.accrual.AccrualPolicyRequest;
+import com.pms.backend.dto.accrual.AccrualPolicyResponse;
+import com.pms.backend.dto.accrual.AccrualRunResponse;
+import com.pms.backend.entity.enums.AccrualTrigger;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.service.LeaveAccrualService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/leave-accruals")
+@Tag(name = "Leave Accrual", description = "Admin-only endpoints for monthly leave accrual policies and runs")
+@SecurityRequirement(name = "Bearer Authentication")
+public class LeaveAccrualController {
+
+    private final LeaveAccrualService leaveAccrualService;
+
+    @Autowired
+    public LeaveAccrualController(LeaveAccrualService leaveAccrualService) {
+        this.leaveAccrualService = leaveAccrualService;
+    }
+
+    @PutMapping("/policies")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Save accrual policy", 
+               description = "Create or replace the monthly accrual of a job role, a department or the company; " +
+                             "the most specific policy applies to each employee (Admin only)")
+    public ResponseEntity<ApiResponse<AccrualPolicyResponse>> savePolicy(
+            @Valid @RequestBody AccrualPolicyRequest request) {
+        
+        AccrualPolicyResponse policy = leaveAccrualService.savePolicy(request);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Accrual policy saved successfully", policy));
+    }
+
+    @GetMapping("/policies")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get accrual policies", description = "Retrieve all leave accrual policies (Admin only)")
+    public ResponseEntity<ApiResponse<List<AccrualPolicyResponse>>> getPolicies() {
+        
+        List<AccrualPolicyResponse> policies = leaveAccrualService.getPolicies();
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Accrual policies retrieved successfully", policies));
+    }
+
+    @DeleteMapping("/policies/{policyId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete accrual policy", description = "Remove a leave accrual policy (Admin only)")
+    public ResponseEntity<ApiResponse<Void>> deletePolicy(
+            @Parameter(description = "Policy ID") @PathVariable String policyId) {
+        
+        leaveAccrualService.deletePolicy(policyId);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Accrual policy deleted successfully", null));
+    }
+
+    @PostMapping("/runs")
+    @StatementBudget(StatementBudget.UNLIMITED)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Run leave accrual", 
+               description = "Credit a month's accrual now; a month already accrued is returned unchanged (Admin only)")
+    public ResponseEntity<ApiResponse<AccrualRunResponse>> runAccrual(
+            @Parameter(description = "Year (default current year)") 
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Month 1-12 (default current month)") 
+            @RequestParam(required = false) Integer month) {
+        
+        YearMonth period;
+        try {
+            YearMonth now = YearMonth.now();
+            period = YearMonth.of(year != null ? year : now.getYear(), month != null ? month : now.getMonthValue());
+        } catch (DateTimeException ex) {
+            throw new BadRequestException("Invalid accrual month: " + ex.getMessage());
+        }
+        
+        AccrualRunResponse run = leaveAccrualService.runAccrual(period, AccrualTrigger.Manual);
+        
+        if (run.isAlreadyApplied()) {
+            return ResponseEntity.ok(new ApiResponse<>(true, "Leave accrual for " + period + " was already applied", run));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(true, "Leave accrual applied successfully", run));
+    }
+
+    @GetMapping("/runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get accrual runs", description = "Retrieve all leave accrual runs, latest first (Admin only)")
+    public ResponseEntity<ApiResponse<List<AccrualRunResponse>>> getRuns() {
+        
+        List<AccrualRunResponse> runs = leaveAccrualService.getRuns();
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Accrual runs retrieved successfully", runs));
+    }
+
+    @GetMapping("/runs/{runId}/entries")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get accrual run entries", 
+               description = "Per-employee balance before, forfeited, credited and after for a run (Admin only)")
+    public ResponseEntity<ApiResponse<List<AccrualEntryResponse>>> getRunEntries(
+            @Parameter(description = "Run ID") @PathVariable String runId) {
+        
+        List<AccrualEntryResponse> entries = leaveAccrualService.getRunEntries(runId);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Accrual entries retrieved successfully", entries));
+    }
+}
@@ -1,28 +1,33 @@
 package com.pms.backend.controller;
 
+import com.pms.backend.datasource.StatementBudget;
 import com.pms.backend.dto.ApiResponse;
+import com.pms.backend.dto.CursorPage;
+import com.pms.backend.dto.leave.LeaveBulkDecisionDto;
+import com.pms.backend.dto.leave.LeaveBulkDecisionResponseDto;
+import com.pms.backend.dto.leave.LeaveLedgerEntryDto;
 import com.pms.backend.dto.leave.LeaveRequestCreateDto;
 import com.pms.backend.dto.leave.LeaveRequestResponseDto;
 import com.pms.backend.dto.leave.LeaveStatusUpdateDto;
-import com.pms.backend.entity.User;
+import com.pms.backend.dto.leave.TeamAvailabilityDto;
 import com.pms.backend.entity.enums.LeaveStatus;
-import com.pms.backend.exception.ResourceNotFoundException;
-import com.pms.backend.repository.UserRepository;
-import com.pms.backend.service.EmployeeService;
+import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.idempotency.Idempotent;
 import com.pms.backend.service.LeaveRequestService;
+import com.pms.backend.web.CurrentEmployee;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -32,29 +37,22 @@ import java.util.List;
 public class LeaveRequestController {
 
     private final LeaveRequestService leaveRequestService;
-    private final EmployeeService employeeService;
-    private final UserRepository userRepository;
 
     @Autowired
-    public LeaveRequestController(LeaveRequestService leaveRequestService, 
-                                EmployeeService employeeService,
-                                UserRepository userRepository) {
+    public LeaveRequestController(LeaveRequestService leaveRequestService) {
         this.leaveRequestService = leaveRequestService;
-        this.employeeService = employeeService;
-        this.userRepository = userRepository;
     }
 
     // === EMPLOYEE ENDPOINTS ===
 
     @PostMapping
+    @Idempotent
     @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Operation(summary = "Apply for leave", 
                description = "Submit a new leave request (Employees and Admins)")
     public ResponseEntity<ApiResponse<LeaveRequestResponseDto>> applyForLeave(
-            @Valid @RequestBody LeaveRequestCreateDto requestDto) {
-        
-        String currentUserId = getCurrentUserId();
-        String employeeId = getEmployeeIdByUserId(currentUserId);
+            @Valid @RequestBody LeaveRequestCreateDto requestDto,
+            @CurrentEmployee String employeeId) {
         
         LeaveRequestResponseDto response = leaveRequestService.applyForLeave(employeeId, requestDto);
         
@@ -66,25 +64,33 @@ public class LeaveRequestController {
     @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Operation(summary = "Get my leave requests", 
                description = "Retrieve all leave requests for the current user")
-    public ResponseEntity<ApiResponse<List<LeaveRequestResponseDto>>> getMyLeaveRequests() {
-        
-        String currentUserId = getCurrentUserId();
-        String employeeId = getEmployeeIdByUserId(currentUserId);
+    public ResponseEntity<ApiResponse<List<LeaveRequestResponseDto>>> getMyLeaveRequests(
+            @CurrentEmployee String employeeId) {
         
         List<LeaveRequestResponseDto> requests = leaveRequestService.getLeaveRequestsForEmployee(employeeId);
         
         return ResponseEntity.ok(new ApiResponse<>(true, "Leave requests retrieved successfully", requests));
     }
 
+    @GetMapping("/my/balance-history")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Operation(summary = "Get my leave balance history", 
+               description = "Every credit and debit of the current user's leave balance, latest first")
+    public ResponseEntity<ApiResponse<List<LeaveLedgerEntryDto>>> getMyLeaveLedger(
+            @CurrentEmployee String employeeId) {
+        
+        List<LeaveLedgerEntryDto> ledger = leaveRequestService.getLeaveLedger(employeeId);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Leave balance history retrieved successfully", ledger));
+    }
+
     @DeleteMapping("/{leaveId}")
     @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Operation(summary = "Cancel leave request", 
                description = "Cancel a pending leave request (only your own)")
     public ResponseEntity<ApiResponse<Void>> cancelLeaveRequest(
-            @Parameter(description = "Leave request ID") @PathVariable String leaveId) {
-        
-        String currentUserId = getCurrentUserId();
-        String employeeId = getEmployeeIdByUserId(currentUserId);
+            @Parameter(description = "Leave request ID") @PathVariable String leaveId,
+            @CurrentEmployee String employeeId) {
         
         leaveRequestService.cancelLeaveRequest(leaveId, employeeId);
         
@@ -116,6 +122,64 @@ public class LeaveRequestController {
         return ResponseEntity.ok(new ApiResponse<>(true, message, requests));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get leave requests page", 
+               description = "Retrieve one page of leave requests, newest first, with a cursor for the next page (Admin only)")
+    public ResponseEntity<ApiResponse<CursorPage<LeaveRequestResponseDto>>> getLeaveRequestsPage(
+            @Parameter(description = "Filter by status (optional)") 
+            @RequestParam(required = false) LeaveStatus status,
+            @Parameter(description = "Filter by leave type (optional)") 
+            @RequestParam(required = false) LeaveType leaveType,
+            @Parameter(description = "Filter by employee ID (optional)") 
+            @RequestParam(required = false) String employeeId,
+            @Parameter(description = "Only leave ending on or after this date (optional)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Only leave starting on or before this date (optional)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Cursor returned by the previous page (optional)") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") 
+            @RequestParam(required = false) Integer limit) {
+        
+        CursorPage<LeaveRequestResponseDto> page = leaveRequestService.getLeaveRequestsPage(
+                status, leaveType, employeeId, fromDate, toDate, cursor, limit);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Leave requests retrieved successfully", page));
+    }
+
+    @GetMapping("/availability")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get team availability", 
+               description = "Per-day count and names of employees in a department on approved or pending leave, " +
+                             "for a window of up to 366 days (Admin only)")
+    public ResponseEntity<ApiResponse<TeamAvailabilityDto>> getTeamAvailability(
+            @Parameter(description = "Department ID") 
+            @RequestParam String departmentId,
+            @Parameter(description = "First day of the window (default today)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Last day of the window (default four weeks from the first day)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        
+        LocalDate from = fromDate != null ? fromDate : LocalDate.now();
+        LocalDate to = toDate != null ? toDate : from.plusDays(27);
+        TeamAvailabilityDto availability = leaveRequestService.getTeamAvailability(departmentId, from, to);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Team availability retrieved successfully", availability));
+    }
+
+    @GetMapping("/balance-history/{employeeId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get leave balance history", 
+               description = "Every credit and debit of an employee's leave balance, latest first (Admin only)")
+    public ResponseEntity<ApiResponse<List<LeaveLedgerEntryDto>>> getLeaveLedger(
+            @Parameter(description = "Employee ID") @PathVariable String employeeId) {
+        
+        List<LeaveLedgerEntryDto> ledger = leaveRequestService.getLeaveLedger(employeeId);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Leave balance history retrieved successfully", ledger));
+    }
+
     @GetMapping("/{leaveId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get leave request by ID", 
@@ -146,33 +210,21 @@ public class LeaveRequestController {
         return ResponseEntity.ok(new ApiResponse<>(true, message, response));
     }
 
-    // === HELPER METHODS ===
-
-    /**
-     * Get the current user's ID from the security context
-     */
-    private String getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || authentication.getName() == null) {
-            throw new RuntimeException("No authenticated user found");
-        }
-        
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        
-        return user.getUserId();
-    }
-
-    /**
-     * Get employee ID by user ID
-     */
-    private String getEmployeeIdByUserId(String userId) {
-        try {
-            return employeeService.getEmployeeByUserId(userId).getEmployeeId();
-        } catch (ResourceNotFoundException e) {
-            throw new ResourceNotFoundException("Employee record not found for user: " + userId);
-        }
+    @PatchMapping("/status")
+    @StatementBudget(StatementBudget.UNLIMITED)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Decide leave requests in bulk", 
+               description = "Approve or reject many pending leave requests at once (Admin only). Paid leave is deducted " +
+                             "per employee; requests that are not pending, not found or not covered by the balance are " +
+                             "reported individually and left unchanged.")
+    public ResponseEntity<ApiResponse<LeaveBulkDecisionResponseDto>> decideLeaveRequests(
+            @Valid @RequestBody LeaveBulkDecisionDto decisionDto) {
+        
+        LeaveBulkDecisionResponseDto response = leaveRequestService.decideLeaveRequests(decisionDto);
+        
+        String message = String.format("%s %d of %d leave requests (%d failed)", 
+                                       decisionDto.getStatus().name(), response.getSucceededCount(), 
+                                       response.getRequestedCount(), response.getFailedCount());
+        return ResponseEntity.ok(new ApiResponse<>(true, message, response));
     }
 }
\ No newline at end of file
@@ -1,14 +1,16 @@
 package com.pms.backend.controller;
 
+import com.pms.backend.datasource.StatementBudget;
 import com.pms.backend.dto.ApiResponse;
+import com.pms.backend.dto.CursorPage;
 import com.pms.backend.dto.payroll.PayrollItemResponse;
 import com.pms.backend.dto.payroll.PayrollRunCreateRequest;
 import com.pms.backend.dto.payroll.PayrollRunResponse;
-import com.pms.backend.entity.User;
-import com.pms.backend.exception.ResourceNotFoundException;
-import com.pms.backend.repository.UserRepository;
-import com.pms.backend.service.EmployeeService;
+import com.pms.backend.idempotency.Idempotent;
 import com.pms.backend.service.PayrollService;
+import com.pms.backend.service.ResourceVersionService;
+import com.pms.backend.web.ConditionalGet;
+import com.pms.backend.web.CurrentEmployee;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -18,9 +20,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,21 +32,19 @@ import java.util.List;
 public class PayrollController {
 
     private final PayrollService payrollService;
-    private final EmployeeService employeeService;
-    private final UserRepository userRepository;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
     public PayrollController(PayrollService payrollService, 
-                           EmployeeService employeeService,
-                           UserRepository userRepository) {
+                           ResourceVersionService resourceVersionService) {
         this.payrollService = payrollService;
-        this.employeeService = employeeService;
-        this.userRepository = userRepository;
+        this.resourceVersionService = resourceVersionService;
     }
 
     // === ADMIN PAYROLL MANAGEMENT ENDPOINTS ===
 
     @PostMapping("/runs")
+    @Idempotent
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create payroll run", 
                description = "Create a new payroll run for a specific year and month (Admin only)")
@@ -62,7 +61,11 @@ public class PayrollController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all payroll runs", 
                description = "Retrieve all payroll runs with summary information (Admin only)")
-    public ResponseEntity<ApiResponse<List<PayrollRunResponse>>> getAllPayrollRuns() {
+    public ResponseEntity<ApiResponse<List<PayrollRunResponse>>> getAllPayrollRuns(WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getPayrollRunsVersion())) {
+            return null;
+        }
         
         List<PayrollRunResponse> runs = payrollService.getAllPayrollRuns();
         
@@ -74,7 +77,12 @@ public class PayrollController {
     @Operation(summary = "Get payroll run by ID", 
                description = "Retrieve detailed information about a specific payroll run (Admin only)")
     public ResponseEntity<ApiResponse<PayrollRunResponse>> getPayrollRunById(
-            @Parameter(description = "Payroll run ID") @PathVariable String runId) {
+            @Parameter(description = "Payroll run ID") @PathVariable String runId,
+            WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getPayrollRunVersion(runId))) {
+            return null;
+        }
         
         PayrollRunResponse run = payrollService.getPayrollRunById(runId);
         
@@ -82,6 +90,8 @@ public class PayrollController {
     }
 
     @PostMapping("/runs/{runId}/process")
+    @StatementBudget(StatementBudget.UNLIMITED)
+    @Idempotent
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Process payroll run", 
                description = "Execute the core payroll calculation engine with salary structures, bonuses, and deductions (Admin only)")
@@ -117,7 +127,12 @@ public class PayrollController {
     @Operation(summary = "Get payroll items for run", 
                description = "Retrieve all payroll items (employee payslips) for a specific run (Admin only)")
     public ResponseEntity<ApiResponse<List<PayrollItemResponse>>> getPayrollItemsForRun(
-            @Parameter(description = "Payroll run ID") @PathVariable String runId) {
+            @Parameter(description = "Payroll run ID") @PathVariable String runId,
+            WebRequest webRequest) {
+        
+        if (ConditionalGet.isNotModified(webRequest, resourceVersionService.getPayrollItemsVersion(runId))) {
+            return null;
+        }
         
         List<PayrollItemResponse> items = payrollService.getPayrollItemsForRun(runId);
         
@@ -125,6 +140,24 @@ public class PayrollController {
                 String.format("Payroll items retrieved successfully (%d items)", items.size()), items));
     }
 
+    @GetMapping("/runs/{runId}/items/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get payroll items page for run", 
+               description = "Retrieve one page of payroll items for a run, ordered by employee name (Admin only)")
+    public ResponseEntity<ApiResponse<CursorPage<PayrollItemResponse>>> getPayrollItemsPage(
+            @Parameter(description = "Payroll run ID") @PathVariable String runId,
+            @Parameter(description = "Filter by department ID (optional)") 
+            @RequestParam(required = false) String departmentId,
+            @Parameter(description = "Cursor returned by the previous page (optional)") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") 
+            @RequestParam(required = false) Integer limit) {
+        
+        CursorPage<PayrollItemResponse> page = payrollService.getPayrollItemsPage(runId, departmentId, cursor, limit);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Payroll items retrieved successfully", page));
+    }
+
     @GetMapping("/runs/{runId}/employees/{employeeId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get individual employee payroll item for Admin verification", 
@@ -158,10 +191,8 @@ public class PayrollController {
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get my payslips", 
                description = "Retrieve all available payslips for the current employee")
-    public ResponseEntity<ApiResponse<List<PayrollItemResponse>>> getMyPayslips() {
-        
-        String currentUserId = getCurrentUserId();
-        String employeeId = getEmployeeIdByUserId(currentUserId);
+    public ResponseEntity<ApiResponse<List<PayrollItemResponse>>> getMyPayslips(
+            @CurrentEmployee String employeeId) {
         
         List<PayrollItemResponse> payslips = payrollService.getEmployeePayslips(employeeId);
         
@@ -169,15 +200,31 @@ public class PayrollController {
                 String.format("Payslips retrieved successfully (%d payslips)", payslips.size()), payslips));
     }
 
+    @GetMapping("/payslips/page")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get my payslips page", 
+               description = "Retrieve one page of payslips for the current employee, newest period first")
+    public ResponseEntity<ApiResponse<CursorPage<PayrollItemResponse>>> getMyPayslipsPage(
+            @Parameter(description = "Filter by year (optional)") 
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Cursor returned by the previous page (optional)") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") 
+            @RequestParam(required = false) Integer limit,
+            @CurrentEmployee String employeeId) {
+        
+        CursorPage<PayrollItemResponse> page = payrollService.getEmployeePayslipsPage(employeeId, year, cursor, limit);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Payslips retrieved successfully", page));
+    }
+
     @GetMapping("/payslips/{runId}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get my payslip for specific run", 
                description = "Retrieve payslip for a specific payroll run (only available for locked runs)")
     public ResponseEntity<ApiResponse<PayrollItemResponse>> getMyPayslipForRun(
-            @Parameter(description = "Payroll run ID") @PathVariable String runId) {
-        
-        String currentUserId = getCurrentUserId();
-        String employeeId = getEmployeeIdByUserId(currentUserId);
+            @Parameter(description = "Payroll run ID") @PathVariable String runId,
+            @CurrentEmployee String employeeId) {
         
         PayrollItemResponse payslip = payrollService.getEmployeePayslip(runId, employeeId);
         
@@ -199,6 +246,24 @@ public class PayrollController {
                 String.format("Employee payslips retrieved successfully (%d payslips)", payslips.size()), payslips));
     }
 
+    @GetMapping("/employees/{employeeId}/payslips/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get employee payslips page", 
+               description = "Retrieve one page of payslips for a specific employee, newest period first (Admin only)")
+    public ResponseEntity<ApiResponse<CursorPage<PayrollItemResponse>>> getEmployeePayslipsPage(
+            @Parameter(description = "Employee ID") @PathVariable String employeeId,
+            @Parameter(description = "Filter by year (optional)") 
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Cursor returned by the previous page (optional)") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") 
+            @RequestParam(required = false) Integer limit) {
+        
+        CursorPage<PayrollItemResponse> page = payrollService.getEmployeePayslipsPage(employeeId, year, cursor, limit);
+        
+        return ResponseEntity.ok(new ApiResponse<>(true, "Employee payslips retrieved successfully", page));
+    }
+
     @GetMapping("/employees/{employeeId}/payslips/{runId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get employee payslip for specific run", 
@@ -211,34 +276,4 @@ public class PayrollController {
         
         return ResponseEntity.ok(new ApiResponse<>(true, "Employee payslip retrieved successfully", payslip));
     }
-
-    // === HELPER METHODS ===
-
-    /**
-     * Get the current user's ID from the security context
-     */
-    private String getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || authentication.getName() == null) {
-            throw new RuntimeException("No authenticated user found");
-        }
-        
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        
-        return user.getUserId();
-    }
-
-    /**
-     * Get employee ID by user ID
-     */
-    private String getEmployeeIdByUserId(String userId) {
-        try {
-            return employeeService.getEmployeeByUserId(userId).getEmployeeId();
-        } catch (ResourceNotFoundException e) {
-            throw new ResourceNotFoundException("Employee record not found for user: " + userId);
-        }
-    }
 }
\ No newline at end of file
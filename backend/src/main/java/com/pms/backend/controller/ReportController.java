@@ -1,10 +1,18 @@
 package com.pms.backend.controller;
 
 import com.pms.backend.dto.ApiResponse;
+import com.pms.backend.dto.report.CubeDimension;
+import com.pms.backend.dto.report.CubeMeasure;
 import com.pms.backend.dto.report.DepartmentCostDto;
 import com.pms.backend.dto.report.LeaveTrendDto;
+import com.pms.backend.dto.report.PayrollCubeDto;
+import com.pms.backend.dto.report.PayrollCubeQuery;
 import com.pms.backend.dto.report.PayrollSummaryDto;
+import com.pms.backend.dto.report.RankedEntryDto;
+import com.pms.backend.dto.report.RankedPage;
+import com.pms.backend.dto.report.RankingType;
 import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.entity.enums.PayrollStatus;
 import com.pms.backend.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +28,7 @@ import java.time.LocalDate;
 import java.time.Year;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller for generating reports and analytics
@@ -105,6 +114,52 @@ public class ReportController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Top spending departments retrieved successfully", topDepartments));
     }
     
+    @GetMapping("/payroll-cube")
+    @Operation(
+        summary = "Get payroll cost cube slice",
+        description = "Group payroll costs by any combination of dimensions (department, jobRole, year, month, runStatus) " +
+                     "and return the chosen measures (base, bonus, deductions, net, headcount). " +
+                     "Served from pre-aggregated rollups maintained when runs are processed and locked."
+    )
+    public ResponseEntity<ApiResponse<PayrollCubeDto>> getPayrollCube(
+            @Parameter(description = "Dimensions to group by, e.g. department,month (none for a grand total)")
+            @RequestParam(required = false) List<String> dimensions,
+            @Parameter(description = "Measures to return, e.g. net,headcount (defaults to all)")
+            @RequestParam(required = false) List<String> measures,
+            @Parameter(description = "Filter by department ID")
+            @RequestParam(required = false) String departmentId,
+            @Parameter(description = "Filter by job role ID")
+            @RequestParam(required = false) String jobId,
+            @Parameter(description = "Filter by specific year")
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Filter by specific month (1-12)")
+            @RequestParam(required = false) Integer month,
+            @Parameter(description = "Start year for range analysis")
+            @RequestParam(required = false) Integer startYear,
+            @Parameter(description = "End year for range analysis")
+            @RequestParam(required = false) Integer endYear,
+            @Parameter(description = "Filter by payroll run status")
+            @RequestParam(required = false) PayrollStatus runStatus) {
+        
+        PayrollCubeQuery query = new PayrollCubeQuery();
+        if (dimensions != null) {
+            query.setDimensions(dimensions.stream().map(CubeDimension::fromParam).distinct().collect(Collectors.toList()));
+        }
+        if (measures != null) {
+            query.setMeasures(measures.stream().map(CubeMeasure::fromParam).distinct().collect(Collectors.toList()));
+        }
+        query.setDepartmentId(departmentId);
+        query.setJobId(jobId);
+        query.setYear(year);
+        query.setMonth(month);
+        query.setStartYear(startYear);
+        query.setEndYear(endYear);
+        query.setRunStatus(runStatus);
+        
+        PayrollCubeDto cube = reportService.getPayrollCostCube(query);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Payroll cost cube retrieved successfully", cube));
+    }
+    
     // ====== LEAVE REPORTS ======
     
     @GetMapping("/leave-trends")
@@ -192,6 +247,41 @@ public class ReportController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Overall leave statistics retrieved successfully", stats));
     }
     
+    @PostMapping("/leave-statistics/rebuild")
+    @Operation(
+        summary = "Rebuild leave statistics counters",
+        description = "Recompute the per (year, month, department, leave type, status) counters from all leave requests. Use after bulk data fixes."
+    )
+    public ResponseEntity<ApiResponse<Integer>> rebuildLeaveStatistics() {
+        int buckets = reportService.rebuildLeaveStatistics();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Leave statistics rebuilt successfully", buckets));
+    }
+    
+    // ====== RANKED REPORTS ======
+    
+    @GetMapping("/rankings/{ranking}")
+    @Operation(
+        summary = "Get a leaderboard window",
+        description = "Get entries offset+1 .. offset+limit of a ranking (department-spend or leave-days). " +
+                     "Only the requested window is read, together with the total number of ranked entries."
+    )
+    public ResponseEntity<ApiResponse<RankedPage<RankedEntryDto>>> getRanking(
+            @Parameter(description = "Ranking to compute: department-spend or leave-days")
+            @PathVariable String ranking,
+            @Parameter(description = "Year for analysis (department-spend defaults to current year)")
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Filter by specific leave type (leave-days only)")
+            @RequestParam(required = false) LeaveType leaveType,
+            @Parameter(description = "Number of top entries to skip (0-10000)")
+            @RequestParam(defaultValue = "0") Integer offset,
+            @Parameter(description = "Maximum number of entries to return (1-100, defaults to 10)")
+            @RequestParam(defaultValue = "10") Integer limit) {
+        
+        RankedPage<RankedEntryDto> page = reportService.getRanking(
+                RankingType.fromParam(ranking), year, leaveType, offset, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Ranking retrieved successfully", page));
+    }
+    
     // ====== ANALYTICS DASHBOARD ======
     
     @GetMapping("/analytics/dashboard")
@@ -0,0 +1,11 @@
+package com.pms.backend.datasource;
+
+/**
+ * A request tried to issue more SQL statements than jdbc.query-budget.max-statements allows
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
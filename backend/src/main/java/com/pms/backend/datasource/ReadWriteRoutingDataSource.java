@@ -0,0 +1,102 @@
+package com.pms.backend.datasource;
+
+import com.pms.backend.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only known once
+ * it has begun, so the physical connection has to be chosen at the first statement, not at begin.
+ *
+ * A read-only transaction still uses the primary when its user committed a write within the
+ * read-your-writes window, or when the replica cannot hand out a connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    
+    private final DataSource primary;
+    private final DataSource replica;
+    private final RecentWriters recentWriters;
+    private final boolean fallbackToPrimary;
+    
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, RecentWriters recentWriters,
+                                      boolean fallbackToPrimary) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWriters = recentWriters;
+        this.fallbackToPrimary = fallbackToPrimary;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        String userId = currentUserId();
+        if (!useReplica(userId)) {
+            recordWriteOnCommit(userId);
+            return primary.getConnection();
+        }
+        
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            if (!fallbackToPrimary) {
+                throw ex;
+            }
+            logger.warn("Replica unavailable, serving read-only transaction from primary: {}", ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections use the credentials of each pool");
+    }
+    
+    private boolean useReplica(String userId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        return userId == null || !recentWriters.wroteRecently(userId);
+    }
+    
+    /**
+     * Start the user's read-your-writes window when this read-write transaction commits
+     */
+    private void recordWriteOnCommit(String userId) {
+        if (userId == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.recordWrite(userId);
+            }
+        });
+    }
+    
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUserId();
+        }
+        return authentication.getName();
+    }
+}
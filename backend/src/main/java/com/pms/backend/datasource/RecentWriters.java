@@ -0,0 +1,51 @@
+package com.pms.backend.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * When each user last committed a write, kept for one read-your-writes window
+ * Reads by a user who wrote inside the window go to the primary, so they never see a replica that has
+ * not caught up with their own change yet.
+ */
+public class RecentWriters {
+    
+    private final long windowMillis;
+    private final int maxEntries;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+    
+    public RecentWriters(long windowMillis, int maxEntries) {
+        this.windowMillis = windowMillis;
+        this.maxEntries = maxEntries;
+    }
+    
+    public void recordWrite(String userId) {
+        if (windowMillis <= 0) {
+            return;
+        }
+        if (lastWriteAt.size() >= maxEntries) {
+            evictExpired(System.currentTimeMillis());
+        }
+        lastWriteAt.put(userId, System.currentTimeMillis());
+    }
+    
+    public boolean wroteRecently(String userId) {
+        Long writtenAt = lastWriteAt.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt < windowMillis) {
+            return true;
+        }
+        lastWriteAt.remove(userId, writtenAt);
+        return false;
+    }
+    
+    private void evictExpired(long now) {
+        lastWriteAt.values().removeIf(writtenAt -> now - writtenAt >= windowMillis);
+    }
+    
+    int size() {
+        return lastWriteAt.size();
+    }
+}
@@ -0,0 +1,25 @@
+package com.pms.backend.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides jdbc.query-budget.max-statements for one handler method.
+ * Bulk endpoints whose statement count grows with the data they touch (payroll processing, imports,
+ * bulk decisions) declare UNLIMITED, so the global budget only has to fit ordinary reads.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int UNLIMITED = 0;
+
+    /**
+     * SQL statements the request may issue, security filters included; UNLIMITED exempts the route
+     */
+    int value();
+}
@@ -0,0 +1,212 @@
+package com.pms.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Counts and times every JDBC statement against the unit of work running on the thread:
+ * an HTTP request (tagged with its route pattern) or a scheduled job (tagged job:&lt;name&gt;).
+ * When a scope closes, its statement count and total statement time go into per-route histograms
+ * (jdbc.scope.statements, jdbc.scope.statement.time). Statements slower than the threshold are logged
+ * with their bind values left out and inline string literals replaced by ?.
+ * HTTP requests may be given a statement budget: WARN logs requests over it, FAIL refuses the
+ * statement that would exceed it with a QueryBudgetExceededException. The configured budget is the
+ * default for every route; a handler annotated with @StatementBudget replaces it once it is selected.
+ */
+public class StatementInstrumentation implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementInstrumentation.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    public enum BudgetAction { OFF, WARN, FAIL }
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdMillis;
+    private final int statementBudget;
+    private final BudgetAction budgetAction;
+
+    /**
+     * @param slowThresholdMillis statements taking at least this long are logged (0 disables)
+     * @param statementBudget default statements allowed per HTTP request (0 leaves routes without
+     *                        a @StatementBudget unbudgeted)
+     */
+    public StatementInstrumentation(MeterRegistry meterRegistry, long slowThresholdMillis,
+                                    int statementBudget, BudgetAction budgetAction) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.statementBudget = Math.max(0, statementBudget);
+        this.budgetAction = budgetAction;
+    }
+
+    // ====== SCOPES ======
+
+    /**
+     * Start counting the statements of an HTTP request; the route is usually only known once the request
+     * has been dispatched, so it is set with Scope.route before closing
+     */
+    public Scope openRequest(String route) {
+        return open(route, statementBudget);
+    }
+
+    /**
+     * Start counting the statements of a background job; jobs are never budgeted
+     */
+    public Scope openJob(String jobName) {
+        return open("job:" + jobName, StatementBudget.UNLIMITED);
+    }
+
+    /**
+     * The scope statements on this thread are counted against, or null outside any request or job
+     */
+    public Scope current() {
+        return current.get();
+    }
+
+    private Scope open(String route, int budget) {
+        Scope outer = current.get();
+        if (outer != null) {
+            // Joins the enclosing scope; closing it leaves the outer one open
+            return new Scope(outer);
+        }
+        Scope scope = new Scope(route, budget);
+        current.set(scope);
+        return scope;
+    }
+
+    // ====== LISTENER ======
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Scope scope = current.get();
+        if (scope != null && isBudgeted(scope) && budgetAction == BudgetAction.FAIL
+                && scope.statements >= scope.budget) {
+            scope.overBudget = true;
+            throw new QueryBudgetExceededException(String.format(
+                    "%s exceeded its budget of %d SQL statements", scope.route, scope.budget));
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.statements++;
+            scope.elapsedMillis += elapsedMillis;
+        }
+        if (slowThresholdMillis > 0 && elapsedMillis >= slowThresholdMillis) {
+            String route = scope != null ? scope.route : "none";
+            meterRegistry.counter("jdbc.statements.slow", "route", route).increment();
+            logger.warn("Slow SQL ({} ms, {}{}): {}", elapsedMillis, route,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", redact(queryInfoList));
+        }
+    }
+
+    // ====== HELPER METHODS ======
+
+    /**
+     * The statement text with inline string literals replaced; bind values are never part of it
+     */
+    static String redact(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(queryInfo -> STRING_LITERAL.matcher(queryInfo.getQuery()).replaceAll("?"))
+                .map(sql -> sql.replaceAll("\\s+", " ").trim())
+                .distinct()
+                .collect(Collectors.joining("; "));
+    }
+
+    private boolean isBudgeted(Scope scope) {
+        return budgetAction != BudgetAction.OFF && scope.budget != StatementBudget.UNLIMITED;
+    }
+
+    private void record(Scope scope) {
+        DistributionSummary.builder("jdbc.scope.statements")
+                .description("SQL statements issued per request or job")
+                .tag("route", scope.route)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(scope.statements);
+        Timer.builder("jdbc.scope.statement.time")
+                .description("Total time spent in SQL statements per request or job")
+                .tag("route", scope.route)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(scope.elapsedMillis));
+
+        if (isBudgeted(scope) && (scope.overBudget || scope.statements > scope.budget)) {
+            Counter.builder("jdbc.scope.budget.exceeded")
+                    .tag("route", scope.route)
+                    .tag("action", budgetAction.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("{} issued {} SQL statements ({} ms), over its budget of {}",
+                    scope.route, scope.statements, scope.elapsedMillis, scope.budget);
+        }
+    }
+
+    /**
+     * Statements of one request or job on the current thread
+     */
+    public final class Scope implements AutoCloseable {
+        private final Scope joined;
+        private String route;
+        private int budget;
+        private int statements;
+        private long elapsedMillis;
+        private boolean overBudget;
+
+        private Scope(String route, int budget) {
+            this.joined = null;
+            this.route = route;
+            this.budget = budget;
+        }
+
+        private Scope(Scope joined) {
+            this.joined = joined;
+        }
+
+        public void route(String route) {
+            if (joined == null) {
+                this.route = route;
+            }
+        }
+
+        /**
+         * Replace the default budget of the request, e.g. with the handler's @StatementBudget
+         */
+        public void budget(int statements) {
+            if (joined == null) {
+                this.budget = Math.max(0, statements);
+            }
+        }
+
+        public int statements() {
+            return joined != null ? joined.statements : statements;
+        }
+
+        @Override
+        public void close() {
+            if (joined != null) {
+                return;
+            }
+            current.remove();
+            record(this);
+        }
+    }
+}
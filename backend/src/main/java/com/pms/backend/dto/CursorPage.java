@@ -0,0 +1,87 @@
+package com.pms.backend.dto;
+
+import com.pms.backend.exception.BadRequestException;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list
+ * Pass nextCursor back as the cursor parameter to get the following page; it is null on the last page
+ */
+public class CursorPage<T> {
+    
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    
+    private List<T> items;
+    private String nextCursor;
+    private int limit;
+    
+    // Default constructor
+    public CursorPage() {}
+    
+    public CursorPage(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+    
+    /**
+     * Build a page from rows fetched with limit + 1; the extra row only signals that more rows exist
+     * @param rows Rows in sort order, at most limit + 1
+     * @param limit Page size
+     * @param mapper Row to response conversion
+     * @param cursorOf Cursor positioned after the given row
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor, limit);
+    }
+    
+    /**
+     * Validate a requested page size, defaulting to DEFAULT_LIMIT
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+    
+    // Helper method to tell whether another page follows
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
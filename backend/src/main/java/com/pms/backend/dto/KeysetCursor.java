@@ -0,0 +1,89 @@
+package com.pms.backend.dto;
+
+import com.pms.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque cursor holding the sort key values of the last row of a page
+ * The token is tagged with the list and sort it belongs to, so it cannot be replayed against another ordering
+ */
+public final class KeysetCursor {
+    
+    private static final String SEPARATOR = "\u001F";
+    
+    private final String[] values;
+    
+    private KeysetCursor(String[] values) {
+        this.values = values;
+    }
+    
+    /**
+     * Encode the sort key values of a row
+     * @param kind List and sort identifier, e.g. "employees:name"
+     * @param values Sort key values in order
+     */
+    public static String encode(String kind, Object... values) {
+        StringBuilder raw = new StringBuilder(kind);
+        for (Object value : values) {
+            raw.append(SEPARATOR).append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor issued for the given list and sort
+     * @return Decoded cursor, or null when no cursor was given (first page)
+     */
+    public static KeysetCursor decode(String token, String kind, int keyCount) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != keyCount + 1 || !parts[0].equals(kind)) {
+                throw new BadRequestException("Cursor does not belong to this list or sort order");
+            }
+            return new KeysetCursor(Arrays.copyOfRange(parts, 1, parts.length));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    public String getString(int index) {
+        return values[index];
+    }
+    
+    /**
+     * Value that must be a UUID, e.g. an ID stored as BINARY(16)
+     */
+    public String getUuid(int index) {
+        try {
+            return UUID.fromString(values[index]).toString();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    public int getInt(int index) {
+        try {
+            return Integer.parseInt(values[index]);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    public LocalDateTime getDateTime(int index) {
+        try {
+            return LocalDateTime.parse(values[index]);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
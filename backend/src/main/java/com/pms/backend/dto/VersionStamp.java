@@ -0,0 +1,77 @@
+package com.pms.backend.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.StringJoiner;
+
+/**
+ * Cheap fingerprint of a set of rows: row count plus latest updated_at
+ * Inserts and updates move the timestamp, deletes move the count
+ */
+public class VersionStamp {
+    
+    private final long count;
+    private final LocalDateTime lastModified;
+    private final String token;
+    
+    // Constructor for repository queries
+    public VersionStamp(Long count, LocalDateTime lastModified) {
+        this.count = count != null ? count : 0L;
+        this.lastModified = lastModified;
+        this.token = this.count + "-" + toEpochMillis(lastModified);
+    }
+    
+    private VersionStamp(long count, LocalDateTime lastModified, String token) {
+        this.count = count;
+        this.lastModified = lastModified;
+        this.token = token;
+    }
+    
+    /**
+     * Combine the stamps of every table a response is built from
+     */
+    public static VersionStamp combine(VersionStamp... stamps) {
+        long count = 0;
+        LocalDateTime lastModified = null;
+        StringJoiner token = new StringJoiner(".");
+        for (VersionStamp stamp : stamps) {
+            count += stamp.count;
+            if (stamp.lastModified != null && (lastModified == null || stamp.lastModified.isAfter(lastModified))) {
+                lastModified = stamp.lastModified;
+            }
+            token.add(stamp.token);
+        }
+        return new VersionStamp(count, lastModified, token.toString());
+    }
+    
+    /**
+     * Add a non-row input (e.g. today's date for date-dependent fields) to the fingerprint
+     */
+    public VersionStamp qualify(Object qualifier) {
+        return new VersionStamp(count, lastModified, token + "." + qualifier);
+    }
+    
+    // Getters
+    public long getCount() {
+        return count;
+    }
+    
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+    
+    public long getLastModifiedMillis() {
+        return toEpochMillis(lastModified);
+    }
+    
+    /**
+     * Weak entity tag: equal tags mean semantically equal responses, not byte-identical ones
+     */
+    public String toEtag() {
+        return "W/\"" + token + "\"";
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+}
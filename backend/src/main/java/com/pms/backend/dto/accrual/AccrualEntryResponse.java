@@ -0,0 +1,65 @@
+package com.pms.backend.dto.accrual;
+
+import java.math.BigDecimal;
+
+public class AccrualEntryResponse {
+    
+    private String employeeId;
+    private String policyId;
+    private BigDecimal balanceBefore;
+    private BigDecimal daysForfeited;
+    private BigDecimal daysCredited;
+    private BigDecimal balanceAfter;
+    
+    // Constructors
+    public AccrualEntryResponse() {}
+    
+    // Getters and Setters
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getPolicyId() {
+        return policyId;
+    }
+    
+    public void setPolicyId(String policyId) {
+        this.policyId = policyId;
+    }
+    
+    public BigDecimal getBalanceBefore() {
+        return balanceBefore;
+    }
+    
+    public void setBalanceBefore(BigDecimal balanceBefore) {
+        this.balanceBefore = balanceBefore;
+    }
+    
+    public BigDecimal getDaysForfeited() {
+        return daysForfeited;
+    }
+    
+    public void setDaysForfeited(BigDecimal daysForfeited) {
+        this.daysForfeited = daysForfeited;
+    }
+    
+    public BigDecimal getDaysCredited() {
+        return daysCredited;
+    }
+    
+    public void setDaysCredited(BigDecimal daysCredited) {
+        this.daysCredited = daysCredited;
+    }
+    
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+    
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+}
@@ -0,0 +1,76 @@
+package com.pms.backend.dto.accrual;
+
+import com.pms.backend.entity.enums.AccrualScope;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public class AccrualPolicyRequest {
+    
+    @NotNull(message = "Scope is required")
+    private AccrualScope scope;
+    
+    // Department or job role ID; empty for the company-wide policy
+    private String scopeId;
+    
+    @NotNull(message = "Monthly days are required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Monthly days must be positive")
+    @DecimalMax(value = "31.0", message = "Monthly days must not exceed 31")
+    private BigDecimal monthlyDays;
+    
+    // No cap if empty
+    @DecimalMin(value = "0.0", message = "Maximum balance cannot be negative")
+    @DecimalMax(value = "999.0", message = "Maximum balance must not exceed 999")
+    private BigDecimal maxBalance;
+    
+    // Whole balance carried into a new year if empty
+    @DecimalMin(value = "0.0", message = "Carry-forward limit cannot be negative")
+    @DecimalMax(value = "999.0", message = "Carry-forward limit must not exceed 999")
+    private BigDecimal carryForwardLimit;
+    
+    // Constructors
+    public AccrualPolicyRequest() {}
+    
+    // Getters and Setters
+    public AccrualScope getScope() {
+        return scope;
+    }
+    
+    public void setScope(AccrualScope scope) {
+        this.scope = scope;
+    }
+    
+    public String getScopeId() {
+        return scopeId;
+    }
+    
+    public void setScopeId(String scopeId) {
+        this.scopeId = scopeId;
+    }
+    
+    public BigDecimal getMonthlyDays() {
+        return monthlyDays;
+    }
+    
+    public void setMonthlyDays(BigDecimal monthlyDays) {
+        this.monthlyDays = monthlyDays;
+    }
+    
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+    
+    public void setMaxBalance(BigDecimal maxBalance) {
+        this.maxBalance = maxBalance;
+    }
+    
+    public BigDecimal getCarryForwardLimit() {
+        return carryForwardLimit;
+    }
+    
+    public void setCarryForwardLimit(BigDecimal carryForwardLimit) {
+        this.carryForwardLimit = carryForwardLimit;
+    }
+}
@@ -0,0 +1,77 @@
+package com.pms.backend.dto.accrual;
+
+import com.pms.backend.entity.enums.AccrualScope;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AccrualPolicyResponse {
+    
+    private String policyId;
+    private AccrualScope scope;
+    private String scopeId;
+    private BigDecimal monthlyDays;
+    private BigDecimal maxBalance;
+    private BigDecimal carryForwardLimit;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public AccrualPolicyResponse() {}
+    
+    // Getters and Setters
+    public String getPolicyId() {
+        return policyId;
+    }
+    
+    public void setPolicyId(String policyId) {
+        this.policyId = policyId;
+    }
+    
+    public AccrualScope getScope() {
+        return scope;
+    }
+    
+    public void setScope(AccrualScope scope) {
+        this.scope = scope;
+    }
+    
+    public String getScopeId() {
+        return scopeId;
+    }
+    
+    public void setScopeId(String scopeId) {
+        this.scopeId = scopeId;
+    }
+    
+    public BigDecimal getMonthlyDays() {
+        return monthlyDays;
+    }
+    
+    public void setMonthlyDays(BigDecimal monthlyDays) {
+        this.monthlyDays = monthlyDays;
+    }
+    
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+    
+    public void setMaxBalance(BigDecimal maxBalance) {
+        this.maxBalance = maxBalance;
+    }
+    
+    public BigDecimal getCarryForwardLimit() {
+        return carryForwardLimit;
+    }
+    
+    public void setCarryForwardLimit(BigDecimal carryForwardLimit) {
+        this.carryForwardLimit = carryForwardLimit;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.pms.backend.dto.accrual;
+
+import com.pms.backend.entity.enums.AccrualTrigger;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AccrualRunResponse {
+    
+    private String runId;
+    private Integer accrualYear;
+    private Integer accrualMonth;
+    private Integer employeeCount;
+    private BigDecimal totalCredited;
+    private BigDecimal totalForfeited;
+    private AccrualTrigger triggeredBy;
+    private LocalDateTime createdAt;
+    
+    // True when the period had already been accrued and nothing was credited now
+    private boolean alreadyApplied;
+    
+    // Constructors
+    public AccrualRunResponse() {}
+    
+    // Getters and Setters
+    public String getRunId() {
+        return runId;
+    }
+    
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+    
+    public Integer getAccrualYear() {
+        return accrualYear;
+    }
+    
+    public void setAccrualYear(Integer accrualYear) {
+        this.accrualYear = accrualYear;
+    }
+    
+    public Integer getAccrualMonth() {
+        return accrualMonth;
+    }
+    
+    public void setAccrualMonth(Integer accrualMonth) {
+        this.accrualMonth = accrualMonth;
+    }
+    
+    public Integer getEmployeeCount() {
+        return employeeCount;
+    }
+    
+    public void setEmployeeCount(Integer employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+    
+    public BigDecimal getTotalCredited() {
+        return totalCredited;
+    }
+    
+    public void setTotalCredited(BigDecimal totalCredited) {
+        this.totalCredited = totalCredited;
+    }
+    
+    public BigDecimal getTotalForfeited() {
+        return totalForfeited;
+    }
+    
+    public void setTotalForfeited(BigDecimal totalForfeited) {
+        this.totalForfeited = totalForfeited;
+    }
+    
+    public AccrualTrigger getTriggeredBy() {
+        return triggeredBy;
+    }
+    
+    public void setTriggeredBy(AccrualTrigger triggeredBy) {
+        this.triggeredBy = triggeredBy;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public boolean isAlreadyApplied() {
+        return alreadyApplied;
+    }
+    
+    public void setAlreadyApplied(boolean alreadyApplied) {
+        this.alreadyApplied = alreadyApplied;
+    }
+}
@@ -0,0 +1,45 @@
+package com.pms.backend.dto.employee;
+
+/**
+ * Why one row of a bulk import was rejected
+ */
+public class EmployeeImportError {
+    
+    private long rowNumber;
+    private String username;
+    private String message;
+    
+    // Default constructor
+    public EmployeeImportError() {}
+    
+    public EmployeeImportError(long rowNumber, String username, String message) {
+        this.rowNumber = rowNumber;
+        this.username = username;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public long getRowNumber() {
+        return rowNumber;
+    }
+    
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
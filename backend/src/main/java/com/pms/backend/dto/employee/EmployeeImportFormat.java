@@ -0,0 +1,37 @@
+package com.pms.backend.dto.employee;
+
+import com.pms.backend.exception.BadRequestException;
+
+/**
+ * Body formats accepted by the bulk employee import
+ */
+public enum EmployeeImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+    
+    private final String mediaType;
+    
+    EmployeeImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    /**
+     * Pick the format from a Content-Type header (parameters such as charset are ignored)
+     */
+    public static EmployeeImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim();
+            for (EmployeeImportFormat format : values()) {
+                if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType
+                + " (use text/csv or application/x-ndjson)");
+    }
+}
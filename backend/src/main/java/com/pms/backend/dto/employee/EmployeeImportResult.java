@@ -0,0 +1,61 @@
+package com.pms.backend.dto.employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk employee import: counts plus one error per rejected row
+ * Row numbers are 1-based data rows (the CSV header is not counted)
+ */
+public class EmployeeImportResult {
+    
+    private long totalRows;
+    private long importedCount;
+    private long failedCount;
+    private long durationMillis;
+    private List<EmployeeImportError> errors = new ArrayList<>();
+    
+    // Default constructor
+    public EmployeeImportResult() {}
+    
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+    
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    public long getImportedCount() {
+        return importedCount;
+    }
+    
+    public void setImportedCount(long importedCount) {
+        this.importedCount = importedCount;
+    }
+    
+    public long getFailedCount() {
+        return failedCount;
+    }
+    
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+    
+    public List<EmployeeImportError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<EmployeeImportError> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,85 @@
+package com.pms.backend.dto.employee;
+
+/**
+ * One typeahead match: the fields shown in a suggestion list plus its relevance score
+ * Higher scores rank first; exact name matches score highest, substring matches lowest
+ */
+public class EmployeeSearchHit {
+    
+    private String employeeId;
+    private String firstName;
+    private String lastName;
+    private String username;
+    private String email;
+    private String departmentName;
+    private String jobTitle;
+    private int score;
+    
+    // Default constructor
+    public EmployeeSearchHit() {}
+    
+    // Getters and Setters
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getDepartmentName() {
+        return departmentName;
+    }
+    
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+    
+    public String getJobTitle() {
+        return jobTitle;
+    }
+    
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
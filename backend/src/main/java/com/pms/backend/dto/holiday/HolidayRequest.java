@@ -0,0 +1,55 @@
+package com.pms.backend.dto.holiday;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+public class HolidayRequest {
+    
+    @NotNull(message = "Holiday date is required")
+    private LocalDate holidayDate;
+    
+    @NotBlank(message = "Holiday name is required")
+    @Size(max = 100, message = "Holiday name must not exceed 100 characters")
+    private String holidayName;
+    
+    // Empty for a company-wide holiday
+    @Size(max = 50, message = "Location must not exceed 50 characters")
+    private String location;
+    
+    // Constructors
+    public HolidayRequest() {}
+    
+    public HolidayRequest(LocalDate holidayDate, String holidayName, String location) {
+        this.holidayDate = holidayDate;
+        this.holidayName = holidayName;
+        this.location = location;
+    }
+    
+    // Getters and Setters
+    public LocalDate getHolidayDate() {
+        return holidayDate;
+    }
+    
+    public void setHolidayDate(LocalDate holidayDate) {
+        this.holidayDate = holidayDate;
+    }
+    
+    public String getHolidayName() {
+        return holidayName;
+    }
+    
+    public void setHolidayName(String holidayName) {
+        this.holidayName = holidayName;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
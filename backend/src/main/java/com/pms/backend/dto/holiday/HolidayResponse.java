@@ -0,0 +1,57 @@
+package com.pms.backend.dto.holiday;
+
+import java.time.LocalDate;
+
+public class HolidayResponse {
+    
+    private String holidayId;
+    private LocalDate holidayDate;
+    private String holidayName;
+    private String location;
+    
+    // Constructors
+    public HolidayResponse() {}
+    
+    public HolidayResponse(String holidayId, LocalDate holidayDate, String holidayName, String location) {
+        this.holidayId = holidayId;
+        this.holidayDate = holidayDate;
+        this.holidayName = holidayName;
+        this.location = location;
+    }
+    
+    // Getters and Setters
+    public String getHolidayId() {
+        return holidayId;
+    }
+    
+    public void setHolidayId(String holidayId) {
+        this.holidayId = holidayId;
+    }
+    
+    public LocalDate getHolidayDate() {
+        return holidayDate;
+    }
+    
+    public void setHolidayDate(LocalDate holidayDate) {
+        this.holidayDate = holidayDate;
+    }
+    
+    public String getHolidayName() {
+        return holidayName;
+    }
+    
+    public void setHolidayName(String holidayName) {
+        this.holidayName = holidayName;
+    }
+    
+    /**
+     * Null for a company-wide holiday
+     */
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
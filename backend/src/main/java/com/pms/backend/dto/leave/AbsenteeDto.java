@@ -0,0 +1,47 @@
+package com.pms.backend.dto.leave;
+
+import com.pms.backend.entity.enums.LeaveStatus;
+
+/**
+ * One employee out on a given day; pending leave is shown so approvers can see overlaps
+ */
+public class AbsenteeDto {
+    
+    private String employeeId;
+    private String employeeName;
+    private LeaveStatus status;
+    
+    // Constructors
+    public AbsenteeDto() {}
+    
+    public AbsenteeDto(String employeeId, String employeeName, LeaveStatus status) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getEmployeeName() {
+        return employeeName;
+    }
+    
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+    
+    public LeaveStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LeaveStatus status) {
+        this.status = status;
+    }
+}
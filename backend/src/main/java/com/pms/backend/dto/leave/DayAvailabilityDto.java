@@ -0,0 +1,62 @@
+package com.pms.backend.dto.leave;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Absences on one day of an availability window
+ */
+public class DayAvailabilityDto {
+    
+    private LocalDate date;
+    private int absentCount;
+    private int pendingCount;
+    private List<AbsenteeDto> absentees = new ArrayList<>();
+    
+    // Constructors
+    public DayAvailabilityDto() {}
+    
+    public DayAvailabilityDto(LocalDate date) {
+        this.date = date;
+    }
+    
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    /**
+     * Employees on approved leave
+     */
+    public int getAbsentCount() {
+        return absentCount;
+    }
+    
+    public void setAbsentCount(int absentCount) {
+        this.absentCount = absentCount;
+    }
+    
+    /**
+     * Employees with leave awaiting a decision
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+    
+    public void setPendingCount(int pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+    
+    public List<AbsenteeDto> getAbsentees() {
+        return absentees;
+    }
+    
+    public void setAbsentees(List<AbsenteeDto> absentees) {
+        this.absentees = absentees;
+    }
+}
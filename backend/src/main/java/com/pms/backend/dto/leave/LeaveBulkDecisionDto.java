@@ -0,0 +1,41 @@
+package com.pms.backend.dto.leave;
+
+import com.pms.backend.entity.enums.LeaveStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Approve or reject many pending leave requests in one transaction
+ */
+public class LeaveBulkDecisionDto {
+    
+    @NotEmpty(message = "At least one leave request ID is required")
+    @Size(max = 1000, message = "At most 1000 leave requests can be decided at once")
+    private List<String> leaveIds;
+    
+    @NotNull(message = "Status is required")
+    private LeaveStatus status;
+    
+    // Constructors
+    public LeaveBulkDecisionDto() {}
+    
+    // Getters and Setters
+    public List<String> getLeaveIds() {
+        return leaveIds;
+    }
+    
+    public void setLeaveIds(List<String> leaveIds) {
+        this.leaveIds = leaveIds;
+    }
+    
+    public LeaveStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LeaveStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,62 @@
+package com.pms.backend.dto.leave;
+
+import com.pms.backend.entity.enums.LeaveStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-item results of a bulk decision, in the order the IDs were sent (duplicates removed)
+ */
+public class LeaveBulkDecisionResponseDto {
+    
+    private LeaveStatus status;
+    private int requestedCount;
+    private int succeededCount;
+    private int failedCount;
+    private List<LeaveDecisionResultDto> results = new ArrayList<>();
+    
+    // Constructors
+    public LeaveBulkDecisionResponseDto() {}
+    
+    // Getters and Setters
+    public LeaveStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LeaveStatus status) {
+        this.status = status;
+    }
+    
+    public int getRequestedCount() {
+        return requestedCount;
+    }
+    
+    public void setRequestedCount(int requestedCount) {
+        this.requestedCount = requestedCount;
+    }
+    
+    public int getSucceededCount() {
+        return succeededCount;
+    }
+    
+    public void setSucceededCount(int succeededCount) {
+        this.succeededCount = succeededCount;
+    }
+    
+    public int getFailedCount() {
+        return failedCount;
+    }
+    
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+    
+    public List<LeaveDecisionResultDto> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<LeaveDecisionResultDto> results) {
+        this.results = results;
+    }
+}
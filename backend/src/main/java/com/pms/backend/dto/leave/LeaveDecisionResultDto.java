@@ -0,0 +1,67 @@
+package com.pms.backend.dto.leave;
+
+import com.pms.backend.entity.enums.LeaveStatus;
+
+/**
+ * Outcome of one leave request in a bulk decision; failed items keep their previous status
+ */
+public class LeaveDecisionResultDto {
+    
+    private String leaveId;
+    private String employeeId;
+    private boolean success;
+    private LeaveStatus status;
+    private String message;
+    
+    // Constructors
+    public LeaveDecisionResultDto() {}
+    
+    public LeaveDecisionResultDto(String leaveId, String employeeId, boolean success, LeaveStatus status, String message) {
+        this.leaveId = leaveId;
+        this.employeeId = employeeId;
+        this.success = success;
+        this.status = status;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public String getLeaveId() {
+        return leaveId;
+    }
+    
+    public void setLeaveId(String leaveId) {
+        this.leaveId = leaveId;
+    }
+    
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public LeaveStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LeaveStatus status) {
+        this.status = status;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,75 @@
+package com.pms.backend.dto.leave;
+
+import com.pms.backend.entity.enums.LeaveLedgerEntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One movement of an employee's leave balance, with the running balance after it
+ */
+public class LeaveLedgerEntryDto {
+    
+    private Integer seq;
+    private LeaveLedgerEntryType entryType;
+    
+    // Positive for credits, negative for debits
+    private BigDecimal days;
+    private BigDecimal balanceAfter;
+    
+    // Leave request or accrual run behind the entry
+    private String referenceId;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public LeaveLedgerEntryDto() {}
+    
+    // Getters and Setters
+    public Integer getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(Integer seq) {
+        this.seq = seq;
+    }
+    
+    public LeaveLedgerEntryType getEntryType() {
+        return entryType;
+    }
+    
+    public void setEntryType(LeaveLedgerEntryType entryType) {
+        this.entryType = entryType;
+    }
+    
+    public BigDecimal getDays() {
+        return days;
+    }
+    
+    public void setDays(BigDecimal days) {
+        this.days = days;
+    }
+    
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+    
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+    
+    public String getReferenceId() {
+        return referenceId;
+    }
+    
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -18,6 +18,7 @@ public class LeaveRequestResponseDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private long durationInDays;
+    private long workingDays;
     
     // Employee information (for admin view)
     private String employeeName;
@@ -125,6 +126,17 @@ public class LeaveRequestResponseDto {
         this.durationInDays = durationInDays;
     }
     
+    /**
+     * Days in the range that are neither weekly off-days nor holidays; paid leave debits these
+     */
+    public long getWorkingDays() {
+        return workingDays;
+    }
+    
+    public void setWorkingDays(long workingDays) {
+        this.workingDays = workingDays;
+    }
+    
     public String getEmployeeName() {
         return employeeName;
     }
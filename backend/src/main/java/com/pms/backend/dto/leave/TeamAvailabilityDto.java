@@ -0,0 +1,55 @@
+package com.pms.backend.dto.leave;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Who in a department is out on each day of a date window
+ */
+public class TeamAvailabilityDto {
+    
+    private String departmentId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<DayAvailabilityDto> days = new ArrayList<>();
+    
+    // Constructors
+    public TeamAvailabilityDto() {}
+    
+    // Getters and Setters
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(String departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+    
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+    
+    public LocalDate getToDate() {
+        return toDate;
+    }
+    
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+    
+    /**
+     * One entry per day from fromDate to toDate inclusive
+     */
+    public List<DayAvailabilityDto> getDays() {
+        return days;
+    }
+    
+    public void setDays(List<DayAvailabilityDto> days) {
+        this.days = days;
+    }
+}
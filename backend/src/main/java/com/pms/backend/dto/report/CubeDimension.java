@@ -0,0 +1,50 @@
+package com.pms.backend.dto.report;
+
+import com.pms.backend.exception.BadRequestException;
+
+/**
+ * Dimensions available in the payroll cost cube
+ * Each maps to a column of the payroll_cost_rollups table
+ */
+public enum CubeDimension {
+    DEPARTMENT("department", "departmentId"),
+    JOB_ROLE("jobRole", "jobId"),
+    YEAR("year", "runYear"),
+    MONTH("month", "runMonth"),
+    RUN_STATUS("runStatus", "runStatus");
+    
+    private final String key;
+    private final String attribute;
+    
+    CubeDimension(String key, String attribute) {
+        this.key = key;
+        this.attribute = attribute;
+    }
+    
+    /**
+     * Name used in request parameters and response rows
+     */
+    public String getKey() {
+        return key;
+    }
+    
+    /**
+     * PayrollCostRollup attribute holding the dimension
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+    
+    /**
+     * Parse a request parameter value (case and underscore insensitive)
+     */
+    public static CubeDimension fromParam(String value) {
+        String normalized = value.trim().replace("_", "").replace("-", "");
+        for (CubeDimension dimension : values()) {
+            if (dimension.key.equalsIgnoreCase(normalized)) {
+                return dimension;
+            }
+        }
+        throw new BadRequestException("Unknown cube dimension: " + value);
+    }
+}
@@ -0,0 +1,49 @@
+package com.pms.backend.dto.report;
+
+import com.pms.backend.exception.BadRequestException;
+
+/**
+ * Measures available in the payroll cost cube, all additive over the rollup rows
+ * Headcount is the number of payroll items, so across several months it counts employee-months
+ */
+public enum CubeMeasure {
+    BASE("base", "totalBaseSalary"),
+    BONUS("bonus", "totalBonus"),
+    DEDUCTIONS("deductions", "totalDeductions"),
+    NET("net", "totalNetSalary"),
+    HEADCOUNT("headcount", "headcount");
+    
+    private final String key;
+    private final String attribute;
+    
+    CubeMeasure(String key, String attribute) {
+        this.key = key;
+        this.attribute = attribute;
+    }
+    
+    /**
+     * Name used in request parameters and response rows
+     */
+    public String getKey() {
+        return key;
+    }
+    
+    /**
+     * PayrollCostRollup attribute that is summed
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+    
+    /**
+     * Parse a request parameter value (case insensitive)
+     */
+    public static CubeMeasure fromParam(String value) {
+        for (CubeMeasure measure : values()) {
+            if (measure.key.equalsIgnoreCase(value.trim())) {
+                return measure;
+            }
+        }
+        throw new BadRequestException("Unknown cube measure: " + value);
+    }
+}
@@ -0,0 +1,50 @@
+package com.pms.backend.dto.report;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a payroll cost cube slice
+ * Each row holds the requested dimension values (plus department name / job title
+ * when those dimensions are selected) followed by the requested measures
+ */
+public class PayrollCubeDto {
+    
+    private List<String> dimensions;
+    private List<String> measures;
+    private List<Map<String, Object>> rows;
+    
+    // Default constructor
+    public PayrollCubeDto() {}
+    
+    public PayrollCubeDto(List<String> dimensions, List<String> measures, List<Map<String, Object>> rows) {
+        this.dimensions = dimensions;
+        this.measures = measures;
+        this.rows = rows;
+    }
+    
+    // Getters and Setters
+    public List<String> getDimensions() {
+        return dimensions;
+    }
+    
+    public void setDimensions(List<String> dimensions) {
+        this.dimensions = dimensions;
+    }
+    
+    public List<String> getMeasures() {
+        return measures;
+    }
+    
+    public void setMeasures(List<String> measures) {
+        this.measures = measures;
+    }
+    
+    public List<Map<String, Object>> getRows() {
+        return rows;
+    }
+    
+    public void setRows(List<Map<String, Object>> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,98 @@
+package com.pms.backend.dto.report;
+
+import com.pms.backend.entity.enums.PayrollStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slice of the payroll cost cube: grouping dimensions, measures and optional filters
+ */
+public class PayrollCubeQuery {
+    
+    private List<CubeDimension> dimensions = new ArrayList<>();
+    private List<CubeMeasure> measures = new ArrayList<>();
+    private String departmentId;
+    private String jobId;
+    private Integer year;
+    private Integer month;
+    private Integer startYear;
+    private Integer endYear;
+    private PayrollStatus runStatus;
+    
+    // Default constructor
+    public PayrollCubeQuery() {}
+    
+    // Getters and Setters
+    public List<CubeDimension> getDimensions() {
+        return dimensions;
+    }
+    
+    public void setDimensions(List<CubeDimension> dimensions) {
+        this.dimensions = dimensions;
+    }
+    
+    public List<CubeMeasure> getMeasures() {
+        return measures;
+    }
+    
+    public void setMeasures(List<CubeMeasure> measures) {
+        this.measures = measures;
+    }
+    
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(String departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public Integer getYear() {
+        return year;
+    }
+    
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+    
+    public Integer getMonth() {
+        return month;
+    }
+    
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+    
+    public Integer getStartYear() {
+        return startYear;
+    }
+    
+    public void setStartYear(Integer startYear) {
+        this.startYear = startYear;
+    }
+    
+    public Integer getEndYear() {
+        return endYear;
+    }
+    
+    public void setEndYear(Integer endYear) {
+        this.endYear = endYear;
+    }
+    
+    public PayrollStatus getRunStatus() {
+        return runStatus;
+    }
+    
+    public void setRunStatus(PayrollStatus runStatus) {
+        this.runStatus = runStatus;
+    }
+}
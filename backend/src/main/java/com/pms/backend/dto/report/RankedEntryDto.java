@@ -0,0 +1,69 @@
+package com.pms.backend.dto.report;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one row of a ranked report
+ * For department spend: id/label are the department, value is net salary
+ * For leave days: id/label are the employee, group is the department, value is approved days
+ */
+public class RankedEntryDto {
+    
+    private long rank;
+    private String id;
+    private String label;
+    private String group;
+    private BigDecimal value;
+    
+    // Default constructor
+    public RankedEntryDto() {}
+    
+    public RankedEntryDto(long rank, String id, String label, String group, BigDecimal value) {
+        this.rank = rank;
+        this.id = id;
+        this.label = label;
+        this.group = group;
+        this.value = value;
+    }
+    
+    // Getters and Setters
+    public long getRank() {
+        return rank;
+    }
+    
+    public void setRank(long rank) {
+        this.rank = rank;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public void setLabel(String label) {
+        this.label = label;
+    }
+    
+    public String getGroup() {
+        return group;
+    }
+    
+    public void setGroup(String group) {
+        this.group = group;
+    }
+    
+    public BigDecimal getValue() {
+        return value;
+    }
+    
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+}
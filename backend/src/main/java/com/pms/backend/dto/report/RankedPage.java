@@ -0,0 +1,62 @@
+package com.pms.backend.dto.report;
+
+import java.util.List;
+
+/**
+ * One offset/limit window of a ranked report
+ */
+public class RankedPage<T> {
+    
+    private List<T> items;
+    private long offset;
+    private int limit;
+    private long total;
+    
+    // Default constructor
+    public RankedPage() {}
+    
+    public RankedPage(List<T> items, long offset, int limit, long total) {
+        this.items = items;
+        this.offset = offset;
+        this.limit = limit;
+        this.total = total;
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public long getOffset() {
+        return offset;
+    }
+    
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    // Helper method to tell whether more ranked items follow this window
+    public boolean isHasMore() {
+        return offset + (items != null ? items.size() : 0) < total;
+    }
+}
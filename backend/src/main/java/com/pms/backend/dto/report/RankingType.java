@@ -0,0 +1,37 @@
+package com.pms.backend.dto.report;
+
+import com.pms.backend.exception.BadRequestException;
+
+/**
+ * Leaderboards available through the ranked report endpoint
+ */
+public enum RankingType {
+    DEPARTMENT_SPEND("department-spend"),
+    LEAVE_DAYS("leave-days");
+    
+    private final String key;
+    
+    RankingType(String key) {
+        this.key = key;
+    }
+    
+    /**
+     * Name used in the request path
+     */
+    public String getKey() {
+        return key;
+    }
+    
+    /**
+     * Parse a request path value (case and separator insensitive)
+     */
+    public static RankingType fromParam(String value) {
+        String normalized = value.trim().replace("_", "-");
+        for (RankingType type : values()) {
+            if (type.key.equalsIgnoreCase(normalized)) {
+                return type;
+            }
+        }
+        throw new BadRequestException("Unknown ranking: " + value);
+    }
+}
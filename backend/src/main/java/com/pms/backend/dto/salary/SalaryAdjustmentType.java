@@ -0,0 +1,9 @@
+package com.pms.backend.dto.salary;
+
+/**
+ * How a bulk salary revision changes each current base salary
+ * Percentage: base * (1 + value / 100); Fixed: base + value. Results are rounded to cents.
+ */
+public enum SalaryAdjustmentType {
+    Percentage, Fixed
+}
@@ -0,0 +1,69 @@
+package com.pms.backend.dto.salary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One employee's current and revised base salary in a bulk revision
+ */
+public class SalaryRevisionLine {
+    
+    private String employeeId;
+    private String employeeName;
+    private String currentStructureId;
+    private LocalDate currentEffectiveFrom;
+    private BigDecimal currentBaseSalary;
+    private BigDecimal newBaseSalary;
+    
+    // Default constructor
+    public SalaryRevisionLine() {}
+    
+    // Getters and Setters
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getEmployeeName() {
+        return employeeName;
+    }
+    
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+    
+    public String getCurrentStructureId() {
+        return currentStructureId;
+    }
+    
+    public void setCurrentStructureId(String currentStructureId) {
+        this.currentStructureId = currentStructureId;
+    }
+    
+    public LocalDate getCurrentEffectiveFrom() {
+        return currentEffectiveFrom;
+    }
+    
+    public void setCurrentEffectiveFrom(LocalDate currentEffectiveFrom) {
+        this.currentEffectiveFrom = currentEffectiveFrom;
+    }
+    
+    public BigDecimal getCurrentBaseSalary() {
+        return currentBaseSalary;
+    }
+    
+    public void setCurrentBaseSalary(BigDecimal currentBaseSalary) {
+        this.currentBaseSalary = currentBaseSalary;
+    }
+    
+    public BigDecimal getNewBaseSalary() {
+        return newBaseSalary;
+    }
+    
+    public void setNewBaseSalary(BigDecimal newBaseSalary) {
+        this.newBaseSalary = newBaseSalary;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pms.backend.dto.salary;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk raise: who (department, job role and/or explicit employee IDs, combined with AND),
+ * how (percentage or fixed amount, optionally new bonus details) and from when
+ */
+public class SalaryRevisionRequest {
+    
+    private String departmentId;
+    private String jobId;
+    
+    @Size(max = 10000, message = "At most 10000 employee IDs can be listed; select by department or job role instead")
+    private List<String> employeeIds;
+    
+    @NotNull(message = "Adjustment type is required")
+    private SalaryAdjustmentType adjustmentType;
+    
+    @NotNull(message = "Adjustment value is required")
+    @Digits(integer = 10, fraction = 4, message = "Adjustment value must have at most 10 integer digits and 4 decimal places")
+    private BigDecimal adjustmentValue;
+    
+    // Replaces the bonus details of every revised structure; null keeps the current ones
+    private Map<String, Object> bonusDetails;
+    
+    @NotNull(message = "Effective from date is required")
+    private LocalDate effectiveFrom;
+    
+    // Default constructor
+    public SalaryRevisionRequest() {}
+    
+    // Getters and Setters
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(String departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public List<String> getEmployeeIds() {
+        return employeeIds;
+    }
+    
+    public void setEmployeeIds(List<String> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+    
+    public SalaryAdjustmentType getAdjustmentType() {
+        return adjustmentType;
+    }
+    
+    public void setAdjustmentType(SalaryAdjustmentType adjustmentType) {
+        this.adjustmentType = adjustmentType;
+    }
+    
+    public BigDecimal getAdjustmentValue() {
+        return adjustmentValue;
+    }
+    
+    public void setAdjustmentValue(BigDecimal adjustmentValue) {
+        this.adjustmentValue = adjustmentValue;
+    }
+    
+    public Map<String, Object> getBonusDetails() {
+        return bonusDetails;
+    }
+    
+    public void setBonusDetails(Map<String, Object> bonusDetails) {
+        this.bonusDetails = bonusDetails;
+    }
+    
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+    
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+    
+    /**
+     * Whether any selector is set; a revision without one would touch every employee
+     */
+    public boolean hasSelector() {
+        return departmentId != null || jobId != null || (employeeIds != null && !employeeIds.isEmpty());
+    }
+}
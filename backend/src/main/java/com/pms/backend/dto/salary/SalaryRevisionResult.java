@@ -0,0 +1,110 @@
+package com.pms.backend.dto.salary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome (or, for a dry run, preview) of a bulk salary revision
+ * Skipped employees match the selector but have no open structure starting before the
+ * effective date, or already have a structure from that date on
+ * Lines are capped; the counts and totals always cover every revised employee
+ */
+public class SalaryRevisionResult {
+    
+    private boolean dryRun;
+    private LocalDate effectiveFrom;
+    private long selectedCount;
+    private long revisedCount;
+    private long skippedCount;
+    private BigDecimal currentBaseTotal = BigDecimal.ZERO;
+    private BigDecimal newBaseTotal = BigDecimal.ZERO;
+    private boolean linesTruncated;
+    private long durationMillis;
+    private List<SalaryRevisionLine> lines = new ArrayList<>();
+    
+    // Default constructor
+    public SalaryRevisionResult() {}
+    
+    // Getters and Setters
+    public boolean isDryRun() {
+        return dryRun;
+    }
+    
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+    
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+    
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+    
+    public long getSelectedCount() {
+        return selectedCount;
+    }
+    
+    public void setSelectedCount(long selectedCount) {
+        this.selectedCount = selectedCount;
+    }
+    
+    public long getRevisedCount() {
+        return revisedCount;
+    }
+    
+    public void setRevisedCount(long revisedCount) {
+        this.revisedCount = revisedCount;
+    }
+    
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+    
+    public void setSkippedCount(long skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+    
+    public BigDecimal getCurrentBaseTotal() {
+        return currentBaseTotal;
+    }
+    
+    public void setCurrentBaseTotal(BigDecimal currentBaseTotal) {
+        this.currentBaseTotal = currentBaseTotal;
+    }
+    
+    public BigDecimal getNewBaseTotal() {
+        return newBaseTotal;
+    }
+    
+    public void setNewBaseTotal(BigDecimal newBaseTotal) {
+        this.newBaseTotal = newBaseTotal;
+    }
+    
+    public boolean isLinesTruncated() {
+        return linesTruncated;
+    }
+    
+    public void setLinesTruncated(boolean linesTruncated) {
+        this.linesTruncated = linesTruncated;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+    
+    public List<SalaryRevisionLine> getLines() {
+        return lines;
+    }
+    
+    public void setLines(List<SalaryRevisionLine> lines) {
+        this.lines = lines;
+    }
+}
@@ -1,15 +1,18 @@
 package com.pms.backend.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
+import com.pms.backend.entity.id.TimeOrderedId;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "departments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "departments")
 public class Department {
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @TimeOrderedId
     @Column(name = "department_id", length = 36)
     private String departmentId;
     
@@ -1,17 +1,15 @@
 package com.pms.backend.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
+import com.pms.backend.entity.id.TimeOrderedId;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.math.BigDecimal;
 
 @Entity
 @Table(name = "employees")
 public class Employee {
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @TimeOrderedId
     @Column(name = "employee_id", length = 36)
     private String employeeId;
     
@@ -52,9 +50,6 @@ public class Employee {
     @Column(name = "address")
     private String address;
     
-    @Column(name = "leave_balance", precision = 5, scale = 2, nullable = false)
-    private BigDecimal leaveBalance = BigDecimal.ZERO;
-    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -137,14 +132,6 @@ public class Employee {
         this.address = address;
     }
     
-    public BigDecimal getLeaveBalance() {
-        return leaveBalance;
-    }
-    
-    public void setLeaveBalance(BigDecimal leaveBalance) {
-        this.leaveBalance = leaveBalance;
-    }
-    
     public User getUser() {
         return user;
     }
@@ -0,0 +1,83 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import com.pms.backend.entity.id.TimeOrderedId;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "holidays")
+public class Holiday {
+    @Id
+    @TimeOrderedId
+    @Column(name = "holiday_id", length = 36)
+    private String holidayId;
+    
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate holidayDate;
+    
+    @Column(name = "holiday_name", length = 100, nullable = false)
+    private String holidayName;
+    
+    // Null for holidays observed at every location
+    @Column(length = 50)
+    private String location;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public Holiday() {}
+    
+    public Holiday(LocalDate holidayDate, String holidayName, String location) {
+        this.holidayDate = holidayDate;
+        this.holidayName = holidayName;
+        this.location = location;
+    }
+    
+    // Getters and Setters
+    public String getHolidayId() {
+        return holidayId;
+    }
+    
+    public void setHolidayId(String holidayId) {
+        this.holidayId = holidayId;
+    }
+    
+    public LocalDate getHolidayDate() {
+        return holidayDate;
+    }
+    
+    public void setHolidayDate(LocalDate holidayDate) {
+        this.holidayDate = holidayDate;
+    }
+    
+    public String getHolidayName() {
+        return holidayName;
+    }
+    
+    public void setHolidayName(String holidayName) {
+        this.holidayName = holidayName;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,110 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Audit of one employee's balance movement in an accrual run
+ * Rows are written with set-based statements by LeaveAccrualEntryRepository,
+ * which then appends them to the leave ledger
+ */
+@Entity
+@Table(name = "leave_accrual_entries")
+@IdClass(LeaveAccrualEntryId.class)
+public class LeaveAccrualEntry {
+    @Id
+    @Column(name = "run_id", length = 36)
+    private String runId;
+    
+    @Id
+    @Column(name = "employee_id", length = 36)
+    private String employeeId;
+    
+    @Column(name = "policy_id", length = 36, nullable = false)
+    private String policyId;
+    
+    // Leave ledger seq the balance was read at; the run appends its entries right after it
+    @Column(name = "ledger_seq", nullable = false)
+    private Integer ledgerSeq;
+    
+    @Column(name = "balance_before", precision = 5, scale = 2, nullable = false)
+    private BigDecimal balanceBefore;
+    
+    // Balance above the carry-forward limit dropped at the start of a year
+    @Column(name = "days_forfeited", precision = 5, scale = 2, nullable = false)
+    private BigDecimal daysForfeited;
+    
+    @Column(name = "days_credited", precision = 5, scale = 2, nullable = false)
+    private BigDecimal daysCredited;
+    
+    @Column(name = "balance_after", precision = 5, scale = 2, nullable = false)
+    private BigDecimal balanceAfter;
+    
+    // Constructors
+    public LeaveAccrualEntry() {}
+    
+    // Getters and Setters
+    public String getRunId() {
+        return runId;
+    }
+    
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+    
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getPolicyId() {
+        return policyId;
+    }
+    
+    public void setPolicyId(String policyId) {
+        this.policyId = policyId;
+    }
+    
+    public Integer getLedgerSeq() {
+        return ledgerSeq;
+    }
+    
+    public void setLedgerSeq(Integer ledgerSeq) {
+        this.ledgerSeq = ledgerSeq;
+    }
+    
+    public BigDecimal getBalanceBefore() {
+        return balanceBefore;
+    }
+    
+    public void setBalanceBefore(BigDecimal balanceBefore) {
+        this.balanceBefore = balanceBefore;
+    }
+    
+    public BigDecimal getDaysForfeited() {
+        return daysForfeited;
+    }
+    
+    public void setDaysForfeited(BigDecimal daysForfeited) {
+        this.daysForfeited = daysForfeited;
+    }
+    
+    public BigDecimal getDaysCredited() {
+        return daysCredited;
+    }
+    
+    public void setDaysCredited(BigDecimal daysCredited) {
+        this.daysCredited = daysCredited;
+    }
+    
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+    
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+}
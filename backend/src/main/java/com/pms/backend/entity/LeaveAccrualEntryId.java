@@ -0,0 +1,44 @@
+package com.pms.backend.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite key of LeaveAccrualEntry: one employee in one accrual run
+ */
+public class LeaveAccrualEntryId implements Serializable {
+    
+    private String runId;
+    private String employeeId;
+    
+    // Constructors
+    public LeaveAccrualEntryId() {}
+    
+    public LeaveAccrualEntryId(String runId, String employeeId) {
+        this.runId = runId;
+        this.employeeId = employeeId;
+    }
+    
+    // Getters
+    public String getRunId() {
+        return runId;
+    }
+    
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeaveAccrualEntryId)) return false;
+        LeaveAccrualEntryId that = (LeaveAccrualEntryId) o;
+        return Objects.equals(runId, that.runId)
+                && Objects.equals(employeeId, that.employeeId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(runId, employeeId);
+    }
+}
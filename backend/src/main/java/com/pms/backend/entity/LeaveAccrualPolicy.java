@@ -0,0 +1,140 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import com.pms.backend.entity.id.TimeOrderedId;
+import com.pms.backend.entity.enums.AccrualScope;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Monthly leave credit for a job role, a department or the whole company
+ */
+@Entity
+@Table(name = "leave_accrual_policies",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"scope", "scope_key"}))
+public class LeaveAccrualPolicy {
+    @Id
+    @TimeOrderedId
+    @Column(name = "policy_id", length = 36)
+    private String policyId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AccrualScope scope;
+    
+    // Department or job role ID; null for the company-wide policy
+    @Column(name = "scope_id", length = 36)
+    private String scopeId;
+    
+    // scope_id with '' for the company-wide policy, so the unique key also covers it (NULLs never collide)
+    @Column(name = "scope_key", length = 36, nullable = false)
+    private String scopeKey = "";
+    
+    @Column(name = "monthly_days", precision = 5, scale = 2, nullable = false)
+    private BigDecimal monthlyDays;
+    
+    // Credits stop once the balance reaches this; null for no cap
+    @Column(name = "max_balance", precision = 5, scale = 2)
+    private BigDecimal maxBalance;
+    
+    // Balance kept into a new year (applied by the January accrual); null to keep everything
+    @Column(name = "carry_forward_limit", precision = 5, scale = 2)
+    private BigDecimal carryForwardLimit;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public LeaveAccrualPolicy() {}
+    
+    // Getters and Setters
+    public String getPolicyId() {
+        return policyId;
+    }
+    
+    public void setPolicyId(String policyId) {
+        this.policyId = policyId;
+    }
+    
+    public AccrualScope getScope() {
+        return scope;
+    }
+    
+    public void setScope(AccrualScope scope) {
+        this.scope = scope;
+    }
+    
+    public String getScopeId() {
+        return scopeId;
+    }
+    
+    public void setScopeId(String scopeId) {
+        this.scopeId = scopeId;
+        this.scopeKey = scopeKeyOf(scopeId);
+    }
+    
+    public String getScopeKey() {
+        return scopeKey;
+    }
+    
+    /**
+     * Key a policy of the given scope ID is unique under
+     */
+    public static String scopeKeyOf(String scopeId) {
+        return scopeId == null ? "" : scopeId;
+    }
+    
+    public BigDecimal getMonthlyDays() {
+        return monthlyDays;
+    }
+    
+    public void setMonthlyDays(BigDecimal monthlyDays) {
+        this.monthlyDays = monthlyDays;
+    }
+    
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+    
+    public void setMaxBalance(BigDecimal maxBalance) {
+        this.maxBalance = maxBalance;
+    }
+    
+    public BigDecimal getCarryForwardLimit() {
+        return carryForwardLimit;
+    }
+    
+    public void setCarryForwardLimit(BigDecimal carryForwardLimit) {
+        this.carryForwardLimit = carryForwardLimit;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,121 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import com.pms.backend.entity.id.TimeOrderedId;
+import com.pms.backend.entity.enums.AccrualTrigger;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One month's leave accrual; the unique period key makes a month accrue at most once
+ */
+@Entity
+@Table(name = "leave_accrual_runs",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"accrual_year", "accrual_month"}))
+public class LeaveAccrualRun {
+    @Id
+    @TimeOrderedId
+    @Column(name = "run_id", length = 36)
+    private String runId;
+    
+    @Column(name = "accrual_year", nullable = false)
+    private Integer accrualYear;
+    
+    @Column(name = "accrual_month", nullable = false)
+    private Integer accrualMonth;
+    
+    @Column(name = "employee_count", nullable = false)
+    private Integer employeeCount = 0;
+    
+    @Column(name = "total_credited", precision = 12, scale = 2, nullable = false)
+    private BigDecimal totalCredited = BigDecimal.ZERO;
+    
+    @Column(name = "total_forfeited", precision = 12, scale = 2, nullable = false)
+    private BigDecimal totalForfeited = BigDecimal.ZERO;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "triggered_by", nullable = false)
+    private AccrualTrigger triggeredBy;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public LeaveAccrualRun() {}
+    
+    public LeaveAccrualRun(Integer accrualYear, Integer accrualMonth, AccrualTrigger triggeredBy) {
+        this.accrualYear = accrualYear;
+        this.accrualMonth = accrualMonth;
+        this.triggeredBy = triggeredBy;
+    }
+    
+    // Getters and Setters
+    public String getRunId() {
+        return runId;
+    }
+    
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+    
+    public Integer getAccrualYear() {
+        return accrualYear;
+    }
+    
+    public void setAccrualYear(Integer accrualYear) {
+        this.accrualYear = accrualYear;
+    }
+    
+    public Integer getAccrualMonth() {
+        return accrualMonth;
+    }
+    
+    public void setAccrualMonth(Integer accrualMonth) {
+        this.accrualMonth = accrualMonth;
+    }
+    
+    public Integer getEmployeeCount() {
+        return employeeCount;
+    }
+    
+    public void setEmployeeCount(Integer employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+    
+    public BigDecimal getTotalCredited() {
+        return totalCredited;
+    }
+    
+    public void setTotalCredited(BigDecimal totalCredited) {
+        this.totalCredited = totalCredited;
+    }
+    
+    public BigDecimal getTotalForfeited() {
+        return totalForfeited;
+    }
+    
+    public void setTotalForfeited(BigDecimal totalForfeited) {
+        this.totalForfeited = totalForfeited;
+    }
+    
+    public AccrualTrigger getTriggeredBy() {
+        return triggeredBy;
+    }
+    
+    public void setTriggeredBy(AccrualTrigger triggeredBy) {
+        this.triggeredBy = triggeredBy;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
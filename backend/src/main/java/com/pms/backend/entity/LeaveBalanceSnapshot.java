@@ -0,0 +1,61 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An employee's leave balance as of ledger entry seq; refreshed by compaction, never by leave approvals
+ */
+@Entity
+@Table(name = "leave_balance_snapshots")
+public class LeaveBalanceSnapshot {
+    @Id
+    @Column(name = "employee_id", length = 36)
+    private String employeeId;
+    
+    @Column(name = "seq", nullable = false)
+    private Integer seq = 0;
+    
+    @Column(name = "balance", precision = 7, scale = 2, nullable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public LeaveBalanceSnapshot() {}
+    
+    // Getters and Setters
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public Integer getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(Integer seq) {
+        this.seq = seq;
+    }
+    
+    public BigDecimal getBalance() {
+        return balance;
+    }
+    
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
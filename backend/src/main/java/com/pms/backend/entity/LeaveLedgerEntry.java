@@ -0,0 +1,89 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import com.pms.backend.entity.enums.LeaveLedgerEntryType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One credit (positive days) or debit (negative days) of an employee's leave balance
+ * Entries are never updated; rows are appended with guarded statements by LeaveLedgerRepository
+ */
+@Entity
+@Table(name = "leave_ledger_entries")
+@IdClass(LeaveLedgerEntryId.class)
+public class LeaveLedgerEntry {
+    @Id
+    @Column(name = "employee_id", length = 36)
+    private String employeeId;
+    
+    @Id
+    @Column(name = "seq")
+    private Integer seq;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LeaveLedgerEntryType entryType;
+    
+    @Column(name = "days", precision = 7, scale = 2, nullable = false)
+    private BigDecimal days;
+    
+    // Leave request or accrual run behind the entry
+    @Column(name = "reference_id", length = 36)
+    private String referenceId;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public LeaveLedgerEntry() {}
+    
+    // Getters and Setters
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public Integer getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(Integer seq) {
+        this.seq = seq;
+    }
+    
+    public LeaveLedgerEntryType getEntryType() {
+        return entryType;
+    }
+    
+    public void setEntryType(LeaveLedgerEntryType entryType) {
+        this.entryType = entryType;
+    }
+    
+    public BigDecimal getDays() {
+        return days;
+    }
+    
+    public void setDays(BigDecimal days) {
+        this.days = days;
+    }
+    
+    public String getReferenceId() {
+        return referenceId;
+    }
+    
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,44 @@
+package com.pms.backend.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite key of LeaveLedgerEntry: position in one employee's ledger
+ */
+public class LeaveLedgerEntryId implements Serializable {
+    
+    private String employeeId;
+    private Integer seq;
+    
+    // Constructors
+    public LeaveLedgerEntryId() {}
+    
+    public LeaveLedgerEntryId(String employeeId, Integer seq) {
+        this.employeeId = employeeId;
+        this.seq = seq;
+    }
+    
+    // Getters
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public Integer getSeq() {
+        return seq;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeaveLedgerEntryId)) return false;
+        LeaveLedgerEntryId that = (LeaveLedgerEntryId) o;
+        return Objects.equals(employeeId, that.employeeId)
+                && Objects.equals(seq, that.seq);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, seq);
+    }
+}
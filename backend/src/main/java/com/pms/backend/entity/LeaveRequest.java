@@ -1,7 +1,7 @@
 package com.pms.backend.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
+import com.pms.backend.entity.id.TimeOrderedId;
 import com.pms.backend.entity.enums.LeaveStatus;
 import com.pms.backend.entity.enums.LeaveType;
 import java.time.LocalDate;
@@ -11,8 +11,7 @@ import java.time.LocalDateTime;
 @Table(name = "leave_requests")
 public class LeaveRequest {
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @TimeOrderedId
     @Column(name = "leave_id", length = 36)
     private String leaveId;
     
@@ -0,0 +1,133 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import com.pms.backend.entity.enums.LeaveStatus;
+import com.pms.backend.entity.enums.LeaveType;
+import java.time.LocalDateTime;
+
+/**
+ * Leave counters for one (year, month, department, leave type, status) bucket
+ * The bucket month is the month of the leave start date
+ */
+@Entity
+@Table(name = "leave_statistics")
+@IdClass(LeaveStatisticId.class)
+public class LeaveStatistic {
+    @Id
+    @Column(name = "stat_year")
+    private Integer statYear;
+    
+    @Id
+    @Column(name = "stat_month")
+    private Integer statMonth;
+    
+    @Id
+    @Column(name = "department_id", length = 36)
+    private String departmentId;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type")
+    private LeaveType leaveType;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private LeaveStatus status;
+    
+    // JPA Relationship (for easier data access)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id", insertable = false, updatable = false)
+    private Department department;
+    
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount = 0L;
+    
+    @Column(name = "total_days", nullable = false)
+    private Long totalDays = 0L;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public LeaveStatistic() {}
+    
+    // Getters and Setters
+    public Integer getStatYear() {
+        return statYear;
+    }
+    
+    public void setStatYear(Integer statYear) {
+        this.statYear = statYear;
+    }
+    
+    public Integer getStatMonth() {
+        return statMonth;
+    }
+    
+    public void setStatMonth(Integer statMonth) {
+        this.statMonth = statMonth;
+    }
+    
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(String departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public LeaveType getLeaveType() {
+        return leaveType;
+    }
+    
+    public void setLeaveType(LeaveType leaveType) {
+        this.leaveType = leaveType;
+    }
+    
+    public LeaveStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LeaveStatus status) {
+        this.status = status;
+    }
+    
+    public Department getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(Department department) {
+        this.department = department;
+    }
+    
+    public Long getRequestCount() {
+        return requestCount;
+    }
+    
+    public void setRequestCount(Long requestCount) {
+        this.requestCount = requestCount;
+    }
+    
+    public Long getTotalDays() {
+        return totalDays;
+    }
+    
+    public void setTotalDays(Long totalDays) {
+        this.totalDays = totalDays;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,69 @@
+package com.pms.backend.entity;
+
+import com.pms.backend.entity.enums.LeaveStatus;
+import com.pms.backend.entity.enums.LeaveType;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite key of LeaveStatistic: the counter bucket
+ */
+public class LeaveStatisticId implements Serializable {
+    
+    private Integer statYear;
+    private Integer statMonth;
+    private String departmentId;
+    private LeaveType leaveType;
+    private LeaveStatus status;
+    
+    // Constructors
+    public LeaveStatisticId() {}
+    
+    public LeaveStatisticId(Integer statYear, Integer statMonth, String departmentId,
+                            LeaveType leaveType, LeaveStatus status) {
+        this.statYear = statYear;
+        this.statMonth = statMonth;
+        this.departmentId = departmentId;
+        this.leaveType = leaveType;
+        this.status = status;
+    }
+    
+    // Getters
+    public Integer getStatYear() {
+        return statYear;
+    }
+    
+    public Integer getStatMonth() {
+        return statMonth;
+    }
+    
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public LeaveType getLeaveType() {
+        return leaveType;
+    }
+    
+    public LeaveStatus getStatus() {
+        return status;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeaveStatisticId)) return false;
+        LeaveStatisticId that = (LeaveStatisticId) o;
+        return Objects.equals(statYear, that.statYear)
+                && Objects.equals(statMonth, that.statMonth)
+                && Objects.equals(departmentId, that.departmentId)
+                && leaveType == that.leaveType
+                && status == that.status;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(statYear, statMonth, departmentId, leaveType, status);
+    }
+}
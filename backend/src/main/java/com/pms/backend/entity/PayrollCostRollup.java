@@ -0,0 +1,160 @@
+package com.pms.backend.entity;
+
+import jakarta.persistence.*;
+import com.pms.backend.entity.enums.PayrollStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated payroll cost of one run for one department and job role
+ * Rows are written with set-based statements by PayrollCostRollupRepository
+ */
+@Entity
+@Table(name = "payroll_cost_rollups")
+@IdClass(PayrollCostRollupId.class)
+public class PayrollCostRollup {
+    @Id
+    @Column(name = "run_id", length = 36)
+    private String runId;
+    
+    @Id
+    @Column(name = "department_id", length = 36)
+    private String departmentId;
+    
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+    
+    @Column(name = "run_year", nullable = false)
+    private Integer runYear;
+    
+    @Column(name = "run_month", nullable = false)
+    private Integer runMonth;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "run_status", nullable = false)
+    private PayrollStatus runStatus;
+    
+    @Column(name = "headcount", nullable = false)
+    private Long headcount = 0L;
+    
+    @Column(name = "total_base_salary", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalBaseSalary = BigDecimal.ZERO;
+    
+    @Column(name = "total_bonus", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalBonus = BigDecimal.ZERO;
+    
+    @Column(name = "total_deductions", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalDeductions = BigDecimal.ZERO;
+    
+    @Column(name = "total_net_salary", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalNetSalary = BigDecimal.ZERO;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public PayrollCostRollup() {}
+    
+    // Getters and Setters
+    public String getRunId() {
+        return runId;
+    }
+    
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+    
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(String departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public Integer getRunYear() {
+        return runYear;
+    }
+    
+    public void setRunYear(Integer runYear) {
+        this.runYear = runYear;
+    }
+    
+    public Integer getRunMonth() {
+        return runMonth;
+    }
+    
+    public void setRunMonth(Integer runMonth) {
+        this.runMonth = runMonth;
+    }
+    
+    public PayrollStatus getRunStatus() {
+        return runStatus;
+    }
+    
+    public void setRunStatus(PayrollStatus runStatus) {
+        this.runStatus = runStatus;
+    }
+    
+    public Long getHeadcount() {
+        return headcount;
+    }
+    
+    public void setHeadcount(Long headcount) {
+        this.headcount = headcount;
+    }
+    
+    public BigDecimal getTotalBaseSalary() {
+        return totalBaseSalary;
+    }
+    
+    public void setTotalBaseSalary(BigDecimal totalBaseSalary) {
+        this.totalBaseSalary = totalBaseSalary;
+    }
+    
+    public BigDecimal getTotalBonus() {
+        return totalBonus;
+    }
+    
+    public void setTotalBonus(BigDecimal totalBonus) {
+        this.totalBonus = totalBonus;
+    }
+    
+    public BigDecimal getTotalDeductions() {
+        return totalDeductions;
+    }
+    
+    public void setTotalDeductions(BigDecimal totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+    
+    public BigDecimal getTotalNetSalary() {
+        return totalNetSalary;
+    }
+    
+    public void setTotalNetSalary(BigDecimal totalNetSalary) {
+        this.totalNetSalary = totalNetSalary;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
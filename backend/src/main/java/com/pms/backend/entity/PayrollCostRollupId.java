@@ -0,0 +1,51 @@
+package com.pms.backend.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite key of PayrollCostRollup: run, department and job role
+ */
+public class PayrollCostRollupId implements Serializable {
+    
+    private String runId;
+    private String departmentId;
+    private String jobId;
+    
+    // Constructors
+    public PayrollCostRollupId() {}
+    
+    public PayrollCostRollupId(String runId, String departmentId, String jobId) {
+        this.runId = runId;
+        this.departmentId = departmentId;
+        this.jobId = jobId;
+    }
+    
+    // Getters
+    public String getRunId() {
+        return runId;
+    }
+    
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PayrollCostRollupId)) return false;
+        PayrollCostRollupId that = (PayrollCostRollupId) o;
+        return Objects.equals(runId, that.runId)
+                && Objects.equals(departmentId, that.departmentId)
+                && Objects.equals(jobId, that.jobId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(runId, departmentId, jobId);
+    }
+}
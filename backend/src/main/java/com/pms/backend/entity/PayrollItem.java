@@ -1,7 +1,9 @@
 package com.pms.backend.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
+import com.pms.backend.entity.id.BinaryUuidType;
+import com.pms.backend.entity.id.TimeOrderedId;
+import org.hibernate.annotations.Type;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
@@ -10,9 +12,9 @@ import java.math.BigDecimal;
 @Table(name = "payroll_items")
 public class PayrollItem {
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
-    @Column(name = "item_id", length = 36)
+    @TimeOrderedId
+    @Type(BinaryUuidType.class)
+    @Column(name = "item_id", columnDefinition = "BINARY(16)")
     private String itemId;
     
     @Column(name = "run_id", length = 36, nullable = false)
@@ -21,6 +23,13 @@ public class PayrollItem {
     @Column(name = "employee_id", length = 36, nullable = false)
     private String employeeId;
     
+    // Department and job role the item is costed to, stamped at processing and again at lock
+    @Column(name = "department_id", length = 36)
+    private String departmentId;
+    
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+    
     // JPA Relationships (for easier data access)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "run_id", insertable = false, updatable = false)
@@ -79,6 +88,22 @@ public class PayrollItem {
         this.employeeId = employeeId;
     }
     
+    public String getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(String departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
     public BigDecimal getBaseSalary() {
         return baseSalary;
     }
@@ -1,7 +1,7 @@
 package com.pms.backend.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
+import com.pms.backend.entity.id.TimeOrderedId;
 import com.pms.backend.entity.enums.PayrollStatus;
 import java.time.LocalDateTime;
 
@@ -9,8 +9,7 @@ import java.time.LocalDateTime;
 @Table(name = "payroll_runs")
 public class PayrollRun {
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @TimeOrderedId
     @Column(name = "run_id", length = 36)
     private String runId;
     
@@ -2,15 +2,14 @@ package com.pms.backend.entity;
 
 import jakarta.persistence.*;
 import com.pms.backend.entity.enums.Role;
-import org.hibernate.annotations.GenericGenerator;
+import com.pms.backend.entity.id.TimeOrderedId;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @TimeOrderedId
     @Column(name = "user_id", length = 36)
     private String userId;
     
@@ -30,6 +29,10 @@ public class User {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
     
+    // Bumped to revoke every JWT issued so far (see TokenVersionCache)
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -99,6 +102,14 @@ public class User {
         this.isActive = isActive;
     }
     
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,8 @@
+package com.pms.backend.entity.enums;
+
+/**
+ * What a leave accrual policy applies to; a job role policy overrides a department one, which overrides the company one
+ */
+public enum AccrualScope {
+    Company, Department, JobRole
+}
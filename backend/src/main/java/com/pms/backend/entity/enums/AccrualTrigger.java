@@ -0,0 +1,5 @@
+package com.pms.backend.entity.enums;
+
+public enum AccrualTrigger {
+    Schedule, Manual
+}
@@ -0,0 +1,5 @@
+package com.pms.backend.entity.enums;
+
+public enum LeaveLedgerEntryType {
+    Opening, Adjustment, Accrual, Forfeit, LeaveTaken
+}
@@ -0,0 +1,76 @@
+package com.pms.backend.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ * Keeps an ID a canonical UUID string in Java and the API while the column stores it as BINARY(16)
+ * A user type rather than an AttributeConverter because converters are not applied to identifiers.
+ * Binary order equals the order of the lowercase strings, so keyset cursors on the ID are unaffected.
+ */
+public class BinaryUuidType implements UserType<String> {
+    
+    @Override
+    public int getSqlType() {
+        return Types.BINARY;
+    }
+    
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+    
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+    
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+    
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        byte[] bytes = rs.getBytes(position);
+        return bytes != null ? UuidV7.fromBytes(bytes) : null;
+    }
+    
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.BINARY);
+        } else {
+            st.setBytes(index, UuidV7.toBytes(value));
+        }
+    }
+    
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+    
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+    
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+    
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+}
@@ -0,0 +1,69 @@
+package com.pms.backend.entity.id;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): 48 bits of Unix milliseconds, then a 12-bit counter, then random bits
+ * Keys made in the same millisecond by this JVM still sort in creation order, so inserts land at the right
+ * edge of a B-tree index instead of on random pages.
+ */
+public final class UuidV7 {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private static long lastMillis;
+    private static int counter;
+    
+    private UuidV7() {
+    }
+    
+    public static UUID next() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                counter++;
+                if (counter > 0xFFF) {
+                    // Counter exhausted within one millisecond; borrow the next one
+                    millis++;
+                    counter = RANDOM.nextInt(0x800);
+                }
+            } else {
+                counter = RANDOM.nextInt(0x800);
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+        
+        long mostSignificant = (millis << 16) | 0x7000L | sequence;
+        long leastSignificant = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+    
+    public static String nextString() {
+        return next().toString();
+    }
+    
+    /**
+     * Canonical string to the 16 bytes stored in a BINARY(16) column, in the same order
+     * @throws IllegalArgumentException if the value is not a UUID
+     */
+    public static byte[] toBytes(String uuid) {
+        UUID value = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+                .putLong(value.getMostSignificantBits())
+                .putLong(value.getLeastSignificantBits())
+                .array();
+    }
+    
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("A binary UUID has 16 bytes, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.pms.backend.event;
+
+/**
+ * Published when an employee (and, by cascade, their payroll and leave history) is deleted
+ */
+public class EmployeeDeletedEvent {
+    
+    private final String employeeId;
+    
+    public EmployeeDeletedEvent(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getEmployeeId() {
+        return employeeId;
+    }
+}
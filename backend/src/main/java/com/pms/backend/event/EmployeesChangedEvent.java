@@ -0,0 +1,25 @@
+package com.pms.backend.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when employees are created or a field shown in search results changes
+ * (name, department or job role, including a rename of the department or job role itself)
+ */
+public class EmployeesChangedEvent {
+    
+    private final List<String> employeeIds;
+    
+    public EmployeesChangedEvent(Collection<String> employeeIds) {
+        this.employeeIds = List.copyOf(employeeIds);
+    }
+    
+    public EmployeesChangedEvent(String employeeId) {
+        this(List.of(employeeId));
+    }
+    
+    public List<String> getEmployeeIds() {
+        return employeeIds;
+    }
+}
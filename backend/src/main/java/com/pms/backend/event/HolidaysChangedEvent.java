@@ -0,0 +1,17 @@
+package com.pms.backend.event;
+
+/**
+ * Published when a holiday is added or removed, so cached working-day tables are rebuilt
+ */
+public class HolidaysChangedEvent {
+    
+    private final int year;
+    
+    public HolidaysChangedEvent(int year) {
+        this.year = year;
+    }
+    
+    public int getYear() {
+        return year;
+    }
+}
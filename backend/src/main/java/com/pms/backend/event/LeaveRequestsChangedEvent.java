@@ -0,0 +1,25 @@
+package com.pms.backend.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when leave requests are created, decided or cancelled
+ * Listeners reload the requests by ID; an ID that no longer loads was deleted
+ */
+public class LeaveRequestsChangedEvent {
+    
+    private final List<String> leaveIds;
+    
+    public LeaveRequestsChangedEvent(Collection<String> leaveIds) {
+        this.leaveIds = List.copyOf(leaveIds);
+    }
+    
+    public LeaveRequestsChangedEvent(String leaveId) {
+        this(List.of(leaveId));
+    }
+    
+    public List<String> getLeaveIds() {
+        return leaveIds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.pms.backend.event;
+
+/**
+ * Published when a payroll run is locked
+ * Listeners that keep derived payroll data (analytics, rollups) react after commit
+ */
+public class PayrollRunLockedEvent {
+    
+    private final String runId;
+    
+    public PayrollRunLockedEvent(String runId) {
+        this.runId = runId;
+    }
+    
+    public String getRunId() {
+        return runId;
+    }
+}
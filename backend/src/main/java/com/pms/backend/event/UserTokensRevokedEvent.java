@@ -0,0 +1,17 @@
+package com.pms.backend.event;
+
+/**
+ * Published when a user's issued tokens stop being valid (password change, account removal)
+ */
+public class UserTokensRevokedEvent {
+    
+    private final String userId;
+    
+    public UserTokensRevokedEvent(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+}
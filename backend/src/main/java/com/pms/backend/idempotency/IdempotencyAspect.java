@@ -0,0 +1,204 @@
+package com.pms.backend.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.exception.ConstraintViolationException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs @Idempotent controller methods at most once per Idempotency-Key
+ * Keys are scoped to the user, HTTP method and path, and bound to a hash of the request body: reusing a key
+ * for a different body is a 409. Duplicates on this instance wait on the first execution's future; duplicates
+ * on other instances (Redis store) poll the store. A failed execution releases its key so the client may retry.
+ * Runs inside method security, so a request that is not authorised never claims a key.
+ */
+@Aspect
+@Component
+public class IdempotencyAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyAspect.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MILLIS = 100;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long waitMillis;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyAspect(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             @Value("${idempotency.ttl-seconds:600}") long ttlSeconds,
+                             @Value("${idempotency.wait-timeout-seconds:120}") long waitSeconds) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.waitMillis = TimeUnit.SECONDS.toMillis(waitSeconds);
+    }
+
+    @Around("@annotation(com.pms.backend.idempotency.Idempotent)")
+    public Object runOnce(ProceedingJoinPoint joinPoint) throws Throwable {
+        HttpServletRequest request = currentRequest();
+        String idempotencyKey = request != null ? request.getHeader(HEADER) : null;
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return joinPoint.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = scopedKey(request, idempotencyKey);
+        String fingerprint = fingerprint(joinPoint);
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> first = inFlight.putIfAbsent(key, mine);
+        if (first != null) {
+            return replay(awaitFirst(first), fingerprint);
+        }
+
+        try {
+            IdempotencyRecord existing = store.reserve(key, IdempotencyRecord.inFlight(fingerprint), ttl);
+            if (existing != null) {
+                IdempotencyRecord finished = existing.isComplete() ? existing : awaitStore(key);
+                mine.complete(finished);
+                return replay(finished, fingerprint);
+            }
+
+            Object result;
+            try {
+                result = joinPoint.proceed();
+            } catch (Throwable ex) {
+                store.release(key);
+                throw ex;
+            }
+            IdempotencyRecord record = toRecord(fingerprint, result);
+            store.complete(key, record, ttl);
+            mine.complete(record);
+            return result;
+        } catch (Throwable ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // ====== WAITING FOR THE FIRST EXECUTION ======
+
+    /**
+     * The first execution's response, or its exception rethrown so every duplicate gets the same answer
+     */
+    private IdempotencyRecord awaitFirst(CompletableFuture<IdempotencyRecord> first) throws Throwable {
+        try {
+            return first.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            throw stillRunning();
+        }
+    }
+
+    private IdempotencyRecord awaitStore(String key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_MILLIS);
+            IdempotencyRecord record = store.get(key);
+            if (record == null) {
+                throw new ConstraintViolationException(
+                        "The request with this " + HEADER + " failed; send it again to retry");
+            }
+            if (record.isComplete()) {
+                return record;
+            }
+        }
+        throw stillRunning();
+    }
+
+    private ConstraintViolationException stillRunning() {
+        return new ConstraintViolationException("A request with this " + HEADER + " is still being processed");
+    }
+
+    // ====== HELPER METHODS ======
+
+    private Object replay(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new ConstraintViolationException(HEADER + " was already used for a different request");
+        }
+        logger.debug("Replaying stored response for a repeated {}", HEADER);
+        return ResponseEntity.status(record.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(record.getBody());
+    }
+
+    private IdempotencyRecord toRecord(String fingerprint, Object result) throws JsonProcessingException {
+        if (!(result instanceof ResponseEntity<?> response)) {
+            throw new IllegalStateException("@Idempotent methods must return a ResponseEntity");
+        }
+        return new IdempotencyRecord(fingerprint, response.getStatusCode().value(),
+                objectMapper.writeValueAsString(response.getBody()));
+    }
+
+    private static String scopedKey(HttpServletRequest request, String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String user = authentication != null ? authentication.getName() : "anonymous";
+        return user + " " + request.getMethod() + " " + request.getRequestURI() + " " + idempotencyKey;
+    }
+
+    /**
+     * SHA-256 of the request body arguments; path variables are already part of the key
+     */
+    private String fingerprint(ProceedingJoinPoint joinPoint) throws JsonProcessingException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        Annotation[][] parameterAnnotations = ((MethodSignature) joinPoint.getSignature()).getMethod().getParameterAnnotations();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof RequestBody) {
+                    digest.update(objectMapper.writeValueAsString(args[i]).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest() : null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pms.backend.idempotency;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * What the store keeps per key: a fingerprint of the request body and, once the first execution finished,
+ * its status and JSON body. A status of 0 means still in flight.
+ */
+public class IdempotencyRecord {
+
+    private String fingerprint;
+    private int status;
+    private String body;
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String fingerprint, int status, String body) {
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.body = body;
+    }
+
+    public static IdempotencyRecord inFlight(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, 0, null);
+    }
+
+    @JsonIgnore
+    public boolean isComplete() {
+        return status != 0;
+    }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+}
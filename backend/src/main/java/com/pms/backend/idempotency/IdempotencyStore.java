@@ -0,0 +1,30 @@
+package com.pms.backend.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Short-lived record of idempotency keys; in memory by default, or in Redis (idempotency.store=redis)
+ * so that retries landing on another instance are recognised too
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claim the key for a new execution; returns null if this caller got it, otherwise the existing record
+     */
+    IdempotencyRecord reserve(String key, IdempotencyRecord inFlight, Duration ttl);
+
+    /**
+     * Current record of the key, or null if it is unknown or expired
+     */
+    IdempotencyRecord get(String key);
+
+    /**
+     * Replace the in-flight record with the finished response
+     */
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Forget the key after a failed execution, so a retry runs again
+     */
+    void release(String key);
+}
@@ -0,0 +1,17 @@
+package com.pms.backend.idempotency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a mutating controller method whose callers may send an Idempotency-Key header
+ * A repeated key from the same user on the same path gets the first response back instead of running the
+ * method again; a duplicate arriving while the first is still running waits for it. Requests without the
+ * header are unaffected. The method must return a ResponseEntity.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
@@ -0,0 +1,74 @@
+package com.pms.backend.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keys of this instance only; expired keys are swept once the map reaches its size limit
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.memory.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public IdempotencyRecord reserve(String key, IdempotencyRecord inFlight, Duration ttl) {
+        long now = System.nanoTime();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+        }
+        IdempotencyRecord[] existing = new IdempotencyRecord[1];
+        entries.compute(key, (k, entry) -> {
+            if (entry != null && !entry.isExpired(now)) {
+                existing[0] = entry.record;
+                return entry;
+            }
+            return new Entry(inFlight, now + ttl.toNanos());
+        });
+        return existing[0];
+    }
+
+    @Override
+    public IdempotencyRecord get(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && !entry.isExpired(System.nanoTime()) ? entry.record : null;
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        entries.put(key, new Entry(record, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void release(String key) {
+        entries.remove(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final IdempotencyRecord record;
+        private final long expiresAt;
+
+        private Entry(IdempotencyRecord record, long expiresAt) {
+            this.record = record;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.pms.backend.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Keys shared by all instances: SET NX claims a key, so only one instance runs a given request
+ * Records are stored as JSON under idempotency:&lt;key&gt; and expire with Redis' own TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public IdempotencyRecord reserve(String key, IdempotencyRecord inFlight, Duration ttl) {
+        Boolean claimed = redisTemplate.opsForValue().setIfAbsent(PREFIX + key, write(inFlight), ttl);
+        if (Boolean.TRUE.equals(claimed)) {
+            return null;
+        }
+        IdempotencyRecord existing = get(key);
+        // Expired between the two calls; claiming again is the simplest way to stay consistent
+        return existing != null ? existing : reserve(key, inFlight, ttl);
+    }
+
+    @Override
+    public IdempotencyRecord get(String key) {
+        String json = redisTemplate.opsForValue().get(PREFIX + key);
+        return json != null ? read(json) : null;
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        redisTemplate.opsForValue().set(PREFIX + key, write(record), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(PREFIX + key);
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialise idempotency record", ex);
+        }
+    }
+
+    private IdempotencyRecord read(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read idempotency record", ex);
+        }
+    }
+}
@@ -1,8 +1,52 @@
 package com.pms.backend.repository;
 
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface DepartmentRepository extends JpaRepository<Department, String> {
+    /**
+     * Served from the query cache; any write to the table invalidates it
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-data-lookups")
+    })
     boolean existsByDepartmentName(String departmentName);
+    
+    /**
+     * Cached like existsByDepartmentName, so the checks on every employee create/update skip the database
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-data-lookups")
+    })
+    boolean existsById(String departmentId);
+    
+    /**
+     * Row count and latest update of all departments (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(d), MAX(d.updatedAt)) FROM Department d")
+    VersionStamp getVersionStamp();
+    
+    /**
+     * Row count (0 or 1) and last update of one department (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(d), MAX(d.updatedAt)) FROM Department d " +
+           "WHERE d.departmentId = :departmentId")
+    VersionStamp getVersionStamp(@Param("departmentId") String departmentId);
+    
+    /**
+     * All department ids, for bulk existence checks
+     */
+    @Query("SELECT d.departmentId FROM Department d")
+    List<String> findAllIds();
 }
@@ -1,12 +1,132 @@
 package com.pms.backend.repository;
 
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.entity.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, String> {
+public interface EmployeeRepository extends JpaRepository<Employee, String>, EmployeeRepositoryCustom {
     long countByJobId(String jobId);
     long countByDepartmentId(String departmentId);
     Optional<Employee> findByUserId(String userId);
+    
+    /**
+     * Row count and latest update of all employees (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) FROM Employee e")
+    VersionStamp getVersionStamp();
+    
+    /**
+     * Row count (0 or 1) and last update of one employee (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) FROM Employee e " +
+           "WHERE e.employeeId = :employeeId")
+    VersionStamp getVersionStamp(@Param("employeeId") String employeeId);
+    
+    // ====== FETCH-PLANNED READS ======
+    
+    /**
+     * All employees with user, department and job role loaded in the same query
+     */
+    @Query("SELECT e FROM Employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole")
+    List<Employee> findAllWithDetails();
+    
+    /**
+     * One employee with user, department and job role loaded in the same query
+     */
+    @Query("SELECT e FROM Employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
+           "WHERE e.employeeId = :employeeId")
+    Optional<Employee> findByIdWithDetails(@Param("employeeId") String employeeId);
+    
+    /**
+     * The employee linked to a user account, with user, department and job role loaded
+     */
+    @Query("SELECT e FROM Employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
+           "WHERE e.userId = :userId")
+    Optional<Employee> findByUserIdWithDetails(@Param("userId") String userId);
+    
+    /**
+     * The given employees with user, department and job role loaded in the same query
+     */
+    @Query("SELECT e FROM Employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
+           "WHERE e.employeeId IN :employeeIds")
+    List<Employee> findByIdInWithDetails(@Param("employeeIds") Collection<String> employeeIds);
+    
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.userId = :userId")
+    Optional<String> findIdByUserId(@Param("userId") String userId);
+    
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.departmentId = :departmentId")
+    List<String> findIdsByDepartmentId(@Param("departmentId") String departmentId);
+    
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.jobId = :jobId")
+    List<String> findIdsByJobId(@Param("jobId") String jobId);
+    
+    /**
+     * Employee ID and department ID of the given employees
+     */
+    @Query("SELECT e.employeeId, e.departmentId FROM Employee e WHERE e.employeeId IN :employeeIds")
+    List<Object[]> findDepartmentIdsByIdIn(@Param("employeeIds") Collection<String> employeeIds);
+    
+    // ====== KEYSET PAGINATION ======
+    
+    /**
+     * Page of employees ordered by (lastName, firstName, employeeId), starting after the given key
+     * Pass null after* values for the first page; limit via Pageable (offset is always 0)
+     */
+    @Query("SELECT e FROM Employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
+           "WHERE (:departmentId IS NULL OR e.departmentId = :departmentId) " +
+           "AND (:jobId IS NULL OR e.jobId = :jobId) " +
+           "AND (:namePrefix IS NULL OR e.lastName LIKE :namePrefix OR e.firstName LIKE :namePrefix) " +
+           "AND (:afterLastName IS NULL OR " +
+           "     (e.lastName, e.firstName, e.employeeId) > (:afterLastName, :afterFirstName, :afterId)) " +
+           "ORDER BY e.lastName ASC, e.firstName ASC, e.employeeId ASC")
+    List<Employee> findPageOrderByName(@Param("departmentId") String departmentId,
+                                       @Param("jobId") String jobId,
+                                       @Param("namePrefix") String namePrefix,
+                                       @Param("afterLastName") String afterLastName,
+                                       @Param("afterFirstName") String afterFirstName,
+                                       @Param("afterId") String afterId,
+                                       Pageable pageable);
+    
+    /**
+     * Page of employees ordered by (createdAt, employeeId) newest first, starting after the given key
+     */
+    @Query("SELECT e FROM Employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
+           "WHERE (:departmentId IS NULL OR e.departmentId = :departmentId) " +
+           "AND (:jobId IS NULL OR e.jobId = :jobId) " +
+           "AND (:namePrefix IS NULL OR e.lastName LIKE :namePrefix OR e.firstName LIKE :namePrefix) " +
+           "AND (:afterCreatedAt IS NULL OR " +
+           "     (e.createdAt, e.employeeId) < (:afterCreatedAt, :afterId)) " +
+           "ORDER BY e.createdAt DESC, e.employeeId DESC")
+    List<Employee> findPageOrderByCreatedAt(@Param("departmentId") String departmentId,
+                                            @Param("jobId") String jobId,
+                                            @Param("namePrefix") String namePrefix,
+                                            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                            @Param("afterId") String afterId,
+                                            Pageable pageable);
 }
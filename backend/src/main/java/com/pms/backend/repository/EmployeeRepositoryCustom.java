@@ -0,0 +1,18 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.User;
+
+import java.util.List;
+
+/**
+ * JDBC batch writes for bulk employee onboarding
+ */
+public interface EmployeeRepositoryCustom {
+    
+    /**
+     * Insert users and their employee records with two batched statements
+     * Ids, timestamps and the encoded password must already be set; the persistence context is bypassed
+     */
+    void batchInsertWithUsers(List<User> users, List<Employee> employees);
+}
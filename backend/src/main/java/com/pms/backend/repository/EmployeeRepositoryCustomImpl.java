@@ -0,0 +1,62 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain JDBC batches: one round trip per batch instead of one persist and flush per row
+ * (MySQL needs rewriteBatchedStatements=true on the URL to send each batch as one multi-row INSERT)
+ */
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+    
+    private static final String INSERT_USER =
+            "INSERT INTO users (user_id, username, email, password, role, is_active, token_version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (employee_id, user_id, job_id, department_id, first_name, last_name, " +
+            "date_of_birth, phone, address, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public EmployeeRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void batchInsertWithUsers(List<User> users, List<Employee> employees) {
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUserId());
+            ps.setString(2, user.getUsername());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getPassword());
+            ps.setString(5, user.getRole().name());
+            ps.setBoolean(6, user.getIsActive());
+            ps.setInt(7, user.getTokenVersion());
+            ps.setTimestamp(8, Timestamp.valueOf(user.getCreatedAt()));
+            ps.setTimestamp(9, Timestamp.valueOf(user.getUpdatedAt()));
+        });
+        
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, employees, employees.size(), (ps, employee) -> {
+            ps.setString(1, employee.getEmployeeId());
+            ps.setString(2, employee.getUserId());
+            ps.setString(3, employee.getJobId());
+            ps.setString(4, employee.getDepartmentId());
+            ps.setString(5, employee.getFirstName());
+            ps.setString(6, employee.getLastName());
+            ps.setDate(7, Date.valueOf(employee.getDateOfBirth()));
+            ps.setString(8, employee.getPhone());
+            ps.setString(9, employee.getAddress());
+            ps.setTimestamp(10, Timestamp.valueOf(employee.getCreatedAt()));
+            ps.setTimestamp(11, Timestamp.valueOf(employee.getUpdatedAt()));
+        });
+    }
+}
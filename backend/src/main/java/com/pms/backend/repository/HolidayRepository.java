@@ -0,0 +1,37 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayRepository extends JpaRepository<Holiday, String> {
+    
+    /**
+     * Holidays observed at a location in [fromDate, toDate]: company-wide ones plus the location's own
+     * A null location selects company-wide holidays only
+     */
+    @Query("SELECT h FROM Holiday h " +
+           "WHERE h.holidayDate BETWEEN :fromDate AND :toDate " +
+           "AND (h.location IS NULL OR h.location = :location) " +
+           "ORDER BY h.holidayDate")
+    List<Holiday> findObservedBetween(@Param("location") String location,
+                                      @Param("fromDate") LocalDate fromDate,
+                                      @Param("toDate") LocalDate toDate);
+    
+    /**
+     * All holidays in [fromDate, toDate] for every location
+     */
+    List<Holiday> findByHolidayDateBetweenOrderByHolidayDateAscLocationAsc(LocalDate fromDate, LocalDate toDate);
+    
+    /**
+     * Duplicate check; location may be null for company-wide holidays
+     */
+    @Query("SELECT COUNT(h) > 0 FROM Holiday h WHERE h.holidayDate = :holidayDate " +
+           "AND ((:location IS NULL AND h.location IS NULL) OR h.location = :location)")
+    boolean existsForDateAndLocation(@Param("holidayDate") LocalDate holidayDate,
+                                     @Param("location") String location);
+}
@@ -1,8 +1,52 @@
 package com.pms.backend.repository;
 
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.entity.JobRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface JobRoleRepository extends JpaRepository<JobRole, String> {
+    /**
+     * Served from the query cache; any write to the table invalidates it
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-data-lookups")
+    })
     boolean existsByJobTitle(String jobTitle);
+    
+    /**
+     * Cached like existsByJobTitle, so the checks on every employee create/update skip the database
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-data-lookups")
+    })
+    boolean existsById(String jobId);
+    
+    /**
+     * Row count and latest update of all job roles (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(j), MAX(j.updatedAt)) FROM JobRole j")
+    VersionStamp getVersionStamp();
+    
+    /**
+     * Row count (0 or 1) and last update of one job role (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(j), MAX(j.updatedAt)) FROM JobRole j " +
+           "WHERE j.jobId = :jobId")
+    VersionStamp getVersionStamp(@Param("jobId") String jobId);
+    
+    /**
+     * All job role ids, for bulk existence checks
+     */
+    @Query("SELECT j.jobId FROM JobRole j")
+    List<String> findAllIds();
 }
@@ -0,0 +1,82 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.LeaveAccrualEntry;
+import com.pms.backend.entity.LeaveAccrualEntryId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaveAccrualEntryRepository extends JpaRepository<LeaveAccrualEntry, LeaveAccrualEntryId> {
+    
+    List<LeaveAccrualEntry> findByRunIdOrderByEmployeeIdAsc(String runId);
+    
+    /**
+     * Compute the accrual of every active employee into audit entries, in one statement
+     * The policy is the employee's job role one, else the department one, else the company one;
+     * employees with none are skipped. Balances are read from the leave ledger (snapshot plus later
+     * entries). On a year start the balance is first trimmed to the carry-forward limit, then the
+     * monthly days are credited up to the maximum balance.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_accrual_entries"))
+    @Query(value = "INSERT INTO leave_accrual_entries (run_id, employee_id, policy_id, ledger_seq, balance_before, " +
+                   "days_forfeited, days_credited, balance_after) " +
+                   "SELECT :runId, c.employee_id, c.policy_id, c.ledger_seq, c.balance_before, " +
+                   "c.balance_before - c.carried, c.credited, c.carried + c.credited " +
+                   "FROM (SELECT t.employee_id, t.policy_id, t.ledger_seq, t.balance_before, t.carried, " +
+                   "  CASE WHEN t.max_balance IS NULL THEN t.monthly_days " +
+                   "       WHEN t.carried >= t.max_balance THEN 0 " +
+                   "       WHEN t.carried + t.monthly_days > t.max_balance THEN t.max_balance - t.carried " +
+                   "       ELSE t.monthly_days END AS credited " +
+                   "  FROM (SELECT e.employee_id, p.policy_id, p.monthly_days, p.max_balance, " +
+                   "    b.seq AS ledger_seq, b.balance AS balance_before, " +
+                   "    CASE WHEN :yearStart = 1 AND p.carry_forward_limit IS NOT NULL " +
+                   "              AND b.balance > p.carry_forward_limit " +
+                   "         THEN p.carry_forward_limit ELSE b.balance END AS carried " +
+                   "    FROM employees e " +
+                   "    JOIN users u ON u.user_id = e.user_id " +
+                   "    JOIN (SELECT s.employee_id, COALESCE(MAX(l.seq), s.seq) AS seq, " +
+                   "            s.balance + COALESCE(SUM(l.days), 0) AS balance " +
+                   "          FROM leave_balance_snapshots s " +
+                   "          LEFT JOIN leave_ledger_entries l ON l.employee_id = s.employee_id AND l.seq > s.seq " +
+                   "          GROUP BY s.employee_id, s.seq, s.balance) b ON b.employee_id = e.employee_id " +
+                   "    JOIN leave_accrual_policies p ON p.policy_id = COALESCE(" +
+                   "      (SELECT j.policy_id FROM leave_accrual_policies j WHERE j.scope = 'JobRole' AND j.scope_id = e.job_id), " +
+                   "      (SELECT d.policy_id FROM leave_accrual_policies d WHERE d.scope = 'Department' AND d.scope_id = e.department_id), " +
+                   "      (SELECT g.policy_id FROM leave_accrual_policies g WHERE g.scope = 'Company' AND g.scope_key = '' LIMIT 1)) " +
+                   "    WHERE u.is_active = TRUE) t) c",
+           nativeQuery = true)
+    int insertEntriesForRun(@Param("runId") String runId, @Param("yearStart") int yearStart);
+    
+    /**
+     * Append a run's forfeits to the leave ledger, right after the seq each balance was read at
+     * Fails with a duplicate key if a balance changed since it was read
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_ledger_entries"))
+    @Query(value = "INSERT INTO leave_ledger_entries (employee_id, seq, entry_type, days, reference_id, created_at) " +
+                   "SELECT a.employee_id, a.ledger_seq + 1, 'Forfeit', -a.days_forfeited, a.run_id, CURRENT_TIMESTAMP " +
+                   "FROM leave_accrual_entries a WHERE a.run_id = :runId AND a.days_forfeited > 0",
+           nativeQuery = true)
+    int appendForfeitsForRun(@Param("runId") String runId);
+    
+    /**
+     * Append a run's credits to the leave ledger, after the forfeit if there was one
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_ledger_entries"))
+    @Query(value = "INSERT INTO leave_ledger_entries (employee_id, seq, entry_type, days, reference_id, created_at) " +
+                   "SELECT a.employee_id, a.ledger_seq + CASE WHEN a.days_forfeited > 0 THEN 2 ELSE 1 END, " +
+                   "'Accrual', a.days_credited, a.run_id, CURRENT_TIMESTAMP " +
+                   "FROM leave_accrual_entries a WHERE a.run_id = :runId AND a.days_credited > 0",
+           nativeQuery = true)
+    int appendCreditsForRun(@Param("runId") String runId);
+}
@@ -0,0 +1,18 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.LeaveAccrualPolicy;
+import com.pms.backend.entity.enums.AccrualScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveAccrualPolicyRepository extends JpaRepository<LeaveAccrualPolicy, String> {
+    
+    // The company-wide policy is keyed by '' (see LeaveAccrualPolicy.scopeKeyOf)
+    Optional<LeaveAccrualPolicy> findByScopeAndScopeKey(AccrualScope scope, String scopeKey);
+    
+    List<LeaveAccrualPolicy> findAllByOrderByScopeAscScopeIdAsc();
+}
@@ -0,0 +1,35 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.LeaveAccrualRun;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveAccrualRunRepository extends JpaRepository<LeaveAccrualRun, String> {
+    
+    Optional<LeaveAccrualRun> findByAccrualYearAndAccrualMonth(Integer accrualYear, Integer accrualMonth);
+    
+    List<LeaveAccrualRun> findAllByOrderByAccrualYearDescAccrualMonthDesc();
+    
+    /**
+     * Store the totals of a run's audit entries on the run
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_accrual_runs"))
+    @Query(value = "UPDATE leave_accrual_runs SET " +
+                   "employee_count = (SELECT COUNT(*) FROM leave_accrual_entries a WHERE a.run_id = :runId), " +
+                   "total_credited = (SELECT COALESCE(SUM(a.days_credited), 0) FROM leave_accrual_entries a WHERE a.run_id = :runId), " +
+                   "total_forfeited = (SELECT COALESCE(SUM(a.days_forfeited), 0) FROM leave_accrual_entries a WHERE a.run_id = :runId) " +
+                   "WHERE run_id = :runId",
+           nativeQuery = true)
+    int updateTotals(@Param("runId") String runId);
+}
@@ -0,0 +1,113 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.dto.VersionStamp;
+import com.pms.backend.entity.LeaveLedgerEntry;
+import com.pms.backend.entity.LeaveLedgerEntryId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, LeaveLedgerEntryId>,
+                                               LeaveLedgerRepositoryCustom {
+    
+    // ====== BALANCES ======
+    
+    /**
+     * Last seq and current balance of one employee, read together in one statement
+     * Row: seq, balance; empty if the employee has no ledger
+     */
+    @Query("SELECT COALESCE(MAX(l.seq), s.seq), s.balance + COALESCE(SUM(l.days), 0) " +
+           "FROM LeaveBalanceSnapshot s LEFT JOIN LeaveLedgerEntry l " +
+           "ON l.employeeId = s.employeeId AND l.seq > s.seq " +
+           "WHERE s.employeeId = :employeeId " +
+           "GROUP BY s.seq, s.balance")
+    List<Object[]> findPosition(@Param("employeeId") String employeeId);
+    
+    /**
+     * Current balances of the given employees; rows: employeeId, balance
+     */
+    @Query("SELECT s.employeeId, s.balance + COALESCE(SUM(l.days), 0) " +
+           "FROM LeaveBalanceSnapshot s LEFT JOIN LeaveLedgerEntry l " +
+           "ON l.employeeId = s.employeeId AND l.seq > s.seq " +
+           "WHERE s.employeeId IN :employeeIds " +
+           "GROUP BY s.employeeId, s.balance")
+    List<Object[]> findBalances(@Param("employeeIds") Collection<String> employeeIds);
+    
+    /**
+     * Current balances of all employees; rows: employeeId, balance
+     */
+    @Query("SELECT s.employeeId, s.balance + COALESCE(SUM(l.days), 0) " +
+           "FROM LeaveBalanceSnapshot s LEFT JOIN LeaveLedgerEntry l " +
+           "ON l.employeeId = s.employeeId AND l.seq > s.seq " +
+           "GROUP BY s.employeeId, s.balance")
+    List<Object[]> findAllBalances();
+    
+    List<LeaveLedgerEntry> findByEmployeeIdOrderBySeqDesc(String employeeId);
+    
+    // ====== WRITES ======
+    
+    /**
+     * Append one entry; fails with a duplicate key if another writer already took this seq
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_ledger_entries"))
+    @Query(value = "INSERT INTO leave_ledger_entries (employee_id, seq, entry_type, days, reference_id, created_at) " +
+                   "VALUES (:employeeId, :seq, :entryType, :days, :referenceId, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int insertEntry(@Param("employeeId") String employeeId, @Param("seq") int seq,
+                    @Param("entryType") String entryType, @Param("days") BigDecimal days,
+                    @Param("referenceId") String referenceId);
+    
+    /**
+     * Start an employee's ledger with an empty snapshot
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_balance_snapshots"))
+    @Query(value = "INSERT INTO leave_balance_snapshots (employee_id, seq, balance, updated_at) " +
+                   "VALUES (:employeeId, 0, 0, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int insertSnapshot(@Param("employeeId") String employeeId);
+    
+    /**
+     * Fold every entry past each snapshot into it, in one statement
+     * Balances are unchanged; later reads just sum fewer entries. Only snapshot rows are written, but
+     * InnoDB still locks the entries the subqueries read: shared next-key locks under REPEATABLE READ,
+     * which block appending the next seq until the statement commits. Run it at READ COMMITTED
+     * (LeaveBalanceLedger.compact), where only the existing entries are record-locked and appends of
+     * new ones do not wait.
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_balance_snapshots"))
+    @Query(value = "UPDATE leave_balance_snapshots SET " +
+                   "balance = balance + (SELECT COALESCE(SUM(l.days), 0) FROM leave_ledger_entries l " +
+                   "  WHERE l.employee_id = leave_balance_snapshots.employee_id AND l.seq > leave_balance_snapshots.seq), " +
+                   "seq = (SELECT MAX(l.seq) FROM leave_ledger_entries l " +
+                   "  WHERE l.employee_id = leave_balance_snapshots.employee_id), " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE EXISTS (SELECT 1 FROM leave_ledger_entries l " +
+                   "  WHERE l.employee_id = leave_balance_snapshots.employee_id AND l.seq > leave_balance_snapshots.seq)",
+           nativeQuery = true)
+    int compactSnapshots();
+    
+    // ====== CONDITIONAL GET ======
+    
+    /**
+     * Entry count and latest entry of all ledgers (balances change only by appending)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(l), MAX(l.createdAt)) FROM LeaveLedgerEntry l")
+    VersionStamp getVersionStamp();
+    
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(l), MAX(l.createdAt)) FROM LeaveLedgerEntry l " +
+           "WHERE l.employeeId = :employeeId")
+    VersionStamp getVersionStamp(@Param("employeeId") String employeeId);
+}
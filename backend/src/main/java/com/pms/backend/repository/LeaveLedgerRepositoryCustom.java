@@ -0,0 +1,16 @@
+package com.pms.backend.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for opening many leave ledgers at once
+ */
+public interface LeaveLedgerRepositoryCustom {
+    
+    /**
+     * Insert an empty snapshot and an opening entry per employee with two batched statements
+     * The employees must already be inserted; the persistence context is bypassed
+     */
+    void batchOpen(Map<String, BigDecimal> openingBalances);
+}
@@ -0,0 +1,41 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.enums.LeaveLedgerEntryType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class LeaveLedgerRepositoryCustomImpl implements LeaveLedgerRepositoryCustom {
+    
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO leave_balance_snapshots (employee_id, seq, balance, updated_at) " +
+            "VALUES (?, 0, 0, CURRENT_TIMESTAMP)";
+    
+    private static final String INSERT_OPENING_ENTRY =
+            "INSERT INTO leave_ledger_entries (employee_id, seq, entry_type, days, reference_id, created_at) " +
+            "VALUES (?, 1, '" + LeaveLedgerEntryType.Opening.name() + "', ?, NULL, CURRENT_TIMESTAMP)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public LeaveLedgerRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void batchOpen(Map<String, BigDecimal> openingBalances) {
+        List<Map.Entry<String, BigDecimal>> rows = new ArrayList<>(openingBalances.entrySet());
+        
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, rows, rows.size(),
+                (ps, row) -> ps.setString(1, row.getKey()));
+        
+        jdbcTemplate.batchUpdate(INSERT_OPENING_ENTRY, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getKey());
+            ps.setBigDecimal(2, row.getValue());
+        });
+    }
+}
@@ -3,30 +3,47 @@ package com.pms.backend.repository;
 import com.pms.backend.entity.LeaveRequest;
 import com.pms.backend.entity.enums.LeaveStatus;
 import com.pms.backend.entity.enums.LeaveType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, String> {
     
     /**
      * Find all leave requests by employee ID, ordered by creation date (newest first)
      */
+    @EntityGraph(attributePaths = {"employee", "employee.user", "employee.department"})
     List<LeaveRequest> findByEmployeeIdOrderByCreatedAtDesc(String employeeId);
     
     /**
      * Find all leave requests by status, ordered by creation date (oldest first for pending)
      */
+    @EntityGraph(attributePaths = {"employee", "employee.user", "employee.department"})
     List<LeaveRequest> findByStatusOrderByCreatedAtAsc(LeaveStatus status);
     
     /**
      * Find all leave requests ordered by creation date (newest first)
      */
+    @EntityGraph(attributePaths = {"employee", "employee.user", "employee.department"})
     List<LeaveRequest> findAllByOrderByCreatedAtDesc();
     
+    /**
+     * Find one leave request with its employee, user and department loaded
+     */
+    @EntityGraph(attributePaths = {"employee", "employee.user", "employee.department"})
+    Optional<LeaveRequest> findWithEmployeeByLeaveId(String leaveId);
+    
     /**
      * Find leave requests by employee and status
      */
@@ -68,11 +85,70 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Stri
                                                     @Param("fromDate") LocalDate fromDate,
                                                     @Param("toDate") LocalDate toDate);
     
+    /**
+     * Approved unpaid (sick or casual) leave of an employee overlapping [fromDate, toDate]
+     */
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employeeId = :employeeId " +
+           "AND lr.status = 'Approved' AND lr.leaveType IN ('Sick', 'Casual') " +
+           "AND lr.startDate <= :toDate AND lr.endDate >= :fromDate " +
+           "ORDER BY lr.startDate")
+    List<LeaveRequest> findApprovedUnpaidLeaveOverlapping(@Param("employeeId") String employeeId,
+                                                          @Param("fromDate") LocalDate fromDate,
+                                                          @Param("toDate") LocalDate toDate);
+    
     /**
      * Check if employee has any pending leave requests
      */
     boolean existsByEmployeeIdAndStatus(String employeeId, LeaveStatus status);
     
+    // ====== BULK DECISIONS ======
+    
+    /**
+     * Lock the given leave requests for a bulk decision (SELECT ... FOR UPDATE)
+     * Concurrent decisions on the same requests wait instead of deducting balances twice
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<LeaveRequest> findForDecisionByLeaveIdIn(Collection<String> leaveIds);
+    
+    /**
+     * Move pending requests to a decided status in one statement; returns the number of rows changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.status = :status, lr.updatedAt = :now " +
+           "WHERE lr.leaveId IN :leaveIds AND lr.status = com.pms.backend.entity.enums.LeaveStatus.Pending")
+    int updatePendingStatus(@Param("leaveIds") Collection<String> leaveIds,
+                            @Param("status") LeaveStatus status,
+                            @Param("now") LocalDateTime now);
+    
+    // ====== AVAILABILITY CALENDAR ======
+    
+    /**
+     * Pending and approved leave overlapping [fromDate, toDate], optionally for one department
+     * Returns: leaveId, employeeId, startDate, endDate, status, firstName, lastName, departmentId
+     */
+    @Query("SELECT lr.leaveId, lr.employeeId, lr.startDate, lr.endDate, lr.status, " +
+           "e.firstName, e.lastName, e.departmentId " +
+           "FROM LeaveRequest lr " +
+           "JOIN lr.employee e " +
+           "WHERE lr.status IN ('Pending', 'Approved') " +
+           "AND lr.endDate >= :fromDate " +
+           "AND (:toDate IS NULL OR lr.startDate <= :toDate) " +
+           "AND (:departmentId IS NULL OR e.departmentId = :departmentId)")
+    List<Object[]> findOccupancy(@Param("departmentId") String departmentId,
+                                 @Param("fromDate") LocalDate fromDate,
+                                 @Param("toDate") LocalDate toDate);
+    
+    /**
+     * The given leave requests in the same shape as findOccupancy, if still pending or approved
+     */
+    @Query("SELECT lr.leaveId, lr.employeeId, lr.startDate, lr.endDate, lr.status, " +
+           "e.firstName, e.lastName, e.departmentId " +
+           "FROM LeaveRequest lr " +
+           "JOIN lr.employee e " +
+           "WHERE lr.leaveId IN :leaveIds " +
+           "AND lr.status IN ('Pending', 'Approved')")
+    List<Object[]> findOccupancyByLeaveIdIn(@Param("leaveIds") Collection<String> leaveIds);
+    
     // ====== REPORTING QUERIES ======
     
     /**
@@ -160,9 +236,21 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Stri
            "HAVING COALESCE(SUM(CASE WHEN lr.status = 'Approved' THEN " +
            "   (FUNCTION('DATEDIFF', lr.endDate, lr.startDate) + 1) ELSE 0 END), 0) > 0 " +
            "ORDER BY COALESCE(SUM(CASE WHEN lr.status = 'Approved' THEN " +
-           "   (FUNCTION('DATEDIFF', lr.endDate, lr.startDate) + 1) ELSE 0 END), 0) DESC")
+           "   (FUNCTION('DATEDIFF', lr.endDate, lr.startDate) + 1) ELSE 0 END), 0) DESC, e.employeeId ASC")
     List<Object[]> getTopLeaveTakingEmployees(@Param("year") Integer year,
-                                            @Param("leaveType") LeaveType leaveType);
+                                            @Param("leaveType") LeaveType leaveType,
+                                            Pageable pageable);
+    
+    /**
+     * Count employees with approved leave, i.e. the size of the top leave-taking ranking
+     */
+    @Query("SELECT COUNT(DISTINCT lr.employeeId) " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.status = 'Approved' " +
+           "AND (:year IS NULL OR FUNCTION('YEAR', lr.startDate) = :year) " +
+           "AND (:leaveType IS NULL OR lr.leaveType = :leaveType)")
+    long countLeaveTakingEmployees(@Param("year") Integer year,
+                                   @Param("leaveType") LeaveType leaveType);
     
     /**
      * Get overall leave statistics
@@ -182,4 +270,31 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Stri
     Object[] getOverallLeaveStatistics(@Param("startDate") LocalDate startDate,
                                      @Param("endDate") LocalDate endDate,
                                      @Param("year") Integer year);
-}
\ No newline at end of file
+    
+    // ====== KEYSET PAGINATION ======
+    
+    /**
+     * Page of leave requests ordered by (createdAt, leaveId) newest first, starting after the given key
+     * Date filters select requests overlapping [fromDate, toDate]
+     */
+    @Query("SELECT lr FROM LeaveRequest lr " +
+           "LEFT JOIN FETCH lr.employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "WHERE (:status IS NULL OR lr.status = :status) " +
+           "AND (:leaveType IS NULL OR lr.leaveType = :leaveType) " +
+           "AND (:employeeId IS NULL OR lr.employeeId = :employeeId) " +
+           "AND (:fromDate IS NULL OR lr.endDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR lr.startDate <= :toDate) " +
+           "AND (:afterCreatedAt IS NULL OR " +
+           "     (lr.createdAt, lr.leaveId) < (:afterCreatedAt, :afterId)) " +
+           "ORDER BY lr.createdAt DESC, lr.leaveId DESC")
+    List<LeaveRequest> findPage(@Param("status") LeaveStatus status,
+                                @Param("leaveType") LeaveType leaveType,
+                                @Param("employeeId") String employeeId,
+                                @Param("fromDate") LocalDate fromDate,
+                                @Param("toDate") LocalDate toDate,
+                                @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                @Param("afterId") String afterId,
+                                Pageable pageable);
+}
@@ -0,0 +1,154 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.LeaveStatistic;
+import com.pms.backend.entity.LeaveStatisticId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LeaveStatisticRepository extends JpaRepository<LeaveStatistic, LeaveStatisticId> {
+    
+    /**
+     * Add deltas to one counter bucket, creating it on first use
+     * Atomic in MySQL, so concurrent transitions never lose an increment
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_statistics"))
+    @Query(value = "INSERT INTO leave_statistics (stat_year, stat_month, department_id, leave_type, status, " +
+                   "request_count, total_days, updated_at) " +
+                   "VALUES (:year, :month, :departmentId, :leaveType, :status, :countDelta, :daysDelta, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "request_count = request_count + VALUES(request_count), " +
+                   "total_days = total_days + VALUES(total_days), " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void adjustBucket(@Param("year") int year,
+                      @Param("month") int month,
+                      @Param("departmentId") String departmentId,
+                      @Param("leaveType") String leaveType,
+                      @Param("status") String status,
+                      @Param("countDelta") long countDelta,
+                      @Param("daysDelta") long daysDelta);
+    
+    /**
+     * Add (sign = 1) or remove (sign = -1) all leave requests of one employee under a department
+     * Used when an employee changes department or is deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_statistics"))
+    @Query(value = "INSERT INTO leave_statistics (stat_year, stat_month, department_id, leave_type, status, " +
+                   "request_count, total_days, updated_at) " +
+                   "SELECT YEAR(lr.start_date), MONTH(lr.start_date), :departmentId, lr.leave_type, lr.status, " +
+                   ":sign * COUNT(*), :sign * SUM(DATEDIFF(lr.end_date, lr.start_date) + 1), CURRENT_TIMESTAMP " +
+                   "FROM leave_requests lr " +
+                   "WHERE lr.employee_id = :employeeId " +
+                   "GROUP BY YEAR(lr.start_date), MONTH(lr.start_date), lr.leave_type, lr.status " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "request_count = request_count + VALUES(request_count), " +
+                   "total_days = total_days + VALUES(total_days), " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void adjustForEmployee(@Param("employeeId") String employeeId,
+                           @Param("departmentId") String departmentId,
+                           @Param("sign") int sign);
+    
+    /**
+     * Remove every counter (first step of a rebuild)
+     */
+    @Modifying
+    @Query("DELETE FROM LeaveStatistic s")
+    void deleteAllCounters();
+    
+    /**
+     * Recompute every counter from leave_requests (second step of a rebuild)
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_statistics"))
+    @Query(value = "INSERT INTO leave_statistics (stat_year, stat_month, department_id, leave_type, status, " +
+                   "request_count, total_days, updated_at) " +
+                   "SELECT YEAR(lr.start_date), MONTH(lr.start_date), e.department_id, lr.leave_type, lr.status, " +
+                   "COUNT(*), SUM(DATEDIFF(lr.end_date, lr.start_date) + 1), CURRENT_TIMESTAMP " +
+                   "FROM leave_requests lr " +
+                   "JOIN employees e ON e.employee_id = lr.employee_id " +
+                   "GROUP BY YEAR(lr.start_date), MONTH(lr.start_date), e.department_id, lr.leave_type, lr.status",
+           nativeQuery = true)
+    int insertAllCountersFromLeaveRequests();
+    
+    // ====== REPORTING QUERIES ======
+    
+    /**
+     * Get leave trends by leave type, optionally for one year
+     * Returns: leaveType, totalRequests, approvedRequests, rejectedRequests, 
+     *         pendingRequests, totalApprovedDays
+     */
+    @Query("SELECT " +
+           "s.leaveType, " +
+           "SUM(s.requestCount), " +
+           "SUM(CASE WHEN s.status = 'Approved' THEN s.requestCount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = 'Rejected' THEN s.requestCount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = 'Pending' THEN s.requestCount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = 'Approved' THEN s.totalDays ELSE 0 END) " +
+           "FROM LeaveStatistic s " +
+           "WHERE (:year IS NULL OR s.statYear = :year) " +
+           "GROUP BY s.leaveType " +
+           "HAVING SUM(s.requestCount) > 0 " +
+           "ORDER BY s.leaveType")
+    List<Object[]> getLeaveTrendsReport(@Param("year") Integer year);
+    
+    /**
+     * Get leave trends by department, optionally for one year
+     * Returns: departmentId, departmentName, leaveType, totalRequests, approvedRequests, totalApprovedDays
+     */
+    @Query("SELECT " +
+           "d.departmentId, " +
+           "d.departmentName, " +
+           "s.leaveType, " +
+           "SUM(s.requestCount), " +
+           "SUM(CASE WHEN s.status = 'Approved' THEN s.requestCount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = 'Approved' THEN s.totalDays ELSE 0 END) " +
+           "FROM LeaveStatistic s " +
+           "JOIN s.department d " +
+           "WHERE (:year IS NULL OR s.statYear = :year) " +
+           "GROUP BY d.departmentId, d.departmentName, s.leaveType " +
+           "HAVING SUM(s.requestCount) > 0 " +
+           "ORDER BY d.departmentName, s.leaveType")
+    List<Object[]> getLeaveTrendsByDepartment(@Param("year") Integer year);
+    
+    /**
+     * Get monthly leave statistics for a specific year
+     * Returns: month, totalRequests, approvedRequests, rejectedRequests, pendingRequests, totalApprovedDays
+     */
+    @Query("SELECT " +
+           "s.statMonth, " +
+           "SUM(s.requestCount), " +
+           "SUM(CASE WHEN s.status = 'Approved' THEN s.requestCount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = 'Rejected' THEN s.requestCount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = 'Pending' THEN s.requestCount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = 'Approved' THEN s.totalDays ELSE 0 END) " +
+           "FROM LeaveStatistic s " +
+           "WHERE s.statYear = :year " +
+           "GROUP BY s.statMonth " +
+           "HAVING SUM(s.requestCount) > 0 " +
+           "ORDER BY s.statMonth")
+    List<Object[]> getMonthlyLeaveStatistics(@Param("year") Integer year);
+    
+    /**
+     * Get overall leave statistics, optionally for one year
+     * Returns: totalRequests, approvedRequests, rejectedRequests, pendingRequests, totalApprovedDays
+     */
+    @Query("SELECT " +
+           "COALESCE(SUM(s.requestCount), 0), " +
+           "COALESCE(SUM(CASE WHEN s.status = 'Approved' THEN s.requestCount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN s.status = 'Rejected' THEN s.requestCount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN s.status = 'Pending' THEN s.requestCount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN s.status = 'Approved' THEN s.totalDays ELSE 0 END), 0) " +
+           "FROM LeaveStatistic s " +
+           "WHERE (:year IS NULL OR s.statYear = :year)")
+    Object[] getOverallLeaveStatistics(@Param("year") Integer year);
+}
@@ -0,0 +1,70 @@
+package com.pms.backend.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable addressed by row offset rather than page number
+ * Ranked reports page by offset/limit, which PageRequest can only express when the offset is a multiple of the size
+ */
+public class OffsetLimitRequest implements Pageable {
+    
+    private final long offset;
+    private final int limit;
+    
+    public OffsetLimitRequest(long offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        this.offset = offset;
+        this.limit = limit;
+    }
+    
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+    
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+    
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+    
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+    
+    @Override
+    public Pageable next() {
+        return new OffsetLimitRequest(offset + limit, limit);
+    }
+    
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetLimitRequest(Math.max(0, offset - limit), limit) : first();
+    }
+    
+    @Override
+    public Pageable first() {
+        return new OffsetLimitRequest(0, limit);
+    }
+    
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetLimitRequest((long) pageNumber * limit, limit);
+    }
+    
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.entity.PayrollCostRollup;
+import com.pms.backend.entity.PayrollCostRollupId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface PayrollCostRollupRepository extends JpaRepository<PayrollCostRollup, PayrollCostRollupId>,
+                                                     PayrollCostRollupRepositoryCustom {
+    
+    /**
+     * Delete the rollups of a run before they are rebuilt
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollCostRollup r WHERE r.runId = :runId")
+    void deleteByRunId(@Param("runId") String runId);
+    
+    /**
+     * Aggregate the payroll items of a run into one rollup row per department and job role they are costed to
+     * Flushes pending item and run changes first so the statement sees them
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "payroll_cost_rollups"))
+    @Query(value = "INSERT INTO payroll_cost_rollups (run_id, department_id, job_id, run_year, run_month, " +
+                   "run_status, headcount, total_base_salary, total_bonus, total_deductions, total_net_salary, created_at) " +
+                   "SELECT pi.run_id, pi.department_id, pi.job_id, pr.run_year, pr.run_month, pr.status, " +
+                   "COUNT(*), SUM(pi.base_salary), SUM(pi.bonus), SUM(pi.deductions), SUM(pi.net_salary), CURRENT_TIMESTAMP " +
+                   "FROM payroll_items pi " +
+                   "JOIN payroll_runs pr ON pr.run_id = pi.run_id " +
+                   "WHERE pi.run_id = :runId " +
+                   "GROUP BY pi.run_id, pi.department_id, pi.job_id, pr.run_year, pr.run_month, pr.status",
+           nativeQuery = true)
+    int insertRollupsForRun(@Param("runId") String runId);
+}
@@ -0,0 +1,17 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.dto.report.PayrollCubeQuery;
+
+import java.util.List;
+
+/**
+ * Dynamic cube queries over payroll_cost_rollups
+ */
+public interface PayrollCostRollupRepositoryCustom {
+    
+    /**
+     * Group rollup rows by the requested dimensions and sum the requested measures
+     * Returns: one Object[] per group, dimension values first (in request order) then measures
+     */
+    List<Object[]> aggregateCube(PayrollCubeQuery query);
+}
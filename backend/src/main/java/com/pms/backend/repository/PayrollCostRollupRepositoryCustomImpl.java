@@ -0,0 +1,72 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.dto.report.CubeMeasure;
+import com.pms.backend.dto.report.PayrollCubeQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the cube JPQL from the dimension and measure enums only,
+ * so no caller-supplied text ever reaches the query string
+ */
+public class PayrollCostRollupRepositoryCustomImpl implements PayrollCostRollupRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Object[]> aggregateCube(PayrollCubeQuery query) {
+        List<String> groupBy = query.getDimensions().stream()
+                .map(dimension -> "r." + dimension.getAttribute())
+                .collect(Collectors.toList());
+        
+        List<String> select = new ArrayList<>(groupBy);
+        for (CubeMeasure measure : query.getMeasures()) {
+            select.add("COALESCE(SUM(r." + measure.getAttribute() + "), 0)");
+        }
+        
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(String.join(", ", select))
+                .append(" FROM PayrollCostRollup r WHERE 1 = 1");
+        
+        addFilter(jpql, parameters, "r.departmentId = :departmentId", "departmentId", query.getDepartmentId());
+        addFilter(jpql, parameters, "r.jobId = :jobId", "jobId", query.getJobId());
+        addFilter(jpql, parameters, "r.runYear = :year", "year", query.getYear());
+        addFilter(jpql, parameters, "r.runMonth = :month", "month", query.getMonth());
+        addFilter(jpql, parameters, "r.runYear >= :startYear", "startYear", query.getStartYear());
+        addFilter(jpql, parameters, "r.runYear <= :endYear", "endYear", query.getEndYear());
+        addFilter(jpql, parameters, "r.runStatus = :runStatus", "runStatus", query.getRunStatus());
+        
+        if (!groupBy.isEmpty()) {
+            String columns = String.join(", ", groupBy);
+            jpql.append(" GROUP BY ").append(columns).append(" ORDER BY ").append(columns);
+        }
+        
+        Query cubeQuery = entityManager.createQuery(jpql.toString());
+        parameters.forEach(cubeQuery::setParameter);
+        
+        List<?> results = cubeQuery.getResultList();
+        List<Object[]> rows = new ArrayList<>(results.size());
+        for (Object result : results) {
+            // A single selected expression comes back unwrapped
+            rows.add(result instanceof Object[] ? (Object[]) result : new Object[]{result});
+        }
+        return rows;
+    }
+    
+    private void addFilter(StringBuilder jpql, Map<String, Object> parameters,
+                           String condition, String name, Object value) {
+        if (value != null) {
+            jpql.append(" AND ").append(condition);
+            parameters.put(name, value);
+        }
+    }
+}
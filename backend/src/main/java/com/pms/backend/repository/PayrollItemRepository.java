@@ -1,6 +1,10 @@
 package com.pms.backend.repository;
 
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.entity.PayrollItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -25,9 +29,23 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, String
      */
     List<PayrollItem> findByRunIdOrderByEmployeeId(String runId);
     
+    /**
+     * Runs the employee has payroll items in
+     */
+    @Query("SELECT DISTINCT pi.runId FROM PayrollItem pi WHERE pi.employeeId = :employeeId")
+    List<String> findRunIdsByEmployeeId(@Param("employeeId") String employeeId);
+    
+    /**
+     * Delete all payroll items of an employee (the database cascade would too, after the rollups are built)
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollItem pi WHERE pi.employeeId = :employeeId")
+    void deleteByEmployeeId(@Param("employeeId") String employeeId);
+    
     /**
      * Find payroll item for a specific run and employee
      */
+    @EntityGraph(attributePaths = {"payrollRun", "employee", "employee.user", "employee.department", "employee.jobRole"})
     Optional<PayrollItem> findByRunIdAndEmployeeId(String runId, String employeeId);
     
     /**
@@ -52,12 +70,26 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, String
     @Query("UPDATE PayrollItem pi SET pi.payDate = :payDate WHERE pi.runId = :runId")
     void updatePayDateForRun(@Param("runId") String runId, @Param("payDate") LocalDate payDate);
     
+    /**
+     * Cost every item of a run to its employee's current department and job role
+     * Used when locking a payroll run; locked items keep this attribution after transfers
+     */
+    @Modifying
+    @Query("UPDATE PayrollItem pi SET " +
+           "pi.departmentId = (SELECT e.departmentId FROM Employee e WHERE e.employeeId = pi.employeeId), " +
+           "pi.jobId = (SELECT e.jobId FROM Employee e WHERE e.employeeId = pi.employeeId) " +
+           "WHERE pi.runId = :runId")
+    void stampAttributionForRun(@Param("runId") String runId);
+    
     /**
      * Find payroll items by run ID with employee and run details
      */
     @Query("SELECT pi FROM PayrollItem pi " +
            "JOIN FETCH pi.employee e " +
            "JOIN FETCH pi.payrollRun pr " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
            "WHERE pi.runId = :runId " +
            "ORDER BY e.firstName ASC, e.lastName ASC")
     List<PayrollItem> findByRunIdWithEmployeeDetails(@Param("runId") String runId);
@@ -66,7 +98,11 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, String
      * Find all payroll items for locked runs for a specific employee
      */
     @Query("SELECT pi FROM PayrollItem pi " +
-           "JOIN pi.payrollRun pr " +
+           "JOIN FETCH pi.payrollRun pr " +
+           "JOIN FETCH pi.employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
            "WHERE pi.employeeId = :employeeId AND pr.status = 'Locked' " +
            "ORDER BY pr.runYear DESC, pr.runMonth DESC")
     List<PayrollItem> findLockedPayrollItemsForEmployee(@Param("employeeId") String employeeId);
@@ -106,8 +142,7 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, String
            "COALESCE(SUM(pi.netSalary), 0) " +
            "FROM PayrollItem pi " +
            "JOIN pi.payrollRun pr " +
-           "JOIN pi.employee e " +
-           "JOIN e.department d " +
+           "JOIN Department d ON d.departmentId = pi.departmentId " +
            "WHERE (:year IS NULL OR pr.runYear = :year) " +
            "AND (:month IS NULL OR pr.runMonth = :month) " +
            "AND (:startYear IS NULL OR pr.runYear >= :startYear) " +
@@ -174,11 +209,147 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, String
            "COALESCE(SUM(pi.netSalary), 0) " +
            "FROM PayrollItem pi " +
            "JOIN pi.payrollRun pr " +
-           "JOIN pi.employee e " +
-           "JOIN e.department d " +
+           "JOIN Department d ON d.departmentId = pi.departmentId " +
            "WHERE pr.status = 'Locked' " +
            "AND (:year IS NULL OR pr.runYear = :year) " +
            "GROUP BY d.departmentId, d.departmentName " +
            "ORDER BY COALESCE(SUM(pi.netSalary), 0) DESC")
     List<Object[]> getTopSpendingDepartments(@Param("year") Integer year);
-}
\ No newline at end of file
+    
+    /**
+     * Get one window of departments ranked by locked payroll spend
+     * Limit and offset are applied by the database; ties are broken by department ID so windows are stable
+     * Returns: departmentId, departmentName, employeeCount, totalBaseSalary, 
+     *         totalBonus, totalDeductions, totalNetSalary
+     */
+    @Query(value = "SELECT " +
+           "d.departmentId, " +
+           "d.departmentName, " +
+           "COUNT(DISTINCT pi.employeeId), " +
+           "COALESCE(SUM(pi.baseSalary), 0), " +
+           "COALESCE(SUM(pi.bonus), 0), " +
+           "COALESCE(SUM(pi.deductions), 0), " +
+           "COALESCE(SUM(pi.netSalary), 0) " +
+           "FROM PayrollItem pi " +
+           "JOIN pi.payrollRun pr " +
+           "JOIN Department d ON d.departmentId = pi.departmentId " +
+           "WHERE pr.status = 'Locked' " +
+           "AND (:year IS NULL OR pr.runYear = :year) " +
+           "GROUP BY d.departmentId, d.departmentName " +
+           "ORDER BY COALESCE(SUM(pi.netSalary), 0) DESC, d.departmentId ASC",
+           countQuery = "SELECT COUNT(DISTINCT pi.departmentId) " +
+           "FROM PayrollItem pi " +
+           "JOIN pi.payrollRun pr " +
+           "WHERE pr.status = 'Locked' " +
+           "AND (:year IS NULL OR pr.runYear = :year)")
+    Page<Object[]> getDepartmentSpendRanking(@Param("year") Integer year, Pageable pageable);
+    
+    /**
+     * Get monthly payroll summary restricted to runs that are not locked yet
+     * Locked periods are served by the in-memory analytics store
+     * Returns: year, month, employeeCount, totalBaseSalary, totalBonus, 
+     *         totalDeductions, totalNetSalary, totalRuns, lockedRuns
+     */
+    @Query("SELECT " +
+           "pr.runYear, " +
+           "pr.runMonth, " +
+           "COUNT(DISTINCT pi.employeeId), " +
+           "COALESCE(SUM(pi.baseSalary), 0), " +
+           "COALESCE(SUM(pi.bonus), 0), " +
+           "COALESCE(SUM(pi.deductions), 0), " +
+           "COALESCE(SUM(pi.netSalary), 0), " +
+           "COUNT(DISTINCT pr.runId), " +
+           "0L " +
+           "FROM PayrollItem pi " +
+           "JOIN pi.payrollRun pr " +
+           "WHERE pr.status <> 'Locked' " +
+           "AND (:startYear IS NULL OR pr.runYear >= :startYear) " +
+           "AND (:endYear IS NULL OR pr.runYear <= :endYear) " +
+           "GROUP BY pr.runYear, pr.runMonth")
+    List<Object[]> getMonthlyPayrollSummaryForOpenRuns(@Param("startYear") Integer startYear, 
+                                                     @Param("endYear") Integer endYear);
+    
+    // ====== ANALYTICS STORE QUERIES ======
+    
+    /**
+     * Get the fact rows of locked payroll runs for the in-memory analytics store
+     * Pass a runId to fetch a single run, or null for the full history
+     * Returns: runId, employeeId, departmentId, jobId, runYear, runMonth,
+     *         baseSalary, bonus, deductions, netSalary
+     */
+    @Query("SELECT " +
+           "pi.runId, " +
+           "pi.employeeId, " +
+           "pi.departmentId, " +
+           "pi.jobId, " +
+           "pr.runYear, " +
+           "pr.runMonth, " +
+           "pi.baseSalary, " +
+           "pi.bonus, " +
+           "pi.deductions, " +
+           "pi.netSalary " +
+           "FROM PayrollItem pi " +
+           "JOIN pi.payrollRun pr " +
+           "WHERE pr.status = 'Locked' " +
+           "AND (:runId IS NULL OR pi.runId = :runId)")
+    List<Object[]> findLockedPayrollFacts(@Param("runId") String runId);
+    
+    // ====== CONDITIONAL GET QUERIES ======
+    
+    /**
+     * Row count and latest update of all payroll items
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(pi), MAX(pi.updatedAt)) FROM PayrollItem pi")
+    VersionStamp getVersionStamp();
+    
+    /**
+     * Row count and latest update of the payroll items of one run
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(pi), MAX(pi.updatedAt)) FROM PayrollItem pi " +
+           "WHERE pi.runId = :runId")
+    VersionStamp getVersionStampForRun(@Param("runId") String runId);
+    
+    // ====== KEYSET PAGINATION ======
+    
+    /**
+     * Page of a run's payroll items ordered by employee (lastName, firstName) then itemId
+     * afterId is the binary item ID; row-value comparisons do not apply the ID's column type to parameters
+     */
+    @Query("SELECT pi FROM PayrollItem pi " +
+           "JOIN FETCH pi.payrollRun pr " +
+           "JOIN FETCH pi.employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
+           "WHERE pi.runId = :runId " +
+           "AND (:departmentId IS NULL OR pi.departmentId = :departmentId) " +
+           "AND (:afterLastName IS NULL OR " +
+           "     (e.lastName, e.firstName, pi.itemId) > (:afterLastName, :afterFirstName, :afterId)) " +
+           "ORDER BY e.lastName ASC, e.firstName ASC, pi.itemId ASC")
+    List<PayrollItem> findPageForRun(@Param("runId") String runId,
+                                     @Param("departmentId") String departmentId,
+                                     @Param("afterLastName") String afterLastName,
+                                     @Param("afterFirstName") String afterFirstName,
+                                     @Param("afterId") byte[] afterId,
+                                     Pageable pageable);
+    
+    /**
+     * Page of an employee's locked payslips, most recent period first
+     * An employee has at most one item per period, so (runYear, runMonth) is a unique key
+     */
+    @Query("SELECT pi FROM PayrollItem pi " +
+           "JOIN FETCH pi.payrollRun pr " +
+           "JOIN FETCH pi.employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH e.jobRole " +
+           "WHERE pi.employeeId = :employeeId AND pr.status = 'Locked' " +
+           "AND (:year IS NULL OR pr.runYear = :year) " +
+           "AND (:afterYear IS NULL OR (pr.runYear, pr.runMonth) < (:afterYear, :afterMonth)) " +
+           "ORDER BY pr.runYear DESC, pr.runMonth DESC")
+    List<PayrollItem> findLockedPageForEmployee(@Param("employeeId") String employeeId,
+                                                @Param("year") Integer year,
+                                                @Param("afterYear") Integer afterYear,
+                                                @Param("afterMonth") Integer afterMonth,
+                                                Pageable pageable);
+}
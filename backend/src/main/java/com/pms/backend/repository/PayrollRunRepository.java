@@ -1,5 +1,6 @@
 package com.pms.backend.repository;
 
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.entity.PayrollRun;
 import com.pms.backend.entity.enums.PayrollStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -63,4 +64,17 @@ public interface PayrollRunRepository extends JpaRepository<PayrollRun, String>
            "ORDER BY pr.runYear ASC, pr.runMonth ASC")
     List<PayrollRun> findDraftRunsReadyForProcessing(@Param("currentYear") Integer currentYear, 
                                                     @Param("currentMonth") Integer currentMonth);
-}
\ No newline at end of file
+    
+    /**
+     * Row count and latest update of all payroll runs (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(pr), MAX(pr.updatedAt)) FROM PayrollRun pr")
+    VersionStamp getVersionStamp();
+    
+    /**
+     * Row count (0 or 1) and last update of one payroll run (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(pr), MAX(pr.updatedAt)) FROM PayrollRun pr " +
+           "WHERE pr.runId = :runId")
+    VersionStamp getVersionStamp(@Param("runId") String runId);
+}
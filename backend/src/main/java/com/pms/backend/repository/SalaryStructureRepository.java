@@ -1,6 +1,8 @@
 package com.pms.backend.repository;
 
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.entity.SalaryStructure;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,13 +11,20 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface SalaryStructureRepository extends JpaRepository<SalaryStructure, String> {
+public interface SalaryStructureRepository extends JpaRepository<SalaryStructure, String>, SalaryStructureRepositoryCustom {
     
     /**
      * Find all salary structures for a given employee, ordered by effective date (newest first)
      */
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
     List<SalaryStructure> findByEmployeeIdOrderByEffectiveFromDesc(String employeeId);
     
+    /**
+     * Find one salary structure with its employee and user loaded
+     */
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Optional<SalaryStructure> findWithEmployeeByStructureId(String structureId);
+    
     /**
      * Find the currently active salary structure for an employee
      */
@@ -25,6 +34,18 @@ public interface SalaryStructureRepository extends JpaRepository<SalaryStructure
     Optional<SalaryStructure> findActiveStructureForEmployee(@Param("employeeId") String employeeId, 
                                                             @Param("currentDate") LocalDate currentDate);
     
+    /**
+     * Same as findActiveStructureForEmployee, with the employee and user loaded for display
+     */
+    @Query("SELECT ss FROM SalaryStructure ss " +
+           "JOIN FETCH ss.employee e " +
+           "LEFT JOIN FETCH e.user " +
+           "WHERE ss.employeeId = :employeeId " +
+           "AND ss.effectiveFrom <= :currentDate " +
+           "AND (ss.effectiveTo IS NULL OR ss.effectiveTo >= :currentDate)")
+    Optional<SalaryStructure> findActiveStructureWithEmployee(@Param("employeeId") String employeeId,
+                                                             @Param("currentDate") LocalDate currentDate);
+    
     /**
      * Find the most recent salary structure for an employee that doesn't have an end date
      */
@@ -59,4 +80,11 @@ public interface SalaryStructureRepository extends JpaRepository<SalaryStructure
      * Count salary structures for an employee
      */
     long countByEmployeeId(String employeeId);
+    
+    /**
+     * Row count and latest update of an employee's salary structures (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(ss), MAX(ss.updatedAt)) FROM SalaryStructure ss " +
+           "WHERE ss.employeeId = :employeeId")
+    VersionStamp getVersionStampForEmployee(@Param("employeeId") String employeeId);
 }
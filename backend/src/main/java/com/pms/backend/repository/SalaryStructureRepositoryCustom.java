@@ -0,0 +1,42 @@
+package com.pms.backend.repository;
+
+import com.pms.backend.dto.salary.SalaryRevisionRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Set-based statements for bulk salary revisions
+ * A revisable structure is the open structure of a selected employee that starts before the
+ * revision date, when the employee has no structure starting on or after that date.
+ */
+public interface SalaryStructureRepositoryCustom {
+    
+    /**
+     * Number of employees matching the revision's selector
+     */
+    long countRevisionSelection(SalaryRevisionRequest request);
+    
+    /**
+     * Revisable structures, ordered by employee name
+     * Returns: [employeeId, firstName, lastName, structureId, effectiveFrom (LocalDate), baseSalary]
+     */
+    List<Object[]> findRevisableStructures(SalaryRevisionRequest request);
+    
+    /**
+     * Insert one new open structure per revisable structure, starting on the revision date,
+     * with base salary ROUND(base * factor + increment, 2) and the request's bonus details
+     * (the current ones when the request has none); new structure IDs are time-ordered UUIDs
+     * @return Number of structures inserted
+     */
+    int insertRevisedStructures(SalaryRevisionRequest request, BigDecimal factor, BigDecimal increment,
+                                LocalDateTime now);
+    
+    /**
+     * Close (end the day before the revision date) every open structure that now has an open
+     * successor starting on the revision date; run after insertRevisedStructures
+     * @return Number of structures closed
+     */
+    int closeRevisedStructures(SalaryRevisionRequest request, LocalDateTime now);
+}
@@ -0,0 +1,150 @@
+package com.pms.backend.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.backend.dto.salary.SalaryRevisionRequest;
+import com.pms.backend.entity.id.UuidV7;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bulk revision is three round trips whatever the number of employees: SELECT the predecessors,
+ * one JDBC batch of INSERT ... SELECT successors, then UPDATE the predecessors. All run in the
+ * caller's transaction. Successor IDs are time-ordered UUIDs made here, like every other key
+ * (MySQL's UUID() is version 1 and would scatter them across the primary key).
+ * Only the selector clauses vary, and they are fixed SQL with bound parameters.
+ */
+public class SalaryStructureRepositoryCustomImpl implements SalaryStructureRepositoryCustom {
+    
+    // Open structure before the revision date, with no open successor and nothing from the date on
+    private static final String REVISABLE =
+            " FROM salary_structures ss " +
+            "JOIN employees e ON e.employee_id = ss.employee_id " +
+            "WHERE ss.effective_to IS NULL " +
+            "AND ss.effective_from < :effectiveFrom " +
+            "AND NOT EXISTS (SELECT 1 FROM salary_structures later " +
+            "                WHERE later.employee_id = ss.employee_id " +
+            "                AND (later.effective_from >= :effectiveFrom " +
+            "                     OR (later.effective_to IS NULL AND later.effective_from > ss.effective_from)))";
+    
+    // Successor of one predecessor, with the revised base salary and the chosen bonus details
+    private static final String INSERT_SUCCESSOR =
+            "INSERT INTO salary_structures " +
+            "(structure_id, employee_id, base_salary, bonus_details, effective_from, effective_to, created_at, updated_at) " +
+            "SELECT :structureId, ss.employee_id, ROUND(ss.base_salary * :factor + :increment, 2), %s, " +
+            ":effectiveFrom, NULL, :now, :now " +
+            "FROM salary_structures ss WHERE ss.structure_id = :predecessorId";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public SalaryStructureRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public long countRevisionSelection(SalaryRevisionRequest request) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String sql = "SELECT COUNT(*) FROM employees e WHERE 1 = 1" + selector(request, parameters);
+        Long count = jdbcTemplate.queryForObject(sql, parameters, Long.class);
+        return count != null ? count : 0;
+    }
+    
+    @Override
+    public List<Object[]> findRevisableStructures(SalaryRevisionRequest request) {
+        MapSqlParameterSource parameters = revisionParameters(request);
+        String sql = "SELECT ss.employee_id, e.first_name, e.last_name, ss.structure_id, ss.effective_from, ss.base_salary" +
+                REVISABLE + selector(request, parameters) +
+                " ORDER BY e.last_name, e.first_name, ss.employee_id";
+        return jdbcTemplate.query(sql, parameters, (rs, rowNum) -> new Object[]{
+                rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getDate(5).toLocalDate(), rs.getBigDecimal(6)
+        });
+    }
+    
+    @Override
+    public int insertRevisedStructures(SalaryRevisionRequest request, BigDecimal factor, BigDecimal increment,
+                                       LocalDateTime now) {
+        MapSqlParameterSource selection = revisionParameters(request);
+        List<String> predecessorIds = jdbcTemplate.queryForList(
+                "SELECT ss.structure_id" + REVISABLE + selector(request, selection), selection, String.class);
+        if (predecessorIds.isEmpty()) {
+            return 0;
+        }
+        
+        String bonusDetails = request.getBonusDetails() != null ? toJson(request.getBonusDetails()) : null;
+        String sql = String.format(INSERT_SUCCESSOR, bonusDetails != null ? ":bonusDetails" : "ss.bonus_details");
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[predecessorIds.size()];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = revisionParameters(request)
+                    .addValue("structureId", UuidV7.nextString())
+                    .addValue("predecessorId", predecessorIds.get(i))
+                    .addValue("factor", factor)
+                    .addValue("increment", increment)
+                    .addValue("now", Timestamp.valueOf(now))
+                    .addValue("bonusDetails", bonusDetails);
+        }
+        return Arrays.stream(jdbcTemplate.batchUpdate(sql, batch)).sum();
+    }
+    
+    @Override
+    public int closeRevisedStructures(SalaryRevisionRequest request, LocalDateTime now) {
+        MapSqlParameterSource parameters = revisionParameters(request)
+                .addValue("dayBefore", Date.valueOf(request.getEffectiveFrom().minusDays(1)))
+                .addValue("now", Timestamp.valueOf(now));
+        // MySQL cannot read the table it updates in a subquery, except through a derived table
+        String sql = "UPDATE salary_structures SET effective_to = :dayBefore, updated_at = :now " +
+                "WHERE effective_to IS NULL " +
+                "AND effective_from < :effectiveFrom " +
+                "AND employee_id IN (SELECT employee_id FROM (" +
+                "    SELECT successor.employee_id FROM salary_structures successor " +
+                "    JOIN employees e ON e.employee_id = successor.employee_id " +
+                "    WHERE successor.effective_to IS NULL " +
+                "    AND successor.effective_from = :effectiveFrom" + selector(request, parameters) +
+                ") revised)";
+        return jdbcTemplate.update(sql, parameters);
+    }
+    
+    private String toJson(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Bonus details cannot be stored as JSON", e);
+        }
+    }
+    
+    private MapSqlParameterSource revisionParameters(SalaryRevisionRequest request) {
+        return new MapSqlParameterSource("effectiveFrom", Date.valueOf(request.getEffectiveFrom()));
+    }
+    
+    /**
+     * AND-ed selector clauses over the employees table aliased e
+     */
+    private String selector(SalaryRevisionRequest request, MapSqlParameterSource parameters) {
+        StringBuilder sql = new StringBuilder();
+        if (request.getDepartmentId() != null) {
+            sql.append(" AND e.department_id = :departmentId");
+            parameters.addValue("departmentId", request.getDepartmentId());
+        }
+        if (request.getJobId() != null) {
+            sql.append(" AND e.job_id = :jobId");
+            parameters.addValue("jobId", request.getJobId());
+        }
+        if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
+            sql.append(" AND e.employee_id IN (:employeeIds)");
+            parameters.addValue("employeeIds", request.getEmployeeIds());
+        }
+        return sql.toString();
+    }
+}
@@ -1,8 +1,14 @@
 package com.pms.backend.repository;
 
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,29 @@ public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    /**
+     * Row count and latest update of all users (conditional GET)
+     */
+    @Query("SELECT new com.pms.backend.dto.VersionStamp(COUNT(u), MAX(u.updatedAt)) FROM User u")
+    VersionStamp getVersionStamp();
+    
+    /**
+     * Every username and email as [username, email] pairs, for bulk uniqueness checks
+     */
+    @Query("SELECT u.username, u.email FROM User u")
+    List<Object[]> findAllUsernamesAndEmails();
+    
+    /**
+     * Current token version of an active user; empty if the user is deleted or deactivated
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.userId = :userId AND u.isActive = true")
+    Optional<Integer> findActiveTokenVersion(@Param("userId") String userId);
+    
+    /**
+     * Replace a password hash in place (re-encoding at a new cost, same password)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = CURRENT_TIMESTAMP WHERE u.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,458 @@
+package com.pms.backend.search;
+
+import com.pms.backend.analytics.TopN;
+import com.pms.backend.dto.employee.EmployeeSearchHit;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.event.EmployeeDeletedEvent;
+import com.pms.backend.event.EmployeesChangedEvent;
+import com.pms.backend.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead index over employee name, username, email, department and job title
+ *
+ * Every field is split into lower-case tokens kept in a sorted term map, so a query term is
+ * answered by one range scan over the tokens it prefixes. Names and usernames are also cut into
+ * trigrams, letting terms of three or more characters match inside a word ("ndra" finds "Chandra").
+ *
+ * Postings are int arrays of document slots. Re-indexing an employee retires the old slot and
+ * appends a new one; retired slots are skipped when read and dropped by the next compaction.
+ * Writers hold the write lock, searches share the read lock.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Field codes, stored in the low bits of each posting; a lower code is a stronger match
+    private static final int NAME = 0;
+    private static final int USERNAME = 1;
+    private static final int EMAIL = 2;
+    private static final int DEPARTMENT = 3;
+    private static final int JOB_TITLE = 4;
+    private static final int FIELD_BITS = 3;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int[] FIELD_SCORES = {100, 80, 60, 30, 30};
+
+    private static final int EXACT_TOKEN_BONUS = 20;
+    private static final int SUBSTRING_SCORE = 10;
+    private static final int TRIGRAM = 3;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+    private static final int RELOAD_CHUNK = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<String, Integer> slotByEmployeeId = new HashMap<>();
+    private final TreeMap<String, IntList> tokens = new TreeMap<>();
+    private final Map<String, IntList> trigrams = new HashMap<>();
+    private int retiredSlots;
+
+    private volatile boolean ready = false;
+
+    @Autowired
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               @Value("${employees.search.index.enabled:true}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether searches can be answered from the index
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Number of employees currently indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByEmployeeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====== LOADING ======
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            logger.info("Employee search index disabled, searches will query the database");
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Search keeps working from the database; the index is only an accelerator
+            logger.warn("Employee search index could not be loaded, searches will query the database: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the index from all employees
+     */
+    public void reload() {
+        long started = System.nanoTime();
+        List<Employee> employees = employeeRepository.findAllWithDetails();
+
+        int tokenCount;
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Employee employee : employees) {
+                add(Document.of(employee));
+            }
+            tokenCount = tokens.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Employee search index loaded {} employees ({} tokens) in {} ms",
+                employees.size(), tokenCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Re-index created or changed employees once the change has committed
+     * Imports publish outside a transaction, hence fallbackExecution
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        List<String> employeeIds = event.getEmployeeIds();
+        for (int from = 0; from < employeeIds.size(); from += RELOAD_CHUNK) {
+            List<String> chunk = employeeIds.subList(from, Math.min(from + RELOAD_CHUNK, employeeIds.size()));
+            update(chunk, employeeRepository.findByIdInWithDetails(chunk));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        if (isReady()) {
+            update(List.of(event.getEmployeeId()), List.of());
+        }
+    }
+
+    /**
+     * Replace the entries of the given employees; ids without a loaded employee are removed
+     */
+    void update(Collection<String> employeeIds, Collection<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            for (String employeeId : employeeIds) {
+                retire(employeeId);
+            }
+            for (Employee employee : employees) {
+                retire(employee.getEmployeeId());
+                add(Document.of(employee));
+            }
+            if (retiredSlots > Math.max(MIN_COMPACTION_SLOTS, slotByEmployeeId.size())) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ====== SEARCH ======
+
+    /**
+     * Rank employees matching every term of the query
+     * A term matches a token it prefixes in any field, or (from three characters) a substring
+     * of the name or username; the employee's score is the sum of each term's best match.
+     * Ties are broken by last name, first name and employee id.
+     * @param query Free text, split into terms like the indexed fields
+     * @param limit Maximum number of hits
+     * @return Hits, best first
+     */
+    public List<EmployeeSearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Longest terms first: they match the fewest slots, shrinking the work for the rest
+        terms.sort(Comparator.comparingInt(String::length).reversed());
+
+        lock.readLock().lock();
+        try {
+            int slots = documents.size();
+            int[] scores = new int[slots];
+            int[] matchedTerms = new int[slots];
+            int[] termScores = new int[slots];
+            IntList touched = new IntList();
+
+            for (int t = 0; t < terms.size(); t++) {
+                String term = terms.get(t);
+                touched.clear();
+                scoreTokenPrefixes(term, t, matchedTerms, termScores, touched);
+                scoreSubstrings(term, t, matchedTerms, termScores, touched);
+
+                for (int i = 0; i < touched.size; i++) {
+                    int slot = touched.values[i];
+                    scores[slot] += termScores[slot];
+                    matchedTerms[slot]++;
+                    termScores[slot] = 0;
+                }
+                if (touched.size == 0) {
+                    return new ArrayList<>();
+                }
+            }
+
+            // Slots touched by the last term have matched every term
+            List<int[]> candidates = new ArrayList<>(touched.size);
+            for (int i = 0; i < touched.size; i++) {
+                int slot = touched.values[i];
+                candidates.add(new int[]{slot, scores[slot]});
+            }
+            Comparator<int[]> order = Comparator.<int[]>comparingInt(c -> -c[1])
+                    .thenComparing(c -> documents.get(c[0]).sortKey);
+
+            List<EmployeeSearchHit> hits = new ArrayList<>();
+            for (int[] candidate : TopN.select(candidates, order, 0, limit)) {
+                hits.add(documents.get(candidate[0]).toHit(candidate[1]));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best field score per slot for tokens starting with the term
+     * Only slots that matched all previous terms are considered
+     */
+    private void scoreTokenPrefixes(String term, int termIndex, int[] matchedTerms, int[] termScores, IntList touched) {
+        for (Map.Entry<String, IntList> entry : tokens.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            int bonus = entry.getKey().length() == term.length() ? EXACT_TOKEN_BONUS : 0;
+            IntList postings = entry.getValue();
+            for (int i = 0; i < postings.size; i++) {
+                int posting = postings.values[i];
+                int slot = posting >>> FIELD_BITS;
+                if (matchedTerms[slot] != termIndex || documents.get(slot) == null) {
+                    continue;
+                }
+                int score = FIELD_SCORES[posting & FIELD_MASK] + bonus;
+                if (termScores[slot] == 0) {
+                    touched.add(slot);
+                }
+                if (score > termScores[slot]) {
+                    termScores[slot] = score;
+                }
+            }
+        }
+    }
+
+    /**
+     * Substring matches inside names and usernames, for slots the term did not already prefix
+     * Candidates come from intersecting the term's trigram postings and are then verified
+     */
+    private void scoreSubstrings(String term, int termIndex, int[] matchedTerms, int[] termScores, IntList touched) {
+        if (term.length() < TRIGRAM) {
+            return;
+        }
+        List<IntList> lists = new ArrayList<>();
+        for (String trigram : trigramsOf(term)) {
+            IntList postings = trigrams.get(trigram);
+            if (postings == null) {
+                return;
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        IntList shortest = lists.get(0);
+        for (int i = 0; i < shortest.size; i++) {
+            int slot = shortest.values[i];
+            if (matchedTerms[slot] != termIndex || termScores[slot] != 0 || !inAll(lists, slot)) {
+                continue;
+            }
+            Document document = documents.get(slot);
+            if (document != null && document.substringText.contains(term)) {
+                termScores[slot] = SUBSTRING_SCORE;
+                touched.add(slot);
+            }
+        }
+    }
+
+    private boolean inAll(List<IntList> lists, int slot) {
+        for (int i = 1; i < lists.size(); i++) {
+            IntList list = lists.get(i);
+            if (Arrays.binarySearch(list.values, 0, list.size, slot) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ====== WRITES (hold the write lock) ======
+
+    private void add(Document document) {
+        int slot = documents.size();
+        documents.add(document);
+        slotByEmployeeId.put(document.employeeId, slot);
+
+        // One posting per token, under the strongest field it appears in
+        Map<String, Integer> fields = new HashMap<>();
+        addTokens(fields, document.firstName, NAME);
+        addTokens(fields, document.lastName, NAME);
+        addTokens(fields, document.username, USERNAME);
+        addTokens(fields, document.email, EMAIL);
+        addTokens(fields, document.departmentName, DEPARTMENT);
+        addTokens(fields, document.jobTitle, JOB_TITLE);
+        for (Map.Entry<String, Integer> field : fields.entrySet()) {
+            tokens.computeIfAbsent(field.getKey(), key -> new IntList())
+                    .add((slot << FIELD_BITS) | field.getValue());
+        }
+
+        // Slots are appended in increasing order, so trigram postings stay sorted
+        for (String trigram : trigramsOf(document.substringText)) {
+            trigrams.computeIfAbsent(trigram, key -> new IntList()).add(slot);
+        }
+    }
+
+    private void addTokens(Map<String, Integer> fields, String value, int field) {
+        for (String token : tokenize(value)) {
+            fields.merge(token, field, Math::min);
+        }
+    }
+
+    private void retire(String employeeId) {
+        Integer slot = slotByEmployeeId.remove(employeeId);
+        if (slot != null) {
+            documents.set(slot, null);
+            retiredSlots++;
+        }
+    }
+
+    private void compact() {
+        List<Document> live = new ArrayList<>(slotByEmployeeId.size());
+        for (Document document : documents) {
+            if (document != null) {
+                live.add(document);
+            }
+        }
+        clear();
+        live.forEach(this::add);
+    }
+
+    private void clear() {
+        documents.clear();
+        slotByEmployeeId.clear();
+        tokens.clear();
+        trigrams.clear();
+        retiredSlots = 0;
+    }
+
+    // ====== TEXT ======
+
+    static List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
+        if (text == null) {
+            return result;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + TRIGRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + TRIGRAM));
+        }
+        return result;
+    }
+
+    /**
+     * Searchable copy of one employee, detached from the persistence context
+     */
+    private static final class Document {
+        final String employeeId;
+        final String firstName;
+        final String lastName;
+        final String username;
+        final String email;
+        final String departmentName;
+        final String jobTitle;
+        final String substringText;
+        final String sortKey;
+
+        private Document(Employee employee) {
+            this.employeeId = employee.getEmployeeId();
+            this.firstName = employee.getFirstName();
+            this.lastName = employee.getLastName();
+            this.username = employee.getUser() != null ? employee.getUser().getUsername() : null;
+            this.email = employee.getUser() != null ? employee.getUser().getEmail() : null;
+            this.departmentName = employee.getDepartment() != null ? employee.getDepartment().getDepartmentName() : null;
+            this.jobTitle = employee.getJobRole() != null ? employee.getJobRole().getJobTitle() : null;
+            this.substringText = String.join(" ", tokenize(
+                    Objects.toString(firstName, "") + " " + Objects.toString(lastName, "") + " " + Objects.toString(username, "")));
+            this.sortKey = (lastName + '\u0000' + firstName).toLowerCase(Locale.ROOT) + '\u0000' + employeeId;
+        }
+
+        static Document of(Employee employee) {
+            return new Document(employee);
+        }
+
+        EmployeeSearchHit toHit(int score) {
+            EmployeeSearchHit hit = new EmployeeSearchHit();
+            hit.setEmployeeId(employeeId);
+            hit.setFirstName(firstName);
+            hit.setLastName(lastName);
+            hit.setUsername(username);
+            hit.setEmail(email);
+            hit.setDepartmentName(departmentName);
+            hit.setJobTitle(jobTitle);
+            hit.setScore(score);
+            return hit;
+        }
+    }
+
+    /**
+     * Growable int array, avoiding a boxed Integer per posting
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -1,71 +1,173 @@
 package com.pms.backend.security;
 
+import com.pms.backend.entity.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMPLOYEE_ID = "eid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TOKEN_VERSION = "ver";
 
-    @Value("${jwt.expiration-time}")
-    private Long jwtExpirationTime;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpirationTime;
+    private final int verifiedCacheSize;
 
+    // SHA-256 of recently verified tokens -> their principal; a session's repeat requests skip the HMAC
+    private final ConcurrentHashMap<String, UserPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration-time}") long jwtExpirationTime,
+                            @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpirationTime = jwtExpirationTime;
+        this.verifiedCacheSize = verifiedCacheSize;
+    }
+
+    /**
+     * Issue a token for a password-authenticated user
+     * User ID, employee ID, role and token version travel as claims, so later requests need no user lookup
+     */
     public String generateToken(Authentication authentication) {
         String username = authentication.getName();
         Date currentDate = new Date();
         Date expireDate = new Date(currentDate.getTime() + jwtExpirationTime);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(currentDate)
-                .setExpiration(expireDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(expireDate);
+
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            builder.claim(CLAIM_USER_ID, principal.getUserId())
+                    .claim(CLAIM_ROLE, principal.getRole().name())
+                    .claim(CLAIM_TOKEN_VERSION, principal.getTokenVersion());
+            if (principal.getEmployeeId() != null) {
+                builder.claim(CLAIM_EMPLOYEE_ID, principal.getEmployeeId());
+            }
+        }
+
+        return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    /**
+     * Principal rebuilt from a token's verified claims
+     * Returns null if the token is invalid or expired, or was issued before claims were embedded.
+     * A token seen recently is answered from the verified-token cache until it expires.
+     */
+    public UserPrincipal getPrincipalFromToken(String token) {
+        if (verifiedCacheSize <= 0) {
+            return verify(token);
+        }
+
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        UserPrincipal cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (now < cached.getExpiresAt()) {
+                return cached;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+
+        UserPrincipal principal = verify(token);
+        if (principal != null) {
+            if (verifiedTokens.size() >= verifiedCacheSize) {
+                // Expired tokens go first; if live ones still fill the cache, start over.
+                // Crude but bounded, and lock-free for readers; a dropped token costs one more HMAC
+                verifiedTokens.values().removeIf(entry -> now >= entry.getExpiresAt());
+                if (verifiedTokens.size() >= verifiedCacheSize) {
+                    verifiedTokens.clear();
+                }
+            }
+            verifiedTokens.put(digest, principal);
+        }
+        return principal;
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        UserPrincipal principal = getPrincipalFromToken(token);
+        return principal != null ? principal.getUsername() : null;
     }
 
     public boolean validateToken(String token) {
+        return getPrincipalFromToken(token) != null;
+    }
+
+    /**
+     * The single parse: signature, expiry and claims checked once
+     */
+    private UserPrincipal verify(String token) {
+        Claims claims;
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token");
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token");
+            logger.debug("Expired JWT token");
+            return null;
+        } catch (MalformedJwtException ex) {
+            logger.warn("Invalid JWT token");
+            return null;
         } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token");
+            logger.warn("Unsupported JWT token");
+            return null;
+        } catch (SecurityException ex) {
+            logger.warn("Invalid JWT signature");
+            return null;
         } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty");
+            logger.debug("JWT claims string is empty");
+            return null;
+        }
+
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (userId == null || role == null || tokenVersion == null || claims.getExpiration() == null) {
+            logger.debug("JWT token is missing user claims");
+            return null;
+        }
+
+        try {
+            return UserPrincipal.fromClaims(userId, claims.getSubject(), claims.get(CLAIM_EMPLOYEE_ID, String.class),
+                    Role.valueOf(role), tokenVersion, claims.getExpiration().getTime());
+        } catch (IllegalArgumentException ex) {
+            logger.warn("JWT token has an unknown role");
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
         }
-        return false;
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    int verifiedCacheSize() {
+        return verifiedTokens.size();
     }
 }
@@ -0,0 +1,124 @@
+package com.pms.backend.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory token buckets limiting login attempts per username and per client IP
+ * The username limit stops password guessing on one account; the optional IP limit stops one client
+ * spraying many accounts. Both are checked before any password hashing happens.
+ * The IP limit is off unless auth.login.rate-limit.ip.capacity is set: behind a NAT or proxy many
+ * employees share an address, and a payday login storm would otherwise be throttled as an attack.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final int usernameCapacity;
+    private final double usernameRefillPerNano;
+    private final int ipCapacity;
+    private final double ipRefillPerNano;
+    private final int maxBuckets;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginRateLimiter(@Value("${auth.login.rate-limit.username.capacity:5}") int usernameCapacity,
+                            @Value("${auth.login.rate-limit.username.per-minute:5}") int usernamePerMinute,
+                            @Value("${auth.login.rate-limit.ip.capacity:0}") int ipCapacity,
+                            @Value("${auth.login.rate-limit.ip.per-minute:120}") int ipPerMinute,
+                            @Value("${auth.login.rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerNano = usernamePerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerNano = ipPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Take one attempt from the client IP's bucket (when enabled) and the username's bucket
+     * @throws LoginThrottledException when either bucket is empty
+     */
+    public void acquire(String username, String clientIp) {
+        long now = System.nanoTime();
+        if (buckets.size() > maxBuckets) {
+            evictIdle(now);
+        }
+
+        if (ipCapacity > 0) {
+            long ipWait = bucket("ip:" + clientIp, ipCapacity, ipRefillPerNano).tryConsume(now);
+            if (ipWait > 0) {
+                throw new LoginThrottledException("Too many login attempts from this address", toSeconds(ipWait));
+            }
+        }
+
+        String key = "user:" + (username == null ? "" : username.trim().toLowerCase(Locale.ROOT));
+        long userWait = bucket(key, usernameCapacity, usernameRefillPerNano).tryConsume(now);
+        if (userWait > 0) {
+            throw new LoginThrottledException("Too many login attempts for this user", toSeconds(userWait));
+        }
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucket(String key, int capacity, double refillPerNano) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerNano, System.nanoTime()));
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they behave exactly like new ones
+     */
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        if (buckets.size() > maxBuckets) {
+            buckets.clear();
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (long) Math.ceil(nanos / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(int capacity, double refillPerNano, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        /**
+         * @return 0 when a token was taken, otherwise nanoseconds until one is available
+         */
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.pms.backend.security;
+
+/**
+ * A login attempt was refused before checking the password: rate limit hit or verification pool full
+ * Answered with 429 and a Retry-After header
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
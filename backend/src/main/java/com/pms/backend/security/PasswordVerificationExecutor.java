@@ -0,0 +1,85 @@
+package com.pms.backend.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool for BCrypt password checks
+ * A login storm can use at most these threads' worth of CPU; once the queue is full further
+ * attempts are refused at once (429) instead of piling up on request threads.
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMillis;
+
+    @Autowired
+    public PasswordVerificationExecutor(@Value("${auth.login.threads:0}") int threads,
+                                        @Value("${auth.login.queue-capacity:100}") int queueCapacity,
+                                        @Value("${auth.login.timeout-ms:10000}") long timeoutMillis) {
+        // Half the cores by default, leaving the rest for the API
+        int poolSize = threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Run a password check on the pool and wait for its result
+     * Exceptions thrown by the task are rethrown unchanged
+     * @throws LoginThrottledException when the queue is full or the check does not finish in time
+     */
+    public <T> T verify(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new LoginThrottledException("Login service is busy, please retry", 1);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new LoginThrottledException("Login service is busy, please retry", 1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new LoginThrottledException("Login was interrupted, please retry", 1);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    int queuedTasks() {
+        return pool.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package com.pms.backend.security;
+
+import com.pms.backend.event.UserTokensRevokedEvent;
+import com.pms.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation check for JWTs: a token is honoured only while its version matches the user's current one
+ * Versions are cached per user for a short TTL, so most requests cost no database round trip.
+ * Revocations on this instance evict immediately; other instances see them within the TTL.
+ */
+@Component
+public class TokenVersionCache {
+
+    // Stands in for deleted or deactivated users; no token carries it
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${jwt.version-cache.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${jwt.version-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * True if tokens of this version are still valid for the user
+     */
+    public boolean isCurrent(String userId, int tokenVersion) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry == null || now - entry.loadedAt > ttlNanos) {
+            int version = userRepository.findActiveTokenVersion(userId).orElse(REVOKED);
+            entry = new Entry(version, now);
+            if (entries.size() >= maxEntries) {
+                // Crude but bounded; entries are cheap to reload
+                entries.clear();
+            }
+            entries.put(userId, entry);
+        }
+        return entry.version == tokenVersion;
+    }
+
+    public void evict(String userId) {
+        entries.remove(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTokensRevoked(UserTokensRevokedEvent event) {
+        evict(event.getUserId());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final int version;
+        private final long loadedAt;
+
+        private Entry(int version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
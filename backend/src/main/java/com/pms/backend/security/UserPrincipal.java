@@ -0,0 +1,131 @@
+package com.pms.backend.security;
+
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * The authenticated user: identity, role and linked employee
+ * At login it is loaded from the database; on later requests it is rebuilt from the JWT claims alone
+ */
+public class UserPrincipal implements UserDetails {
+
+    private final String userId;
+    private final String username;
+    private final String email;
+    private final String employeeId;
+    private final Role role;
+    private final int tokenVersion;
+    private final String password;
+    private final boolean enabled;
+    private final long expiresAt;
+
+    private UserPrincipal(String userId, String username, String email, String employeeId, Role role,
+                          int tokenVersion, String password, boolean enabled, long expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.employeeId = employeeId;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.password = password;
+        this.enabled = enabled;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Principal for password authentication (carries the password hash)
+     */
+    public static UserPrincipal fromUser(User user, String employeeId) {
+        return new UserPrincipal(user.getUserId(), user.getUsername(), user.getEmail(), employeeId, user.getRole(),
+                user.getTokenVersion(), user.getPassword(), Boolean.TRUE.equals(user.getIsActive()), Long.MAX_VALUE);
+    }
+
+    /**
+     * Principal from verified token claims (no password), valid until the token expires
+     */
+    public static UserPrincipal fromClaims(String userId, String username, String employeeId, Role role,
+                                           int tokenVersion, long expiresAt) {
+        return new UserPrincipal(userId, username, null, employeeId, role, tokenVersion, null, true, expiresAt);
+    }
+
+    /**
+     * Same principal with a re-encoded password hash (BCrypt cost upgrade)
+     */
+    public UserPrincipal withPassword(String newPassword) {
+        return new UserPrincipal(userId, username, email, employeeId, role, tokenVersion, newPassword, enabled, expiresAt);
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Email address; only known at login, not carried in tokens
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Employee record of the user, or null for accounts without one
+     */
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * Expiry of the token this principal came from, in epoch milliseconds
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + role.name().toUpperCase()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,15 @@
+package com.pms.backend.service;
+
+import com.pms.backend.dto.employee.EmployeeImportFormat;
+import com.pms.backend.dto.employee.EmployeeImportResult;
+
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+    
+    /**
+     * Stream employees from CSV (header row required) or NDJSON and insert the valid rows in batches
+     * Invalid rows are skipped and reported; valid rows are imported even when others fail
+     */
+    EmployeeImportResult importEmployees(InputStream input, EmployeeImportFormat format);
+}
@@ -1,7 +1,9 @@
 package com.pms.backend.service;
 
+import com.pms.backend.dto.CursorPage;
 import com.pms.backend.dto.employee.EmployeeCreateRequest;
 import com.pms.backend.dto.employee.EmployeeResponse;
+import com.pms.backend.dto.employee.EmployeeSearchHit;
 import com.pms.backend.dto.employee.EmployeeUpdateRequest;
 import com.pms.backend.dto.user.PasswordChangeRequest;
 import com.pms.backend.dto.user.UserProfileUpdateRequest;
@@ -26,6 +28,14 @@ public interface EmployeeService {
      */
     List<EmployeeResponse> getAllEmployees();
     
+    CursorPage<EmployeeResponse> getEmployeesPage(String departmentId, String jobId, String name,
+                                                  String sort, String cursor, Integer limit);
+    
+    /**
+     * Ranked typeahead over name, username, email, department and job title (Admin only)
+     */
+    List<EmployeeSearchHit> searchEmployees(String query, Integer limit);
+    
     /**
      * Update employee (Admin only)
      */
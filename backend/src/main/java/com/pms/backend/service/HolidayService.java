@@ -0,0 +1,30 @@
+package com.pms.backend.service;
+
+import com.pms.backend.dto.holiday.HolidayRequest;
+import com.pms.backend.dto.holiday.HolidayResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayService {
+    
+    /**
+     * Add a holiday, company-wide or for one location
+     */
+    HolidayResponse createHoliday(HolidayRequest request);
+    
+    /**
+     * Holidays of a year; with a location, only those observed there (company-wide included)
+     */
+    List<HolidayResponse> getHolidays(int year, String location);
+    
+    /**
+     * Remove a holiday
+     */
+    void deleteHoliday(String holidayId);
+    
+    /**
+     * Working days in [fromDate, toDate] at a location (null for company-wide)
+     */
+    int getWorkingDays(LocalDate fromDate, LocalDate toDate, String location);
+}
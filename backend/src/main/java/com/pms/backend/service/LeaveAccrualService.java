@@ -0,0 +1,35 @@
+package com.pms.backend.service;
+
+import com.pms.backend.dto.accrual.AccrualEntryResponse;
+import com.pms.backend.dto.accrual.AccrualPolicyRequest;
+import com.pms.backend.dto.accrual.AccrualPolicyResponse;
+import com.pms.backend.dto.accrual.AccrualRunResponse;
+import com.pms.backend.entity.enums.AccrualTrigger;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface LeaveAccrualService {
+    
+    /**
+     * Create or replace the policy of a scope (job role, department or company)
+     */
+    AccrualPolicyResponse savePolicy(AccrualPolicyRequest request);
+    
+    List<AccrualPolicyResponse> getPolicies();
+    
+    void deletePolicy(String policyId);
+    
+    /**
+     * Credit a month's accrual to every active employee with a policy
+     * Idempotent: a month already accrued is returned as is, flagged alreadyApplied
+     */
+    AccrualRunResponse runAccrual(YearMonth period, AccrualTrigger triggeredBy);
+    
+    List<AccrualRunResponse> getRuns();
+    
+    /**
+     * Per-employee audit of a run
+     */
+    List<AccrualEntryResponse> getRunEntries(String runId);
+}
@@ -1,10 +1,17 @@
 package com.pms.backend.service;
 
+import com.pms.backend.dto.CursorPage;
+import com.pms.backend.dto.leave.LeaveBulkDecisionDto;
+import com.pms.backend.dto.leave.LeaveBulkDecisionResponseDto;
+import com.pms.backend.dto.leave.LeaveLedgerEntryDto;
 import com.pms.backend.dto.leave.LeaveRequestCreateDto;
 import com.pms.backend.dto.leave.LeaveRequestResponseDto;
 import com.pms.backend.dto.leave.LeaveStatusUpdateDto;
+import com.pms.backend.dto.leave.TeamAvailabilityDto;
 import com.pms.backend.entity.enums.LeaveStatus;
+import com.pms.backend.entity.enums.LeaveType;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface LeaveRequestService {
@@ -20,6 +27,11 @@ public interface LeaveRequestService {
      */
     List<LeaveRequestResponseDto> getLeaveRequestsForEmployee(String employeeId);
     
+    /**
+     * Every credit and debit of an employee's leave balance, latest first
+     */
+    List<LeaveLedgerEntryDto> getLeaveLedger(String employeeId);
+    
     /**
      * Get all leave requests (Admin only)
      */
@@ -30,6 +42,10 @@ public interface LeaveRequestService {
      */
     List<LeaveRequestResponseDto> getLeaveRequestsByStatus(LeaveStatus status);
     
+    CursorPage<LeaveRequestResponseDto> getLeaveRequestsPage(LeaveStatus status, LeaveType leaveType, String employeeId,
+                                                             LocalDate fromDate, LocalDate toDate,
+                                                             String cursor, Integer limit);
+    
     /**
      * Get leave request by ID
      */
@@ -41,11 +57,23 @@ public interface LeaveRequestService {
      */
     LeaveRequestResponseDto updateLeaveStatus(String leaveId, LeaveStatusUpdateDto updateDto);
     
+    /**
+     * Approve or reject many pending leave requests in one transaction (Admin only)
+     * Paid leave is deducted once per employee; requests that cannot be decided are reported, not thrown
+     */
+    LeaveBulkDecisionResponseDto decideLeaveRequests(LeaveBulkDecisionDto decisionDto);
+    
     /**
      * Cancel leave request (Employee self-service, only if pending)
      */
     void cancelLeaveRequest(String leaveId, String employeeId);
     
+    /**
+     * Pending and approved leave in a department per day of [fromDate, toDate] (Admin only)
+     * Served from the in-memory occupancy index
+     */
+    TeamAvailabilityDto getTeamAvailability(String departmentId, LocalDate fromDate, LocalDate toDate);
+    
     /**
      * Check if employee exists
      */
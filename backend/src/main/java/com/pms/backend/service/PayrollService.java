@@ -1,5 +1,6 @@
 package com.pms.backend.service;
 
+import com.pms.backend.dto.CursorPage;
 import com.pms.backend.dto.payroll.PayrollItemResponse;
 import com.pms.backend.dto.payroll.PayrollRunCreateRequest;
 import com.pms.backend.dto.payroll.PayrollRunResponse;
@@ -42,6 +43,8 @@ public interface PayrollService {
      */
     List<PayrollItemResponse> getPayrollItemsForRun(String runId);
     
+    CursorPage<PayrollItemResponse> getPayrollItemsPage(String runId, String departmentId, String cursor, Integer limit);
+    
     /**
      * Get individual employee's payroll item for Admin verification
      * Available for any processed run (Admin only)
@@ -59,6 +62,8 @@ public interface PayrollService {
      */
     List<PayrollItemResponse> getEmployeePayslips(String employeeId);
     
+    CursorPage<PayrollItemResponse> getEmployeePayslipsPage(String employeeId, Integer year, String cursor, Integer limit);
+    
     /**
      * Check if a payroll run exists for a specific year and month
      */
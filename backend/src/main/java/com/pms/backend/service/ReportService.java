@@ -2,7 +2,12 @@ package com.pms.backend.service;
 
 import com.pms.backend.dto.report.DepartmentCostDto;
 import com.pms.backend.dto.report.LeaveTrendDto;
+import com.pms.backend.dto.report.PayrollCubeDto;
+import com.pms.backend.dto.report.PayrollCubeQuery;
 import com.pms.backend.dto.report.PayrollSummaryDto;
+import com.pms.backend.dto.report.RankedEntryDto;
+import com.pms.backend.dto.report.RankedPage;
+import com.pms.backend.dto.report.RankingType;
 import com.pms.backend.entity.enums.LeaveType;
 
 import java.time.LocalDate;
@@ -51,6 +56,13 @@ public interface ReportService {
      */
     List<DepartmentCostDto> getTopSpendingDepartments(Integer year, Integer limit);
     
+    /**
+     * Get an arbitrary slice of the payroll cost cube
+     * @param query Grouping dimensions, measures (all if empty) and filters
+     * @return Rows of dimension values and summed measures
+     */
+    PayrollCubeDto getPayrollCostCube(PayrollCubeQuery query);
+    
     // ====== LEAVE REPORTS ======
     
     /**
@@ -96,6 +108,25 @@ public interface ReportService {
      */
     Object[] getOverallLeaveStatistics(LocalDate startDate, LocalDate endDate, Integer year);
     
+    /**
+     * Recompute the leave statistics counters from the leave requests table
+     * @return Number of counter buckets written
+     */
+    int rebuildLeaveStatistics();
+    
+    // ====== RANKED REPORTS ======
+    
+    /**
+     * Get one window of a leaderboard, ranked and limited by the data source
+     * @param type Ranking to compute
+     * @param year Specific year (optional; department spend defaults to current year)
+     * @param leaveType Specific leave type (optional, leave rankings only)
+     * @param offset Number of top entries to skip
+     * @param limit Maximum number of entries to return
+     * @return Ranked entries with the total ranking size
+     */
+    RankedPage<RankedEntryDto> getRanking(RankingType type, Integer year, LeaveType leaveType, int offset, int limit);
+    
     // ====== COMBINED REPORTS ======
     
     /**
@@ -0,0 +1,49 @@
+package com.pms.backend.service;
+
+import com.pms.backend.dto.VersionStamp;
+
+/**
+ * Service interface for computing response versions used by conditional GET
+ * Each version covers every table the corresponding response is built from,
+ * and costs a handful of COUNT/MAX queries instead of loading the entities
+ */
+public interface ResourceVersionService {
+    
+    VersionStamp getDepartmentsVersion();
+    
+    /**
+     * @return Version of one department, or null if it does not exist
+     */
+    VersionStamp getDepartmentVersion(String departmentId);
+    
+    VersionStamp getJobRolesVersion();
+    
+    /**
+     * @return Version of one job role, or null if it does not exist
+     */
+    VersionStamp getJobRoleVersion(String jobId);
+    
+    VersionStamp getEmployeesVersion();
+    
+    /**
+     * @return Version of one employee, or null if it does not exist
+     */
+    VersionStamp getEmployeeVersion(String employeeId);
+    
+    /**
+     * Salary history marks the active structure, so the version also changes daily
+     */
+    VersionStamp getSalaryStructuresVersion(String employeeId);
+    
+    VersionStamp getPayrollRunsVersion();
+    
+    /**
+     * @return Version of one payroll run with its summary, or null if it does not exist
+     */
+    VersionStamp getPayrollRunVersion(String runId);
+    
+    /**
+     * @return Version of a run's payroll items with employee details, or null if the run does not exist
+     */
+    VersionStamp getPayrollItemsVersion(String runId);
+}
@@ -1,5 +1,7 @@
 package com.pms.backend.service;
 
+import com.pms.backend.dto.salary.SalaryRevisionRequest;
+import com.pms.backend.dto.salary.SalaryRevisionResult;
 import com.pms.backend.dto.salary.SalaryStructureRequest;
 import com.pms.backend.dto.salary.SalaryStructureResponse;
 
@@ -13,6 +15,13 @@ public interface SalaryStructureService {
      */
     SalaryStructureResponse assignNewStructure(String employeeId, SalaryStructureRequest request);
     
+    /**
+     * Revise the salaries of every selected employee from one effective date
+     * New structures are inserted and the previous ones closed with two set-based statements
+     * in one transaction; a dry run computes the same result without writing
+     */
+    SalaryRevisionResult reviseSalaries(SalaryRevisionRequest request, boolean dryRun);
+    
     /**
      * Get the complete salary structure history for an employee
      * Returns structures ordered by effective date (newest first)
@@ -4,6 +4,7 @@ import com.pms.backend.dto.department.DepartmentCreateRequest;
 import com.pms.backend.dto.department.DepartmentResponse;
 import com.pms.backend.dto.department.DepartmentUpdateRequest;
 import com.pms.backend.entity.Department;
+import com.pms.backend.event.EmployeesChangedEvent;
 import com.pms.backend.exception.BadRequestException;
 import com.pms.backend.exception.ConstraintViolationException;
 import com.pms.backend.exception.ResourceNotFoundException;
@@ -11,6 +12,7 @@ import com.pms.backend.repository.DepartmentRepository;
 import com.pms.backend.repository.EmployeeRepository;
 import com.pms.backend.service.DepartmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,11 +25,14 @@ public class DepartmentServiceImpl implements DepartmentService {
     
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository) {
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository,
+                                 ApplicationEventPublisher eventPublisher) {
         this.departmentRepository = departmentRepository;
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -72,9 +77,14 @@ public class DepartmentServiceImpl implements DepartmentService {
             throw new BadRequestException("Department with name '" + request.getDepartmentName() + "' already exists");
         }
         
+        boolean renamed = !department.getDepartmentName().equals(request.getDepartmentName());
         department.setDepartmentName(request.getDepartmentName());
         
         Department updatedDepartment = departmentRepository.save(department);
+        if (renamed) {
+            // Employees are searched by department name; re-index them with the new one
+            eventPublisher.publishEvent(new EmployeesChangedEvent(employeeRepository.findIdsByDepartmentId(departmentId)));
+        }
         return convertToResponse(updatedDepartment);
     }
     
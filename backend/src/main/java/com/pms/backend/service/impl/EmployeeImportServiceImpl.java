@@ -0,0 +1,459 @@
+package com.pms.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.backend.dto.employee.EmployeeCreateRequest;
+import com.pms.backend.dto.employee.EmployeeImportError;
+import com.pms.backend.dto.employee.EmployeeImportFormat;
+import com.pms.backend.dto.employee.EmployeeImportResult;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.entity.id.UuidV7;
+import com.pms.backend.event.EmployeesChangedEvent;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.repository.DepartmentRepository;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.JobRoleRepository;
+import com.pms.backend.repository.UserRepository;
+import com.pms.backend.service.EmployeeImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding: uniqueness and foreign keys are checked against sets loaded once per import,
+ * passwords are hashed on a bounded pool, and rows are written with JDBC batches.
+ * Not @Transactional on purpose - each batch commits on its own so one bad batch cannot roll back the file.
+ */
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of(
+            "username", "email", "password", "firstName", "lastName", "dateOfBirth", "jobId", "departmentId");
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JobRoleRepository jobRoleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService hashPool;
+    private final int batchSize;
+
+    @Autowired
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository,
+                                     UserRepository userRepository,
+                                     DepartmentRepository departmentRepository,
+                                     JobRoleRepository jobRoleRepository,
+                                     PasswordEncoder passwordEncoder,
+                                     LeaveBalanceLedger leaveBalanceLedger,
+                                     Validator validator,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${employees.import.batch-size:1000}") int batchSize,
+                                     @Value("${employees.import.hash-threads:0}") int hashThreads) {
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.departmentRepository = departmentRepository;
+        this.jobRoleRepository = jobRoleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+
+        // BCrypt is CPU bound: one thread per core, and a full queue makes the reader hash inline
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "employee-import-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    @Override
+    public EmployeeImportResult importEmployees(InputStream input, EmployeeImportFormat format) {
+        long startedAt = System.currentTimeMillis();
+        ImportRun run = new ImportRun();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == EmployeeImportFormat.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+        } catch (IOException e) {
+            run.reject(run.rowNumber + 1, null, "Import stopped, body could not be read: " + e.getMessage());
+        }
+        run.flush();
+
+        EmployeeImportResult result = run.result;
+        result.setTotalRows(run.rowNumber);
+        result.setFailedCount(result.getErrors().size());
+        result.setDurationMillis(System.currentTimeMillis() - startedAt);
+
+        logger.info("Employee import finished: {} of {} rows imported in {} ms",
+                    result.getImportedCount(), result.getTotalRows(), result.getDurationMillis());
+        return result;
+    }
+
+    // ====== PARSING ======
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long rowNumber = ++run.rowNumber;
+            try {
+                run.accept(rowNumber, objectMapper.readValue(line, EmployeeCreateRequest.class));
+            } catch (JsonProcessingException e) {
+                run.reject(rowNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column.toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("CSV header is missing required columns: " + String.join(", ", missing));
+        }
+
+        List<String> record;
+        while ((record = readCsvRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            long rowNumber = ++run.rowNumber;
+            try {
+                run.accept(rowNumber, toCreateRequest(record, columns));
+            } catch (IllegalArgumentException e) {
+                run.reject(rowNumber, value(record, columns, "username"), e.getMessage());
+            }
+        }
+    }
+
+    private EmployeeCreateRequest toCreateRequest(List<String> record, Map<String, Integer> columns) {
+        EmployeeCreateRequest request = new EmployeeCreateRequest();
+        request.setUsername(value(record, columns, "username"));
+        request.setEmail(value(record, columns, "email"));
+        request.setPassword(value(record, columns, "password"));
+        request.setFirstName(value(record, columns, "firstName"));
+        request.setLastName(value(record, columns, "lastName"));
+        request.setPhone(value(record, columns, "phone"));
+        request.setAddress(value(record, columns, "address"));
+        request.setJobId(value(record, columns, "jobId"));
+        request.setDepartmentId(value(record, columns, "departmentId"));
+
+        String dateOfBirth = value(record, columns, "dateOfBirth");
+        if (dateOfBirth != null) {
+            try {
+                request.setDateOfBirth(LocalDate.parse(dateOfBirth));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid dateOfBirth '" + dateOfBirth + "' (use yyyy-MM-dd)");
+            }
+        }
+
+        String leaveBalance = value(record, columns, "leaveBalance");
+        if (leaveBalance != null) {
+            try {
+                request.setLeaveBalance(new BigDecimal(leaveBalance));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid leaveBalance '" + leaveBalance + "'");
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Trimmed cell value, or null when the column is absent or the cell is blank
+     */
+    private String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Read one RFC 4180 record; quoted fields may contain commas, doubled quotes and line breaks
+     * @return the fields, or null at end of input
+     */
+    private List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            field.append('\n');
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // ====== VALIDATION AND WRITES ======
+
+    /**
+     * State of one import: the preloaded lookup sets, the current batch and the report
+     */
+    private final class ImportRun {
+
+        private final Set<String> takenUsernames = new HashSet<>();
+        private final Set<String> takenEmails = new HashSet<>();
+        private final Set<String> departmentIds = new HashSet<>(departmentRepository.findAllIds());
+        private final Set<String> jobIds = new HashSet<>(jobRoleRepository.findAllIds());
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final Map<String, BigDecimal> openingBalances = new HashMap<>();
+        private final EmployeeImportResult result = new EmployeeImportResult();
+        private long rowNumber;
+
+        private ImportRun() {
+            // Unique indexes compare case-insensitively, so the sets do too
+            for (Object[] row : userRepository.findAllUsernamesAndEmails()) {
+                takenUsernames.add(normalize((String) row[0]));
+                takenEmails.add(normalize((String) row[1]));
+            }
+        }
+
+        private void accept(long rowNumber, EmployeeCreateRequest request) {
+            String problem = validate(request);
+            if (problem != null) {
+                reject(rowNumber, request.getUsername(), problem);
+                return;
+            }
+
+            takenUsernames.add(normalize(request.getUsername()));
+            takenEmails.add(normalize(request.getEmail()));
+            pending.add(new PendingRow(rowNumber, request));
+
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private String validate(EmployeeCreateRequest request) {
+            Set<ConstraintViolation<EmployeeCreateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+            if (takenUsernames.contains(normalize(request.getUsername()))) {
+                return "Username '" + request.getUsername() + "' already exists";
+            }
+            if (takenEmails.contains(normalize(request.getEmail()))) {
+                return "Email '" + request.getEmail() + "' already exists";
+            }
+            if (!departmentIds.contains(request.getDepartmentId())) {
+                return "Department not found with ID: " + request.getDepartmentId();
+            }
+            if (!jobIds.contains(request.getJobId())) {
+                return "Job role not found with ID: " + request.getJobId();
+            }
+            return null;
+        }
+
+        /**
+         * Users, employees and their opening leave ledgers, in one transaction
+         */
+        private void insert(List<User> users, List<Employee> employees) {
+            employeeRepository.batchInsertWithUsers(users, employees);
+            Map<String, BigDecimal> balances = new HashMap<>();
+            employees.forEach(employee -> balances.put(employee.getEmployeeId(), openingBalances.get(employee.getEmployeeId())));
+            leaveBalanceLedger.openAll(balances);
+        }
+
+        private void reject(long rowNumber, String username, String message) {
+            result.getErrors().add(new EmployeeImportError(rowNumber, username, message));
+        }
+
+        /**
+         * Hash, build and insert the pending batch; if the batch is refused, retry row by row to isolate the culprit
+         */
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<CompletableFuture<String>> hashes = pending.stream()
+                    .map(row -> CompletableFuture.supplyAsync(
+                            () -> passwordEncoder.encode(row.request.getPassword()), hashPool))
+                    .collect(Collectors.toList());
+
+            LocalDateTime now = LocalDateTime.now();
+            List<User> users = new ArrayList<>(pending.size());
+            List<Employee> employees = new ArrayList<>(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                User user = toUser(pending.get(i).request, hashes.get(i).join(), now);
+                users.add(user);
+                employees.add(toEmployee(pending.get(i).request, user.getUserId(), now));
+                EmployeeCreateRequest request = pending.get(i).request;
+                openingBalances.put(employees.get(i).getEmployeeId(),
+                        request.getLeaveBalance() != null ? request.getLeaveBalance() : BigDecimal.ZERO);
+            }
+
+            List<String> importedIds = new ArrayList<>(pending.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(users, employees));
+                result.setImportedCount(result.getImportedCount() + pending.size());
+                employees.forEach(employee -> importedIds.add(employee.getEmployeeId()));
+            } catch (DataAccessException batchFailure) {
+                for (int i = 0; i < pending.size(); i++) {
+                    List<User> user = List.of(users.get(i));
+                    List<Employee> employee = List.of(employees.get(i));
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(user, employee));
+                        result.setImportedCount(result.getImportedCount() + 1);
+                        importedIds.add(employees.get(i).getEmployeeId());
+                    } catch (DataAccessException rowFailure) {
+                        PendingRow row = pending.get(i);
+                        reject(row.rowNumber, row.request.getUsername(),
+                               "Rejected by database: " + rowFailure.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            pending.clear();
+            openingBalances.clear();
+
+            // Committed rows become searchable batch by batch
+            if (!importedIds.isEmpty()) {
+                eventPublisher.publishEvent(new EmployeesChangedEvent(importedIds));
+            }
+        }
+    }
+
+    private static final class PendingRow {
+        private final long rowNumber;
+        private final EmployeeCreateRequest request;
+
+        private PendingRow(long rowNumber, EmployeeCreateRequest request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+    }
+
+    private User toUser(EmployeeCreateRequest request, String encodedPassword, LocalDateTime now) {
+        User user = new User();
+        user.setUserId(UuidV7.nextString());
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(encodedPassword);
+        user.setRole(Role.Employee);
+        user.setIsActive(true);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private Employee toEmployee(EmployeeCreateRequest request, String userId, LocalDateTime now) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(UuidV7.nextString());
+        employee.setUserId(userId);
+        employee.setFirstName(request.getFirstName());
+        employee.setLastName(request.getLastName());
+        employee.setDateOfBirth(request.getDateOfBirth());
+        employee.setPhone(request.getPhone());
+        employee.setAddress(request.getAddress());
+        employee.setJobId(request.getJobId());
+        employee.setDepartmentId(request.getDepartmentId());
+        employee.setCreatedAt(now);
+        employee.setUpdatedAt(now);
+        return employee;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
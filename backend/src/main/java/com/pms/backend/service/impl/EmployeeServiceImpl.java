@@ -1,23 +1,35 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.dto.CursorPage;
+import com.pms.backend.dto.KeysetCursor;
 import com.pms.backend.dto.employee.EmployeeCreateRequest;
 import com.pms.backend.dto.employee.EmployeeResponse;
+import com.pms.backend.dto.employee.EmployeeSearchHit;
 import com.pms.backend.dto.employee.EmployeeUpdateRequest;
 import com.pms.backend.dto.user.PasswordChangeRequest;
 import com.pms.backend.dto.user.UserProfileUpdateRequest;
 import com.pms.backend.entity.Employee;
 import com.pms.backend.entity.User;
 import com.pms.backend.entity.enums.Role;
+import com.pms.backend.event.EmployeeDeletedEvent;
+import com.pms.backend.event.EmployeesChangedEvent;
+import com.pms.backend.event.UserTokensRevokedEvent;
 import com.pms.backend.exception.BadRequestException;
 import com.pms.backend.exception.ResourceNotFoundException;
 import com.pms.backend.repository.*;
+import com.pms.backend.search.EmployeeSearchIndex;
 import com.pms.backend.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +41,15 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final DepartmentRepository departmentRepository;
     private final JobRoleRepository jobRoleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final LeaveStatisticsUpdater leaveStatisticsUpdater;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final PayrollItemRepository payrollItemRepository;
+    private final PayrollCostRollupRepository payrollCostRollupRepository;
+    
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 50;
     
     @Autowired
     public EmployeeServiceImpl(
@@ -36,12 +57,24 @@ public class EmployeeServiceImpl implements EmployeeService {
             UserRepository userRepository,
             DepartmentRepository departmentRepository,
             JobRoleRepository jobRoleRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            LeaveStatisticsUpdater leaveStatisticsUpdater,
+            LeaveBalanceLedger leaveBalanceLedger,
+            ApplicationEventPublisher eventPublisher,
+            EmployeeSearchIndex employeeSearchIndex,
+            PayrollItemRepository payrollItemRepository,
+            PayrollCostRollupRepository payrollCostRollupRepository) {
         this.employeeRepository = employeeRepository;
         this.userRepository = userRepository;
         this.departmentRepository = departmentRepository;
         this.jobRoleRepository = jobRoleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.leaveStatisticsUpdater = leaveStatisticsUpdater;
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.eventPublisher = eventPublisher;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.payrollItemRepository = payrollItemRepository;
+        this.payrollCostRollupRepository = payrollCostRollupRepository;
     }
     
     @Override
@@ -84,27 +117,91 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setAddress(request.getAddress());
         employee.setJobId(request.getJobId());
         employee.setDepartmentId(request.getDepartmentId());
-        employee.setLeaveBalance(request.getLeaveBalance());
+        
+        // Attach associations so the response is built without reloading them
+        employee.setUser(savedUser);
+        employee.setJobRole(jobRoleRepository.getReferenceById(request.getJobId()));
+        employee.setDepartment(departmentRepository.getReferenceById(request.getDepartmentId()));
         
         Employee savedEmployee = employeeRepository.save(employee);
+        BigDecimal openingBalance = request.getLeaveBalance() != null ? request.getLeaveBalance() : BigDecimal.ZERO;
+        leaveBalanceLedger.open(savedEmployee.getEmployeeId(), openingBalance);
+        eventPublisher.publishEvent(new EmployeesChangedEvent(savedEmployee.getEmployeeId()));
         
-        return convertToResponse(savedEmployee);
+        return convertToResponse(savedEmployee, openingBalance);
     }
     
     @Override
     @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeById(String employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
+        Employee employee = employeeRepository.findByIdWithDetails(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
-        return convertToResponse(employee);
+        return convertToResponse(employee, leaveBalanceLedger.balanceOf(employeeId));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<EmployeeResponse> getAllEmployees() {
-        return employeeRepository.findAll()
+        Map<String, BigDecimal> balances = leaveBalanceLedger.allBalances();
+        return employeeRepository.findAllWithDetails()
+                .stream()
+                .map(employee -> convertToResponse(employee, balances.get(employee.getEmployeeId())))
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeResponse> getEmployeesPage(String departmentId, String jobId, String name,
+                                                         String sort, String cursor, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        String namePrefix = toPrefixPattern(name);
+        
+        if (sort == null || sort.equalsIgnoreCase("name")) {
+            KeysetCursor after = KeysetCursor.decode(cursor, "employees:name", 3);
+            List<Employee> rows = employeeRepository.findPageOrderByName(departmentId, jobId, namePrefix,
+                    after != null ? after.getString(0) : null,
+                    after != null ? after.getString(1) : null,
+                    after != null ? after.getString(2) : null,
+                    fetch);
+            return CursorPage.of(rows, pageSize, withBalances(rows),
+                    e -> KeysetCursor.encode("employees:name", e.getLastName(), e.getFirstName(), e.getEmployeeId()));
+        }
+        
+        if (sort.equalsIgnoreCase("createdAt")) {
+            KeysetCursor after = KeysetCursor.decode(cursor, "employees:createdAt", 2);
+            List<Employee> rows = employeeRepository.findPageOrderByCreatedAt(departmentId, jobId, namePrefix,
+                    after != null ? after.getDateTime(0) : null,
+                    after != null ? after.getString(1) : null,
+                    fetch);
+            return CursorPage.of(rows, pageSize, withBalances(rows),
+                    e -> KeysetCursor.encode("employees:createdAt", e.getCreatedAt(), e.getEmployeeId()));
+        }
+        
+        throw new BadRequestException("Unsupported sort: " + sort + " (use name or createdAt)");
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSearchHit> searchEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search text must not be empty");
+        }
+        int maxHits = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+        if (maxHits < 1 || maxHits > MAX_SEARCH_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        
+        if (employeeSearchIndex.isReady()) {
+            return employeeSearchIndex.search(query, maxHits);
+        }
+        
+        // Index not loaded: fall back to a name-prefix lookup on the first word
+        String firstWord = query.trim().split("\\s+")[0];
+        return employeeRepository.findPageOrderByName(null, null, toPrefixPattern(firstWord),
+                        null, null, null, PageRequest.of(0, maxHits))
                 .stream()
-                .map(this::convertToResponse)
+                .map(this::convertToSearchHit)
                 .collect(Collectors.toList());
     }
     
@@ -122,6 +219,9 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new BadRequestException("Job role not found with ID: " + request.getJobId());
         }
         
+        // Keep leave statistics attributed to the current department
+        leaveStatisticsUpdater.recordDepartmentChange(employeeId, employee.getDepartmentId(), request.getDepartmentId());
+        
         // Update employee fields
         employee.setFirstName(request.getFirstName());
         employee.setLastName(request.getLastName());
@@ -130,10 +230,17 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setAddress(request.getAddress());
         employee.setJobId(request.getJobId());
         employee.setDepartmentId(request.getDepartmentId());
-        employee.setLeaveBalance(request.getLeaveBalance());
+        employee.setJobRole(jobRoleRepository.getReferenceById(request.getJobId()));
+        employee.setDepartment(departmentRepository.getReferenceById(request.getDepartmentId()));
+        
+        // An admin-set balance is recorded in the leave ledger as an adjustment
+        if (request.getLeaveBalance() != null) {
+            leaveBalanceLedger.adjustTo(employeeId, request.getLeaveBalance());
+        }
         
         Employee updatedEmployee = employeeRepository.save(employee);
-        return convertToResponse(updatedEmployee);
+        eventPublisher.publishEvent(new EmployeesChangedEvent(employeeId));
+        return convertToResponse(updatedEmployee, leaveBalanceLedger.balanceOf(employeeId));
     }
     
     @Override
@@ -141,19 +248,36 @@ public class EmployeeServiceImpl implements EmployeeService {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
         
+        // Drop their leave requests from the statistics before the cascade removes them
+        leaveStatisticsUpdater.recordEmployeeRemoved(employeeId, employee.getDepartmentId());
+        
+        // Remove their payroll items and rebuild the cost rollups of the runs they were paid in,
+        // so the cube keeps agreeing with payroll_items once the employee is gone
+        List<String> payrollRunIds = payrollItemRepository.findRunIdsByEmployeeId(employeeId);
+        if (!payrollRunIds.isEmpty()) {
+            payrollItemRepository.deleteByEmployeeId(employeeId);
+            for (String runId : payrollRunIds) {
+                payrollCostRollupRepository.deleteByRunId(runId);
+                payrollCostRollupRepository.insertRollupsForRun(runId);
+            }
+        }
+        
         // Delete employee first (this will cascade to user due to FK constraint)
         employeeRepository.delete(employee);
         
         // Delete associated user
         userRepository.deleteById(employee.getUserId());
+        
+        eventPublisher.publishEvent(new EmployeeDeletedEvent(employeeId));
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(employee.getUserId()));
     }
     
     @Override
     @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeByUserId(String userId) {
-        Employee employee = employeeRepository.findByUserId(userId)
+        Employee employee = employeeRepository.findByUserIdWithDetails(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found for user ID: " + userId));
-        return convertToResponse(employee);
+        return convertToResponse(employee, leaveBalanceLedger.balanceOf(employee.getEmployeeId()));
     }
     
     @Override
@@ -169,7 +293,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setAddress(request.getAddress());
         
         Employee updatedEmployee = employeeRepository.save(employee);
-        return convertToResponse(updatedEmployee);
+        eventPublisher.publishEvent(new EmployeesChangedEvent(employee.getEmployeeId()));
+        return convertToResponse(updatedEmployee, leaveBalanceLedger.balanceOf(employee.getEmployeeId()));
     }
     
     @Override
@@ -182,9 +307,11 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new BadRequestException("Current password is incorrect");
         }
         
-        // Update password
+        // Update password and revoke tokens issued with the old one
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(userId));
     }
     
     @Override
@@ -193,7 +320,44 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.existsById(employeeId);
     }
     
-    private EmployeeResponse convertToResponse(Employee employee) {
+    /**
+     * Turn a user-supplied name prefix into a LIKE pattern, escaping wildcards
+     */
+    private String toPrefixPattern(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+    
+    private EmployeeSearchHit convertToSearchHit(Employee employee) {
+        EmployeeSearchHit hit = new EmployeeSearchHit();
+        hit.setEmployeeId(employee.getEmployeeId());
+        hit.setFirstName(employee.getFirstName());
+        hit.setLastName(employee.getLastName());
+        if (employee.getUser() != null) {
+            hit.setUsername(employee.getUser().getUsername());
+            hit.setEmail(employee.getUser().getEmail());
+        }
+        if (employee.getDepartment() != null) {
+            hit.setDepartmentName(employee.getDepartment().getDepartmentName());
+        }
+        if (employee.getJobRole() != null) {
+            hit.setJobTitle(employee.getJobRole().getJobTitle());
+        }
+        return hit;
+    }
+    
+    /**
+     * Response mapper for a page of employees, with their balances read in one query
+     */
+    private Function<Employee, EmployeeResponse> withBalances(List<Employee> employees) {
+        Map<String, BigDecimal> balances = leaveBalanceLedger.balancesOf(
+                employees.stream().map(Employee::getEmployeeId).collect(Collectors.toList()));
+        return employee -> convertToResponse(employee, balances.get(employee.getEmployeeId()));
+    }
+    
+    private EmployeeResponse convertToResponse(Employee employee, BigDecimal leaveBalance) {
         EmployeeResponse response = new EmployeeResponse();
         
         // Employee data
@@ -204,7 +368,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         response.setDateOfBirth(employee.getDateOfBirth());
         response.setPhone(employee.getPhone());
         response.setAddress(employee.getAddress());
-        response.setLeaveBalance(employee.getLeaveBalance());
+        response.setLeaveBalance(leaveBalance != null ? leaveBalance : BigDecimal.ZERO);
         response.setCreatedAt(employee.getCreatedAt());
         response.setUpdatedAt(employee.getUpdatedAt());
         
@@ -214,14 +378,6 @@ public class EmployeeServiceImpl implements EmployeeService {
             response.setEmail(employee.getUser().getEmail());
             response.setRole(employee.getUser().getRole().name());
             response.setIsActive(employee.getUser().getIsActive());
-        } else {
-            // Fallback: fetch user separately if lazy loading fails
-            userRepository.findById(employee.getUserId()).ifPresent(user -> {
-                response.setUsername(user.getUsername());
-                response.setEmail(user.getEmail());
-                response.setRole(user.getRole().name());
-                response.setIsActive(user.getIsActive());
-            });
         }
         
         // Job role data
@@ -229,23 +385,12 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (employee.getJobRole() != null) {
             response.setJobTitle(employee.getJobRole().getJobTitle());
             response.setBaseSalary(employee.getJobRole().getBaseSalary());
-        } else {
-            // Fallback: fetch job role separately if lazy loading fails
-            jobRoleRepository.findById(employee.getJobId()).ifPresent(jobRole -> {
-                response.setJobTitle(jobRole.getJobTitle());
-                response.setBaseSalary(jobRole.getBaseSalary());
-            });
         }
         
         // Department data
         response.setDepartmentId(employee.getDepartmentId());
         if (employee.getDepartment() != null) {
             response.setDepartmentName(employee.getDepartment().getDepartmentName());
-        } else {
-            // Fallback: fetch department separately if lazy loading fails
-            departmentRepository.findById(employee.getDepartmentId()).ifPresent(department -> {
-                response.setDepartmentName(department.getDepartmentName());
-            });
         }
         
         return response;
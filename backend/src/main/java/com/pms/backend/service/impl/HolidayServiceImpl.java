@@ -0,0 +1,93 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.calendar.WorkingDayCalendar;
+import com.pms.backend.dto.holiday.HolidayRequest;
+import com.pms.backend.dto.holiday.HolidayResponse;
+import com.pms.backend.entity.Holiday;
+import com.pms.backend.event.HolidaysChangedEvent;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.exception.ResourceNotFoundException;
+import com.pms.backend.repository.HolidayRepository;
+import com.pms.backend.service.HolidayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class HolidayServiceImpl implements HolidayService {
+    
+    private final HolidayRepository holidayRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    public HolidayServiceImpl(HolidayRepository holidayRepository, WorkingDayCalendar workingDayCalendar,
+                              ApplicationEventPublisher eventPublisher) {
+        this.holidayRepository = holidayRepository;
+        this.workingDayCalendar = workingDayCalendar;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @Override
+    public HolidayResponse createHoliday(HolidayRequest request) {
+        String location = normalizeLocation(request.getLocation());
+        if (holidayRepository.existsForDateAndLocation(request.getHolidayDate(), location)) {
+            throw new BadRequestException("A holiday on " + request.getHolidayDate() + " already exists" +
+                    (location != null ? " for location '" + location + "'" : ""));
+        }
+        
+        Holiday holiday = new Holiday(request.getHolidayDate(), request.getHolidayName().trim(), location);
+        Holiday savedHoliday = holidayRepository.save(holiday);
+        eventPublisher.publishEvent(new HolidaysChangedEvent(savedHoliday.getHolidayDate().getYear()));
+        
+        return convertToResponse(savedHoliday);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<HolidayResponse> getHolidays(int year, String location) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = LocalDate.of(year, 12, 31);
+        String normalized = normalizeLocation(location);
+        
+        List<Holiday> holidays = normalized != null
+                ? holidayRepository.findObservedBetween(normalized, from, to)
+                : holidayRepository.findByHolidayDateBetweenOrderByHolidayDateAscLocationAsc(from, to);
+        return holidays.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void deleteHoliday(String holidayId) {
+        Holiday holiday = holidayRepository.findById(holidayId)
+                .orElseThrow(() -> new ResourceNotFoundException("Holiday not found with ID: " + holidayId));
+        
+        holidayRepository.delete(holiday);
+        eventPublisher.publishEvent(new HolidaysChangedEvent(holiday.getHolidayDate().getYear()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public int getWorkingDays(LocalDate fromDate, LocalDate toDate, String location) {
+        if (fromDate.isAfter(toDate)) {
+            throw new BadRequestException("Start date cannot be after end date");
+        }
+        return workingDayCalendar.workingDaysBetween(fromDate, toDate, normalizeLocation(location));
+    }
+    
+    private String normalizeLocation(String location) {
+        return location == null || location.isBlank() ? null : location.trim();
+    }
+    
+    private HolidayResponse convertToResponse(Holiday holiday) {
+        return new HolidayResponse(holiday.getHolidayId(), holiday.getHolidayDate(),
+                holiday.getHolidayName(), holiday.getLocation());
+    }
+}
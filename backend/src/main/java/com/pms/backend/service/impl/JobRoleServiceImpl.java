@@ -4,6 +4,7 @@ import com.pms.backend.dto.jobrole.JobRoleCreateRequest;
 import com.pms.backend.dto.jobrole.JobRoleResponse;
 import com.pms.backend.dto.jobrole.JobRoleUpdateRequest;
 import com.pms.backend.entity.JobRole;
+import com.pms.backend.event.EmployeesChangedEvent;
 import com.pms.backend.exception.BadRequestException;
 import com.pms.backend.exception.ConstraintViolationException;
 import com.pms.backend.exception.ResourceNotFoundException;
@@ -11,6 +12,7 @@ import com.pms.backend.repository.EmployeeRepository;
 import com.pms.backend.repository.JobRoleRepository;
 import com.pms.backend.service.JobRoleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,11 +25,14 @@ public class JobRoleServiceImpl implements JobRoleService {
     
     private final JobRoleRepository jobRoleRepository;
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public JobRoleServiceImpl(JobRoleRepository jobRoleRepository, EmployeeRepository employeeRepository) {
+    public JobRoleServiceImpl(JobRoleRepository jobRoleRepository, EmployeeRepository employeeRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.jobRoleRepository = jobRoleRepository;
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -73,10 +78,15 @@ public class JobRoleServiceImpl implements JobRoleService {
             throw new BadRequestException("Job role with title '" + request.getJobTitle() + "' already exists");
         }
         
+        boolean renamed = !jobRole.getJobTitle().equals(request.getJobTitle());
         jobRole.setJobTitle(request.getJobTitle());
         jobRole.setBaseSalary(request.getBaseSalary());
         
         JobRole updatedJobRole = jobRoleRepository.save(jobRole);
+        if (renamed) {
+            // Employees are searched by job title; re-index them with the new one
+            eventPublisher.publishEvent(new EmployeesChangedEvent(employeeRepository.findIdsByJobId(jobId)));
+        }
         return convertToResponse(updatedJobRole);
     }
     
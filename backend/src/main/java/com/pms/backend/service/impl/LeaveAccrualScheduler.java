@@ -0,0 +1,60 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.datasource.StatementInstrumentation;
+import com.pms.backend.entity.enums.AccrualTrigger;
+import com.pms.backend.exception.ConstraintViolationException;
+import com.pms.backend.service.LeaveAccrualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Credits each month's leave accrual at the start of the month
+ * Safe on several instances and after restarts: a month already accrued is skipped
+ */
+@Component
+@ConditionalOnProperty(name = "leave.accrual.schedule.enabled", havingValue = "true", matchIfMissing = true)
+public class LeaveAccrualScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeaveAccrualScheduler.class);
+    
+    private static final int MAX_ATTEMPTS = 3;
+    
+    private final LeaveAccrualService leaveAccrualService;
+    private final StatementInstrumentation statementInstrumentation;
+    
+    @Autowired
+    public LeaveAccrualScheduler(LeaveAccrualService leaveAccrualService,
+                                 StatementInstrumentation statementInstrumentation) {
+        this.leaveAccrualService = leaveAccrualService;
+        this.statementInstrumentation = statementInstrumentation;
+    }
+    
+    @Scheduled(cron = "${leave.accrual.cron:0 30 1 1 * *}")
+    public void accrueCurrentMonth() {
+        try (StatementInstrumentation.Scope ignored = statementInstrumentation.openJob("leave-accrual")) {
+            accrue(YearMonth.now());
+        }
+    }
+    
+    private void accrue(YearMonth period) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                leaveAccrualService.runAccrual(period, AccrualTrigger.Schedule);
+                return;
+            } catch (ConstraintViolationException ex) {
+                // Another instance claimed the period, or a balance changed mid-run; a retry settles either
+                logger.info("Leave accrual for {} attempt {} conflicted: {}", period, attempt, ex.getMessage());
+            } catch (RuntimeException ex) {
+                logger.error("Leave accrual for {} failed", period, ex);
+                return;
+            }
+        }
+        logger.error("Leave accrual for {} gave up after {} attempts", period, MAX_ATTEMPTS);
+    }
+}
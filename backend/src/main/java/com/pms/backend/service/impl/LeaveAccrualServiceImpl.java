@@ -0,0 +1,212 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.dto.accrual.AccrualEntryResponse;
+import com.pms.backend.dto.accrual.AccrualPolicyRequest;
+import com.pms.backend.dto.accrual.AccrualPolicyResponse;
+import com.pms.backend.dto.accrual.AccrualRunResponse;
+import com.pms.backend.entity.LeaveAccrualEntry;
+import com.pms.backend.entity.LeaveAccrualPolicy;
+import com.pms.backend.entity.LeaveAccrualRun;
+import com.pms.backend.entity.enums.AccrualScope;
+import com.pms.backend.entity.enums.AccrualTrigger;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.exception.ConstraintViolationException;
+import com.pms.backend.exception.ResourceNotFoundException;
+import com.pms.backend.repository.DepartmentRepository;
+import com.pms.backend.repository.JobRoleRepository;
+import com.pms.backend.repository.LeaveAccrualEntryRepository;
+import com.pms.backend.repository.LeaveAccrualPolicyRepository;
+import com.pms.backend.repository.LeaveAccrualRunRepository;
+import com.pms.backend.service.LeaveAccrualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class LeaveAccrualServiceImpl implements LeaveAccrualService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeaveAccrualServiceImpl.class);
+    
+    private final LeaveAccrualPolicyRepository policyRepository;
+    private final LeaveAccrualRunRepository runRepository;
+    private final LeaveAccrualEntryRepository entryRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JobRoleRepository jobRoleRepository;
+    
+    @Autowired
+    public LeaveAccrualServiceImpl(LeaveAccrualPolicyRepository policyRepository,
+                                   LeaveAccrualRunRepository runRepository,
+                                   LeaveAccrualEntryRepository entryRepository,
+                                   DepartmentRepository departmentRepository,
+                                   JobRoleRepository jobRoleRepository) {
+        this.policyRepository = policyRepository;
+        this.runRepository = runRepository;
+        this.entryRepository = entryRepository;
+        this.departmentRepository = departmentRepository;
+        this.jobRoleRepository = jobRoleRepository;
+    }
+    
+    // ====== POLICIES ======
+    
+    @Override
+    public AccrualPolicyResponse savePolicy(AccrualPolicyRequest request) {
+        AccrualScope scope = request.getScope();
+        String scopeId = request.getScopeId() == null || request.getScopeId().isBlank() ? null : request.getScopeId().trim();
+        
+        if (scope == AccrualScope.Company && scopeId != null) {
+            throw new BadRequestException("The company-wide policy takes no scope ID");
+        }
+        if (scope == AccrualScope.Department && (scopeId == null || !departmentRepository.existsById(scopeId))) {
+            throw new ResourceNotFoundException("Department not found with ID: " + scopeId);
+        }
+        if (scope == AccrualScope.JobRole && (scopeId == null || !jobRoleRepository.existsById(scopeId))) {
+            throw new ResourceNotFoundException("Job role not found with ID: " + scopeId);
+        }
+        if (request.getMaxBalance() != null && request.getCarryForwardLimit() != null
+                && request.getCarryForwardLimit().compareTo(request.getMaxBalance()) > 0) {
+            throw new BadRequestException("Carry-forward limit cannot exceed the maximum balance");
+        }
+        
+        // A concurrent save of the same scope loses on uk_leave_accrual_policies_scope (409)
+        LeaveAccrualPolicy policy = policyRepository.findByScopeAndScopeKey(scope, LeaveAccrualPolicy.scopeKeyOf(scopeId))
+                .orElseGet(LeaveAccrualPolicy::new);
+        policy.setScope(scope);
+        policy.setScopeId(scopeId);
+        policy.setMonthlyDays(request.getMonthlyDays());
+        policy.setMaxBalance(request.getMaxBalance());
+        policy.setCarryForwardLimit(request.getCarryForwardLimit());
+        
+        LeaveAccrualPolicy savedPolicy = policyRepository.save(policy);
+        logger.info("Leave accrual policy saved: {} {}, {} days/month",
+                scope, scopeId != null ? scopeId : "", savedPolicy.getMonthlyDays());
+        
+        return convertToPolicyResponse(savedPolicy);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccrualPolicyResponse> getPolicies() {
+        return policyRepository.findAllByOrderByScopeAscScopeIdAsc().stream()
+                .map(this::convertToPolicyResponse)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void deletePolicy(String policyId) {
+        LeaveAccrualPolicy policy = policyRepository.findById(policyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Leave accrual policy not found with ID: " + policyId));
+        
+        policyRepository.delete(policy);
+    }
+    
+    // ====== RUNS ======
+    
+    @Override
+    public AccrualRunResponse runAccrual(YearMonth period, AccrualTrigger triggeredBy) {
+        if (period.isAfter(YearMonth.now())) {
+            throw new BadRequestException("Cannot accrue leave for a future month: " + period);
+        }
+        
+        Optional<LeaveAccrualRun> existing = runRepository.findByAccrualYearAndAccrualMonth(
+                period.getYear(), period.getMonthValue());
+        if (existing.isPresent()) {
+            logger.info("Leave accrual for {} already applied (run {})", period, existing.get().getRunId());
+            AccrualRunResponse response = convertToRunResponse(existing.get());
+            response.setAlreadyApplied(true);
+            return response;
+        }
+        
+        // Claim the period first: a concurrent run for the same month fails here on the unique key
+        LeaveAccrualRun run;
+        try {
+            run = runRepository.saveAndFlush(new LeaveAccrualRun(period.getYear(), period.getMonthValue(), triggeredBy));
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConstraintViolationException("Leave accrual for " + period + " is already in progress", ex);
+        }
+        String runId = run.getRunId();
+        
+        // A fixed number of statements whatever the headcount: compute the audit entries, append them
+        // to the leave ledger, total them
+        int entries = entryRepository.insertEntriesForRun(runId, period.getMonthValue() == 1 ? 1 : 0);
+        int appended;
+        try {
+            appended = entryRepository.appendForfeitsForRun(runId) + entryRepository.appendCreditsForRun(runId);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConstraintViolationException("Leave balances changed during the accrual for " + period + ", please retry", ex);
+        }
+        runRepository.updateTotals(runId);
+        
+        LeaveAccrualRun completedRun = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalStateException("Leave accrual run disappeared: " + runId));
+        logger.info("Leave accrual for {}: {} employees, {} ledger entries, {} days credited, {} forfeited",
+                period, entries, appended, completedRun.getTotalCredited(), completedRun.getTotalForfeited());
+        
+        return convertToRunResponse(completedRun);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccrualRunResponse> getRuns() {
+        return runRepository.findAllByOrderByAccrualYearDescAccrualMonthDesc().stream()
+                .map(this::convertToRunResponse)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccrualEntryResponse> getRunEntries(String runId) {
+        if (!runRepository.existsById(runId)) {
+            throw new ResourceNotFoundException("Leave accrual run not found with ID: " + runId);
+        }
+        return entryRepository.findByRunIdOrderByEmployeeIdAsc(runId).stream()
+                .map(this::convertToEntryResponse)
+                .collect(Collectors.toList());
+    }
+    
+    // ====== HELPER METHODS ======
+    
+    private AccrualPolicyResponse convertToPolicyResponse(LeaveAccrualPolicy policy) {
+        AccrualPolicyResponse response = new AccrualPolicyResponse();
+        response.setPolicyId(policy.getPolicyId());
+        response.setScope(policy.getScope());
+        response.setScopeId(policy.getScopeId());
+        response.setMonthlyDays(policy.getMonthlyDays());
+        response.setMaxBalance(policy.getMaxBalance());
+        response.setCarryForwardLimit(policy.getCarryForwardLimit());
+        response.setUpdatedAt(policy.getUpdatedAt());
+        return response;
+    }
+    
+    private AccrualRunResponse convertToRunResponse(LeaveAccrualRun run) {
+        AccrualRunResponse response = new AccrualRunResponse();
+        response.setRunId(run.getRunId());
+        response.setAccrualYear(run.getAccrualYear());
+        response.setAccrualMonth(run.getAccrualMonth());
+        response.setEmployeeCount(run.getEmployeeCount());
+        response.setTotalCredited(run.getTotalCredited());
+        response.setTotalForfeited(run.getTotalForfeited());
+        response.setTriggeredBy(run.getTriggeredBy());
+        response.setCreatedAt(run.getCreatedAt());
+        return response;
+    }
+    
+    private AccrualEntryResponse convertToEntryResponse(LeaveAccrualEntry entry) {
+        AccrualEntryResponse response = new AccrualEntryResponse();
+        response.setEmployeeId(entry.getEmployeeId());
+        response.setPolicyId(entry.getPolicyId());
+        response.setBalanceBefore(entry.getBalanceBefore());
+        response.setDaysForfeited(entry.getDaysForfeited());
+        response.setDaysCredited(entry.getDaysCredited());
+        response.setBalanceAfter(entry.getBalanceAfter());
+        return response;
+    }
+}
@@ -0,0 +1,187 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.entity.LeaveLedgerEntry;
+import com.pms.backend.entity.enums.LeaveLedgerEntryType;
+import com.pms.backend.exception.ConstraintViolationException;
+import com.pms.backend.repository.LeaveLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leave balances as an append-only ledger: a compacted snapshot per employee plus the entries after it
+ * Writers read the last seq and balance together, then append at the next seq. The ledger key makes
+ * that append fail if anyone else appended first, so an overdraft check is never based on a stale
+ * balance and nothing ever read-modify-writes the employee row.
+ * Every method except compact() joins the caller's transaction.
+ */
+@Component
+public class LeaveBalanceLedger {
+    
+    private final LeaveLedgerRepository leaveLedgerRepository;
+    
+    @Autowired
+    public LeaveBalanceLedger(LeaveLedgerRepository leaveLedgerRepository) {
+        this.leaveLedgerRepository = leaveLedgerRepository;
+    }
+    
+    // ====== READS ======
+    
+    /**
+     * Current balance; zero for an employee without a ledger
+     */
+    public BigDecimal balanceOf(String employeeId) {
+        Position position = position(employeeId);
+        return position != null ? position.balance : BigDecimal.ZERO;
+    }
+    
+    /**
+     * Current balances of the given employees, in one query; employees without a ledger are absent
+     */
+    public Map<String, BigDecimal> balancesOf(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        return toMap(leaveLedgerRepository.findBalances(employeeIds));
+    }
+    
+    public Map<String, BigDecimal> allBalances() {
+        return toMap(leaveLedgerRepository.findAllBalances());
+    }
+    
+    /**
+     * Full history of an employee's balance, latest first
+     */
+    public List<LeaveLedgerEntry> history(String employeeId) {
+        return leaveLedgerRepository.findByEmployeeIdOrderBySeqDesc(employeeId);
+    }
+    
+    // ====== WRITES ======
+    
+    /**
+     * Start the ledger of a new employee
+     */
+    public void open(String employeeId, BigDecimal openingBalance) {
+        leaveLedgerRepository.insertSnapshot(employeeId);
+        leaveLedgerRepository.insertEntry(employeeId, 1, LeaveLedgerEntryType.Opening.name(),
+                openingBalance != null ? openingBalance : BigDecimal.ZERO, null);
+    }
+    
+    /**
+     * Start the ledgers of many new employees with batched statements
+     */
+    public void openAll(Map<String, BigDecimal> openingBalances) {
+        if (!openingBalances.isEmpty()) {
+            leaveLedgerRepository.batchOpen(openingBalances);
+        }
+    }
+    
+    /**
+     * Set the balance to an exact value by appending the difference (admin correction)
+     */
+    public void adjustTo(String employeeId, BigDecimal newBalance) {
+        Position position = position(employeeId);
+        if (position == null) {
+            open(employeeId, newBalance);
+            return;
+        }
+        BigDecimal difference = newBalance.subtract(position.balance);
+        if (difference.signum() != 0) {
+            append(employeeId, position.seq + 1, LeaveLedgerEntryType.Adjustment, difference, null);
+        }
+    }
+    
+    /**
+     * Debit taken leave if the balance covers it; returns false, writing nothing, when it does not
+     */
+    public boolean debit(String employeeId, BigDecimal days, String leaveId) {
+        return debitInOrder(employeeId, Map.of(leaveId, days)).isEmpty();
+    }
+    
+    /**
+     * Debit several leaves of one employee in iteration order, skipping those the remaining balance
+     * does not cover; returns the leave IDs that were not debited
+     */
+    public Set<String> debitInOrder(String employeeId, Map<String, BigDecimal> daysByLeaveId) {
+        Position position = position(employeeId);
+        if (position == null) {
+            return new LinkedHashSet<>(daysByLeaveId.keySet());
+        }
+        int seq = position.seq;
+        BigDecimal balance = position.balance;
+    
+        Set<String> refused = new LinkedHashSet<>();
+        for (Map.Entry<String, BigDecimal> leave : daysByLeaveId.entrySet()) {
+            BigDecimal days = leave.getValue();
+            if (balance.compareTo(days) < 0) {
+                refused.add(leave.getKey());
+                continue;
+            }
+            append(employeeId, ++seq, LeaveLedgerEntryType.LeaveTaken, days.negate(), leave.getKey());
+            balance = balance.subtract(days);
+        }
+        return refused;
+    }
+    
+    // ====== COMPACTION ======
+    
+    /**
+     * Fold appended entries into the snapshots; returns the number of snapshots refreshed
+     * READ COMMITTED keeps InnoDB from gap-locking the ledger, so appends carry on meanwhile
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int compact() {
+        return leaveLedgerRepository.compactSnapshots();
+    }
+    
+    // ====== HELPER METHODS ======
+    
+    /**
+     * Last seq and balance, or null if the employee has no ledger
+     */
+    private Position position(String employeeId) {
+        List<Object[]> rows = leaveLedgerRepository.findPosition(employeeId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return new Position(((Number) row[0]).intValue(), (BigDecimal) row[1]);
+    }
+    
+    private void append(String employeeId, int seq, LeaveLedgerEntryType type, BigDecimal days, String referenceId) {
+        try {
+            leaveLedgerRepository.insertEntry(employeeId, seq, type.name(), days, referenceId);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConstraintViolationException(
+                    "Leave balance of employee " + employeeId + " changed concurrently, please retry", ex);
+        }
+    }
+    
+    private Map<String, BigDecimal> toMap(List<Object[]> rows) {
+        Map<String, BigDecimal> balances = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            balances.put((String) row[0], (BigDecimal) row[1]);
+        }
+        return balances;
+    }
+    
+    private static final class Position {
+        private final int seq;
+        private final BigDecimal balance;
+    
+        private Position(int seq, BigDecimal balance) {
+            this.seq = seq;
+            this.balance = balance;
+        }
+    }
+}
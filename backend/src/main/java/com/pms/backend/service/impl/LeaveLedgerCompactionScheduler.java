@@ -0,0 +1,39 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.datasource.StatementInstrumentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Folds the day's leave ledger entries into the balance snapshots, keeping balance reads short
+ */
+@Component
+@ConditionalOnProperty(name = "leave.ledger.compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class LeaveLedgerCompactionScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeaveLedgerCompactionScheduler.class);
+    
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final StatementInstrumentation statementInstrumentation;
+    
+    @Autowired
+    public LeaveLedgerCompactionScheduler(LeaveBalanceLedger leaveBalanceLedger,
+                                          StatementInstrumentation statementInstrumentation) {
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.statementInstrumentation = statementInstrumentation;
+    }
+    
+    @Scheduled(cron = "${leave.ledger.compaction.cron:0 0 2 * * *}")
+    public void compact() {
+        try (StatementInstrumentation.Scope ignored = statementInstrumentation.openJob("leave-ledger-compaction")) {
+            int snapshots = leaveBalanceLedger.compact();
+            logger.info("Leave ledger compacted: {} balance snapshots refreshed", snapshots);
+        } catch (RuntimeException ex) {
+            logger.error("Leave ledger compaction failed", ex);
+        }
+    }
+}
@@ -1,37 +1,87 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.calendar.LeaveOccupancyIndex;
+import com.pms.backend.calendar.WorkingDayCalendar;
+import com.pms.backend.dto.CursorPage;
+import com.pms.backend.dto.KeysetCursor;
+import com.pms.backend.dto.leave.LeaveBulkDecisionDto;
+import com.pms.backend.dto.leave.LeaveBulkDecisionResponseDto;
+import com.pms.backend.dto.leave.LeaveDecisionResultDto;
+import com.pms.backend.dto.leave.LeaveLedgerEntryDto;
 import com.pms.backend.dto.leave.LeaveRequestCreateDto;
 import com.pms.backend.dto.leave.LeaveRequestResponseDto;
 import com.pms.backend.dto.leave.LeaveStatusUpdateDto;
+import com.pms.backend.dto.leave.TeamAvailabilityDto;
 import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.LeaveLedgerEntry;
 import com.pms.backend.entity.LeaveRequest;
 import com.pms.backend.entity.enums.LeaveStatus;
 import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.event.LeaveRequestsChangedEvent;
 import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.exception.ConstraintViolationException;
 import com.pms.backend.exception.ResourceNotFoundException;
+import com.pms.backend.repository.DepartmentRepository;
 import com.pms.backend.repository.EmployeeRepository;
 import com.pms.backend.repository.LeaveRequestRepository;
 import com.pms.backend.service.LeaveRequestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class LeaveRequestServiceImpl implements LeaveRequestService {
     
+    private static final Logger logger = LoggerFactory.getLogger(LeaveRequestServiceImpl.class);
+    
+    private static final int MAX_AVAILABILITY_DAYS = 366;
+    
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final LeaveStatisticsUpdater leaveStatisticsUpdater;
+    private final LeaveOccupancyIndex leaveOccupancyIndex;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public LeaveRequestServiceImpl(LeaveRequestRepository leaveRequestRepository, 
-                                 EmployeeRepository employeeRepository) {
+                                 EmployeeRepository employeeRepository,
+                                 DepartmentRepository departmentRepository,
+                                 LeaveStatisticsUpdater leaveStatisticsUpdater,
+                                 LeaveOccupancyIndex leaveOccupancyIndex,
+                                 WorkingDayCalendar workingDayCalendar,
+                                 LeaveBalanceLedger leaveBalanceLedger,
+                                 ApplicationEventPublisher eventPublisher) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.leaveStatisticsUpdater = leaveStatisticsUpdater;
+        this.leaveOccupancyIndex = leaveOccupancyIndex;
+        this.workingDayCalendar = workingDayCalendar;
+        this.leaveBalanceLedger = leaveBalanceLedger;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -43,10 +93,10 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
         // Validate leave request constraints
         validateLeaveRequest(employeeId, requestDto);
         
-        // CRITICAL BUSINESS LOGIC: Check paid leave balance
+        // CRITICAL BUSINESS LOGIC: Check paid leave balance (weekly off-days and holidays are not debited)
         if (LeaveType.Paid.equals(requestDto.getLeaveType())) {
-            long requestedDays = requestDto.getDurationInDays();
-            BigDecimal currentBalance = employee.getLeaveBalance();
+            long requestedDays = workingDayCalendar.workingDaysBetween(requestDto.getStartDate(), requestDto.getEndDate());
+            BigDecimal currentBalance = leaveBalanceLedger.balanceOf(employeeId);
             
             if (currentBalance.compareTo(BigDecimal.valueOf(requestedDays)) < 0) {
                 throw new BadRequestException(
@@ -66,6 +116,9 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
         leaveRequest.setStatus(LeaveStatus.Pending);
         
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        savedRequest.setEmployee(employee);
+        leaveStatisticsUpdater.recordCreated(savedRequest, employee.getDepartmentId());
+        eventPublisher.publishEvent(new LeaveRequestsChangedEvent(savedRequest.getLeaveId()));
         
         return convertToResponseDto(savedRequest);
     }
@@ -83,6 +136,31 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaveLedgerEntryDto> getLeaveLedger(String employeeId) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+        }
+        
+        // Latest first, so the running balance is walked back from the current one
+        List<LeaveLedgerEntry> entries = leaveBalanceLedger.history(employeeId);
+        BigDecimal balance = entries.stream().map(LeaveLedgerEntry::getDays).reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<LeaveLedgerEntryDto> ledger = new ArrayList<>(entries.size());
+        for (LeaveLedgerEntry entry : entries) {
+            LeaveLedgerEntryDto dto = new LeaveLedgerEntryDto();
+            dto.setSeq(entry.getSeq());
+            dto.setEntryType(entry.getEntryType());
+            dto.setDays(entry.getDays());
+            dto.setBalanceAfter(balance);
+            dto.setReferenceId(entry.getReferenceId());
+            dto.setCreatedAt(entry.getCreatedAt());
+            ledger.add(dto);
+            balance = balance.subtract(entry.getDays());
+        }
+        return ledger;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<LeaveRequestResponseDto> getAllLeaveRequests() {
@@ -101,10 +179,28 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<LeaveRequestResponseDto> getLeaveRequestsPage(LeaveStatus status, LeaveType leaveType,
+                                                                    String employeeId,
+                                                                    LocalDate fromDate, LocalDate toDate,
+                                                                    String cursor, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor, "leave-requests:createdAt", 2);
+        
+        List<LeaveRequest> rows = leaveRequestRepository.findPage(status, leaveType, employeeId, fromDate, toDate,
+                after != null ? after.getDateTime(0) : null,
+                after != null ? after.getString(1) : null,
+                PageRequest.of(0, pageSize + 1));
+        
+        return CursorPage.of(rows, pageSize, this::convertToResponseDto,
+                lr -> KeysetCursor.encode("leave-requests:createdAt", lr.getCreatedAt(), lr.getLeaveId()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public LeaveRequestResponseDto getLeaveRequestById(String leaveId) {
-        LeaveRequest request = leaveRequestRepository.findById(leaveId)
+        LeaveRequest request = leaveRequestRepository.findWithEmployeeByLeaveId(leaveId)
                 .orElseThrow(() -> new ResourceNotFoundException("Leave request not found with ID: " + leaveId));
         
         return convertToResponseDto(request);
@@ -132,10 +228,92 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
         }
         
         LeaveRequest updatedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveStatisticsUpdater.recordStatusChange(updatedRequest, getDepartmentId(updatedRequest), oldStatus, newStatus);
+        eventPublisher.publishEvent(new LeaveRequestsChangedEvent(leaveId));
         
         return convertToResponseDto(updatedRequest);
     }
     
+    @Override
+    public LeaveBulkDecisionResponseDto decideLeaveRequests(LeaveBulkDecisionDto decisionDto) {
+        LeaveStatus newStatus = decisionDto.getStatus();
+        if (!LeaveStatus.Approved.equals(newStatus) && !LeaveStatus.Rejected.equals(newStatus)) {
+            throw new BadRequestException("Leave requests can only be approved or rejected");
+        }
+        
+        List<String> leaveIds = new ArrayList<>(decisionDto.getLeaveIds().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        Map<String, LeaveRequest> requestsById = leaveRequestRepository.findForDecisionByLeaveIdIn(leaveIds).stream()
+                .collect(Collectors.toMap(LeaveRequest::getLeaveId, Function.identity()));
+        
+        // Split into decidable requests and per-item failures
+        Map<String, String> failures = new HashMap<>();
+        List<LeaveRequest> pending = new ArrayList<>();
+        for (String leaveId : leaveIds) {
+            LeaveRequest request = requestsById.get(leaveId);
+            if (request == null) {
+                failures.put(leaveId, "Leave request not found with ID: " + leaveId);
+            } else if (!request.isPending()) {
+                failures.put(leaveId, "Only pending leave requests can have their status updated");
+            } else {
+                pending.add(request);
+            }
+        }
+        
+        // CRITICAL BUSINESS LOGIC: Deduct approved paid leave, one guarded update per employee
+        if (LeaveStatus.Approved.equals(newStatus)) {
+            deductLeaveBalances(pending, failures);
+        }
+        
+        List<LeaveRequest> decided = pending.stream()
+                .filter(request -> !failures.containsKey(request.getLeaveId()))
+                .collect(Collectors.toList());
+        
+        if (!decided.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<String> decidedIds = decided.stream().map(LeaveRequest::getLeaveId).collect(Collectors.toList());
+            int updated = leaveRequestRepository.updatePendingStatus(decidedIds, newStatus, now);
+            if (updated != decided.size()) {
+                // The rows are locked, so this only happens if another writer ignored the lock; undo everything
+                throw new ConstraintViolationException("Leave requests were modified during the decision, please retry");
+            }
+            decided.forEach(request -> {
+                request.setStatus(newStatus);
+                request.setUpdatedAt(now);
+            });
+            
+            Map<String, String> departmentIds = new HashMap<>();
+            for (Object[] row : employeeRepository.findDepartmentIdsByIdIn(
+                    decided.stream().map(LeaveRequest::getEmployeeId).collect(Collectors.toSet()))) {
+                departmentIds.put((String) row[0], (String) row[1]);
+            }
+            leaveStatisticsUpdater.recordStatusChanges(decided,
+                    request -> departmentIds.get(request.getEmployeeId()), LeaveStatus.Pending, newStatus);
+            eventPublisher.publishEvent(new LeaveRequestsChangedEvent(decidedIds));
+        }
+        
+        LeaveBulkDecisionResponseDto response = new LeaveBulkDecisionResponseDto();
+        response.setStatus(newStatus);
+        response.setRequestedCount(leaveIds.size());
+        response.setSucceededCount(decided.size());
+        response.setFailedCount(failures.size());
+        for (String leaveId : leaveIds) {
+            LeaveRequest request = requestsById.get(leaveId);
+            String employeeId = request != null ? request.getEmployeeId() : null;
+            LeaveStatus status = request != null ? request.getStatus() : null;
+            String failure = failures.get(leaveId);
+            response.getResults().add(failure == null
+                    ? new LeaveDecisionResultDto(leaveId, employeeId, true, status, "Leave request " + newStatus.name().toLowerCase())
+                    : new LeaveDecisionResultDto(leaveId, employeeId, false, status, failure));
+        }
+        
+        logger.info("Bulk leave decision ({}): {} of {} requests decided, {} failed",
+                newStatus, decided.size(), leaveIds.size(), failures.size());
+        
+        return response;
+    }
+    
     @Override
     public void cancelLeaveRequest(String leaveId, String employeeId) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveId)
@@ -152,6 +330,24 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
         }
         
         leaveRequestRepository.delete(leaveRequest);
+        leaveStatisticsUpdater.recordDeleted(leaveRequest, getDepartmentId(leaveRequest));
+        eventPublisher.publishEvent(new LeaveRequestsChangedEvent(leaveId));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public TeamAvailabilityDto getTeamAvailability(String departmentId, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new BadRequestException("Start date cannot be after end date");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) + 1 > MAX_AVAILABILITY_DAYS) {
+            throw new BadRequestException("Availability window cannot exceed " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found with ID: " + departmentId);
+        }
+        
+        return leaveOccupancyIndex.availability(departmentId, fromDate, toDate);
     }
     
     @Override
@@ -190,35 +386,76 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
         if (duration <= 0) {
             throw new BadRequestException("Leave duration must be at least 1 day");
         }
+        
+        if (workingDayCalendar.workingDaysBetween(requestDto.getStartDate(), requestDto.getEndDate()) == 0) {
+            throw new BadRequestException("Leave must include at least one working day");
+        }
     }
     
     /**
      * CRITICAL BUSINESS LOGIC: Deduct leave balance for approved paid leave
-     * This method must be called within a transaction
+     * Appends a debit to the leave ledger; the employee row is not touched
      */
     private void deductLeaveBalance(LeaveRequest leaveRequest) {
-        Employee employee = employeeRepository.findById(leaveRequest.getEmployeeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-        
-        long leaveDays = leaveRequest.getDurationInDays();
-        BigDecimal currentBalance = employee.getLeaveBalance();
-        BigDecimal newBalance = currentBalance.subtract(BigDecimal.valueOf(leaveDays));
+        String employeeId = leaveRequest.getEmployeeId();
+        long leaveDays = workingDays(leaveRequest);
         
-        // Ensure balance doesn't go negative (safety check)
-        if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+        // Ensure balance doesn't go negative (checked against the ledger position the debit is appended at)
+        if (!leaveBalanceLedger.debit(employeeId, BigDecimal.valueOf(leaveDays), leaveRequest.getLeaveId())) {
             throw new BadRequestException(
                 String.format("Cannot approve leave. Would result in negative balance. Current: %.2f, Requested: %d", 
-                            currentBalance, leaveDays)
+                            leaveBalanceLedger.balanceOf(employeeId), leaveDays)
             );
         }
         
-        employee.setLeaveBalance(newBalance);
-        employeeRepository.save(employee);
+        logger.debug("Leave balance debited for employee {}: -{} days (leave {})",
+            employeeId, leaveDays, leaveRequest.getLeaveId());
+    }
+    
+    /**
+     * CRITICAL BUSINESS LOGIC: Deduct leave balance for many approved paid leave requests
+     * Each employee's requests are debited in start-date order from one ledger read; requests the
+     * remaining balance does not cover fail
+     */
+    private void deductLeaveBalances(List<LeaveRequest> requests, Map<String, String> failures) {
+        Map<String, List<LeaveRequest>> paidByEmployee = requests.stream()
+                .filter(LeaveRequest::isPaidLeave)
+                .collect(Collectors.groupingBy(LeaveRequest::getEmployeeId, LinkedHashMap::new, Collectors.toList()));
         
-        System.out.println(String.format(
-            "Leave balance deducted for employee %s: %.2f -> %.2f (-%d days)",
-            employee.getEmployeeId(), currentBalance, newBalance, leaveDays
-        ));
+        paidByEmployee.forEach((employeeId, employeeRequests) -> {
+            employeeRequests.sort(Comparator.comparing(LeaveRequest::getStartDate).thenComparing(LeaveRequest::getLeaveId));
+            Map<String, BigDecimal> daysByLeaveId = new LinkedHashMap<>();
+            Map<String, Long> leaveDays = new HashMap<>();
+            for (LeaveRequest request : employeeRequests) {
+                long days = workingDays(request);
+                daysByLeaveId.put(request.getLeaveId(), BigDecimal.valueOf(days));
+                leaveDays.put(request.getLeaveId(), days);
+            }
+            
+            for (String leaveId : leaveBalanceLedger.debitInOrder(employeeId, daysByLeaveId)) {
+                failures.put(leaveId, String.format(
+                        "Cannot approve leave. Insufficient paid leave balance for %d days", leaveDays.get(leaveId)));
+            }
+        });
+    }
+    
+    /**
+     * Days of the request that count against the leave balance
+     */
+    private long workingDays(LeaveRequest leaveRequest) {
+        return workingDayCalendar.workingDaysBetween(leaveRequest.getStartDate(), leaveRequest.getEndDate());
+    }
+    
+    /**
+     * Department of the requesting employee, used to pick the statistics bucket
+     */
+    private String getDepartmentId(LeaveRequest leaveRequest) {
+        if (leaveRequest.getEmployee() != null) {
+            return leaveRequest.getEmployee().getDepartmentId();
+        }
+        return employeeRepository.findById(leaveRequest.getEmployeeId())
+                .map(Employee::getDepartmentId)
+                .orElse(null);
     }
     
     /**
@@ -237,6 +474,7 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
         dto.setCreatedAt(request.getCreatedAt());
         dto.setUpdatedAt(request.getUpdatedAt());
         dto.setDurationInDays(request.getDurationInDays());
+        dto.setWorkingDays(workingDays(request));
         
         // Add employee information if available
         if (request.getEmployee() != null) {
@@ -250,19 +488,6 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
             if (employee.getDepartment() != null) {
                 dto.setDepartmentName(employee.getDepartment().getDepartmentName());
             }
-        } else {
-            // Fallback: fetch employee separately if lazy loading fails
-            employeeRepository.findById(request.getEmployeeId()).ifPresent(employee -> {
-                dto.setEmployeeName(employee.getFirstName() + " " + employee.getLastName());
-                
-                if (employee.getUser() != null) {
-                    dto.setEmployeeEmail(employee.getUser().getEmail());
-                }
-                
-                if (employee.getDepartment() != null) {
-                    dto.setDepartmentName(employee.getDepartment().getDepartmentName());
-                }
-            });
         }
         
         return dto;
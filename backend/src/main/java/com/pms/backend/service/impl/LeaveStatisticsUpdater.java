@@ -0,0 +1,131 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.entity.LeaveRequest;
+import com.pms.backend.entity.enums.LeaveStatus;
+import com.pms.backend.repository.LeaveStatisticRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps the leave_statistics counters in step with leave request transitions
+ * Every method joins the caller's transaction, so counters commit or roll back with the change itself
+ */
+@Component
+public class LeaveStatisticsUpdater {
+    
+    private final LeaveStatisticRepository leaveStatisticRepository;
+    
+    @Autowired
+    public LeaveStatisticsUpdater(LeaveStatisticRepository leaveStatisticRepository) {
+        this.leaveStatisticRepository = leaveStatisticRepository;
+    }
+    
+    /**
+     * A new request enters its bucket with its current (pending) status
+     */
+    public void recordCreated(LeaveRequest request, String departmentId) {
+        adjust(request, departmentId, request.getStatus(), 1);
+    }
+    
+    /**
+     * A request moves from one status bucket to another
+     */
+    public void recordStatusChange(LeaveRequest request, String departmentId,
+                                   LeaveStatus oldStatus, LeaveStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        adjust(request, departmentId, oldStatus, -1);
+        adjust(request, departmentId, newStatus, 1);
+    }
+    
+    /**
+     * Many requests move between the same two statuses (bulk decision)
+     * Deltas are summed per bucket first, so each bucket is written once per status
+     */
+    public void recordStatusChanges(List<LeaveRequest> requests, Function<LeaveRequest, String> departmentOf,
+                                    LeaveStatus oldStatus, LeaveStatus newStatus) {
+        if (oldStatus == newStatus || requests.isEmpty()) {
+            return;
+        }
+        Map<List<Object>, long[]> buckets = new LinkedHashMap<>();
+        for (LeaveRequest request : requests) {
+            String departmentId = departmentOf.apply(request);
+            if (departmentId == null) {
+                continue;
+            }
+            long[] totals = buckets.computeIfAbsent(List.of(
+                    request.getStartDate().getYear(),
+                    request.getStartDate().getMonthValue(),
+                    departmentId,
+                    request.getLeaveType().name()), key -> new long[2]);
+            totals[0]++;
+            totals[1] += ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
+        }
+        buckets.forEach((key, totals) -> {
+            adjustBucket(key, oldStatus, -totals[0], -totals[1]);
+            adjustBucket(key, newStatus, totals[0], totals[1]);
+        });
+    }
+    
+    /**
+     * A request is removed (cancelled by the employee)
+     */
+    public void recordDeleted(LeaveRequest request, String departmentId) {
+        adjust(request, departmentId, request.getStatus(), -1);
+    }
+    
+    /**
+     * Re-attribute all of an employee's requests after a department change
+     * Reports group by the employee's current department, as the row-based queries did
+     */
+    public void recordDepartmentChange(String employeeId, String oldDepartmentId, String newDepartmentId) {
+        if (oldDepartmentId == null || oldDepartmentId.equals(newDepartmentId)) {
+            return;
+        }
+        leaveStatisticRepository.adjustForEmployee(employeeId, oldDepartmentId, -1);
+        leaveStatisticRepository.adjustForEmployee(employeeId, newDepartmentId, 1);
+    }
+    
+    /**
+     * Remove an employee's requests before the employee (and by cascade the requests) is deleted
+     */
+    public void recordEmployeeRemoved(String employeeId, String departmentId) {
+        leaveStatisticRepository.adjustForEmployee(employeeId, departmentId, -1);
+    }
+    
+    private void adjust(LeaveRequest request, String departmentId, LeaveStatus status, int sign) {
+        if (departmentId == null || status == null) {
+            return;
+        }
+        long days = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
+        leaveStatisticRepository.adjustBucket(
+                request.getStartDate().getYear(),
+                request.getStartDate().getMonthValue(),
+                departmentId,
+                request.getLeaveType().name(),
+                status.name(),
+                sign,
+                sign * days);
+    }
+    
+    private void adjustBucket(List<Object> key, LeaveStatus status, long countDelta, long daysDelta) {
+        if (status == null) {
+            return;
+        }
+        leaveStatisticRepository.adjustBucket(
+                (Integer) key.get(0),
+                (Integer) key.get(1),
+                (String) key.get(2),
+                (String) key.get(3),
+                status.name(),
+                countDelta,
+                daysDelta);
+    }
+}
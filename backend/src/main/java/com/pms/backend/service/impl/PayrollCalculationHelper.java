@@ -1,10 +1,11 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.calendar.WorkingDayCalendar;
 import com.pms.backend.entity.LeaveRequest;
 import com.pms.backend.entity.SalaryStructure;
-import com.pms.backend.entity.enums.LeaveStatus;
-import com.pms.backend.entity.enums.LeaveType;
 import com.pms.backend.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -13,16 +14,20 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Component
 public class PayrollCalculationHelper {
     
+    private static final Logger logger = LoggerFactory.getLogger(PayrollCalculationHelper.class);
+    
     private final LeaveRequestRepository leaveRequestRepository;
+    private final WorkingDayCalendar workingDayCalendar;
     
     @Autowired
-    public PayrollCalculationHelper(LeaveRequestRepository leaveRequestRepository) {
+    public PayrollCalculationHelper(LeaveRequestRepository leaveRequestRepository,
+                                    WorkingDayCalendar workingDayCalendar) {
         this.leaveRequestRepository = leaveRequestRepository;
+        this.workingDayCalendar = workingDayCalendar;
     }
     
     /**
@@ -59,7 +64,8 @@ public class PayrollCalculationHelper {
             }
             
         } catch (Exception e) {
-            System.err.println("Error parsing bonus details: " + e.getMessage());
+            logger.warn("Error parsing bonus details of salary structure {}: {}",
+                    salaryStructure.getStructureId(), e.getMessage());
         }
         
         return BigDecimal.ZERO;
@@ -67,37 +73,36 @@ public class PayrollCalculationHelper {
     
     /**
      * Calculate Loss of Pay deduction for unpaid leave days
+     * Only working days are deducted, each at the monthly salary divided by the month's working days
      */
     public BigDecimal calculateLossOfPayDeduction(String employeeId, LocalDate startDate, 
-                                                 LocalDate endDate, BigDecimal baseSalary, int daysInMonth) {
+                                                 LocalDate endDate, BigDecimal baseSalary, int workingDaysInMonth) {
         
         // Convert annual CTC to monthly base salary
         BigDecimal monthlyBaseSalary = baseSalary.divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
         
         // Query for approved unpaid leaves that overlap with payroll month
-        List<LeaveRequest> unpaidLeaves = leaveRequestRepository.findAll().stream()
-                .filter(leave -> employeeId.equals(leave.getEmployeeId()))
-                .filter(leave -> LeaveStatus.Approved.equals(leave.getStatus()))
-                .filter(leave -> LeaveType.Sick.equals(leave.getLeaveType()) || 
-                               LeaveType.Casual.equals(leave.getLeaveType()))
-                .filter(leave -> leavesOverlap(leave.getStartDate(), leave.getEndDate(), startDate, endDate))
-                .collect(Collectors.toList());
+        List<LeaveRequest> unpaidLeaves = leaveRequestRepository.findApprovedUnpaidLeaveOverlapping(
+                employeeId, startDate, endDate);
         
-        if (unpaidLeaves.isEmpty()) {
+        if (unpaidLeaves.isEmpty() || workingDaysInMonth <= 0) {
             return BigDecimal.ZERO;
         }
         
-        // Calculate total unpaid days within the payroll month
+        // Calculate total unpaid working days within the payroll month
         long totalUnpaidDays = 0;
         for (LeaveRequest leave : unpaidLeaves) {
+            if (!leavesOverlap(leave.getStartDate(), leave.getEndDate(), startDate, endDate)) {
+                continue;
+            }
             LocalDate leaveStart = leave.getStartDate().isBefore(startDate) ? startDate : leave.getStartDate();
             LocalDate leaveEnd = leave.getEndDate().isAfter(endDate) ? endDate : leave.getEndDate();
             
-            long daysInPeriod = java.time.temporal.ChronoUnit.DAYS.between(leaveStart, leaveEnd) + 1;
+            long daysInPeriod = workingDayCalendar.workingDaysBetween(leaveStart, leaveEnd);
             totalUnpaidDays += daysInPeriod;
             
-            System.out.println(String.format("    Unpaid leave: %s to %s (%d days in payroll period)", 
-                                           leave.getStartDate(), leave.getEndDate(), daysInPeriod));
+            logger.debug("Unpaid leave: {} to {} ({} working days in payroll period)",
+                    leave.getStartDate(), leave.getEndDate(), daysInPeriod);
         }
         
         if (totalUnpaidDays == 0) {
@@ -105,11 +110,11 @@ public class PayrollCalculationHelper {
         }
         
         // Calculate per-day salary and total deduction using monthly base salary
-        BigDecimal perDaySalary = monthlyBaseSalary.divide(BigDecimal.valueOf(daysInMonth), 2, RoundingMode.HALF_UP);
+        BigDecimal perDaySalary = monthlyBaseSalary.divide(BigDecimal.valueOf(workingDaysInMonth), 2, RoundingMode.HALF_UP);
         BigDecimal totalDeduction = perDaySalary.multiply(BigDecimal.valueOf(totalUnpaidDays));
         
-        System.out.println(String.format("    Total unpaid days: %d, Per-day salary: %s, Total deduction: %s", 
-                                       totalUnpaidDays, perDaySalary, totalDeduction));
+        logger.debug("Total unpaid days: {}, per-day salary: {}, total deduction: {}",
+                totalUnpaidDays, perDaySalary, totalDeduction);
         
         return totalDeduction;
     }
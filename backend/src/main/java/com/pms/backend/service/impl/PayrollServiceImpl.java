@@ -1,5 +1,8 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.calendar.WorkingDayCalendar;
+import com.pms.backend.dto.CursorPage;
+import com.pms.backend.dto.KeysetCursor;
 import com.pms.backend.dto.payroll.PayrollItemResponse;
 import com.pms.backend.dto.payroll.PayrollRunCreateRequest;
 import com.pms.backend.dto.payroll.PayrollRunResponse;
@@ -7,11 +10,18 @@ import com.pms.backend.entity.*;
 import com.pms.backend.entity.enums.LeaveStatus;
 import com.pms.backend.entity.enums.LeaveType;
 import com.pms.backend.entity.enums.PayrollStatus;
+import com.pms.backend.entity.id.UuidV7;
+import com.pms.backend.event.PayrollRunLockedEvent;
 import com.pms.backend.exception.BadRequestException;
 import com.pms.backend.exception.ResourceNotFoundException;
 import com.pms.backend.repository.*;
 import com.pms.backend.service.PayrollService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,12 +39,18 @@ import java.util.stream.Collectors;
 @Transactional
 public class PayrollServiceImpl implements PayrollService {
     
+    private static final Logger logger = LoggerFactory.getLogger(PayrollServiceImpl.class);
+    
     private final PayrollRunRepository payrollRunRepository;
     private final PayrollItemRepository payrollItemRepository;
     private final EmployeeRepository employeeRepository;
     private final SalaryStructureRepository salaryStructureRepository;
     private final LeaveRequestRepository leaveRequestRepository;
     private final PayrollCalculationHelper calculationHelper;
+    private final PayrollCostRollupRepository payrollCostRollupRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PayrollTraceSampler traceSampler;
     
     @Autowired
     public PayrollServiceImpl(PayrollRunRepository payrollRunRepository,
@@ -42,13 +58,21 @@ public class PayrollServiceImpl implements PayrollService {
                             EmployeeRepository employeeRepository,
                             SalaryStructureRepository salaryStructureRepository,
                             LeaveRequestRepository leaveRequestRepository,
-                            PayrollCalculationHelper calculationHelper) {
+                            PayrollCalculationHelper calculationHelper,
+                            PayrollCostRollupRepository payrollCostRollupRepository,
+                            WorkingDayCalendar workingDayCalendar,
+                            ApplicationEventPublisher eventPublisher,
+                            PayrollTraceSampler traceSampler) {
         this.payrollRunRepository = payrollRunRepository;
         this.payrollItemRepository = payrollItemRepository;
         this.employeeRepository = employeeRepository;
         this.salaryStructureRepository = salaryStructureRepository;
         this.leaveRequestRepository = leaveRequestRepository;
         this.calculationHelper = calculationHelper;
+        this.payrollCostRollupRepository = payrollCostRollupRepository;
+        this.workingDayCalendar = workingDayCalendar;
+        this.eventPublisher = eventPublisher;
+        this.traceSampler = traceSampler;
     }
     
     @Override
@@ -66,8 +90,7 @@ public class PayrollServiceImpl implements PayrollService {
         
         PayrollRun savedRun = payrollRunRepository.save(payrollRun);
         
-        System.out.println(String.format("Created payroll run for %s with ID: %s", 
-                                       request.getPeriodDescription(), savedRun.getRunId()));
+        logger.info("Created payroll run for {} with ID: {}", request.getPeriodDescription(), savedRun.getRunId());
         
         return convertToPayrollRunResponse(savedRun);
     }
@@ -92,8 +115,13 @@ public class PayrollServiceImpl implements PayrollService {
     
     @Override
     public PayrollRunResponse processPayrollRun(String runId) {
-        System.out.println("=== PAYROLL PROCESSING STARTED ===");
-        System.out.println("Processing payroll run ID: " + runId);
+        try (MDC.MDCCloseable ignored = MDC.putCloseable("runId", runId)) {
+            return processRun(runId);
+        }
+    }
+    
+    private PayrollRunResponse processRun(String runId) {
+        logger.info("Payroll processing started");
         
         // 1. Initial Validation
         PayrollRun payrollRun = payrollRunRepository.findById(runId)
@@ -105,35 +133,29 @@ public class PayrollServiceImpl implements PayrollService {
         
         // 2. Handle Re-processing
         if (payrollRun.isProcessed()) {
-            System.out.println("Re-processing detected. Deleting existing payroll items...");
+            logger.info("Re-processing detected, deleting existing payroll items");
             payrollItemRepository.deleteByRunId(runId);
-            System.out.println("Existing payroll items deleted successfully.");
         }
         
         // 3. Main Calculation Loop
         YearMonth payrollMonth = YearMonth.of(payrollRun.getRunYear(), payrollRun.getRunMonth());
         LocalDate startDate = payrollMonth.atDay(1);
         LocalDate endDate = payrollMonth.atEndOfMonth();
-        int daysInMonth = payrollMonth.lengthOfMonth();
-        
-        System.out.println(String.format("Payroll period: %s to %s (%d days)", 
-                                       startDate, endDate, daysInMonth));
+        int workingDaysInMonth = workingDayCalendar.workingDaysIn(payrollMonth);
         
         List<Employee> activeEmployees = employeeRepository.findAll();
-        System.out.println(String.format("Processing payroll for %d employees", activeEmployees.size()));
+        logger.info("Payroll period {} to {} ({} working days), {} employees",
+                startDate, endDate, workingDaysInMonth, activeEmployees.size());
         
         int processedCount = 0;
         int skippedCount = 0;
         
         for (Employee employee : activeEmployees) {
-            try {
-                processEmployeePayroll(employee, payrollRun, startDate, endDate, daysInMonth);
+            try (MDC.MDCCloseable ignored = MDC.putCloseable("employeeId", employee.getEmployeeId())) {
+                processEmployeePayroll(employee, payrollRun, startDate, endDate, workingDaysInMonth);
                 processedCount++;
             } catch (Exception e) {
-                System.err.println(String.format("Error processing employee %s (%s): %s", 
-                                                employee.getEmployeeId(), 
-                                                employee.getFirstName() + " " + employee.getLastName(), 
-                                                e.getMessage()));
+                logger.warn("Skipped employee {}: {}", employee.getEmployeeId(), e.getMessage());
                 skippedCount++;
             }
         }
@@ -142,10 +164,9 @@ public class PayrollServiceImpl implements PayrollService {
         payrollRun.setStatus(PayrollStatus.Processed);
         payrollRun.setProcessedAt(LocalDateTime.now());
         PayrollRun updatedRun = payrollRunRepository.save(payrollRun);
+        refreshCostRollups(runId);
         
-        System.out.println("=== PAYROLL PROCESSING COMPLETED ===");
-        System.out.println(String.format("Processed: %d employees, Skipped: %d employees", 
-                                       processedCount, skippedCount));
+        logger.info("Payroll processing completed: {} employees processed, {} skipped", processedCount, skippedCount);
         
         return convertToPayrollRunResponseWithSummary(updatedRun);
     }
@@ -154,19 +175,17 @@ public class PayrollServiceImpl implements PayrollService {
      * CORE PAYROLL CALCULATION LOGIC FOR INDIVIDUAL EMPLOYEE
      */
     private void processEmployeePayroll(Employee employee, PayrollRun payrollRun, 
-                                      LocalDate startDate, LocalDate endDate, int daysInMonth) {
+                                      LocalDate startDate, LocalDate endDate, int workingDaysInMonth) {
         
         String employeeId = employee.getEmployeeId();
-        String employeeName = employee.getFirstName() + " " + employee.getLastName();
-        
-        System.out.println(String.format("Processing: %s (%s)", employeeName, employeeId));
+        // Step-by-step detail only for sampled employees; a line per step per employee slows big runs
+        boolean traced = traceSampler.isSampled(employeeId);
         
         // i. Get Salary Structure
         Optional<SalaryStructure> salaryStructureOpt = salaryStructureRepository
                 .findActiveStructureForEmployee(employeeId, startDate);
         
         if (salaryStructureOpt.isEmpty()) {
-            System.out.println(String.format("WARNING: No active salary structure found for employee %s. Skipping.", employeeId));
             throw new RuntimeException("No active salary structure found");
         }
         
@@ -176,27 +195,28 @@ public class PayrollServiceImpl implements PayrollService {
         // Convert annual CTC to monthly base salary
         BigDecimal monthlyBaseSalary = baseSalary.divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
         
-        System.out.println(String.format("  Annual Base Salary: %s, Monthly Base Salary: %s", baseSalary, monthlyBaseSalary));
-        
         // ii. Calculate Bonus
         BigDecimal bonus = calculationHelper.calculateBonus(salaryStructure, baseSalary);
-        System.out.println(String.format("  Bonus: %s", bonus));
         
         // iii. Calculate Loss of Pay Deduction
         BigDecimal lossOfPayDeduction = calculationHelper.calculateLossOfPayDeduction(
-                employeeId, startDate, endDate, baseSalary, daysInMonth);
-        System.out.println(String.format("  Loss of Pay Deduction: %s", lossOfPayDeduction));
+                employeeId, startDate, endDate, baseSalary, workingDaysInMonth);
         
         // iv. Compute Net Salary using monthly base salary
         BigDecimal grossSalary = monthlyBaseSalary.add(bonus);
         BigDecimal netSalary = grossSalary.subtract(lossOfPayDeduction);
         
-        System.out.println(String.format("  Gross Salary: %s, Net Salary: %s", grossSalary, netSalary));
+        if (traced) {
+            logger.info("Payroll trace: annual base {}, monthly base {}, bonus {}, loss of pay {}, gross {}, net {}",
+                    baseSalary, monthlyBaseSalary, bonus, lossOfPayDeduction, grossSalary, netSalary);
+        }
         
         // v. Persist Result with monthly base salary
         PayrollItem payrollItem = new PayrollItem();
         payrollItem.setRunId(payrollRun.getRunId());
         payrollItem.setEmployeeId(employeeId);
+        payrollItem.setDepartmentId(employee.getDepartmentId());
+        payrollItem.setJobId(employee.getJobId());
         payrollItem.setBaseSalary(monthlyBaseSalary);  // Store monthly base salary
         payrollItem.setBonus(bonus);
         payrollItem.setDeductions(lossOfPayDeduction);
@@ -204,15 +224,16 @@ public class PayrollServiceImpl implements PayrollService {
         // Note: payDate will be set when the run is locked
         
         payrollItemRepository.save(payrollItem);
-        
-        System.out.println(String.format("  ✓ Payroll item created for %s", employeeName));
     }
     
     @Override
     public PayrollRunResponse lockPayrollRun(String runId) {
-        System.out.println("=== PAYROLL LOCKING STARTED ===");
-        System.out.println("Locking payroll run ID: " + runId);
-        
+        try (MDC.MDCCloseable ignored = MDC.putCloseable("runId", runId)) {
+            return lockRun(runId);
+        }
+    }
+    
+    private PayrollRunResponse lockRun(String runId) {
         // 1. Find and validate payroll run
         PayrollRun payrollRun = payrollRunRepository.findById(runId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payroll run not found with ID: " + runId));
@@ -225,20 +246,33 @@ public class PayrollServiceImpl implements PayrollService {
         payrollRun.setStatus(PayrollStatus.Locked);
         payrollRun.setLockedAt(LocalDateTime.now());
         
-        // 3. Set pay date for all items
+        // 3. Set pay date for all items, and cost them to the department and job role held at lock
         LocalDate payDate = LocalDate.now(); // Could be configurable
         payrollItemRepository.updatePayDateForRun(runId, payDate);
+        payrollItemRepository.stampAttributionForRun(runId);
         
         PayrollRun lockedRun = payrollRunRepository.save(payrollRun);
+        refreshCostRollups(runId);
+        
+        // 4. Locked items are final; derived analytics pick them up after commit
+        eventPublisher.publishEvent(new PayrollRunLockedEvent(runId));
         
         long itemCount = payrollItemRepository.countByRunId(runId);
-        System.out.println(String.format("Payroll run locked successfully. Pay date set for %d items: %s", 
-                                       itemCount, payDate));
-        System.out.println("=== PAYROLL LOCKING COMPLETED ===");
+        logger.info("Payroll run locked, pay date {} set for {} items", payDate, itemCount);
         
         return convertToPayrollRunResponseWithSummary(lockedRun);
     }
     
+    /**
+     * Rebuild the cost cube rollups of a run from its payroll items
+     * Runs in the same transaction as processing/locking so the cube never disagrees with the items
+     */
+    private void refreshCostRollups(String runId) {
+        payrollCostRollupRepository.deleteByRunId(runId);
+        int rollups = payrollCostRollupRepository.insertRollupsForRun(runId);
+        logger.debug("Refreshed {} cost rollup rows for payroll run {}", rollups, runId);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<PayrollItemResponse> getPayrollItemsForRun(String runId) {
@@ -252,6 +286,28 @@ public class PayrollServiceImpl implements PayrollService {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PayrollItemResponse> getPayrollItemsPage(String runId, String departmentId,
+                                                               String cursor, Integer limit) {
+        if (!payrollRunRepository.existsById(runId)) {
+            throw new ResourceNotFoundException("Payroll run not found with ID: " + runId);
+        }
+        
+        int pageSize = CursorPage.resolveLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor, "payroll-items:name", 3);
+        
+        List<PayrollItem> rows = payrollItemRepository.findPageForRun(runId, departmentId,
+                after != null ? after.getString(0) : null,
+                after != null ? after.getString(1) : null,
+                after != null ? UuidV7.toBytes(after.getUuid(2)) : null,
+                PageRequest.of(0, pageSize + 1));
+        
+        return CursorPage.of(rows, pageSize, this::convertToPayrollItemResponse,
+                item -> KeysetCursor.encode("payroll-items:name",
+                        item.getEmployee().getLastName(), item.getEmployee().getFirstName(), item.getItemId()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public PayrollItemResponse getEmployeePayrollItemForAdmin(String runId, String employeeId) {
@@ -302,6 +358,27 @@ public class PayrollServiceImpl implements PayrollService {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PayrollItemResponse> getEmployeePayslipsPage(String employeeId, Integer year,
+                                                                   String cursor, Integer limit) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+        }
+        
+        int pageSize = CursorPage.resolveLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor, "payslips:period", 2);
+        
+        List<PayrollItem> rows = payrollItemRepository.findLockedPageForEmployee(employeeId, year,
+                after != null ? after.getInt(0) : null,
+                after != null ? after.getInt(1) : null,
+                PageRequest.of(0, pageSize + 1));
+        
+        return CursorPage.of(rows, pageSize, this::convertToPayrollItemResponse,
+                item -> KeysetCursor.encode("payslips:period",
+                        item.getPayrollRun().getRunYear(), item.getPayrollRun().getRunMonth()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public boolean payrollRunExists(Integer year, Integer month) {
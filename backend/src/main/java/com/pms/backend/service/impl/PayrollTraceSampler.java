@@ -0,0 +1,28 @@
+package com.pms.backend.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the employees whose payroll calculation is logged step by step
+ * Off by default (payroll.trace.sample-rate=0); 1 traces everyone. The pick is a hash of the employee ID,
+ * so the same employees are traced on every run and a suspicious payslip can be followed across runs.
+ */
+@Component
+public class PayrollTraceSampler {
+
+    private static final int BUCKETS = 10_000;
+
+    private final int sampledBuckets;
+
+    public PayrollTraceSampler(@Value("${payroll.trace.sample-rate:0}") double sampleRate) {
+        this.sampledBuckets = (int) Math.round(Math.max(0, Math.min(1, sampleRate)) * BUCKETS);
+    }
+
+    public boolean isSampled(String employeeId) {
+        if (sampledBuckets == 0) {
+            return false;
+        }
+        return sampledBuckets == BUCKETS || Math.floorMod(employeeId.hashCode() * 0x9E3779B9, BUCKETS) < sampledBuckets;
+    }
+}
@@ -1,14 +1,37 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.analytics.PayrollColumnStore;
+import com.pms.backend.analytics.TopN;
+import com.pms.backend.dto.report.CubeDimension;
+import com.pms.backend.dto.report.CubeMeasure;
 import com.pms.backend.dto.report.DepartmentCostDto;
 import com.pms.backend.dto.report.LeaveTrendDto;
+import com.pms.backend.dto.report.PayrollCubeDto;
+import com.pms.backend.dto.report.PayrollCubeQuery;
 import com.pms.backend.dto.report.PayrollSummaryDto;
+import com.pms.backend.dto.report.RankedEntryDto;
+import com.pms.backend.dto.report.RankedPage;
+import com.pms.backend.dto.report.RankingType;
+import com.pms.backend.entity.Department;
+import com.pms.backend.entity.JobRole;
 import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.repository.DepartmentRepository;
+import com.pms.backend.repository.JobRoleRepository;
 import com.pms.backend.repository.LeaveRequestRepository;
+import com.pms.backend.repository.LeaveStatisticRepository;
+import com.pms.backend.repository.OffsetLimitRequest;
+import com.pms.backend.repository.PayrollCostRollupRepository;
 import com.pms.backend.repository.PayrollItemRepository;
 import com.pms.backend.service.ReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -23,14 +46,34 @@ import java.util.stream.Collectors;
 @Service
 public class ReportServiceImpl implements ReportService {
     
+    private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
+    
+    private static final int MAX_RANKING_LIMIT = 100;
+    private static final int MAX_RANKING_OFFSET = 10_000;
+    
     private final PayrollItemRepository payrollItemRepository;
     private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveStatisticRepository leaveStatisticRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JobRoleRepository jobRoleRepository;
+    private final PayrollCostRollupRepository payrollCostRollupRepository;
+    private final PayrollColumnStore payrollColumnStore;
     
     @Autowired
     public ReportServiceImpl(PayrollItemRepository payrollItemRepository,
-                           LeaveRequestRepository leaveRequestRepository) {
+                           LeaveRequestRepository leaveRequestRepository,
+                           LeaveStatisticRepository leaveStatisticRepository,
+                           DepartmentRepository departmentRepository,
+                           JobRoleRepository jobRoleRepository,
+                           PayrollCostRollupRepository payrollCostRollupRepository,
+                           PayrollColumnStore payrollColumnStore) {
         this.payrollItemRepository = payrollItemRepository;
         this.leaveRequestRepository = leaveRequestRepository;
+        this.leaveStatisticRepository = leaveStatisticRepository;
+        this.departmentRepository = departmentRepository;
+        this.jobRoleRepository = jobRoleRepository;
+        this.payrollCostRollupRepository = payrollCostRollupRepository;
+        this.payrollColumnStore = payrollColumnStore;
     }
     
     // ====== PAYROLL REPORTS ======
@@ -38,40 +81,109 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public List<DepartmentCostDto> getDepartmentCostReport(Integer year, Integer month, 
                                                           Integer startYear, Integer endYear) {
+        if (payrollColumnStore.isReady()) {
+            return getDepartmentCostReportFromStore(year, month, startYear, endYear);
+        }
+        
         List<Object[]> results = payrollItemRepository.getDepartmentCostReport(year, month, startYear, endYear);
         
         return results.stream()
-                .map(result -> new DepartmentCostDto(
-                    (String) result[0],  // departmentId
-                    (String) result[1],  // departmentName
-                    ((Number) result[2]).longValue(),  // employeeCount
-                    (BigDecimal) result[3],  // totalBaseSalary
-                    (BigDecimal) result[4],  // totalBonus
-                    (BigDecimal) result[5],  // totalDeductions
-                    (BigDecimal) result[6]   // totalNetSalary
-                ))
+                .map(this::convertToDepartmentCost)
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<PayrollSummaryDto> getMonthlyPayrollSummary(Integer startYear, Integer endYear) {
+        if (payrollColumnStore.isReady()) {
+            return getMonthlyPayrollSummaryFromStore(startYear, endYear);
+        }
+        
         List<Object[]> results = payrollItemRepository.getMonthlyPayrollSummary(startYear, endYear);
         
         return results.stream()
-                .map(result -> new PayrollSummaryDto(
-                    ((Number) result[0]).intValue(),  // year
-                    ((Number) result[1]).intValue(),  // month
-                    ((Number) result[2]).longValue(), // totalEmployees
-                    (BigDecimal) result[3],  // totalBaseSalary
-                    (BigDecimal) result[4],  // totalBonus
-                    (BigDecimal) result[5],  // totalDeductions
-                    (BigDecimal) result[6],  // totalNetSalary
-                    ((Number) result[7]).longValue(), // totalPayrollRuns
-                    ((Number) result[8]).longValue()  // lockedPayrollRuns
+                .map(this::convertToMonthlySummary)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Department costs of locked runs, scanned from the in-memory column store
+     */
+    private List<DepartmentCostDto> getDepartmentCostReportFromStore(Integer year, Integer month,
+                                                                    Integer startYear, Integer endYear) {
+        Map<String, String> departmentNames = departmentRepository.findAll().stream()
+                .collect(Collectors.toMap(Department::getDepartmentId, Department::getDepartmentName));
+        
+        return payrollColumnStore.aggregateByDepartment(year, month, startYear, endYear).stream()
+                .filter(aggregate -> departmentNames.containsKey(aggregate.getDepartmentId()))
+                .sorted(Comparator.comparingLong(PayrollColumnStore.Aggregate::getNetCents).reversed())
+                .map(aggregate -> new DepartmentCostDto(
+                    aggregate.getDepartmentId(),
+                    departmentNames.get(aggregate.getDepartmentId()),
+                    aggregate.getEmployeeCount(),
+                    aggregate.getTotalBaseSalary(),
+                    aggregate.getTotalBonus(),
+                    aggregate.getTotalDeductions(),
+                    aggregate.getTotalNetSalary()
                 ))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Locked periods come from the column store; periods whose run is still open
+     * (at most a few) are summarised by the database
+     */
+    private List<PayrollSummaryDto> getMonthlyPayrollSummaryFromStore(Integer startYear, Integer endYear) {
+        List<PayrollSummaryDto> summaries = new ArrayList<>();
+        
+        for (PayrollColumnStore.Aggregate aggregate : payrollColumnStore.aggregateByMonth(startYear, endYear)) {
+            summaries.add(new PayrollSummaryDto(
+                aggregate.getYear(),
+                aggregate.getMonth(),
+                aggregate.getEmployeeCount(),
+                aggregate.getTotalBaseSalary(),
+                aggregate.getTotalBonus(),
+                aggregate.getTotalDeductions(),
+                aggregate.getTotalNetSalary(),
+                1L,  // one run per period
+                1L   // and it is locked
+            ));
+        }
+        
+        payrollItemRepository.getMonthlyPayrollSummaryForOpenRuns(startYear, endYear).stream()
+                .map(this::convertToMonthlySummary)
+                .forEach(summaries::add);
+        
+        summaries.sort(Comparator.comparing(PayrollSummaryDto::getYear, Comparator.reverseOrder())
+                .thenComparing(PayrollSummaryDto::getMonth, Comparator.reverseOrder()));
+        return summaries;
+    }
+    
+    private DepartmentCostDto convertToDepartmentCost(Object[] result) {
+        return new DepartmentCostDto(
+                (String) result[0],  // departmentId
+                (String) result[1],  // departmentName
+                ((Number) result[2]).longValue(),  // employeeCount
+                (BigDecimal) result[3],  // totalBaseSalary
+                (BigDecimal) result[4],  // totalBonus
+                (BigDecimal) result[5],  // totalDeductions
+                (BigDecimal) result[6]   // totalNetSalary
+        );
+    }
+    
+    private PayrollSummaryDto convertToMonthlySummary(Object[] result) {
+        return new PayrollSummaryDto(
+                ((Number) result[0]).intValue(),  // year
+                ((Number) result[1]).intValue(),  // month
+                ((Number) result[2]).longValue(), // totalEmployees
+                (BigDecimal) result[3],  // totalBaseSalary
+                (BigDecimal) result[4],  // totalBonus
+                (BigDecimal) result[5],  // totalDeductions
+                (BigDecimal) result[6],  // totalNetSalary
+                ((Number) result[7]).longValue(), // totalPayrollRuns
+                ((Number) result[8]).longValue()  // lockedPayrollRuns
+        );
+    }
+    
     @Override
     public PayrollSummaryDto getOverallPayrollSummary(Integer startYear, Integer endYear) {
         Object[] result = payrollItemRepository.getOverallPayrollSummary(startYear, endYear);
@@ -104,20 +216,109 @@ public class ReportServiceImpl implements ReportService {
             year = Year.now().getValue();
         }
         
-        // Use the comprehensive department cost report and limit results
-        List<DepartmentCostDto> allDepartments = getDepartmentCostReport(year, null, null, null);
+        int size = limit != null && limit > 0 ? limit : 10;  // Default to top 10
+        return rankDepartmentsBySpend(year, 0, size).getItems();
+    }
+    
+    /**
+     * One window of departments ranked by locked payroll spend
+     * The column store is reduced with a bounded heap; otherwise the database applies the limit
+     */
+    private RankedPage<DepartmentCostDto> rankDepartmentsBySpend(Integer year, int offset, int limit) {
+        if (payrollColumnStore.isReady()) {
+            List<PayrollColumnStore.Aggregate> aggregates =
+                    payrollColumnStore.aggregateByDepartment(year, null, null, null);
+            List<PayrollColumnStore.Aggregate> window = TopN.select(aggregates,
+                    Comparator.comparingLong(PayrollColumnStore.Aggregate::getNetCents).reversed()
+                            .thenComparing(PayrollColumnStore.Aggregate::getDepartmentId),
+                    offset, limit);
+            
+            // Only the departments on screen need their names
+            Map<String, String> departmentNames = departmentRepository.findAllById(
+                    window.stream().map(PayrollColumnStore.Aggregate::getDepartmentId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(Department::getDepartmentId, Department::getDepartmentName));
+            
+            List<DepartmentCostDto> items = window.stream()
+                    .map(aggregate -> new DepartmentCostDto(
+                        aggregate.getDepartmentId(),
+                        departmentNames.get(aggregate.getDepartmentId()),
+                        aggregate.getEmployeeCount(),
+                        aggregate.getTotalBaseSalary(),
+                        aggregate.getTotalBonus(),
+                        aggregate.getTotalDeductions(),
+                        aggregate.getTotalNetSalary()
+                    ))
+                    .collect(Collectors.toList());
+            return new RankedPage<>(items, offset, limit, aggregates.size());
+        }
         
-        return allDepartments.stream()
-                .sorted((d1, d2) -> d2.getTotalNetSalary().compareTo(d1.getTotalNetSalary())) // Sort by net salary descending
-                .limit(limit != null ? limit : 10)  // Default to top 10
+        Page<Object[]> page = payrollItemRepository.getDepartmentSpendRanking(year, new OffsetLimitRequest(offset, limit));
+        List<DepartmentCostDto> items = page.getContent().stream()
+                .map(this::convertToDepartmentCost)
                 .collect(Collectors.toList());
+        return new RankedPage<>(items, offset, limit, page.getTotalElements());
+    }
+    
+    @Override
+    public PayrollCubeDto getPayrollCostCube(PayrollCubeQuery query) {
+        if (query.getMeasures() == null || query.getMeasures().isEmpty()) {
+            query.setMeasures(Arrays.asList(CubeMeasure.values()));
+        }
+        if (query.getDimensions() == null) {
+            query.setDimensions(new ArrayList<>());
+        }
+        
+        List<Object[]> results = payrollCostRollupRepository.aggregateCube(query);
+        
+        // Resolve names only for the dimensions that need them
+        Map<String, String> departmentNames = query.getDimensions().contains(CubeDimension.DEPARTMENT)
+                ? departmentRepository.findAll().stream()
+                    .collect(Collectors.toMap(Department::getDepartmentId, Department::getDepartmentName))
+                : Collections.emptyMap();
+        Map<String, String> jobTitles = query.getDimensions().contains(CubeDimension.JOB_ROLE)
+                ? jobRoleRepository.findAll().stream()
+                    .collect(Collectors.toMap(JobRole::getJobId, JobRole::getJobTitle))
+                : Collections.emptyMap();
+        
+        List<Map<String, Object>> rows = new ArrayList<>(results.size());
+        for (Object[] result : results) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            int column = 0;
+            
+            for (CubeDimension dimension : query.getDimensions()) {
+                Object value = result[column++];
+                row.put(dimension.getKey(), value instanceof Enum ? ((Enum<?>) value).name() : value);
+                if (dimension == CubeDimension.DEPARTMENT) {
+                    row.put("departmentName", departmentNames.get(value));
+                } else if (dimension == CubeDimension.JOB_ROLE) {
+                    row.put("jobTitle", jobTitles.get(value));
+                }
+            }
+            
+            for (CubeMeasure measure : query.getMeasures()) {
+                Object value = result[column++];
+                row.put(measure.getKey(), measure == CubeMeasure.HEADCOUNT
+                        ? ((Number) value).longValue()
+                        : value);
+            }
+            
+            rows.add(row);
+        }
+        
+        return new PayrollCubeDto(
+                query.getDimensions().stream().map(CubeDimension::getKey).collect(Collectors.toList()),
+                query.getMeasures().stream().map(CubeMeasure::getKey).collect(Collectors.toList()),
+                rows);
     }
     
     // ====== LEAVE REPORTS ======
     
     @Override
     public List<LeaveTrendDto> getLeaveTrendsReport(LocalDate startDate, LocalDate endDate, Integer year) {
-        List<Object[]> results = leaveRequestRepository.getLeaveTrendsReport(startDate, endDate, year);
+        List<Object[]> results = isBucketAligned(startDate, endDate)
+                ? leaveStatisticRepository.getLeaveTrendsReport(year)
+                : leaveRequestRepository.getLeaveTrendsReport(startDate, endDate, year);
         
         return results.stream()
                 .map(result -> new LeaveTrendDto(
@@ -133,28 +334,28 @@ public class ReportServiceImpl implements ReportService {
     
     @Override
     public List<Object[]> getLeaveTrendsByDepartment(LocalDate startDate, LocalDate endDate, Integer year) {
+        if (isBucketAligned(startDate, endDate)) {
+            return leaveStatisticRepository.getLeaveTrendsByDepartment(year);
+        }
         return leaveRequestRepository.getLeaveTrendsByDepartment(startDate, endDate, year);
     }
     
     @Override
     public List<Object[]> getMonthlyLeaveStatistics(Integer year) {
-        return leaveRequestRepository.getMonthlyLeaveStatistics(year);
+        return leaveStatisticRepository.getMonthlyLeaveStatistics(year);
     }
     
     @Override
     public List<Object[]> getTopLeaveTakingEmployees(Integer year, LeaveType leaveType, Integer limit) {
-        List<Object[]> results = leaveRequestRepository.getTopLeaveTakingEmployees(year, leaveType);
-        
-        if (limit != null && limit > 0) {
-            return results.stream().limit(limit).collect(Collectors.toList());
-        }
-        
-        return results;
+        Pageable pageable = limit != null && limit > 0 ? PageRequest.of(0, limit) : Pageable.unpaged();
+        return leaveRequestRepository.getTopLeaveTakingEmployees(year, leaveType, pageable);
     }
     
     @Override
     public Object[] getOverallLeaveStatistics(LocalDate startDate, LocalDate endDate, Integer year) {
-        Object[] result = leaveRequestRepository.getOverallLeaveStatistics(startDate, endDate, year);
+        Object[] result = isBucketAligned(startDate, endDate)
+                ? leaveStatisticRepository.getOverallLeaveStatistics(year)
+                : leaveRequestRepository.getOverallLeaveStatistics(startDate, endDate, year);
         
         // Handle nested array issue
         if (result != null && result.length > 0 && result[0] instanceof Object[]) {
@@ -164,6 +365,68 @@ public class ReportServiceImpl implements ReportService {
         return result;
     }
     
+    // ====== RANKED REPORTS ======
+    
+    @Override
+    public RankedPage<RankedEntryDto> getRanking(RankingType type, Integer year, LeaveType leaveType,
+                                                 int offset, int limit) {
+        if (offset < 0 || offset > MAX_RANKING_OFFSET) {
+            throw new BadRequestException("Offset must be between 0 and " + MAX_RANKING_OFFSET);
+        }
+        if (limit < 1 || limit > MAX_RANKING_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_RANKING_LIMIT);
+        }
+        
+        List<RankedEntryDto> entries = new ArrayList<>();
+        long rank = offset;
+        
+        if (type == RankingType.DEPARTMENT_SPEND) {
+            if (year == null) {
+                year = Year.now().getValue();
+            }
+            RankedPage<DepartmentCostDto> page = rankDepartmentsBySpend(year, offset, limit);
+            for (DepartmentCostDto department : page.getItems()) {
+                entries.add(new RankedEntryDto(++rank, department.getDepartmentId(),
+                        department.getDepartmentName(), null, department.getTotalNetSalary()));
+            }
+            return new RankedPage<>(entries, offset, limit, page.getTotal());
+        }
+        
+        List<Object[]> results = leaveRequestRepository.getTopLeaveTakingEmployees(
+                year, leaveType, new OffsetLimitRequest(offset, limit));
+        for (Object[] result : results) {
+            entries.add(new RankedEntryDto(++rank,
+                    (String) result[0],  // employeeId
+                    result[1] + " " + result[2],  // firstName lastName
+                    (String) result[3],  // departmentName
+                    BigDecimal.valueOf(((Number) result[4]).longValue())));  // totalApprovedDays
+        }
+        
+        // A partly filled window ends the ranking, so only a full (or empty) one needs the count query
+        boolean endReached = results.size() < limit && (!results.isEmpty() || offset == 0);
+        long total = endReached
+                ? offset + results.size()
+                : leaveRequestRepository.countLeaveTakingEmployees(year, leaveType);
+        return new RankedPage<>(entries, offset, limit, total);
+    }
+    
+    @Override
+    @Transactional
+    public int rebuildLeaveStatistics() {
+        leaveStatisticRepository.deleteAllCounters();
+        int buckets = leaveStatisticRepository.insertAllCountersFromLeaveRequests();
+        logger.info("Rebuilt leave statistics: {} buckets", buckets);
+        return buckets;
+    }
+    
+    /**
+     * The counters are bucketed by year and month of the start date,
+     * so arbitrary date ranges still need the row-level queries
+     */
+    private boolean isBucketAligned(LocalDate startDate, LocalDate endDate) {
+        return startDate == null && endDate == null;
+    }
+    
     // ====== COMBINED REPORTS ======
     
     @Override
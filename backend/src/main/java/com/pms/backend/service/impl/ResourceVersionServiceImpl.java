@@ -0,0 +1,140 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.dto.VersionStamp;
+import com.pms.backend.repository.*;
+import com.pms.backend.service.ResourceVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Implementation of ResourceVersionService
+ * Responses that embed department names, job titles or user details include those tables too
+ * Employee responses include the leave ledger, which changes without touching the employee row
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+    
+    private final DepartmentRepository departmentRepository;
+    private final JobRoleRepository jobRoleRepository;
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final SalaryStructureRepository salaryStructureRepository;
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollItemRepository payrollItemRepository;
+    private final LeaveLedgerRepository leaveLedgerRepository;
+    
+    @Autowired
+    public ResourceVersionServiceImpl(DepartmentRepository departmentRepository,
+                                      JobRoleRepository jobRoleRepository,
+                                      EmployeeRepository employeeRepository,
+                                      UserRepository userRepository,
+                                      SalaryStructureRepository salaryStructureRepository,
+                                      PayrollRunRepository payrollRunRepository,
+                                      PayrollItemRepository payrollItemRepository,
+                                      LeaveLedgerRepository leaveLedgerRepository) {
+        this.departmentRepository = departmentRepository;
+        this.jobRoleRepository = jobRoleRepository;
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.salaryStructureRepository = salaryStructureRepository;
+        this.payrollRunRepository = payrollRunRepository;
+        this.payrollItemRepository = payrollItemRepository;
+        this.leaveLedgerRepository = leaveLedgerRepository;
+    }
+    
+    @Override
+    public VersionStamp getDepartmentsVersion() {
+        return departmentRepository.getVersionStamp();
+    }
+    
+    @Override
+    public VersionStamp getDepartmentVersion(String departmentId) {
+        return existing(departmentRepository.getVersionStamp(departmentId));
+    }
+    
+    @Override
+    public VersionStamp getJobRolesVersion() {
+        return jobRoleRepository.getVersionStamp();
+    }
+    
+    @Override
+    public VersionStamp getJobRoleVersion(String jobId) {
+        return existing(jobRoleRepository.getVersionStamp(jobId));
+    }
+    
+    @Override
+    public VersionStamp getEmployeesVersion() {
+        return VersionStamp.combine(employeeDetailsVersion(), leaveLedgerRepository.getVersionStamp());
+    }
+    
+    @Override
+    public VersionStamp getEmployeeVersion(String employeeId) {
+        VersionStamp employee = existing(employeeRepository.getVersionStamp(employeeId));
+        if (employee == null) {
+            return null;
+        }
+        return VersionStamp.combine(
+                employee,
+                userRepository.getVersionStamp(),
+                departmentRepository.getVersionStamp(),
+                jobRoleRepository.getVersionStamp(),
+                leaveLedgerRepository.getVersionStamp(employeeId));
+    }
+    
+    @Override
+    public VersionStamp getSalaryStructuresVersion(String employeeId) {
+        VersionStamp employee = existing(employeeRepository.getVersionStamp(employeeId));
+        if (employee == null) {
+            return null;
+        }
+        return VersionStamp.combine(
+                salaryStructureRepository.getVersionStampForEmployee(employeeId),
+                employee,
+                userRepository.getVersionStamp())
+                .qualify(LocalDate.now());
+    }
+    
+    @Override
+    public VersionStamp getPayrollRunsVersion() {
+        return VersionStamp.combine(
+                payrollRunRepository.getVersionStamp(),
+                payrollItemRepository.getVersionStamp());
+    }
+    
+    @Override
+    public VersionStamp getPayrollRunVersion(String runId) {
+        VersionStamp run = existing(payrollRunRepository.getVersionStamp(runId));
+        if (run == null) {
+            return null;
+        }
+        return VersionStamp.combine(run, payrollItemRepository.getVersionStampForRun(runId));
+    }
+    
+    @Override
+    public VersionStamp getPayrollItemsVersion(String runId) {
+        VersionStamp run = getPayrollRunVersion(runId);
+        if (run == null) {
+            return null;
+        }
+        return VersionStamp.combine(run, employeeDetailsVersion());
+    }
+    
+    /**
+     * Employee rows and the names they embed, without leave balances (payslips do not show them)
+     */
+    private VersionStamp employeeDetailsVersion() {
+        return VersionStamp.combine(
+                employeeRepository.getVersionStamp(),
+                userRepository.getVersionStamp(),
+                departmentRepository.getVersionStamp(),
+                jobRoleRepository.getVersionStamp());
+    }
+    
+    private VersionStamp existing(VersionStamp stamp) {
+        return stamp != null && stamp.getCount() > 0 ? stamp : null;
+    }
+}
@@ -1,19 +1,30 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.dto.salary.SalaryAdjustmentType;
+import com.pms.backend.dto.salary.SalaryRevisionLine;
+import com.pms.backend.dto.salary.SalaryRevisionRequest;
+import com.pms.backend.dto.salary.SalaryRevisionResult;
 import com.pms.backend.dto.salary.SalaryStructureRequest;
 import com.pms.backend.dto.salary.SalaryStructureResponse;
 import com.pms.backend.entity.Employee;
 import com.pms.backend.entity.SalaryStructure;
 import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.exception.ConstraintViolationException;
 import com.pms.backend.exception.ResourceNotFoundException;
 import com.pms.backend.repository.EmployeeRepository;
 import com.pms.backend.repository.SalaryStructureRepository;
 import com.pms.backend.service.SalaryStructureService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,6 +32,12 @@ import java.util.stream.Collectors;
 @Transactional
 public class SalaryStructureServiceImpl implements SalaryStructureService {
     
+    private static final Logger logger = LoggerFactory.getLogger(SalaryStructureServiceImpl.class);
+    
+    private static final int MAX_REVISION_LINES = 1000;
+    private static final BigDecimal MAX_BASE_SALARY = new BigDecimal("9999999999.99");
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    
     private final SalaryStructureRepository salaryStructureRepository;
     private final EmployeeRepository employeeRepository;
     
@@ -51,12 +68,71 @@ public class SalaryStructureServiceImpl implements SalaryStructureService {
         salaryStructure.setBonusDetails(request.getBonusDetails());
         salaryStructure.setEffectiveFrom(request.getEffectiveFrom());
         salaryStructure.setEffectiveTo(request.getEffectiveTo());
+        salaryStructure.setEmployee(employeeRepository.getReferenceById(employeeId));
         
         SalaryStructure savedStructure = salaryStructureRepository.save(salaryStructure);
         
         return convertToResponse(savedStructure);
     }
     
+    @Override
+    public SalaryRevisionResult reviseSalaries(SalaryRevisionRequest request, boolean dryRun) {
+        long started = System.nanoTime();
+        validateRevision(request);
+        
+        // base * factor + increment covers both rules, so SQL and preview share one formula
+        BigDecimal factor = BigDecimal.ONE;
+        BigDecimal increment = BigDecimal.ZERO;
+        if (request.getAdjustmentType() == SalaryAdjustmentType.Percentage) {
+            factor = BigDecimal.ONE.add(request.getAdjustmentValue().divide(HUNDRED));
+        } else {
+            increment = request.getAdjustmentValue();
+        }
+        
+        SalaryRevisionResult result = new SalaryRevisionResult();
+        result.setDryRun(dryRun);
+        result.setEffectiveFrom(request.getEffectiveFrom());
+        result.setSelectedCount(salaryStructureRepository.countRevisionSelection(request));
+        
+        List<Object[]> revisable = salaryStructureRepository.findRevisableStructures(request);
+        for (Object[] row : revisable) {
+            BigDecimal currentBase = (BigDecimal) row[5];
+            BigDecimal newBase = currentBase.multiply(factor).add(increment).setScale(2, RoundingMode.HALF_UP);
+            if (newBase.signum() <= 0 || newBase.compareTo(MAX_BASE_SALARY) > 0) {
+                throw new BadRequestException(String.format(
+                    "Revision would set the base salary of employee %s to %s", row[0], newBase.toPlainString()));
+            }
+            result.setCurrentBaseTotal(result.getCurrentBaseTotal().add(currentBase));
+            result.setNewBaseTotal(result.getNewBaseTotal().add(newBase));
+            
+            if (result.getLines().size() < MAX_REVISION_LINES) {
+                result.getLines().add(toRevisionLine(row, newBase));
+            }
+        }
+        result.setLinesTruncated(revisable.size() > MAX_REVISION_LINES);
+        result.setRevisedCount(revisable.size());
+        result.setSkippedCount(Math.max(0, result.getSelectedCount() - revisable.size()));
+        
+        if (!dryRun && !revisable.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            int inserted = salaryStructureRepository.insertRevisedStructures(request, factor, increment, now);
+            int closed = salaryStructureRepository.closeRevisedStructures(request, now);
+            if (inserted != revisable.size() || closed != inserted) {
+                // Structures changed under us; roll the whole revision back rather than apply part of it
+                throw new ConstraintViolationException(String.format(
+                    "Salary structures changed during the revision (expected %d, inserted %d, closed %d); please retry",
+                    revisable.size(), inserted, closed));
+            }
+            
+            logger.info("Salary revision effective {}: {} structures revised, base total {} -> {}",
+                request.getEffectiveFrom(), inserted,
+                result.getCurrentBaseTotal().toPlainString(), result.getNewBaseTotal().toPlainString());
+        }
+        
+        result.setDurationMillis((System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<SalaryStructureResponse> getStructureHistoryForEmployee(String employeeId) {
@@ -81,7 +157,7 @@ public class SalaryStructureServiceImpl implements SalaryStructureService {
         }
         
         SalaryStructure currentStructure = salaryStructureRepository
-                .findActiveStructureForEmployee(employeeId, LocalDate.now())
+                .findActiveStructureWithEmployee(employeeId, LocalDate.now())
                 .orElseThrow(() -> new ResourceNotFoundException("No active salary structure found for employee: " + employeeId));
         
         return convertToResponse(currentStructure);
@@ -90,7 +166,7 @@ public class SalaryStructureServiceImpl implements SalaryStructureService {
     @Override
     @Transactional(readOnly = true)
     public SalaryStructureResponse getStructureById(String structureId) {
-        SalaryStructure structure = salaryStructureRepository.findById(structureId)
+        SalaryStructure structure = salaryStructureRepository.findWithEmployeeByStructureId(structureId)
                 .orElseThrow(() -> new ResourceNotFoundException("Salary structure not found with ID: " + structureId));
         
         return convertToResponse(structure);
@@ -166,10 +242,40 @@ public class SalaryStructureServiceImpl implements SalaryStructureService {
         LocalDate oneYearAgo = LocalDate.now().minusYears(1);
         if (request.getEffectiveFrom().isBefore(oneYearAgo)) {
             // Just log a warning, don't throw an exception
-            System.out.println("Warning: Effective from date is more than a year in the past: " + request.getEffectiveFrom());
+            logger.warn("Effective from date is more than a year in the past: {}", request.getEffectiveFrom());
         }
     }
     
+    /**
+     * Validate a bulk revision before any structure is read
+     */
+    private void validateRevision(SalaryRevisionRequest request) {
+        if (!request.hasSelector()) {
+            throw new BadRequestException("Select employees by department, job role or employee IDs");
+        }
+        if (request.getEffectiveFrom() == null) {
+            throw new BadRequestException("Effective from date is required");
+        }
+        if (request.getAdjustmentType() == null || request.getAdjustmentValue() == null) {
+            throw new BadRequestException("Adjustment type and value are required");
+        }
+        if (request.getAdjustmentType() == SalaryAdjustmentType.Percentage &&
+            request.getAdjustmentValue().compareTo(HUNDRED.negate()) <= 0) {
+            throw new BadRequestException("Percentage adjustment must be greater than -100");
+        }
+    }
+    
+    private SalaryRevisionLine toRevisionLine(Object[] row, BigDecimal newBase) {
+        SalaryRevisionLine line = new SalaryRevisionLine();
+        line.setEmployeeId((String) row[0]);
+        line.setEmployeeName(row[1] + " " + row[2]);
+        line.setCurrentStructureId((String) row[3]);
+        line.setCurrentEffectiveFrom((LocalDate) row[4]);
+        line.setCurrentBaseSalary((BigDecimal) row[5]);
+        line.setNewBaseSalary(newBase);
+        return line;
+    }
+    
     /**
      * Check if the request would create overlaps with other structures
      */
@@ -205,14 +311,6 @@ public class SalaryStructureServiceImpl implements SalaryStructureService {
             if (structure.getEmployee().getUser() != null) {
                 response.setEmployeeEmail(structure.getEmployee().getUser().getEmail());
             }
-        } else {
-            // Fallback: fetch employee separately if lazy loading fails
-            employeeRepository.findById(structure.getEmployeeId()).ifPresent(employee -> {
-                response.setEmployeeName(employee.getFirstName() + " " + employee.getLastName());
-                if (employee.getUser() != null) {
-                    response.setEmployeeEmail(employee.getUser().getEmail());
-                }
-            });
         }
         
         return response;
@@ -0,0 +1,49 @@
+package com.pms.backend.web;
+
+import com.pms.backend.dto.VersionStamp;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conditional GET support for controllers
+ * Call after authorization and before loading entities; when it returns true the
+ * response is already a 304 and the handler should return null
+ */
+public final class ConditionalGet {
+    
+    /**
+     * updated_at has second precision, so a version younger than this may still change
+     * without its timestamp moving; such responses get no validators
+     */
+    private static final long SETTLE_SECONDS = 2;
+    
+    private ConditionalGet() {}
+    
+    /**
+     * Set ETag / Last-Modified for the given version and check If-None-Match / If-Modified-Since
+     * @param request Current request
+     * @param version Version of the data behind the response, or null when the resource does not exist
+     * @return true when the client copy is current (304 already set)
+     */
+    public static boolean isNotModified(WebRequest request, VersionStamp version) {
+        if (version == null) {
+            return false;
+        }
+        LocalDateTime lastModified = version.getLastModified();
+        if (lastModified != null && lastModified.isAfter(LocalDateTime.now().minusSeconds(SETTLE_SECONDS))) {
+            return false;
+        }
+        
+        // Spring Security defaults to no-store; allow private revalidation instead
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        
+        return lastModified != null
+                ? request.checkNotModified(version.toEtag(), version.getLastModifiedMillis())
+                : request.checkNotModified(version.toEtag());
+    }
+}
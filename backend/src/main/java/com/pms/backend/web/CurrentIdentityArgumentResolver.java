@@ -0,0 +1,92 @@
+package com.pms.backend.web;
+
+import com.pms.backend.exception.ResourceNotFoundException;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.UserRepository;
+import com.pms.backend.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} and {@link CurrentEmployee} parameters
+ * IDs come from the token claims on the principal; only principals without them (e.g. test users)
+ * fall back to ID-only queries. The result is kept in request scope, so it is resolved once per request.
+ */
+@Component
+public class CurrentIdentityArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    private static final String IDENTITY_ATTRIBUTE = CurrentIdentityArgumentResolver.class.getName() + ".IDENTITY";
+    
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    
+    @Autowired
+    public CurrentIdentityArgumentResolver(UserRepository userRepository, EmployeeRepository employeeRepository) {
+        this.userRepository = userRepository;
+        this.employeeRepository = employeeRepository;
+    }
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return String.class.equals(parameter.getParameterType())
+                && (parameter.hasParameterAnnotation(CurrentUser.class)
+                    || parameter.hasParameterAnnotation(CurrentEmployee.class));
+    }
+    
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Identity identity = (Identity) webRequest.getAttribute(IDENTITY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (identity == null) {
+            identity = resolveIdentity();
+            webRequest.setAttribute(IDENTITY_ATTRIBUTE, identity, RequestAttributes.SCOPE_REQUEST);
+        }
+        
+        if (parameter.hasParameterAnnotation(CurrentUser.class)) {
+            return identity.userId;
+        }
+        
+        if (identity.employeeId == null) {
+            String userId = identity.userId;
+            identity.employeeId = employeeRepository.findIdByUserId(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee record not found for user: " + userId));
+        }
+        return identity.employeeId;
+    }
+    
+    private Identity resolveIdentity() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user found");
+        }
+        
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return new Identity(principal.getUserId(), principal.getEmployeeId());
+        }
+        
+        String username = authentication.getName();
+        String userId = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username))
+                .getUserId();
+        return new Identity(userId, null);
+    }
+    
+    private static final class Identity {
+        private final String userId;
+        private String employeeId;
+        
+        private Identity(String userId, String employeeId) {
+            this.userId = userId;
+            this.employeeId = employeeId;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.pms.backend.web;
+
+import com.pms.backend.datasource.StatementBudget;
+import com.pms.backend.datasource.StatementInstrumentation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Names the statement scope opened by StatementScopeFilter after its route pattern as soon as the handler
+ * is selected, and applies the handler's @StatementBudget before the controller issues any statement
+ */
+@Component
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    private final StatementInstrumentation statementInstrumentation;
+
+    @Autowired
+    public StatementBudgetInterceptor(StatementInstrumentation statementInstrumentation) {
+        this.statementInstrumentation = statementInstrumentation;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementInstrumentation.Scope scope = statementInstrumentation.current();
+        if (scope == null) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            scope.route(request.getMethod() + " " + pattern);
+        }
+        if (handler instanceof HandlerMethod handlerMethod) {
+            StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+            if (budget != null) {
+                scope.budget(budget.value());
+            }
+        }
+        return true;
+    }
+}
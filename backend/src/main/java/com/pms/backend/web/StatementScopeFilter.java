@@ -0,0 +1,47 @@
+package com.pms.backend.web;
+
+import com.pms.backend.datasource.StatementInstrumentation;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each request, including those of the security filters, under its route
+ * pattern (GET /api/v1/employees/{employeeId}); requests no handler matched share one tag
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementScopeFilter extends OncePerRequestFilter {
+
+    private final StatementInstrumentation statementInstrumentation;
+
+    @Autowired
+    public StatementScopeFilter(StatementInstrumentation statementInstrumentation) {
+        this.statementInstrumentation = statementInstrumentation;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementInstrumentation.Scope scope = statementInstrumentation.openRequest(request.getMethod() + " UNMATCHED");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                scope.route(request.getMethod() + " " + pattern);
+            }
+            scope.close();
+        }
+    }
+}
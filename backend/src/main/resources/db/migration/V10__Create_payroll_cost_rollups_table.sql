@@ -0,0 +1,34 @@
+-- Create payroll_cost_rollups table
+-- Pre-aggregated payroll costs per run, department and job role, refreshed when a run is processed or locked
+CREATE TABLE payroll_cost_rollups (
+    run_id VARCHAR(36) NOT NULL,
+    department_id VARCHAR(36) NOT NULL,
+    job_id VARCHAR(36) NOT NULL,
+    run_year INT NOT NULL,
+    run_month INT NOT NULL,
+    run_status ENUM('Draft', 'Processed', 'Locked') NOT NULL,
+    headcount BIGINT NOT NULL DEFAULT 0,
+    total_base_salary DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_bonus DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_deductions DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_net_salary DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (run_id, department_id, job_id),
+    FOREIGN KEY (run_id) REFERENCES payroll_runs(run_id) ON DELETE CASCADE
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_payroll_cost_rollups_period ON payroll_cost_rollups(run_year, run_month);
+CREATE INDEX idx_payroll_cost_rollups_department ON payroll_cost_rollups(department_id);
+CREATE INDEX idx_payroll_cost_rollups_job ON payroll_cost_rollups(job_id);
+
+-- Backfill rollups for runs that already have payroll items
+INSERT INTO payroll_cost_rollups (run_id, department_id, job_id, run_year, run_month, run_status,
+                                  headcount, total_base_salary, total_bonus, total_deductions, total_net_salary)
+SELECT pi.run_id, e.department_id, e.job_id, pr.run_year, pr.run_month, pr.status,
+       COUNT(*), SUM(pi.base_salary), SUM(pi.bonus), SUM(pi.deductions), SUM(pi.net_salary)
+FROM payroll_items pi
+JOIN payroll_runs pr ON pr.run_id = pi.run_id
+JOIN employees e ON e.employee_id = pi.employee_id
+GROUP BY pi.run_id, e.department_id, e.job_id, pr.run_year, pr.run_month, pr.status;
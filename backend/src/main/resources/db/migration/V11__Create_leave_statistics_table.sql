@@ -0,0 +1,25 @@
+-- Create leave_statistics table
+-- Counters per (year, month, department, leave type, status), kept in step with leave_requests
+CREATE TABLE leave_statistics (
+    stat_year INT NOT NULL,
+    stat_month INT NOT NULL,
+    department_id VARCHAR(36) NOT NULL,
+    leave_type ENUM('Sick', 'Casual', 'Paid') NOT NULL,
+    status ENUM('Pending', 'Approved', 'Rejected') NOT NULL,
+    request_count BIGINT NOT NULL DEFAULT 0,
+    total_days BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (stat_year, stat_month, department_id, leave_type, status)
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_leave_statistics_department ON leave_statistics(department_id);
+
+-- Backfill counters from existing leave requests
+INSERT INTO leave_statistics (stat_year, stat_month, department_id, leave_type, status, request_count, total_days)
+SELECT YEAR(lr.start_date), MONTH(lr.start_date), e.department_id, lr.leave_type, lr.status,
+       COUNT(*), SUM(DATEDIFF(lr.end_date, lr.start_date) + 1)
+FROM leave_requests lr
+JOIN employees e ON e.employee_id = lr.employee_id
+GROUP BY YEAR(lr.start_date), MONTH(lr.start_date), e.department_id, lr.leave_type, lr.status;
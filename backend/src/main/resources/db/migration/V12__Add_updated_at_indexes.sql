@@ -0,0 +1,10 @@
+-- Index updated_at on tables served with conditional GET
+-- MAX(updated_at) then reads one index entry instead of scanning the table
+CREATE INDEX idx_users_updated_at ON users(updated_at);
+CREATE INDEX idx_departments_updated_at ON departments(updated_at);
+CREATE INDEX idx_job_roles_updated_at ON job_roles(updated_at);
+CREATE INDEX idx_employees_updated_at ON employees(updated_at);
+CREATE INDEX idx_salary_structures_employee_updated_at ON salary_structures(employee_id, updated_at);
+CREATE INDEX idx_payroll_runs_updated_at ON payroll_runs(updated_at);
+CREATE INDEX idx_payroll_items_run_updated_at ON payroll_items(run_id, updated_at);
+CREATE INDEX idx_payroll_items_updated_at ON payroll_items(updated_at);
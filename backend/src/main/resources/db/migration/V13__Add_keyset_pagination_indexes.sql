@@ -0,0 +1,6 @@
+-- Composite indexes matching the ORDER BY of the keyset-paginated list queries
+-- Each page seeks past the cursor key and reads only limit + 1 index entries
+CREATE INDEX idx_employees_last_first_id ON employees(last_name, first_name, employee_id);
+CREATE INDEX idx_employees_created_at_id ON employees(created_at, employee_id);
+CREATE INDEX idx_leave_requests_created_at_id ON leave_requests(created_at, leave_id);
+CREATE INDEX idx_leave_requests_status_created_at_id ON leave_requests(status, created_at, leave_id);
@@ -0,0 +1,2 @@
+-- Version embedded in every JWT; bumping it revokes all tokens issued to the user
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0;
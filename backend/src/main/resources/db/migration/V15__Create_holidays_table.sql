@@ -0,0 +1,14 @@
+-- Create holidays table
+-- Public holidays for the working-day calendar; a NULL location applies to every location
+CREATE TABLE holidays (
+    holiday_id VARCHAR(36) PRIMARY KEY,
+    holiday_date DATE NOT NULL,
+    holiday_name VARCHAR(100) NOT NULL,
+    location VARCHAR(50) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    UNIQUE KEY uk_holidays_date_location (holiday_date, location)
+);
+
+-- Create index for performance
+CREATE INDEX idx_holidays_location_date ON holidays(location, holiday_date);
@@ -0,0 +1,45 @@
+-- Create leave accrual tables
+-- Policies: monthly credit per job role, department or company-wide (most specific wins)
+CREATE TABLE leave_accrual_policies (
+    policy_id VARCHAR(36) PRIMARY KEY,
+    scope ENUM('Company', 'Department', 'JobRole') NOT NULL,
+    scope_id VARCHAR(36) NULL,
+    monthly_days DECIMAL(5,2) NOT NULL,
+    max_balance DECIMAL(5,2) NULL,
+    carry_forward_limit DECIMAL(5,2) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    UNIQUE KEY uk_leave_accrual_policies_scope (scope, scope_id)
+);
+
+-- Runs: one per accrual month; the unique key makes a period's accrual run at most once
+CREATE TABLE leave_accrual_runs (
+    run_id VARCHAR(36) PRIMARY KEY,
+    accrual_year INT NOT NULL,
+    accrual_month INT NOT NULL,
+    employee_count INT NOT NULL DEFAULT 0,
+    total_credited DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    total_forfeited DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    triggered_by ENUM('Schedule', 'Manual') NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    UNIQUE KEY uk_leave_accrual_runs_period (accrual_year, accrual_month)
+);
+
+-- Audit: balance movement of every employee in a run
+CREATE TABLE leave_accrual_entries (
+    run_id VARCHAR(36) NOT NULL,
+    employee_id VARCHAR(36) NOT NULL,
+    policy_id VARCHAR(36) NOT NULL,
+    balance_before DECIMAL(5,2) NOT NULL,
+    days_forfeited DECIMAL(5,2) NOT NULL,
+    days_credited DECIMAL(5,2) NOT NULL,
+    balance_after DECIMAL(5,2) NOT NULL,
+    
+    PRIMARY KEY (run_id, employee_id),
+    FOREIGN KEY (run_id) REFERENCES leave_accrual_runs(run_id) ON DELETE CASCADE
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_leave_accrual_entries_employee ON leave_accrual_entries(employee_id);
@@ -0,0 +1,38 @@
+-- Move leave balances from employees.leave_balance to an append-only ledger
+-- Balance = snapshot balance + sum of the entries after the snapshot's seq
+CREATE TABLE leave_ledger_entries (
+    employee_id VARCHAR(36) NOT NULL,
+    seq INT NOT NULL,
+    entry_type ENUM('Opening', 'Adjustment', 'Accrual', 'Forfeit', 'LeaveTaken') NOT NULL,
+    days DECIMAL(7,2) NOT NULL,
+    reference_id VARCHAR(36) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    -- Writers append at the next seq they saw; a concurrent append to the same balance fails here
+    PRIMARY KEY (employee_id, seq),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+CREATE TABLE leave_balance_snapshots (
+    employee_id VARCHAR(36) PRIMARY KEY,
+    seq INT NOT NULL DEFAULT 0,
+    balance DECIMAL(7,2) NOT NULL DEFAULT 0.00,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_leave_ledger_entries_reference ON leave_ledger_entries(reference_id);
+
+-- Carry current balances over as opening entries, already compacted
+INSERT INTO leave_ledger_entries (employee_id, seq, entry_type, days, reference_id, created_at)
+SELECT employee_id, 1, 'Opening', leave_balance, NULL, CURRENT_TIMESTAMP FROM employees;
+
+INSERT INTO leave_balance_snapshots (employee_id, seq, balance, updated_at)
+SELECT employee_id, 1, leave_balance, CURRENT_TIMESTAMP FROM employees;
+
+ALTER TABLE employees DROP COLUMN leave_balance;
+
+-- Accrual runs append to the ledger at the position their balances were read from
+ALTER TABLE leave_accrual_entries ADD COLUMN ledger_seq INT NOT NULL DEFAULT 0 AFTER policy_id;
@@ -0,0 +1,21 @@
+-- Store payroll item IDs as time-ordered UUIDs in BINARY(16) instead of VARCHAR(36)
+-- Nothing references payroll_items.item_id, so the key can be swapped in place.
+-- Not an online migration: the ALTERs run without a table copy and allow concurrent DML, but the
+-- two UPDATE backfills rewrite every row in one transaction each and hold their row locks until they
+-- commit, and a payroll item written between the backfill and the NOT NULL change fails it.
+-- Run it with payroll processing stopped.
+-- IDs that are UUIDs keep their value; legacy non-UUID IDs (seed data) get a new UUID.
+ALTER TABLE payroll_items ADD COLUMN item_key BINARY(16) NULL, ALGORITHM=INSTANT;
+
+UPDATE payroll_items SET item_key = UUID_TO_BIN(item_id) WHERE IS_UUID(item_id) = 1;
+UPDATE payroll_items SET item_key = UUID_TO_BIN(UUID()) WHERE item_key IS NULL;
+
+ALTER TABLE payroll_items
+    MODIFY item_key BINARY(16) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (item_key),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE payroll_items DROP COLUMN item_id, ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE payroll_items RENAME COLUMN item_key TO item_id, ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,15 @@
+-- Department and job role each payroll item is costed to
+-- Stamped when the run is processed and again when it is locked; from then on the item keeps them, so
+-- reports, the cost rollups and the analytics store attribute a transferred employee's past pay alike.
+-- No foreign keys, as with payroll_cost_rollups: history must not block deleting a department later.
+ALTER TABLE payroll_items
+    ADD COLUMN department_id VARCHAR(36) NULL,
+    ADD COLUMN job_id VARCHAR(36) NULL,
+    ALGORITHM=INSTANT;
+
+-- Existing items are attributed to the employee's department and job role as of this migration
+UPDATE payroll_items pi
+JOIN employees e ON e.employee_id = pi.employee_id
+SET pi.department_id = e.department_id, pi.job_id = e.job_id;
+
+CREATE INDEX idx_payroll_items_department_id ON payroll_items(department_id);
@@ -0,0 +1,19 @@
+-- uk_leave_accrual_policies_scope (scope, scope_id) never stopped a second company-wide policy:
+-- its scope_id is NULL and NULLs are distinct in a unique key. Key policies by scope_key instead,
+-- which is scope_id with '' for the company-wide policy.
+ALTER TABLE leave_accrual_policies
+    ADD COLUMN scope_key VARCHAR(36) NOT NULL DEFAULT '',
+    ALGORITHM=INSTANT;
+
+UPDATE leave_accrual_policies SET scope_key = scope_id WHERE scope_id IS NOT NULL;
+
+-- Keep the most recently updated company-wide policy if concurrent saves left more than one
+DELETE p FROM leave_accrual_policies p
+JOIN leave_accrual_policies keep
+  ON keep.scope = 'Company' AND keep.scope_id IS NULL
+ AND (keep.updated_at > p.updated_at OR (keep.updated_at = p.updated_at AND keep.policy_id > p.policy_id))
+WHERE p.scope = 'Company' AND p.scope_id IS NULL;
+
+ALTER TABLE leave_accrual_policies
+    DROP INDEX uk_leave_accrual_policies_scope,
+    ADD UNIQUE KEY uk_leave_accrual_policies_scope (scope, scope_key);
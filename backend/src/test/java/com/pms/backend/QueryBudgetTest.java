@@ -0,0 +1,187 @@
+package com.pms.backend;
+
+import com.pms.backend.entity.*;
+import com.pms.backend.entity.enums.LeaveStatus;
+import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.entity.enums.PayrollStatus;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails when a list or detail endpoint issues more SQL statements than QUERY_BUDGET.
+ * The budget covers the conditional-GET version checks plus the fetch-planned read;
+ * the fixture has enough employees that a per-row lazy load blows it.
+ * H2 runs in MySQL mode so the MySQL dialect and its report queries still work.
+ * The statement instrumentation enforces the same budget on every JDBC statement, native ones included;
+ * bulk endpoints annotated with @StatementBudget are exempt.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jdbc.query-budget.max-statements=" + QueryBudgetTest.QUERY_BUDGET,
+        "jdbc.query-budget.action=FAIL"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int EMPLOYEES = 25;
+    static final int QUERY_BUDGET = 8;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private JobRoleRepository jobRoleRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveLedgerRepository leaveLedgerRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private SalaryStructureRepository salaryStructureRepository;
+    @Autowired private PayrollRunRepository payrollRunRepository;
+    @Autowired private PayrollItemRepository payrollItemRepository;
+
+    private String employeeId;
+    private String leaveId;
+    private String runId;
+
+    @BeforeAll
+    void seed() {
+        PayrollRun run = new PayrollRun();
+        run.setRunYear(2025);
+        run.setRunMonth(6);
+        run.setStatus(PayrollStatus.Locked);
+        runId = payrollRunRepository.save(run).getRunId();
+
+        for (int i = 0; i < EMPLOYEES; i++) {
+            // A department and job role per employee, so shared-association caching cannot hide N+1
+            Department department = new Department();
+            department.setDepartmentName("Department " + i);
+            department = departmentRepository.save(department);
+
+            JobRole jobRole = new JobRole();
+            jobRole.setJobTitle("Job " + i);
+            jobRole.setBaseSalary(new BigDecimal("50000.00"));
+            jobRole = jobRoleRepository.save(jobRole);
+
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("secret");
+            user.setRole(Role.Employee);
+            user = userRepository.save(user);
+
+            Employee employee = new Employee();
+            employee.setUserId(user.getUserId());
+            employee.setDepartmentId(department.getDepartmentId());
+            employee.setJobId(jobRole.getJobId());
+            employee.setFirstName("First" + i);
+            employee.setLastName("Last" + i);
+            employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+            employee = employeeRepository.save(employee);
+            employeeId = employee.getEmployeeId();
+            leaveLedgerRepository.batchOpen(Map.of(employeeId, new BigDecimal("10")));
+
+            LeaveRequest leave = new LeaveRequest();
+            leave.setEmployeeId(employeeId);
+            leave.setLeaveType(LeaveType.Casual);
+            leave.setStartDate(LocalDate.of(2025, 6, 2));
+            leave.setEndDate(LocalDate.of(2025, 6, 3));
+            leave.setStatus(LeaveStatus.Pending);
+            leaveId = leaveRequestRepository.save(leave).getLeaveId();
+
+            SalaryStructure structure = new SalaryStructure();
+            structure.setEmployeeId(employeeId);
+            structure.setBaseSalary(new BigDecimal("50000.00"));
+            structure.setEffectiveFrom(LocalDate.of(2024, 1, 1));
+            salaryStructureRepository.save(structure);
+
+            PayrollItem item = new PayrollItem();
+            item.setRunId(runId);
+            item.setEmployeeId(employeeId);
+            item.setBaseSalary(new BigDecimal("4000.00"));
+            item.setNetSalary(new BigDecimal("4000.00"));
+            item.setPayDate(LocalDate.of(2025, 6, 30));
+            payrollItemRepository.save(item);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/departments",
+            "/api/v1/jobs",
+            "/api/v1/employees",
+            "/api/v1/employees/page",
+            "/api/v1/employees/{employee}",
+            "/api/v1/employees/{employee}/salary-structures",
+            "/api/v1/employees/{employee}/salary-structures/current",
+            "/api/v1/leave-requests",
+            "/api/v1/leave-requests?status=Pending",
+            "/api/v1/leave-requests/page",
+            "/api/v1/leave-requests/{leave}",
+            "/api/v1/payroll/runs",
+            "/api/v1/payroll/runs/{run}",
+            "/api/v1/payroll/runs/{run}/items",
+            "/api/v1/payroll/runs/{run}/items/page",
+            "/api/v1/payroll/runs/{run}/employees/{employee}",
+            "/api/v1/payroll/employees/{employee}/payslips",
+            "/api/v1/payroll/employees/{employee}/payslips/page"
+    })
+    @WithMockUser(roles = "ADMIN")
+    void testEndpointStaysWithinQueryBudget(String template) throws Exception {
+        // Given
+        String url = template
+                .replace("{employee}", employeeId)
+                .replace("{leave}", leaveId)
+                .replace("{run}", runId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements issued by GET %s", template)
+                .isLessThanOrEqualTo(QUERY_BUDGET);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testBulkEndpointIsExemptFromQueryBudget() throws Exception {
+        // Given - processing writes a payroll item per employee, far more statements than QUERY_BUDGET
+        PayrollRun draft = new PayrollRun();
+        draft.setRunYear(2025);
+        draft.setRunMonth(7);
+        draft.setStatus(PayrollStatus.Draft);
+        String draftRunId = payrollRunRepository.save(draft).getRunId();
+
+        // When / Then
+        mockMvc.perform(post("/api/v1/payroll/runs/{runId}/process", draftRunId)).andExpect(status().isOk());
+        assertThat(payrollItemRepository.findByRunIdOrderByEmployeeId(draftRunId)).hasSize(EMPLOYEES);
+    }
+}
@@ -0,0 +1,183 @@
+package com.pms.backend.actuator;
+
+import com.pms.backend.dto.department.DepartmentCreateRequest;
+import com.pms.backend.dto.department.DepartmentUpdateRequest;
+import com.pms.backend.dto.leave.LeaveRequestCreateDto;
+import com.pms.backend.entity.Department;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.JobRole;
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.JobRoleRepository;
+import com.pms.backend.repository.UserRepository;
+import com.pms.backend.service.DepartmentService;
+import com.pms.backend.service.LeaveRequestService;
+import com.pms.backend.service.impl.LeaveBalanceLedger;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Departments go through the real service against H2 (MySQL mode) without a test transaction,
+ * so every call commits and the second-level cache sees what production would.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "scheduling.enabled=false"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheEndpointTest {
+
+    @Autowired private DepartmentService departmentService;
+    @Autowired private SecondLevelCacheEndpoint secondLevelCacheEndpoint;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private LeaveRequestService leaveRequestService;
+    @Autowired private LeaveBalanceLedger leaveBalanceLedger;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JobRoleRepository jobRoleRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testRepeatedLookupsAreServedFromTheCache() {
+        // Given
+        String departmentId = departmentService.createDepartment(new DepartmentCreateRequest("Cached")).getDepartmentId();
+        departmentService.getDepartmentById(departmentId);
+        departmentService.existsById(departmentId);
+        long statements = statistics.getPrepareStatementCount();
+
+        // When
+        departmentService.getDepartmentById(departmentId);
+        boolean exists = departmentService.existsById(departmentId);
+
+        // Then
+        assertThat(exists).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getCacheRegionStatistics("departments").getHitCount()).isPositive();
+        assertThat(statistics.getCacheRegionStatistics("reference-data-lookups").getHitCount()).isPositive();
+    }
+
+    @Test
+    void testUpdateInvalidatesCachedEntityAndLookups() {
+        // Given
+        String departmentId = departmentService.createDepartment(new DepartmentCreateRequest("Before")).getDepartmentId();
+        departmentService.getDepartmentById(departmentId);
+        // caches "name taken" for Before
+        assertThatThrownBy(() -> departmentService.createDepartment(new DepartmentCreateRequest("Before")))
+                .isInstanceOf(BadRequestException.class);
+
+        // When
+        departmentService.updateDepartment(departmentId, new DepartmentUpdateRequest("After"));
+
+        // Then - a rename is only allowed if the name lookup sees the committed state
+        assertThat(departmentService.getDepartmentById(departmentId).getDepartmentName()).isEqualTo("After");
+        String otherId = departmentService.createDepartment(new DepartmentCreateRequest("Before")).getDepartmentId();
+        assertThat(otherId).isNotEqualTo(departmentId);
+    }
+
+    @Test
+    void testDeleteInvalidatesExistsLookup() {
+        // Given
+        String departmentId = departmentService.createDepartment(new DepartmentCreateRequest("Removed")).getDepartmentId();
+        assertThat(departmentService.existsById(departmentId)).isTrue();
+
+        // When
+        departmentService.deleteDepartment(departmentId);
+
+        // Then
+        assertThat(departmentService.existsById(departmentId)).isFalse();
+    }
+
+    @Test
+    void testNativeLeaveWritesKeepDepartmentsCached() {
+        // Given
+        String departmentId = departmentService.createDepartment(new DepartmentCreateRequest("Untouched")).getDepartmentId();
+        String employeeId = employeeIn(departmentId);
+        departmentService.getDepartmentById(departmentId);
+        departmentService.existsById(departmentId);
+        assertThat(entityManagerFactory.getCache().contains(Department.class, departmentId)).isTrue();
+
+        // When - the statistics counter and ledger are written with native statements
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> leaveBalanceLedger.open(employeeId, new BigDecimal("5")));
+        LeaveRequestCreateDto request = new LeaveRequestCreateDto();
+        request.setLeaveType(LeaveType.Casual);
+        request.setStartDate(LocalDate.now().plusDays(30));
+        request.setEndDate(LocalDate.now().plusDays(31));
+        request.setReason("Cache check");
+        leaveRequestService.applyForLeave(employeeId, request);
+
+        // Then - neither the entity nor the lookup result was evicted
+        assertThat(entityManagerFactory.getCache().contains(Department.class, departmentId)).isTrue();
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(departmentService.existsById(departmentId)).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEndpointReportsRegionCounts() {
+        // Given
+        String departmentId = departmentService.createDepartment(new DepartmentCreateRequest("Reported")).getDepartmentId();
+        departmentService.getDepartmentById(departmentId);
+        departmentService.getDepartmentById(departmentId);
+
+        // When
+        Map<String, Object> body = secondLevelCacheEndpoint.cacheStatistics();
+
+        // Then
+        assertThat(body.get("statisticsEnabled")).isEqualTo(true);
+        Map<String, Object> regions = (Map<String, Object>) body.get("regions");
+        assertThat(regions).containsKeys("departments", "job-roles", "reference-data-lookups");
+        Map<String, Object> departments = (Map<String, Object>) regions.get("departments");
+        assertThat((Long) departments.get("hits")).isPositive();
+    }
+
+    private String employeeIn(String departmentId) {
+        JobRole jobRole = new JobRole();
+        jobRole.setJobTitle("Cache Job " + departmentId);
+        jobRole.setBaseSalary(new BigDecimal("40000.00"));
+        jobRole = jobRoleRepository.save(jobRole);
+
+        User user = new User();
+        user.setUsername("cache-" + departmentId);
+        user.setEmail("cache-" + departmentId + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.Employee);
+        user = userRepository.save(user);
+
+        Employee employee = new Employee();
+        employee.setUserId(user.getUserId());
+        employee.setDepartmentId(departmentId);
+        employee.setJobId(jobRole.getJobId());
+        employee.setFirstName("Cache");
+        employee.setLastName("Check");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        return employeeRepository.save(employee).getEmployeeId();
+    }
+}
@@ -0,0 +1,114 @@
+package com.pms.backend.analytics;
+
+import com.pms.backend.dto.department.DepartmentCreateRequest;
+import com.pms.backend.dto.payroll.PayrollRunCreateRequest;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.JobRole;
+import com.pms.backend.entity.PayrollCostRollup;
+import com.pms.backend.entity.SalaryStructure;
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.JobRoleRepository;
+import com.pms.backend.repository.PayrollCostRollupRepository;
+import com.pms.backend.repository.PayrollItemRepository;
+import com.pms.backend.repository.SalaryStructureRepository;
+import com.pms.backend.repository.UserRepository;
+import com.pms.backend.service.DepartmentService;
+import com.pms.backend.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A payroll run goes through the real services against H2 (MySQL mode) without a test transaction,
+ * so the lock commits and the column store is fed the way it is in production.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:attribution;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "scheduling.enabled=false"
+})
+@ActiveProfiles("test")
+class PayrollAttributionTest {
+
+    @Autowired private PayrollService payrollService;
+    @Autowired private DepartmentService departmentService;
+    @Autowired private PayrollColumnStore payrollColumnStore;
+    @Autowired private PayrollItemRepository payrollItemRepository;
+    @Autowired private PayrollCostRollupRepository payrollCostRollupRepository;
+    @Autowired private SalaryStructureRepository salaryStructureRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private JobRoleRepository jobRoleRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void testTransferredEmployeeStaysCostedToTheDepartmentHeldAtLock() {
+        // Given - processed in Sales, moved to Support before the lock, then to Finance after it
+        String sales = departmentService.createDepartment(new DepartmentCreateRequest("Sales")).getDepartmentId();
+        String support = departmentService.createDepartment(new DepartmentCreateRequest("Support")).getDepartmentId();
+        String finance = departmentService.createDepartment(new DepartmentCreateRequest("Finance")).getDepartmentId();
+        String employeeId = employeeIn(sales);
+        String runId = payrollService.createPayrollRun(new PayrollRunCreateRequest(2030, 1)).getRunId();
+        payrollService.processPayrollRun(runId);
+        transfer(employeeId, support);
+
+        // When
+        payrollService.lockPayrollRun(runId);
+        transfer(employeeId, finance);
+
+        // Then - the store, the JPQL report and the rollups all cost the run to Support
+        assertThat(payrollColumnStore.aggregateByDepartment(2030, 1, null, null))
+                .extracting(PayrollColumnStore.Aggregate::getDepartmentId).containsExactly(support);
+        assertThat(payrollItemRepository.getDepartmentCostReport(2030, 1, null, null))
+                .extracting(row -> row[0]).containsExactly(support);
+        assertThat(payrollCostRollupRepository.findAll())
+                .filteredOn(rollup -> rollup.getRunId().equals(runId))
+                .extracting(PayrollCostRollup::getDepartmentId).containsExactly(support);
+
+        payrollColumnStore.reload();
+        assertThat(payrollColumnStore.aggregateByDepartment(2030, 1, null, null))
+                .extracting(PayrollColumnStore.Aggregate::getDepartmentId).containsExactly(support);
+    }
+
+    private void transfer(String employeeId, String departmentId) {
+        Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+        employee.setDepartmentId(departmentId);
+        employeeRepository.save(employee);
+    }
+
+    private String employeeIn(String departmentId) {
+        JobRole jobRole = new JobRole();
+        jobRole.setJobTitle("Attribution Job");
+        jobRole.setBaseSalary(new BigDecimal("60000.00"));
+        jobRole = jobRoleRepository.save(jobRole);
+
+        User user = new User();
+        user.setUsername("attribution");
+        user.setEmail("attribution@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.Employee);
+        user = userRepository.save(user);
+
+        Employee employee = new Employee();
+        employee.setUserId(user.getUserId());
+        employee.setDepartmentId(departmentId);
+        employee.setJobId(jobRole.getJobId());
+        employee.setFirstName("Attribution");
+        employee.setLastName("Check");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        String employeeId = employeeRepository.save(employee).getEmployeeId();
+
+        SalaryStructure salaryStructure = new SalaryStructure();
+        salaryStructure.setEmployeeId(employeeId);
+        salaryStructure.setBaseSalary(new BigDecimal("60000.00"));
+        salaryStructure.setEffectiveFrom(LocalDate.of(2029, 1, 1));
+        salaryStructureRepository.save(salaryStructure);
+        return employeeId;
+    }
+}
@@ -0,0 +1,134 @@
+package com.pms.backend.analytics;
+
+import com.pms.backend.repository.PayrollItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollColumnStoreTest {
+
+    @Mock private PayrollItemRepository payrollItemRepository;
+
+    private PayrollColumnStore store;
+
+    @BeforeEach
+    void setup() {
+        store = new PayrollColumnStore(payrollItemRepository, true);
+    }
+
+    @Test
+    void testReload_AggregatesByDepartment_WithDistinctEmployees() {
+        // Given - emp-1 paid in two months, emp-2 once, all in dept-1; emp-3 in dept-2
+        List<Object[]> facts = new ArrayList<>();
+        facts.add(fact("run-1", "emp-1", "dept-1", 2024, 1, "1000.00", "100.00", "50.00", "1050.00"));
+        facts.add(fact("run-1", "emp-2", "dept-1", 2024, 1, "2000.00", "0.00", "0.00", "2000.00"));
+        facts.add(fact("run-1", "emp-3", "dept-2", 2024, 1, "500.50", "0.00", "0.25", "500.25"));
+        facts.add(fact("run-2", "emp-1", "dept-1", 2024, 2, "1000.00", "0.00", "0.00", "1000.00"));
+        when(payrollItemRepository.findLockedPayrollFacts(null)).thenReturn(facts);
+
+        // When
+        store.reload();
+        List<PayrollColumnStore.Aggregate> result = store.aggregateByDepartment(2024, null, null, null);
+
+        // Then
+        assertThat(store.isReady()).isTrue();
+        assertThat(result).hasSize(2);
+        PayrollColumnStore.Aggregate dept1 = find(result, "dept-1");
+        assertThat(dept1.getEmployeeCount()).isEqualTo(2L);
+        assertThat(dept1.getTotalBaseSalary()).isEqualByComparingTo("4000.00");
+        assertThat(dept1.getTotalNetSalary()).isEqualByComparingTo("4050.00");
+        assertThat(find(result, "dept-2").getTotalDeductions()).isEqualByComparingTo("0.25");
+    }
+
+    @Test
+    void testAggregateByDepartment_AppliesMonthAndYearRangeFilters() {
+        // Given
+        List<Object[]> facts = new ArrayList<>();
+        facts.add(fact("run-1", "emp-1", "dept-1", 2023, 12, "1000.00", "0.00", "0.00", "1000.00"));
+        facts.add(fact("run-2", "emp-1", "dept-1", 2024, 1, "1100.00", "0.00", "0.00", "1100.00"));
+        when(payrollItemRepository.findLockedPayrollFacts(null)).thenReturn(facts);
+        store.reload();
+
+        // When / Then
+        assertThat(store.aggregateByDepartment(null, 12, null, null).get(0).getTotalNetSalary())
+                .isEqualByComparingTo("1000.00");
+        assertThat(store.aggregateByDepartment(null, null, 2024, 2024).get(0).getTotalNetSalary())
+                .isEqualByComparingTo("1100.00");
+        assertThat(store.aggregateByDepartment(2025, null, null, null)).isEmpty();
+    }
+
+    @Test
+    void testAppendRun_AddsLockedRunOnce() {
+        // Given
+        when(payrollItemRepository.findLockedPayrollFacts(null)).thenReturn(new ArrayList<>());
+        store.reload();
+        List<Object[]> runFacts = new ArrayList<>();
+        runFacts.add(fact("run-3", "emp-1", "dept-1", 2024, 3, "1000.00", "0.00", "0.00", "1000.00"));
+
+        // When - delivered twice
+        store.appendRun("run-3", runFacts);
+        store.appendRun("run-3", runFacts);
+
+        // Then
+        assertThat(store.size()).isEqualTo(1);
+        List<PayrollColumnStore.Aggregate> months = store.aggregateByMonth(null, null);
+        assertThat(months).hasSize(1);
+        assertThat(months.get(0).getYear()).isEqualTo(2024);
+        assertThat(months.get(0).getMonth()).isEqualTo(3);
+    }
+
+    @Test
+    void testRemoveEmployee_DropsTheirItems() {
+        // Given
+        List<Object[]> facts = new ArrayList<>();
+        facts.add(fact("run-1", "emp-1", "dept-1", 2024, 1, "1000.00", "0.00", "0.00", "1000.00"));
+        facts.add(fact("run-1", "emp-2", "dept-1", 2024, 1, "2000.00", "0.00", "0.00", "2000.00"));
+        when(payrollItemRepository.findLockedPayrollFacts(null)).thenReturn(facts);
+        store.reload();
+
+        // When
+        store.removeEmployee("emp-1");
+
+        // Then
+        List<PayrollColumnStore.Aggregate> months = store.aggregateByMonth(2024, 2024);
+        assertThat(months).hasSize(1);
+        assertThat(months.get(0).getEmployeeCount()).isEqualTo(1L);
+        assertThat(months.get(0).getTotalNetSalary()).isEqualByComparingTo("2000.00");
+    }
+
+    @Test
+    void testIsReady_FalseWhenDisabled() {
+        // Given
+        PayrollColumnStore disabled = new PayrollColumnStore(payrollItemRepository, false);
+
+        // When
+        disabled.loadOnStartup();
+
+        // Then
+        assertThat(disabled.isReady()).isFalse();
+    }
+
+    private Object[] fact(String runId, String employeeId, String departmentId, int year, int month,
+                          String base, String bonus, String deductions, String net) {
+        return new Object[]{runId, employeeId, departmentId, "job-1", year, month,
+                new BigDecimal(base), new BigDecimal(bonus), new BigDecimal(deductions), new BigDecimal(net)};
+    }
+
+    private PayrollColumnStore.Aggregate find(List<PayrollColumnStore.Aggregate> aggregates, String departmentId) {
+        return aggregates.stream()
+                .filter(a -> departmentId.equals(a.getDepartmentId()))
+                .min(Comparator.comparing(PayrollColumnStore.Aggregate::getDepartmentId))
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,58 @@
+package com.pms.backend.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopNTest {
+
+    @Test
+    void testSelect_ReturnsLargestInRankingOrder() {
+        // Given
+        List<Integer> values = Arrays.asList(5, 1, 9, 3, 7, 2, 8);
+
+        // When
+        List<Integer> top = TopN.select(values, Comparator.<Integer>reverseOrder(), 0, 3);
+
+        // Then
+        assertThat(top).containsExactly(9, 8, 7);
+    }
+
+    @Test
+    void testSelect_AppliesOffsetLikeAFullSort() {
+        // Given
+        List<Integer> values = IntStream.range(0, 1000).map(i -> (i * 37) % 1000).boxed().collect(Collectors.toList());
+        List<Integer> sorted = values.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+
+        // When
+        List<Integer> window = TopN.select(values, Comparator.<Integer>reverseOrder(), 20, 10);
+
+        // Then
+        assertThat(window).isEqualTo(sorted.subList(20, 30));
+    }
+
+    @Test
+    void testSelect_OffsetPastEnd_ReturnsEmpty() {
+        // When
+        List<Integer> window = TopN.select(Arrays.asList(1, 2, 3), Comparator.<Integer>naturalOrder(), 5, 10);
+
+        // Then
+        assertThat(window).isEmpty();
+    }
+
+    @Test
+    void testSelect_OffsetPlusLimitPastIntRange_DoesNotOverflow() {
+        // When
+        List<Integer> window = TopN.select(Arrays.asList(1, 2, 3), Comparator.<Integer>naturalOrder(),
+                Integer.MAX_VALUE, 10);
+
+        // Then
+        assertThat(window).isEmpty();
+    }
+}
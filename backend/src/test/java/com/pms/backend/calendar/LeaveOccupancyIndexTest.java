@@ -0,0 +1,136 @@
+package com.pms.backend.calendar;
+
+import com.pms.backend.dto.leave.AbsenteeDto;
+import com.pms.backend.dto.leave.DayAvailabilityDto;
+import com.pms.backend.dto.leave.TeamAvailabilityDto;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.enums.LeaveStatus;
+import com.pms.backend.event.EmployeeDeletedEvent;
+import com.pms.backend.event.EmployeesChangedEvent;
+import com.pms.backend.event.LeaveRequestsChangedEvent;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveOccupancyIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock private LeaveRequestRepository leaveRequestRepository;
+    @Mock private EmployeeRepository employeeRepository;
+
+    private LeaveOccupancyIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new LeaveOccupancyIndex(leaveRequestRepository, employeeRepository, true, 30);
+    }
+
+    @Test
+    void testAvailability_CountsApprovedAndPendingPerDay() {
+        // Given - Ana approved days 1-3, Bo pending days 2-4, Cy in another department
+        load(row("l-1", "e-1", 1, 3, LeaveStatus.Approved, "Ana", "Silva", "dept-1"),
+             row("l-2", "e-2", 2, 4, LeaveStatus.Pending, "Bo", "Lee", "dept-1"),
+             row("l-3", "e-3", 1, 9, LeaveStatus.Approved, "Cy", "Ng", "dept-2"));
+
+        // When
+        TeamAvailabilityDto result = index.availability("dept-1", TODAY, TODAY.plusDays(5));
+
+        // Then
+        List<DayAvailabilityDto> days = result.getDays();
+        assertThat(days).hasSize(6);
+        assertThat(days).extracting(DayAvailabilityDto::getAbsentCount).containsExactly(0, 1, 1, 1, 0, 0);
+        assertThat(days).extracting(DayAvailabilityDto::getPendingCount).containsExactly(0, 0, 1, 1, 1, 0);
+        assertThat(days.get(2).getAbsentees()).extracting(AbsenteeDto::getEmployeeName)
+                .containsExactly("Ana Silva", "Bo Lee");
+        assertThat(days.get(4).getAbsentees()).extracting(AbsenteeDto::getStatus)
+                .containsExactly(LeaveStatus.Pending);
+        verify(leaveRequestRepository, never()).findOccupancy(eq("dept-1"), any(), any());
+    }
+
+    @Test
+    void testOnLeaveRequestsChanged_AppliesDecisionsAndCancellations() {
+        // Given
+        load(row("l-1", "e-1", 1, 3, LeaveStatus.Pending, "Ana", "Silva", "dept-1"),
+             row("l-2", "e-2", 2, 2, LeaveStatus.Pending, "Bo", "Lee", "dept-1"));
+
+        // When - l-1 approved, l-2 cancelled (no longer loads)
+        List<Object[]> changed = new ArrayList<>();
+        changed.add(row("l-1", "e-1", 1, 3, LeaveStatus.Approved, "Ana", "Silva", "dept-1"));
+        when(leaveRequestRepository.findOccupancyByLeaveIdIn(anyCollection())).thenReturn(changed);
+        index.onLeaveRequestsChanged(new LeaveRequestsChangedEvent(List.of("l-1", "l-2")));
+
+        // Then
+        List<DayAvailabilityDto> days = index.availability("dept-1", TODAY, TODAY.plusDays(3)).getDays();
+        assertThat(days).extracting(DayAvailabilityDto::getAbsentCount).containsExactly(0, 1, 1, 1);
+        assertThat(days).extracting(DayAvailabilityDto::getPendingCount).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    void testEmployeeEvents_MoveAndRemoveEmployees() {
+        // Given
+        load(row("l-1", "e-1", 0, 1, LeaveStatus.Approved, "Ana", "Silva", "dept-1"),
+             row("l-2", "e-2", 0, 1, LeaveStatus.Approved, "Bo", "Lee", "dept-1"));
+        Employee moved = new Employee();
+        moved.setEmployeeId("e-1");
+        moved.setFirstName("Ana");
+        moved.setLastName("Costa");
+        moved.setDepartmentId("dept-2");
+        when(employeeRepository.findAllById(List.of("e-1"))).thenReturn(List.of(moved));
+
+        // When
+        index.onEmployeesChanged(new EmployeesChangedEvent(List.of("e-1", "e-9")));
+        index.onEmployeeDeleted(new EmployeeDeletedEvent("e-2"));
+
+        // Then
+        assertThat(index.availability("dept-1", TODAY, TODAY).getDays().get(0).getAbsentCount()).isZero();
+        assertThat(index.availability("dept-2", TODAY, TODAY).getDays().get(0).getAbsentees())
+                .extracting(AbsenteeDto::getEmployeeName).containsExactly("Ana Costa");
+    }
+
+    @Test
+    void testAvailability_QueriesDatabaseForWindowBeforeLoadedDays() {
+        // Given - loaded days start 30 days back
+        load();
+        LocalDate from = TODAY.minusDays(60);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row("l-1", "e-1", -61, -59, LeaveStatus.Approved, "Ana", "Silva", "dept-1"));
+        when(leaveRequestRepository.findOccupancy("dept-1", from, from.plusDays(2))).thenReturn(rows);
+
+        // When
+        TeamAvailabilityDto result = index.availability("dept-1", from, from.plusDays(2));
+
+        // Then
+        assertThat(result.getDays()).extracting(DayAvailabilityDto::getAbsentCount).containsExactly(1, 1, 0);
+    }
+
+    private void load(Object[]... rows) {
+        when(leaveRequestRepository.findOccupancy(isNull(), eq(TODAY.minusDays(30)), isNull()))
+                .thenReturn(new ArrayList<>(List.of(rows)));
+        index.reload();
+    }
+
+    private Object[] row(String leaveId, String employeeId, int startOffset, int endOffset, LeaveStatus status,
+                         String firstName, String lastName, String departmentId) {
+        return new Object[]{leaveId, employeeId, TODAY.plusDays(startOffset), TODAY.plusDays(endOffset), status,
+                firstName, lastName, departmentId};
+    }
+}
@@ -0,0 +1,92 @@
+package com.pms.backend.calendar;
+
+import com.pms.backend.entity.Holiday;
+import com.pms.backend.event.HolidaysChangedEvent;
+import com.pms.backend.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkingDayCalendarTest {
+
+    @Mock private HolidayRepository holidayRepository;
+
+    private WorkingDayCalendar calendar;
+    private final List<Holiday> holidays = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        calendar = new WorkingDayCalendar(holidayRepository, "SATURDAY,SUNDAY");
+        when(holidayRepository.findObservedBetween(any(), any(), any())).thenAnswer(invocation -> {
+            String location = invocation.getArgument(0);
+            LocalDate from = invocation.getArgument(1);
+            LocalDate to = invocation.getArgument(2);
+            return holidays.stream()
+                    .filter(h -> h.getLocation() == null || h.getLocation().equals(location))
+                    .filter(h -> !h.getHolidayDate().isBefore(from) && !h.getHolidayDate().isAfter(to))
+                    .toList();
+        });
+    }
+
+    @Test
+    void testWorkingDaysBetween_SkipsWeekendsAndHolidays() {
+        // Given - January 2025 has 23 weekdays; New Year is company-wide, 14 Jan only in Bengaluru
+        holidays.add(new Holiday(LocalDate.of(2025, 1, 1), "New Year", null));
+        holidays.add(new Holiday(LocalDate.of(2025, 1, 14), "Sankranti", "Bengaluru"));
+
+        // When / Then
+        assertThat(calendar.workingDaysIn(YearMonth.of(2025, 1))).isEqualTo(22);
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), "Bengaluru"))
+                .isEqualTo(21);
+        // Fri 3 Jan to Mon 6 Jan: the weekend is not counted
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 6))).isEqualTo(2);
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 1, 4))).isFalse();
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 3))).isZero();
+    }
+
+    @Test
+    void testWorkingDaysBetween_SpansYearBoundary() {
+        // Given - Mon 29 Dec 2025 to Fri 2 Jan 2026
+        holidays.add(new Holiday(LocalDate.of(2026, 1, 1), "New Year", null));
+
+        // When
+        int workingDays = calendar.workingDaysBetween(LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 2));
+
+        // Then
+        assertThat(workingDays).isEqualTo(4);
+    }
+
+    @Test
+    void testTables_BuiltOncePerYearAndRebuiltWhenHolidaysChange() {
+        // Given
+        LocalDate from = LocalDate.of(2025, 3, 3);
+        LocalDate to = LocalDate.of(2025, 3, 7);
+        assertThat(calendar.workingDaysBetween(from, to)).isEqualTo(5);
+        assertThat(calendar.workingDaysBetween(from, to)).isEqualTo(5);
+        verify(holidayRepository, times(1)).findObservedBetween(isNull(), eq(LocalDate.of(2025, 1, 1)), any());
+
+        // When
+        holidays.add(new Holiday(LocalDate.of(2025, 3, 5), "Founders Day", null));
+        calendar.onHolidaysChanged(new HolidaysChangedEvent(2025));
+
+        // Then
+        assertThat(calendar.workingDaysBetween(from, to)).isEqualTo(4);
+        assertThat(calendar.cachedTables()).isEqualTo(1);
+    }
+}
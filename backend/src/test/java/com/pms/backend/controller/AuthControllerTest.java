@@ -7,6 +7,8 @@ import com.pms.backend.entity.enums.Role;
 import com.pms.backend.repository.UserRepository;
 import com.pms.backend.security.CustomUserDetailsService;
 import com.pms.backend.security.JwtTokenProvider;
+import com.pms.backend.security.LoginRateLimiter;
+import com.pms.backend.security.LoginThrottledException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -23,6 +25,10 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +45,7 @@ class AuthControllerTest {
     @MockBean private JwtTokenProvider jwtTokenProvider;
     @MockBean private CustomUserDetailsService customUserDetailsService;
     @MockBean private UserRepository userRepository;
+    @MockBean private LoginRateLimiter loginRateLimiter;
 
     @Test
     void testLogin_Success_ReturnsToken() throws Exception {
@@ -84,6 +91,24 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    void testLogin_Throttled_Returns429WithRetryAfter() throws Exception {
+        // Given
+        LoginRequest req = new LoginRequest();
+        req.setUsername("admin");
+        req.setPassword("guess");
+
+        doThrow(new LoginThrottledException("Too many login attempts for this user", 42))
+                .when(loginRateLimiter).acquire(anyString(), anyString());
 
+        // When / Then
+        mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "42"))
+                .andExpect(jsonPath("$.success").value(false));
+        verify(authenticationManager, never()).authenticate(any(Authentication.class));
+    }
+}
@@ -1,19 +1,30 @@
 package com.pms.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.backend.dto.VersionStamp;
 import com.pms.backend.dto.department.DepartmentCreateRequest;
 import com.pms.backend.service.DepartmentService;
+import com.pms.backend.service.ResourceVersionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -25,6 +36,7 @@ class DepartmentControllerTest {
     @Autowired private ObjectMapper objectMapper;
 
     @MockBean private DepartmentService departmentService;
+    @MockBean private ResourceVersionService resourceVersionService;
 
     @Test
     @WithMockUser(roles = "ADMIN")
@@ -39,6 +51,31 @@ class DepartmentControllerTest {
                 .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetAllDepartments_SendsEtag() throws Exception {
+        // Given
+        VersionStamp version = new VersionStamp(3L, LocalDateTime.now().minusMinutes(5));
+        when(resourceVersionService.getDepartmentsVersion()).thenReturn(version);
+        when(departmentService.getAllDepartments()).thenReturn(List.of());
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/departments"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.toEtag()));
+    }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetAllDepartments_MatchingEtag_ShouldReturn304WithoutLoading() throws Exception {
+        // Given
+        VersionStamp version = new VersionStamp(3L, LocalDateTime.now().minusMinutes(5));
+        when(resourceVersionService.getDepartmentsVersion()).thenReturn(version);
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/departments").header(HttpHeaders.IF_NONE_MATCH, version.toEtag()))
+                .andExpect(status().isNotModified());
+        verify(departmentService, never()).getAllDepartments();
+    }
+}
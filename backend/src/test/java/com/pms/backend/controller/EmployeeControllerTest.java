@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pms.backend.dto.employee.EmployeeCreateRequest;
 import com.pms.backend.dto.employee.EmployeeResponse;
 import com.pms.backend.service.EmployeeService;
+import com.pms.backend.service.ResourceVersionService;
 import com.pms.backend.service.SalaryStructureService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +34,7 @@ class EmployeeControllerTest {
 
     @MockBean private EmployeeService employeeService;
     @MockBean private SalaryStructureService salaryStructureService;
+    @MockBean private ResourceVersionService resourceVersionService;
 
     @Test
     void testGetEmployees_Unauthenticated_ShouldReturn401() throws Exception {
@@ -0,0 +1,225 @@
+package com.pms.backend.datasource;
+
+import com.pms.backend.config.DataSourceRoutingConfig;
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two local H2 databases stand in for primary and replica; each knows its own name
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setup() {
+        primary = database("routing_primary");
+        replica = database("routing_replica");
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplicaAndOthersPrimary() {
+        // Given
+        Routed routed = routed(replica, new RecentWriters(5000, 100), true);
+
+        // When / Then
+        assertThat(routed.read()).isEqualTo("routing_replica");
+        assertThat(routed.write()).isEqualTo("routing_primary");
+        assertThat(routed.jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("routing_primary");
+    }
+
+    @Test
+    void testUserReadsOwnWritesFromPrimaryWithinWindow() {
+        // Given
+        RecentWriters recentWriters = new RecentWriters(60_000, 100);
+        Routed routed = routed(replica, recentWriters, true);
+        signIn("u-1");
+
+        // When
+        routed.write();
+
+        // Then - the writer stays on the primary, another user reads the replica
+        assertThat(routed.read()).isEqualTo("routing_primary");
+        signIn("u-2");
+        assertThat(routed.read()).isEqualTo("routing_replica");
+    }
+
+    @Test
+    void testWriteWindowExpires() throws InterruptedException {
+        // Given
+        RecentWriters recentWriters = new RecentWriters(50, 100);
+        Routed routed = routed(replica, recentWriters, true);
+        signIn("u-1");
+        routed.write();
+
+        // When
+        Thread.sleep(80);
+
+        // Then
+        assertThat(routed.read()).isEqualTo("routing_replica");
+        assertThat(recentWriters.size()).isZero();
+    }
+
+    @Test
+    void testFallsBackToPrimaryWhenReplicaIsDown() throws SQLException {
+        // Given
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Routed routed = routed(down, new RecentWriters(5000, 100), true);
+
+        // When / Then
+        assertThat(routed.read()).isEqualTo("routing_primary");
+    }
+
+    @Test
+    void testEachJpaTransactionRoutesAfreshInsideOpenEntityManagerInView() {
+        // Given - one EntityManager spans the request, as with spring.jpa.open-in-view=true
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, new RecentWriters(0, 100), true));
+        LocalContainerEntityManagerFactoryBean factoryBean = entityManagerFactory(dataSource);
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        WebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // When - a read-only lookup (e.g. the current employee) precedes the write
+        openInView.preHandle(request);
+        try {
+            String read = readOnly.execute(status -> nodeName(entityManager));
+            String written = readWrite.execute(status -> {
+                entityManager.createNativeQuery("UPDATE node SET name = name").executeUpdate();
+                return nodeName(entityManager);
+            });
+            String readAgain = readOnly.execute(status -> nodeName(entityManager));
+
+            // Then - the write is not stuck on the replica connection, nor the next read on the primary
+            assertThat(read).isEqualTo("routing_replica");
+            assertThat(written).isEqualTo("routing_primary");
+            assertThat(readAgain).isEqualTo("routing_replica");
+        } finally {
+            openInView.afterCompletion(request, null);
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    void testRecentWriters_ZeroWindowTracksNobody() {
+        // Given
+        RecentWriters recentWriters = new RecentWriters(0, 2);
+
+        // When
+        recentWriters.recordWrite("u-1");
+
+        // Then
+        assertThat(recentWriters.wroteRecently("u-1")).isFalse();
+        assertThat(recentWriters.size()).isZero();
+    }
+
+    private Routed routed(DataSource replicaPool, RecentWriters recentWriters, boolean fallbackToPrimary) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replicaPool, recentWriters, fallbackToPrimary));
+        return new Routed(dataSource);
+    }
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+        Map<String, Object> properties = new HashMap<>();
+        new DataSourceRoutingConfig().releaseConnectionAfterTransaction().customize(properties);
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(ReadWriteRoutingDataSourceTest.class.getPackageName());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+
+    private static String nodeName(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult();
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void signIn(String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername(userId);
+        user.setRole(Role.Employee);
+        UserPrincipal principal = UserPrincipal.fromUser(user, null);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static final class Routed {
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        private Routed(DataSource dataSource) {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        private String read() {
+            return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+
+        private String write() {
+            return readWrite.execute(status -> {
+                jdbc.update("UPDATE node SET name = name");
+                return jdbc.queryForObject("SELECT name FROM node", String.class);
+            });
+        }
+    }
+}
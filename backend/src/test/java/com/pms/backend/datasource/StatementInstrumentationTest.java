@@ -0,0 +1,170 @@
+package com.pms.backend.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Statements run against a local H2 database through the same datasource-proxy wiring as the application
+ */
+class StatementInstrumentationTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testScopeRecordsStatementCountUnderItsRoute() {
+        // Given
+        StatementInstrumentation instrumentation = instrumentation(0, 0, StatementInstrumentation.BudgetAction.OFF);
+        JdbcTemplate jdbc = jdbc(instrumentation);
+
+        // When - the route is only known after dispatch
+        try (StatementInstrumentation.Scope scope = instrumentation.openRequest("GET UNMATCHED")) {
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            jdbc.update("UPDATE node SET name = ?", "secret");
+            scope.route("GET /api/v1/nodes");
+        }
+        jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+
+        // Then - the statement outside the scope is not attributed to it
+        DistributionSummary statements = meterRegistry.get("jdbc.scope.statements")
+                .tag("route", "GET /api/v1/nodes").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("jdbc.scope.statement.time").tag("route", "GET /api/v1/nodes").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testJobsJoinedByNestedScopesAreRecordedOnce() {
+        // Given
+        StatementInstrumentation instrumentation = instrumentation(0, 1, StatementInstrumentation.BudgetAction.FAIL);
+        JdbcTemplate jdbc = jdbc(instrumentation);
+
+        // When - jobs are never budgeted
+        try (StatementInstrumentation.Scope job = instrumentation.openJob("leave-accrual")) {
+            try (StatementInstrumentation.Scope nested = instrumentation.openRequest("GET /api/v1/nodes")) {
+                jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+                jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            }
+            assertThat(job.statements()).isEqualTo(2);
+        }
+
+        // Then
+        assertThat(meterRegistry.get("jdbc.scope.statements").summaries()).hasSize(1);
+        assertThat(meterRegistry.get("jdbc.scope.statements").tag("route", "job:leave-accrual").summary().totalAmount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testFailModeRejectsTheStatementOverBudget() {
+        // Given
+        StatementInstrumentation instrumentation = instrumentation(0, 2, StatementInstrumentation.BudgetAction.FAIL);
+        JdbcTemplate jdbc = jdbc(instrumentation);
+
+        // When / Then
+        try (StatementInstrumentation.Scope scope = instrumentation.openRequest("GET /api/v1/nodes")) {
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            assertThatThrownBy(() -> jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class))
+                    .isInstanceOf(QueryBudgetExceededException.class)
+                    .hasMessageContaining("budget of 2");
+            assertThat(scope.statements()).isEqualTo(2);
+        }
+        assertThat(meterRegistry.get("jdbc.scope.budget.exceeded").tag("action", "fail").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testHandlerBudgetReplacesTheDefault() {
+        // Given
+        StatementInstrumentation instrumentation = instrumentation(0, 1, StatementInstrumentation.BudgetAction.FAIL);
+        JdbcTemplate jdbc = jdbc(instrumentation);
+
+        // When - a bulk route is exempt, another gets a larger budget
+        try (StatementInstrumentation.Scope scope = instrumentation.openRequest("POST /api/v1/payroll/runs/{runId}/process")) {
+            scope.budget(StatementBudget.UNLIMITED);
+            for (int i = 0; i < 5; i++) {
+                jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            }
+        }
+        try (StatementInstrumentation.Scope scope = instrumentation.openRequest("GET /api/v1/nodes")) {
+            scope.budget(3);
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            assertThatThrownBy(() -> jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class))
+                    .isInstanceOf(QueryBudgetExceededException.class)
+                    .hasMessageContaining("budget of 3");
+        }
+
+        // Then
+        assertThat(meterRegistry.get("jdbc.scope.statements")
+                .tag("route", "POST /api/v1/payroll/runs/{runId}/process").summary().totalAmount()).isEqualTo(5);
+        assertThat(meterRegistry.find("jdbc.scope.budget.exceeded")
+                .tag("route", "POST /api/v1/payroll/runs/{runId}/process").counter()).isNull();
+    }
+
+    @Test
+    void testWarnModeLetsTheRequestFinish() {
+        // Given
+        StatementInstrumentation instrumentation = instrumentation(0, 1, StatementInstrumentation.BudgetAction.WARN);
+        JdbcTemplate jdbc = jdbc(instrumentation);
+
+        // When
+        try (StatementInstrumentation.Scope ignored = instrumentation.openRequest("GET /api/v1/nodes")) {
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+            jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+        }
+
+        // Then
+        assertThat(meterRegistry.get("jdbc.scope.budget.exceeded").tag("action", "warn").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testSlowStatementsAreCountedAndLoggedWithoutValues() {
+        // Given - every statement counts as slow at a 1 ms threshold once H2 is made to sleep
+        StatementInstrumentation instrumentation = instrumentation(1, 0, StatementInstrumentation.BudgetAction.OFF);
+        JdbcTemplate jdbc = jdbc(instrumentation);
+
+        // When
+        jdbc.queryForObject("SELECT SLEEP_MS(?) FROM node WHERE name <> 'payroll-secret'", Integer.class, 5);
+
+        // Then
+        assertThat(meterRegistry.get("jdbc.statements.slow").tag("route", "none").counter().count()).isEqualTo(1);
+        assertThat(StatementInstrumentation.redact(List.of(
+                new QueryInfo("SELECT * FROM users\n  WHERE email = 'a@b.c' AND note = 'it''s' AND id = ?"))))
+                .isEqualTo("SELECT * FROM users WHERE email = ? AND note = ? AND id = ?");
+    }
+
+    private StatementInstrumentation instrumentation(long slowMillis, int budget,
+                                                     StatementInstrumentation.BudgetAction action) {
+        return new StatementInstrumentation(meterRegistry, slowMillis, budget, action);
+    }
+
+    private static JdbcTemplate jdbc(StatementInstrumentation instrumentation) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+        setup.execute("CREATE ALIAS IF NOT EXISTS SLEEP_MS FOR 'java.lang.Thread.sleep'");
+        setup.update("DELETE FROM node");
+        setup.update("INSERT INTO node (name) VALUES ('node')");
+        return new JdbcTemplate(ProxyDataSourceBuilder.create(dataSource).listener(instrumentation).build());
+    }
+}
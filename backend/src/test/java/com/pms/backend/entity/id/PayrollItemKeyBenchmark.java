@@ -0,0 +1,135 @@
+package com.pms.backend.entity.id;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payroll item insert throughput and index size by primary key layout:
+ * random UUID strings (the old VARCHAR(36) keys), UUIDv7 strings, and UUIDv7 in BINARY(16)
+ * Each fork starts from a table already holding PRELOADED_ROWS, so inserts hit a B-tree larger than one page.
+ * On MySQL the clustered and secondary index sizes are printed at the end of each trial.
+ * Not run by the test suite; start it with main() from the IDE or
+ * java -cp target/test-classes:&lt;test classpath&gt; com.pms.backend.entity.id.PayrollItemKeyBenchmark
+ * By default it runs against a MySQL Testcontainer (needs Docker); -Dbenchmark.jdbc.url=..., with
+ * -Dbenchmark.jdbc.user and -Dbenchmark.jdbc.password, points it at an existing database instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PayrollItemKeyBenchmark {
+
+    private static final int PRELOADED_ROWS = 200_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"uuid4-varchar", "uuid7-varchar", "uuid7-binary"})
+    public String keyLayout;
+
+    private MySQLContainer<?> mysql;
+    private Connection connection;
+    private PreparedStatement insert;
+    private final String runId = UUID.randomUUID().toString();
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url");
+        if (url == null) {
+            mysql = new MySQLContainer<>("mysql:8.0");
+            mysql.start();
+            connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        } else {
+            connection = DriverManager.getConnection(url,
+                    System.getProperty("benchmark.jdbc.user", "root"), System.getProperty("benchmark.jdbc.password", ""));
+        }
+
+        String keyType = keyLayout.endsWith("binary") ? "BINARY(16)" : "VARCHAR(36)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS payroll_items_key_benchmark");
+            // Same shape and secondary indexes as payroll_items
+            statement.execute("CREATE TABLE payroll_items_key_benchmark (" +
+                    "item_id " + keyType + " PRIMARY KEY, " +
+                    "run_id VARCHAR(36) NOT NULL, " +
+                    "employee_id VARCHAR(36) NOT NULL, " +
+                    "base_salary DECIMAL(12,2) NOT NULL, " +
+                    "net_salary DECIMAL(12,2) NOT NULL, " +
+                    "UNIQUE (run_id, employee_id))");
+            statement.execute("CREATE INDEX idx_key_benchmark_employee_id ON payroll_items_key_benchmark(employee_id)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO payroll_items_key_benchmark " +
+                "(item_id, run_id, employee_id, base_salary, net_salary) VALUES (?, ?, ?, ?, ?)");
+
+        for (int i = 0; i < PRELOADED_ROWS / BATCH_SIZE; i++) {
+            insertBatch();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertPayrollItems() throws SQLException {
+        insertBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (product.equalsIgnoreCase("MySQL")) {
+                statement.execute("ANALYZE TABLE payroll_items_key_benchmark");
+                try (ResultSet rs = statement.executeQuery("SELECT TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH " +
+                        "FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() " +
+                        "AND TABLE_NAME = 'payroll_items_key_benchmark'")) {
+                    rs.next();
+                    System.out.println(String.format("%n[%s] ~%d rows, clustered index %.1f MB, secondary indexes %.1f MB",
+                            keyLayout, rs.getLong(1), rs.getLong(2) / 1048576.0, rs.getLong(3) / 1048576.0));
+                }
+            } else {
+                System.out.println(String.format("%n[%s] index sizes are only reported on MySQL, not %s",
+                        keyLayout, product));
+            }
+            statement.execute("DROP TABLE payroll_items_key_benchmark");
+        }
+        connection.close();
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    private void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            switch (keyLayout) {
+                case "uuid4-varchar" -> insert.setString(1, UUID.randomUUID().toString());
+                case "uuid7-varchar" -> insert.setString(1, UuidV7.nextString());
+                default -> insert.setBytes(1, UuidV7.toBytes(UuidV7.nextString()));
+            }
+            insert.setString(2, runId);
+            insert.setString(3, UUID.randomUUID().toString());
+            insert.setBigDecimal(4, BigDecimal.valueOf(4000));
+            insert.setBigDecimal(5, BigDecimal.valueOf(4000));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PayrollItemKeyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
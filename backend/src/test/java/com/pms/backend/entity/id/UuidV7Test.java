@@ -0,0 +1,61 @@
+package com.pms.backend.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidV7Test {
+
+    @Test
+    void testNext_IsVersion7WithCurrentTimestamp() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7.next();
+
+        // Then
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testNext_StringsAndBytesSortInCreationOrder() {
+        // Given - far more IDs than one millisecond's counter can hold
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(UuidV7.nextString());
+        }
+
+        // Then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Arrays.compareUnsigned(UuidV7.toBytes(ids.get(i - 1)), UuidV7.toBytes(ids.get(i)))).isNegative();
+        }
+    }
+
+    @Test
+    void testBytes_RoundTripKeepsTheString() {
+        // Given
+        String random = UUID.randomUUID().toString();
+        String ordered = UuidV7.nextString();
+
+        // Then
+        assertThat(UuidV7.toBytes(random)).hasSize(16);
+        assertThat(UuidV7.fromBytes(UuidV7.toBytes(random))).isEqualTo(random);
+        assertThat(UuidV7.fromBytes(UuidV7.toBytes(ordered))).isEqualTo(ordered);
+    }
+
+    @Test
+    void testBytes_Failure_WhenNotAUuid() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.toBytes("pi1"));
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.fromBytes(new byte[36]));
+    }
+}
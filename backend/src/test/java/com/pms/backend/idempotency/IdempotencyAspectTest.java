@@ -0,0 +1,192 @@
+package com.pms.backend.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.backend.dto.payroll.PayrollRunCreateRequest;
+import com.pms.backend.dto.payroll.PayrollRunResponse;
+import com.pms.backend.entity.enums.PayrollStatus;
+import com.pms.backend.exception.ResourceNotFoundException;
+import com.pms.backend.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exercised through the payroll endpoints with the service mocked, so each test counts real executions
+ */
+@SpringBootTest(properties = "scheduling.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyAspectTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+
+    @MockBean private PayrollService payrollService;
+
+    @Test
+    void testRepeatedKeyReplaysTheFirstResponse() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        when(payrollService.createPayrollRun(any(PayrollRunCreateRequest.class))).thenReturn(run("run-1"));
+
+        // When
+        mockMvc.perform(createRun(key, 2025, 8)).andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyAspect.REPLAYED_HEADER));
+        mockMvc.perform(createRun(key, 2025, 8))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyAspect.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.data.runId").value("run-1"))
+                .andExpect(jsonPath("$.message").value("Payroll run created successfully"));
+
+        // Then
+        verify(payrollService, times(1)).createPayrollRun(any(PayrollRunCreateRequest.class));
+    }
+
+    @Test
+    void testRequestsWithoutKeyOrFromAnotherUserRunAgain() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        when(payrollService.createPayrollRun(any(PayrollRunCreateRequest.class))).thenReturn(run("run-2"));
+
+        // When
+        mockMvc.perform(createRun(null, 2025, 9)).andExpect(status().isCreated());
+        mockMvc.perform(createRun(null, 2025, 9)).andExpect(status().isCreated());
+        mockMvc.perform(createRun(key, 2025, 9)).andExpect(status().isCreated());
+        mockMvc.perform(createRun(key, 2025, 9).with(user("other-admin").roles("ADMIN")))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyAspect.REPLAYED_HEADER));
+
+        // Then
+        verify(payrollService, times(4)).createPayrollRun(any(PayrollRunCreateRequest.class));
+    }
+
+    @Test
+    void testKeyReusedForDifferentBodyIsRejected() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        when(payrollService.createPayrollRun(any(PayrollRunCreateRequest.class))).thenReturn(run("run-3"));
+        mockMvc.perform(createRun(key, 2025, 10)).andExpect(status().isCreated());
+
+        // When / Then
+        mockMvc.perform(createRun(key, 2025, 11)).andExpect(status().isConflict());
+        verify(payrollService, times(1)).createPayrollRun(any(PayrollRunCreateRequest.class));
+    }
+
+    @Test
+    void testConcurrentDuplicatesWaitForTheFirstExecution() throws Exception {
+        // Given - the first processing blocks until every duplicate has arrived
+        String key = UUID.randomUUID().toString();
+        CountDownLatch release = new CountDownLatch(1);
+        when(payrollService.processPayrollRun("run-4")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return run("run-4");
+        });
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+
+        // When
+        try {
+            List<Future<MvcResult>> responses = List.of(
+                    clients.submit(() -> mockMvc.perform(processRun(key, "run-4")).andReturn()),
+                    clients.submit(() -> mockMvc.perform(processRun(key, "run-4")).andReturn()),
+                    clients.submit(() -> mockMvc.perform(processRun(key, "run-4")).andReturn()),
+                    clients.submit(() -> mockMvc.perform(processRun(key, "run-4")).andReturn()));
+            Thread.sleep(Duration.ofMillis(300).toMillis());
+            release.countDown();
+
+            // Then
+            for (Future<MvcResult> response : responses) {
+                MvcResult result = response.get(10, TimeUnit.SECONDS);
+                assertThat(result.getResponse().getStatus()).isEqualTo(200);
+                assertThat(result.getResponse().getContentAsString()).contains("run-4");
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        verify(payrollService, times(1)).processPayrollRun("run-4");
+    }
+
+    @Test
+    void testFailedExecutionReleasesTheKey() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        when(payrollService.processPayrollRun("run-5"))
+                .thenThrow(new ResourceNotFoundException("Payroll run not found with ID: run-5"))
+                .thenReturn(run("run-5"));
+
+        // When
+        mockMvc.perform(processRun(key, "run-5")).andExpect(status().isNotFound());
+        mockMvc.perform(processRun(key, "run-5")).andExpect(status().isOk());
+
+        // Then
+        verify(payrollService, times(2)).processPayrollRun("run-5");
+    }
+
+    @Test
+    void testInMemoryStore_KeysExpire() throws InterruptedException {
+        // Given
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(1);
+        IdempotencyRecord inFlight = IdempotencyRecord.inFlight("hash");
+
+        // When
+        assertThat(store.reserve("k1", inFlight, Duration.ofMillis(20))).isNull();
+        assertThat(store.reserve("k1", inFlight, Duration.ofMillis(20))).isSameAs(inFlight);
+        Thread.sleep(40);
+
+        // Then - the expired key can be claimed again and is swept once the store is full
+        assertThat(store.get("k1")).isNull();
+        assertThat(store.reserve("k2", inFlight, Duration.ofMinutes(1))).isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    // ====== Fixture ======
+
+    private MockHttpServletRequestBuilder createRun(String key, int year, int month) throws Exception {
+        PayrollRunCreateRequest request = new PayrollRunCreateRequest();
+        request.setYear(year);
+        request.setMonth(month);
+        return withKey(post("/api/v1/payroll/runs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)), key);
+    }
+
+    private MockHttpServletRequestBuilder processRun(String key, String runId) {
+        return withKey(post("/api/v1/payroll/runs/{runId}/process", runId), key);
+    }
+
+    private static MockHttpServletRequestBuilder withKey(MockHttpServletRequestBuilder request, String key) {
+        request.with(user("admin").roles("ADMIN"));
+        return key != null ? request.header(IdempotencyAspect.HEADER, key) : request;
+    }
+
+    private static PayrollRunResponse run(String runId) {
+        PayrollRunResponse response = new PayrollRunResponse();
+        response.setRunId(runId);
+        response.setStatus(PayrollStatus.Draft);
+        return response;
+    }
+}
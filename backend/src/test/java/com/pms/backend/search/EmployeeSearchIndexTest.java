@@ -0,0 +1,138 @@
+package com.pms.backend.search;
+
+import com.pms.backend.dto.employee.EmployeeSearchHit;
+import com.pms.backend.entity.Department;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.JobRole;
+import com.pms.backend.entity.User;
+import com.pms.backend.event.EmployeeDeletedEvent;
+import com.pms.backend.event.EmployeesChangedEvent;
+import com.pms.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTest {
+
+    @Mock private EmployeeRepository employeeRepository;
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new EmployeeSearchIndex(employeeRepository, true);
+    }
+
+    @Test
+    void testSearch_RanksNameMatchesAboveOtherFields() {
+        // Given - "ana" is Ana's first name, a prefix of Anand's, Bo's username and Cy's department
+        when(employeeRepository.findAllWithDetails()).thenReturn(List.of(
+                employee("e-1", "Ana", "Silva", "asilva", "Engineering", "Developer"),
+                employee("e-2", "Anand", "Rao", "arao", "Finance", "Analyst"),
+                employee("e-3", "Bo", "Lee", "anabo", "Finance", "Clerk"),
+                employee("e-4", "Cy", "Ng", "cng", "Analytics", "Clerk"),
+                employee("e-5", "Dee", "Ho", "dho", "Finance", "Clerk")));
+        index.reload();
+
+        // When
+        List<EmployeeSearchHit> hits = index.search("Ana", 10);
+
+        // Then - exact name, name prefix, username prefix, department prefix; Dee does not match
+        assertThat(hits).extracting(EmployeeSearchHit::getEmployeeId).containsExactly("e-1", "e-2", "e-3", "e-4");
+        assertThat(hits.get(0).getDepartmentName()).isEqualTo("Engineering");
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void testSearch_RequiresEveryTermAndMatchesInsideNames() {
+        // Given
+        when(employeeRepository.findAllWithDetails()).thenReturn(List.of(
+                employee("e-1", "Priya", "Chandra", "pchandra", "Finance", "Analyst"),
+                employee("e-2", "Ravi", "Chandran", "rchandran", "Engineering", "Developer"),
+                employee("e-3", "Meena", "Iyer", "miyer", "Finance", "Analyst")));
+        index.reload();
+
+        // When / Then
+        assertThat(index.search("chan fin", 10)).extracting(EmployeeSearchHit::getEmployeeId).containsExactly("e-1");
+        assertThat(index.search("ndra", 10)).extracting(EmployeeSearchHit::getEmployeeId).containsExactly("e-1", "e-2");
+        assertThat(index.search("nd", 10)).isEmpty();
+        assertThat(index.search("chandra", 1)).extracting(EmployeeSearchHit::getEmployeeId).containsExactly("e-1");
+        assertThat(index.search(" -- ", 10)).isEmpty();
+    }
+
+    @Test
+    void testEvents_ReindexChangedEmployeesAndDropDeletedOnes() {
+        // Given
+        when(employeeRepository.findAllWithDetails()).thenReturn(List.of(
+                employee("e-1", "Asha", "Rao", "arao", "Finance", "Analyst"),
+                employee("e-2", "Ben", "Lee", "blee", "Finance", "Analyst")));
+        index.reload();
+        when(employeeRepository.findByIdInWithDetails(List.of("e-1", "e-3"))).thenReturn(List.of(
+                employee("e-1", "Asha", "Menon", "amenon", "Treasury", "Analyst"),
+                employee("e-3", "Cara", "Singh", "csingh", "Treasury", "Clerk")));
+
+        // When
+        index.onEmployeesChanged(new EmployeesChangedEvent(List.of("e-1", "e-3")));
+        index.onEmployeeDeleted(new EmployeeDeletedEvent("e-2"));
+
+        // Then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("rao", 10)).isEmpty();
+        assertThat(index.search("treasury", 10)).extracting(EmployeeSearchHit::getEmployeeId).containsExactly("e-1", "e-3");
+        assertThat(index.search("ben", 10)).isEmpty();
+    }
+
+    @Test
+    void testUpdate_CompactsRetiredSlotsWithoutLosingEmployees() {
+        // Given
+        when(employeeRepository.findAllWithDetails()).thenReturn(List.of(
+                employee("e-1", "Asha", "Rao", "arao", "Finance", "Analyst")));
+        index.reload();
+
+        // When - enough re-indexing to trigger compaction several times
+        for (int i = 0; i < 5000; i++) {
+            index.update(List.of("e-1"), List.of(employee("e-1", "Asha", "Rao" + i, "arao", "Finance", "Analyst")));
+        }
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("rao4999", 10)).extracting(EmployeeSearchHit::getLastName).containsExactly("Rao4999");
+        assertThat(index.search("rao4998", 10)).isEmpty();
+    }
+
+    @Test
+    void testIsReady_FalseUntilLoadedOrWhenDisabled() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(new EmployeeSearchIndex(employeeRepository, false).isReady()).isFalse();
+    }
+
+    private Employee employee(String id, String firstName, String lastName, String username,
+                              String departmentName, String jobTitle) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+
+        Department department = new Department();
+        department.setDepartmentName(departmentName);
+
+        JobRole jobRole = new JobRole();
+        jobRole.setJobTitle(jobTitle);
+
+        Employee employee = new Employee();
+        employee.setEmployeeId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setUser(user);
+        employee.setDepartment(department);
+        employee.setJobRole(jobRole);
+        return employee;
+    }
+}
@@ -0,0 +1,81 @@
+package com.pms.backend.security;
+
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    void testLogin_UpgradesHashBelowConfiguredCost() {
+        // Given - stored at cost 4, configured at cost 5
+        User user = user(new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepository.findByUsername("asha")).thenReturn(Optional.of(user));
+        when(employeeRepository.findIdByUserId("u-1")).thenReturn(Optional.of("emp-1"));
+
+        // When
+        Authentication authentication = provider(5).authenticate(new UsernamePasswordAuthenticationToken("asha", "secret"));
+
+        // Then
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePasswordHash(eq("asha"), hash.capture());
+        assertThat(hash.getValue()).startsWith("$2a$05$");
+        assertThat(new BCryptPasswordEncoder(5).matches("secret", hash.getValue())).isTrue();
+        assertThat(((UserPrincipal) authentication.getPrincipal()).getEmployeeId()).isEqualTo("emp-1");
+    }
+
+    @Test
+    void testLogin_KeepsHashAtConfiguredCost() {
+        // Given
+        User user = user(new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepository.findByUsername("asha")).thenReturn(Optional.of(user));
+
+        // When
+        provider(4).authenticate(new UsernamePasswordAuthenticationToken("asha", "secret"));
+
+        // Then
+        verify(userRepository, never()).updatePasswordHash(anyString(), anyString());
+    }
+
+    private DaoAuthenticationProvider provider(int strength) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(new BCryptPasswordEncoder(strength));
+        return provider;
+    }
+
+    private User user(String passwordHash) {
+        User user = new User();
+        user.setUserId("u-1");
+        user.setUsername("asha");
+        user.setEmail("asha@example.com");
+        user.setPassword(passwordHash);
+        user.setRole(Role.Employee);
+        return user;
+    }
+}
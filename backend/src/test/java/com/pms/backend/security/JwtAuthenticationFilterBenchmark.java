@@ -0,0 +1,87 @@
+package com.pms.backend.security;
+
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.repository.UserRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in JwtAuthenticationFilter, with and without the verified-token cache,
+ * on one thread and with eight threads sharing the filter (as request threads do)
+ * Not run by the test suite; start it with main() from the IDE or
+ * java -cp target/test-classes:&lt;test classpath&gt; com.pms.backend.security.JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing";
+
+    @Param({"0", "10000"})
+    public int verifiedCacheEntries;
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, verifiedCacheEntries);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findActiveTokenVersion("u-1")).thenReturn(Optional.of(0));
+        filter = new JwtAuthenticationFilter(tokenProvider, new TokenVersionCache(userRepository, 3600, 1000));
+
+        User user = new User();
+        user.setUserId("u-1");
+        user.setUsername("asha");
+        user.setPassword("hash");
+        user.setRole(Role.Employee);
+        UserPrincipal principal = UserPrincipal.fromUser(user, "emp-1");
+        token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Benchmark
+    public Authentication authenticateRequest() throws Exception {
+        return authenticate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Authentication authenticateRequestConcurrently() throws Exception {
+        return authenticate();
+    }
+
+    private Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/leave-requests/my");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
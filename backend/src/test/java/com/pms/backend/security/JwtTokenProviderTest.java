@@ -0,0 +1,118 @@
+package com.pms.backend.security;
+
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyThatIsLongEnoughForHmacSha256Signing";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setup() {
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000L, 2);
+    }
+
+    @Test
+    void testGetPrincipalFromToken_RestoresEmbeddedClaims() {
+        // Given
+        String token = issue("u-1", "asha", 3);
+
+        // When
+        UserPrincipal principal = tokenProvider.getPrincipalFromToken(token);
+
+        // Then
+        assertThat(principal.getUserId()).isEqualTo("u-1");
+        assertThat(principal.getUsername()).isEqualTo("asha");
+        assertThat(principal.getEmployeeId()).isEqualTo("emp-u-1");
+        assertThat(principal.getTokenVersion()).isEqualTo(3);
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_EMPLOYEE");
+    }
+
+    @Test
+    void testGetPrincipalFromToken_NullForTamperedOrClaimlessTokens() {
+        // Given - a token from before claims were embedded, and one signed with another key
+        String legacy = Jwts.builder()
+                .setSubject("asha")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        String forged = Jwts.builder()
+                .setSubject("asha")
+                .claim("uid", "u-1").claim("role", "Admin").claim("ver", 0)
+                .signWith(Keys.hmacShaKeyFor("anotherSecretKeyThatIsLongEnoughForHmacSha256".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        // When / Then
+        assertThat(tokenProvider.getPrincipalFromToken(legacy)).isNull();
+        assertThat(tokenProvider.getPrincipalFromToken(forged)).isNull();
+        assertThat(tokenProvider.validateToken(forged)).isFalse();
+        assertThat(tokenProvider.getPrincipalFromToken("not-a-token")).isNull();
+    }
+
+    @Test
+    void testGetPrincipalFromToken_ServesRepeatTokensFromBoundedCache() {
+        // Given
+        String first = issue("u-1", "asha", 0);
+        String second = issue("u-2", "ben", 0);
+        String third = issue("u-3", "cara", 0);
+
+        // When
+        UserPrincipal verified = tokenProvider.getPrincipalFromToken(first);
+        UserPrincipal repeated = tokenProvider.getPrincipalFromToken(first);
+        tokenProvider.getPrincipalFromToken(second);
+        tokenProvider.getPrincipalFromToken(third);
+
+        // Then - the repeat is the cached instance; the cache never holds more than two tokens,
+        // and a token dropped to make room is verified again
+        assertThat(repeated).isSameAs(verified);
+        assertThat(tokenProvider.verifiedCacheSize()).isLessThanOrEqualTo(2);
+        assertThat(tokenProvider.getPrincipalFromToken(first)).isNotSameAs(verified);
+        assertThat(tokenProvider.getPrincipalFromToken(first).getUserId()).isEqualTo("u-1");
+        assertThat(tokenProvider.verifiedCacheSize()).isLessThanOrEqualTo(2);
+        assertThat(tokenProvider.getPrincipalFromToken(first + "x")).isNull();
+    }
+
+    @Test
+    void testGetPrincipalFromToken_FullCacheDropsExpiredTokensFirst() throws InterruptedException {
+        // Given - JWT expiry has second precision, so a 1.5 s lifetime is over after 2.1 s
+        tokenProvider = new JwtTokenProvider(SECRET, 1_500L, 2);
+        tokenProvider.getPrincipalFromToken(issue("u-1", "asha", 0));
+        Thread.sleep(2_100);
+        String live = issue("u-2", "ben", 0);
+        UserPrincipal verified = tokenProvider.getPrincipalFromToken(live);
+
+        // When
+        tokenProvider.getPrincipalFromToken(issue("u-3", "cara", 0));
+
+        // Then - only the expired entry made room
+        assertThat(tokenProvider.verifiedCacheSize()).isEqualTo(2);
+        assertThat(tokenProvider.getPrincipalFromToken(live)).isSameAs(verified);
+    }
+
+    private String issue(String userId, String username, int tokenVersion) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername(username);
+        user.setPassword("hash");
+        user.setRole(Role.Employee);
+        user.setTokenVersion(tokenVersion);
+        UserPrincipal principal = UserPrincipal.fromUser(user, "emp-" + userId);
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.pms.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void testAcquire_LimitsEachUsernameRegardlessOfCase() {
+        // Given - 2 attempts per user, plenty per address
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 1, 100, 100, 1000);
+
+        // When
+        limiter.acquire("asha", "10.0.0.1");
+        limiter.acquire("ASHA ", "10.0.0.2");
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("Asha", "10.0.0.3"));
+
+        // Then - one token per minute, so the client is told to wait up to a minute
+        assertThat(ex.getRetryAfterSeconds()).isBetween(1L, 60L);
+        limiter.acquire("ben", "10.0.0.1");
+    }
+
+    @Test
+    void testAcquire_LimitsOneAddressSprayingManyUsers() {
+        // Given
+        LoginRateLimiter limiter = new LoginRateLimiter(5, 5, 3, 1, 1000);
+
+        // When / Then
+        limiter.acquire("u1", "10.0.0.9");
+        limiter.acquire("u2", "10.0.0.9");
+        limiter.acquire("u3", "10.0.0.9");
+        assertThrows(LoginThrottledException.class, () -> limiter.acquire("u4", "10.0.0.9"));
+        limiter.acquire("u4", "10.0.0.10");
+    }
+
+    @Test
+    void testAcquire_EvictsRefilledBucketsWhenOverCapacity() {
+        // Given - refills are instant at this rate, so every bucket is idle again
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 60_000_000, 1, 60_000_000, 4);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire("user" + i, "10.0.0." + i);
+        }
+
+        // Then
+        assertThat(limiter.bucketCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void testAcquire_AddressLimitOffWhenCapacityIsZero() {
+        // Given - the shipped configuration: 5 per user, no per-address limit
+        LoginRateLimiter limiter = new LoginRateLimiter(5, 5, 0, 600, 1000);
+
+        // When / Then - a whole office behind one NAT logs in at once
+        for (int i = 0; i < 500; i++) {
+            limiter.acquire("employee" + i, "10.0.0.1");
+        }
+        assertThat(limiter.bucketCount()).isEqualTo(500);
+    }
+}
@@ -0,0 +1,76 @@
+package com.pms.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.backend.dto.auth.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login throttling with the shipped configuration; only the password check is mocked
+ * Everyone behind one office NAT or load balancer arrives from the same address.
+ */
+@SpringBootTest(properties = "scheduling.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginStormTest {
+
+    private static final String SHARED_ADDRESS = "203.0.113.7";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+
+    @MockBean private AuthenticationManager authenticationManager;
+
+    @Test
+    void testManyUsersBehindOneAddressAreNotThrottled() throws Exception {
+        // Given
+        when(authenticationManager.authenticate(any(Authentication.class)))
+                .thenThrow(new BadCredentialsException("bad creds"));
+
+        // When / Then - each employee gets a password check, none is answered 429
+        for (int i = 0; i < 120; i++) {
+            mockMvc.perform(login("storm-user" + i)).andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void testOneUsernameIsStillThrottled() throws Exception {
+        // Given
+        when(authenticationManager.authenticate(any(Authentication.class)))
+                .thenThrow(new BadCredentialsException("bad creds"));
+
+        // When / Then - the username bucket holds 5 attempts
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(login("guessed-user")).andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(login("guessed-user")).andExpect(status().isTooManyRequests());
+    }
+
+    private MockHttpServletRequestBuilder login(String username) throws Exception {
+        LoginRequest req = new LoginRequest();
+        req.setUsername(username);
+        req.setPassword("password");
+        return post("/api/v1/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(SHARED_ADDRESS);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req));
+    }
+}
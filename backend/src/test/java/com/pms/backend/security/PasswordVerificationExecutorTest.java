@@ -0,0 +1,55 @@
+package com.pms.backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordVerificationExecutorTest {
+
+    private final PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1, 5_000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testVerify_ReturnsResultAndRethrowsAuthenticationFailures() {
+        assertThat(executor.verify(() -> "ok")).isEqualTo("ok");
+        assertThrows(BadCredentialsException.class, () -> executor.verify(() -> {
+            throw new BadCredentialsException("bad");
+        }));
+    }
+
+    @Test
+    void testVerify_RefusesAtOnceWhenPoolAndQueueAreFull() throws Exception {
+        // Given - one running check and one queued check
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.verify(() -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.verify(() -> "second"));
+        while (executor.queuedTasks() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When / Then
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class, () -> executor.verify(() -> "third"));
+        assertThat(ex.getRetryAfterSeconds()).isPositive();
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+}
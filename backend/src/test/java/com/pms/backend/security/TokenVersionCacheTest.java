@@ -0,0 +1,51 @@
+package com.pms.backend.security;
+
+import com.pms.backend.event.UserTokensRevokedEvent;
+import com.pms.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+
+    @Mock private UserRepository userRepository;
+
+    @Test
+    void testIsCurrent_CachesVersionUntilRevoked() {
+        // Given
+        TokenVersionCache cache = new TokenVersionCache(userRepository, 300, 100);
+        when(userRepository.findActiveTokenVersion("u-1"))
+                .thenReturn(Optional.of(0))
+                .thenReturn(Optional.of(1));
+
+        // When / Then - repeated checks hit the cache
+        assertThat(cache.isCurrent("u-1", 0)).isTrue();
+        assertThat(cache.isCurrent("u-1", 0)).isTrue();
+        verify(userRepository, times(1)).findActiveTokenVersion("u-1");
+
+        // A revocation reloads the bumped version
+        cache.onUserTokensRevoked(new UserTokensRevokedEvent("u-1"));
+        assertThat(cache.isCurrent("u-1", 0)).isFalse();
+        assertThat(cache.isCurrent("u-1", 1)).isTrue();
+    }
+
+    @Test
+    void testIsCurrent_FalseForMissingUsersAndStaysBounded() {
+        // Given
+        TokenVersionCache cache = new TokenVersionCache(userRepository, 300, 2);
+        when(userRepository.findActiveTokenVersion(anyString())).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(cache.isCurrent("gone", 0)).isFalse();
+        cache.isCurrent("u-2", 0);
+        cache.isCurrent("u-3", 0);
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -25,6 +26,7 @@ class DepartmentServiceImplTest {
 
     @Mock private DepartmentRepository departmentRepository;
     @Mock private EmployeeRepository employeeRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private DepartmentServiceImpl departmentService;
 
     @Test
@@ -0,0 +1,157 @@
+package com.pms.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.backend.dto.employee.EmployeeImportFormat;
+import com.pms.backend.dto.employee.EmployeeImportResult;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.User;
+import com.pms.backend.event.EmployeesChangedEvent;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.repository.*;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmployeeImportServiceImplTest {
+
+    @Mock private EmployeeRepository employeeRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private DepartmentRepository departmentRepository;
+    @Mock private JobRoleRepository jobRoleRepository;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private LeaveBalanceLedger leaveBalanceLedger;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> existingUsers = new ArrayList<>();
+        existingUsers.add(new Object[]{"taken", "taken@example.com"});
+        when(userRepository.findAllUsernamesAndEmails()).thenReturn(existingUsers);
+        when(departmentRepository.findAllIds()).thenReturn(List.of("dept-1"));
+        when(jobRoleRepository.findAllIds()).thenReturn(List.of("job-1"));
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "ENC:" + invocation.getArgument(0));
+
+        importService = new EmployeeImportServiceImpl(employeeRepository, userRepository, departmentRepository,
+                jobRoleRepository, passwordEncoder, leaveBalanceLedger, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), transactionManager, eventPublisher, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCsv_InsertsValidRowsInBatchesAndReportsTheRest() {
+        // Given - batch size 2, three good rows, one duplicate in the file, one clashing with the database
+        String csv = "username,email,password,firstName,lastName,dateOfBirth,jobId,departmentId,address\n" +
+                "asha,asha@example.com,secret1,Asha,Rao,1990-01-01,job-1,dept-1,\"12 Main St, Pune\"\n" +
+                "ben,ben@example.com,secret2,Ben,Lee,1991-02-02,job-1,dept-1,\n" +
+                "ASHA,other@example.com,secret3,Dup,User,1992-03-03,job-1,dept-1,\n" +
+                "newbie,TAKEN@example.com,secret4,New,Bie,1993-04-04,job-1,dept-1,\n" +
+                "cara,cara@example.com,secret5,Cara,Singh,1994-05-05,job-1,dept-1,\n";
+
+        // When
+        EmployeeImportResult result = importService.importEmployees(stream(csv), EmployeeImportFormat.CSV);
+
+        // Then
+        assertThat(result.getTotalRows()).isEqualTo(5);
+        assertThat(result.getImportedCount()).isEqualTo(3);
+        assertThat(result.getFailedCount()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting("rowNumber").containsExactly(3L, 4L);
+        assertThat(result.getErrors().get(1).getMessage()).contains("Email");
+
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Employee>> employees = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository, times(2)).batchInsertWithUsers(users.capture(), employees.capture());
+        assertThat(users.getAllValues().get(0)).extracting(User::getPassword).containsExactly("ENC:secret1", "ENC:secret2");
+        assertThat(employees.getAllValues().get(0).get(0).getAddress()).isEqualTo("12 Main St, Pune");
+        assertThat(employees.getAllValues().get(0).get(0).getUserId())
+                .isEqualTo(users.getAllValues().get(0).get(0).getUserId());
+    }
+
+    @Test
+    void testImportNdjson_ReportsValidationAndForeignKeyErrors() {
+        // Given
+        String ndjson = "{\"username\":\"dana\",\"email\":\"dana@example.com\",\"password\":\"secret1\"," +
+                "\"firstName\":\"Dana\",\"lastName\":\"Ko\",\"dateOfBirth\":\"1990-01-01\",\"jobId\":\"job-1\",\"departmentId\":\"dept-9\"}\n" +
+                "\n" +
+                "{\"username\":\"x\",\"email\":\"not-an-email\"}\n" +
+                "{broken\n";
+
+        // When
+        EmployeeImportResult result = importService.importEmployees(stream(ndjson), EmployeeImportFormat.NDJSON);
+
+        // Then
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getImportedCount()).isZero();
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Department not found with ID: dept-9");
+        assertThat(result.getErrors().get(1).getMessage()).contains("Username must be between 3 and 50 characters");
+        assertThat(result.getErrors().get(2).getMessage()).startsWith("Invalid JSON");
+        verify(employeeRepository, never()).batchInsertWithUsers(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImport_RetriesRowByRowWhenBatchIsRejected() {
+        // Given - the batch fails, then only the second row fails on its own
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(employeeRepository).batchInsertWithUsers(argThat(list -> list.size() == 2), any());
+        doThrow(new DataIntegrityViolationException("duplicate ben"))
+                .when(employeeRepository).batchInsertWithUsers(
+                        argThat(list -> list.size() == 1 && "ben".equals(((List<User>) list).get(0).getUsername())), any());
+        String csv = "username,email,password,firstName,lastName,dateOfBirth,jobId,departmentId\n" +
+                "asha,asha@example.com,secret1,Asha,Rao,1990-01-01,job-1,dept-1\n" +
+                "ben,ben@example.com,secret2,Ben,Lee,1991-02-02,job-1,dept-1\n";
+
+        // When
+        EmployeeImportResult result = importService.importEmployees(stream(csv), EmployeeImportFormat.CSV);
+
+        // Then
+        assertThat(result.getImportedCount()).isEqualTo(1);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getUsername()).isEqualTo("ben");
+
+        ArgumentCaptor<EmployeesChangedEvent> event = ArgumentCaptor.forClass(EmployeesChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getEmployeeIds()).hasSize(1);
+    }
+
+    @Test
+    void testImportCsv_Failure_WhenRequiredColumnMissing() {
+        assertThrows(BadRequestException.class,
+                () -> importService.importEmployees(stream("username,email\nabc,abc@example.com\n"), EmployeeImportFormat.CSV));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
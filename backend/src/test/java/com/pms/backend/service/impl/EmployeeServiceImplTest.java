@@ -1,18 +1,28 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.dto.CursorPage;
 import com.pms.backend.dto.employee.EmployeeCreateRequest;
+import com.pms.backend.dto.employee.EmployeeResponse;
 import com.pms.backend.entity.Employee;
+import com.pms.backend.dto.employee.EmployeeSearchHit;
 import com.pms.backend.entity.User;
+import com.pms.backend.event.EmployeesChangedEvent;
 import com.pms.backend.repository.*;
+import com.pms.backend.search.EmployeeSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,6 +36,12 @@ class EmployeeServiceImplTest {
     @Mock private DepartmentRepository departmentRepository;
     @Mock private JobRoleRepository jobRoleRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private LeaveStatisticsUpdater leaveStatisticsUpdater;
+    @Mock private LeaveBalanceLedger leaveBalanceLedger;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private EmployeeSearchIndex employeeSearchIndex;
+    @Mock private PayrollItemRepository payrollItemRepository;
+    @Mock private PayrollCostRollupRepository payrollCostRollupRepository;
 
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -57,7 +73,11 @@ class EmployeeServiceImplTest {
             return u;
         });
 
-        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> {
+            Employee e = invocation.getArgument(0);
+            e.setEmployeeId("emp-1");
+            return e;
+        });
 
         // When
         employeeService.createEmployee(req);
@@ -70,6 +90,10 @@ class EmployeeServiceImplTest {
         assertThat(userCaptor.getValue().getPassword()).isEqualTo("ENCODED");
 
         verify(employeeRepository, times(1)).save(any(Employee.class));
+
+        ArgumentCaptor<EmployeesChangedEvent> eventCaptor = ArgumentCaptor.forClass(EmployeesChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getEmployeeIds()).containsExactly("emp-1");
     }
 
     @Test
@@ -112,6 +136,131 @@ class EmployeeServiceImplTest {
                 () -> employeeService.createEmployee(req)
         );
     }
-}
 
+    @Test
+    void testGetEmployeesPage_ReturnsCursorThatResumesAfterLastRow() {
+        // Given - limit 2, so each page asks the repository for 3 rows
+        when(employeeRepository.findPageOrderByName(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(employee("e-1", "Asha", "Rao"), employee("e-2", "Ben", "Rao"),
+                        employee("e-3", "Cara", "Singh")))
+                .thenReturn(List.of(employee("e-3", "Cara", "Singh")));
+
+        // When
+        CursorPage<EmployeeResponse> first = employeeService.getEmployeesPage(null, null, null, "name", null, 2);
+
+        // Then
+        assertThat(first.getItems()).extracting(EmployeeResponse::getEmployeeId).containsExactly("e-1", "e-2");
+        assertThat(first.isHasMore()).isTrue();
+
+        // When - the cursor is replayed
+        CursorPage<EmployeeResponse> second = employeeService.getEmployeesPage(null, null, "Ra_", "name",
+                first.getNextCursor(), 2);
+
+        // Then
+        verify(employeeRepository).findPageOrderByName(isNull(), isNull(), eq("Ra\\_%"),
+                eq("Rao"), eq("Ben"), eq("e-2"), argThat((Pageable p) -> p.getPageSize() == 3));
+        assertThat(second.getItems()).hasSize(1);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testGetEmployeesPage_Failure_WhenCursorFromOtherSort() {
+        // Given
+        String nameCursor = com.pms.backend.dto.KeysetCursor.encode("employees:name", "Rao", "Ben", "e-2");
+
+        // When / Then
+        org.junit.jupiter.api.Assertions.assertThrows(
+                com.pms.backend.exception.BadRequestException.class,
+                () -> employeeService.getEmployeesPage(null, null, null, "createdAt", nameCursor, 10)
+        );
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void testSearchEmployees_UsesIndexWhenReady() {
+        // Given
+        EmployeeSearchHit hit = new EmployeeSearchHit();
+        hit.setEmployeeId("e-1");
+        when(employeeSearchIndex.isReady()).thenReturn(true);
+        when(employeeSearchIndex.search("asha r", 10)).thenReturn(List.of(hit));
+
+        // When
+        List<EmployeeSearchHit> hits = employeeService.searchEmployees("asha r", null);
+
+        // Then
+        assertThat(hits).containsExactly(hit);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void testDeleteEmployee_RebuildsCostRollupsOfTheirPayrollRuns() {
+        // Given
+        Employee employee = employee("e-1", "Asha", "Rao");
+        employee.setUserId("user-1");
+        employee.setDepartmentId("dept-1");
+        when(employeeRepository.findById("e-1")).thenReturn(Optional.of(employee));
+        when(payrollItemRepository.findRunIdsByEmployeeId("e-1")).thenReturn(List.of("run-1", "run-2"));
+
+        // When
+        employeeService.deleteEmployee("e-1");
+
+        // Then - the items are gone before each run is re-aggregated
+        InOrder inOrder = inOrder(payrollItemRepository, payrollCostRollupRepository, employeeRepository);
+        inOrder.verify(payrollItemRepository).deleteByEmployeeId("e-1");
+        inOrder.verify(payrollCostRollupRepository).deleteByRunId("run-1");
+        inOrder.verify(payrollCostRollupRepository).insertRollupsForRun("run-1");
+        inOrder.verify(payrollCostRollupRepository).deleteByRunId("run-2");
+        inOrder.verify(payrollCostRollupRepository).insertRollupsForRun("run-2");
+        inOrder.verify(employeeRepository).delete(employee);
+    }
+
+    @Test
+    void testDeleteEmployee_WithoutPayrollItemsLeavesRollupsAlone() {
+        // Given
+        Employee employee = employee("e-2", "Ravi", "Kumar");
+        employee.setUserId("user-2");
+        when(employeeRepository.findById("e-2")).thenReturn(Optional.of(employee));
+        when(payrollItemRepository.findRunIdsByEmployeeId("e-2")).thenReturn(List.of());
+
+        // When
+        employeeService.deleteEmployee("e-2");
+
+        // Then
+        verify(payrollItemRepository, never()).deleteByEmployeeId(anyString());
+        verifyNoInteractions(payrollCostRollupRepository);
+        verify(employeeRepository).delete(employee);
+    }
+
+    @Test
+    void testSearchEmployees_FallsBackToNamePrefixQueryWhenIndexNotReady() {
+        // Given
+        when(employeeSearchIndex.isReady()).thenReturn(false);
+        when(employeeRepository.findPageOrderByName(isNull(), isNull(), eq("as\\_h%"),
+                isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(employee("e-1", "Asha", "Rao")));
+
+        // When
+        List<EmployeeSearchHit> hits = employeeService.searchEmployees("  as_h rao", 5);
 
+        // Then
+        assertThat(hits).extracting(EmployeeSearchHit::getEmployeeId).containsExactly("e-1");
+        verify(employeeSearchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void testSearchEmployees_Failure_WhenLimitOutOfRange() {
+        org.junit.jupiter.api.Assertions.assertThrows(
+                com.pms.backend.exception.BadRequestException.class,
+                () -> employeeService.searchEmployees("asha", 51)
+        );
+        verifyNoInteractions(employeeSearchIndex);
+    }
+
+    private Employee employee(String id, String firstName, String lastName) {
+        Employee e = new Employee();
+        e.setEmployeeId(id);
+        e.setFirstName(firstName);
+        e.setLastName(lastName);
+        return e;
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -26,6 +27,7 @@ class JobRoleServiceImplTest {
 
     @Mock private JobRoleRepository jobRoleRepository;
     @Mock private EmployeeRepository employeeRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private JobRoleServiceImpl jobRoleService;
 
     @Test
@@ -0,0 +1,235 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.dto.accrual.AccrualEntryResponse;
+import com.pms.backend.dto.accrual.AccrualPolicyRequest;
+import com.pms.backend.dto.accrual.AccrualRunResponse;
+import com.pms.backend.entity.Department;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.JobRole;
+import com.pms.backend.entity.LeaveAccrualPolicy;
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.AccrualScope;
+import com.pms.backend.entity.enums.AccrualTrigger;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.repository.DepartmentRepository;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.JobRoleRepository;
+import com.pms.backend.repository.LeaveAccrualPolicyRepository;
+import com.pms.backend.repository.UserRepository;
+import com.pms.backend.service.LeaveAccrualService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Accrual is a handful of native statements, so it is exercised against H2 (MySQL mode) rather than mocks.
+ * Each test rolls back.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:leaveaccrual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "scheduling.enabled=false"
+})
+@ActiveProfiles("test")
+@Transactional
+class LeaveAccrualServiceImplTest {
+
+    @Autowired private LeaveAccrualService leaveAccrualService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private JobRoleRepository jobRoleRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveBalanceLedger leaveBalanceLedger;
+    @Autowired private LeaveAccrualPolicyRepository leaveAccrualPolicyRepository;
+
+    private String engineering;
+    private String sales;
+    private String seniorEngineer;
+    private String engineer;
+
+    @BeforeEach
+    void seed() {
+        engineering = department("Engineering");
+        sales = department("Sales");
+        seniorEngineer = jobRole("Senior Engineer");
+        engineer = jobRole("Engineer");
+    }
+
+    @Test
+    void testRunAccrual_MostSpecificPolicyAndMaxBalance() {
+        // Given - job role beats department beats company; the job role policy caps at 11
+        policy(AccrualScope.JobRole, seniorEngineer, "2", "11", null);
+        policy(AccrualScope.Department, engineering, "1.5", null, null);
+        policy(AccrualScope.Company, null, "1", null, null);
+        String senior = employee("senior", engineering, seniorEngineer, "10", true);
+        String dev = employee("dev", engineering, engineer, "5", true);
+        String seller = employee("seller", sales, engineer, "3", true);
+        String leaver = employee("leaver", sales, engineer, "3", false);
+
+        // When
+        AccrualRunResponse run = leaveAccrualService.runAccrual(YearMonth.of(2025, 6), AccrualTrigger.Manual);
+
+        // Then - the inactive user is skipped
+        assertThat(run.isAlreadyApplied()).isFalse();
+        assertThat(run.getEmployeeCount()).isEqualTo(3);
+        assertThat(run.getTotalCredited()).isEqualByComparingTo("3.5");
+        assertThat(run.getTotalForfeited()).isEqualByComparingTo("0");
+        assertThat(balance(senior)).isEqualByComparingTo("11");
+        assertThat(balance(dev)).isEqualByComparingTo("6.5");
+        assertThat(balance(seller)).isEqualByComparingTo("4");
+        assertThat(balance(leaver)).isEqualByComparingTo("3");
+
+        List<AccrualEntryResponse> entries = leaveAccrualService.getRunEntries(run.getRunId());
+        assertThat(entries).hasSize(3);
+        assertThat(entries).filteredOn(e -> e.getEmployeeId().equals(senior)).singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getBalanceBefore()).isEqualByComparingTo("10");
+                    assertThat(e.getDaysCredited()).isEqualByComparingTo("1");
+                    assertThat(e.getBalanceAfter()).isEqualByComparingTo("11");
+                });
+    }
+
+    @Test
+    void testRunAccrual_RerunOfSamePeriodChangesNothing() {
+        // Given
+        policy(AccrualScope.Company, null, "1", null, null);
+        String dev = employee("dev", engineering, engineer, "5", true);
+        AccrualRunResponse first = leaveAccrualService.runAccrual(YearMonth.of(2025, 6), AccrualTrigger.Schedule);
+
+        // When
+        AccrualRunResponse second = leaveAccrualService.runAccrual(YearMonth.of(2025, 6), AccrualTrigger.Manual);
+
+        // Then
+        assertThat(second.isAlreadyApplied()).isTrue();
+        assertThat(second.getRunId()).isEqualTo(first.getRunId());
+        assertThat(second.getTriggeredBy()).isEqualTo(AccrualTrigger.Schedule);
+        assertThat(balance(dev)).isEqualByComparingTo("6");
+    }
+
+    @Test
+    void testRunAccrual_JanuaryTrimsToCarryForwardLimitBeforeCrediting() {
+        // Given
+        policy(AccrualScope.Company, null, "1.5", null, "5");
+        String hoarder = employee("hoarder", engineering, engineer, "12", true);
+        String modest = employee("modest", sales, engineer, "2", true);
+
+        // When
+        AccrualRunResponse run = leaveAccrualService.runAccrual(YearMonth.of(2026, 1), AccrualTrigger.Manual);
+
+        // Then
+        assertThat(run.getTotalForfeited()).isEqualByComparingTo("7");
+        assertThat(balance(hoarder)).isEqualByComparingTo("6.5");
+        assertThat(balance(modest)).isEqualByComparingTo("3.5");
+    }
+
+    @Test
+    void testRunAccrual_CarryForwardLimitIgnoredMidYear() {
+        // Given
+        policy(AccrualScope.Company, null, "1.5", null, "5");
+        String hoarder = employee("hoarder", engineering, engineer, "12", true);
+
+        // When
+        AccrualRunResponse run = leaveAccrualService.runAccrual(YearMonth.of(2026, 2), AccrualTrigger.Manual);
+
+        // Then
+        assertThat(run.getTotalForfeited()).isEqualByComparingTo("0");
+        assertThat(balance(hoarder)).isEqualByComparingTo("13.5");
+    }
+
+    @Test
+    void testRunAccrual_FutureMonthRejected() {
+        assertThatThrownBy(() -> leaveAccrualService.runAccrual(YearMonth.now().plusMonths(1), AccrualTrigger.Manual))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testSavePolicy_ReplacesPolicyOfSameScope() {
+        // Given
+        policy(AccrualScope.Department, sales, "1", null, null);
+
+        // When
+        policy(AccrualScope.Department, sales, "2", "20", null);
+
+        // Then
+        assertThat(leaveAccrualService.getPolicies()).singleElement()
+                .satisfies(p -> assertThat(p.getMonthlyDays()).isEqualByComparingTo("2"));
+    }
+
+    @Test
+    void testSavePolicy_SingleCompanyWidePolicy() {
+        // Given
+        policy(AccrualScope.Company, null, "1", null, null);
+        policy(AccrualScope.Company, null, "1.5", null, null);
+        LeaveAccrualPolicy second = new LeaveAccrualPolicy();
+        second.setScope(AccrualScope.Company);
+        second.setMonthlyDays(new BigDecimal("2"));
+
+        // When / Then - a save that skipped the lookup, as a concurrent one would, hits the unique key
+        assertThat(leaveAccrualService.getPolicies()).singleElement()
+                .satisfies(p -> assertThat(p.getMonthlyDays()).isEqualByComparingTo("1.5"));
+        assertThatThrownBy(() -> leaveAccrualPolicyRepository.saveAndFlush(second))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // ====== Fixture ======
+
+    private String department(String name) {
+        Department department = new Department();
+        department.setDepartmentName(name);
+        return departmentRepository.save(department).getDepartmentId();
+    }
+
+    private String jobRole(String title) {
+        JobRole jobRole = new JobRole();
+        jobRole.setJobTitle(title);
+        jobRole.setBaseSalary(new BigDecimal("50000.00"));
+        return jobRoleRepository.save(jobRole).getJobId();
+    }
+
+    private String employee(String username, String departmentId, String jobId, String balance, boolean active) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.Employee);
+        user.setIsActive(active);
+        user = userRepository.save(user);
+
+        Employee employee = new Employee();
+        employee.setUserId(user.getUserId());
+        employee.setDepartmentId(departmentId);
+        employee.setJobId(jobId);
+        employee.setFirstName(username);
+        employee.setLastName("Test");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        String employeeId = employeeRepository.save(employee).getEmployeeId();
+        leaveBalanceLedger.open(employeeId, new BigDecimal(balance));
+        return employeeId;
+    }
+
+    private void policy(AccrualScope scope, String scopeId, String monthly, String max, String carryForward) {
+        AccrualPolicyRequest request = new AccrualPolicyRequest();
+        request.setScope(scope);
+        request.setScopeId(scopeId);
+        request.setMonthlyDays(new BigDecimal(monthly));
+        request.setMaxBalance(max != null ? new BigDecimal(max) : null);
+        request.setCarryForwardLimit(carryForward != null ? new BigDecimal(carryForward) : null);
+        leaveAccrualService.savePolicy(request);
+    }
+
+    private BigDecimal balance(String employeeId) {
+        return leaveBalanceLedger.balanceOf(employeeId);
+    }
+}
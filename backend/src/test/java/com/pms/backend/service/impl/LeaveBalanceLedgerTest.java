@@ -0,0 +1,176 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.entity.Department;
+import com.pms.backend.entity.Employee;
+import com.pms.backend.entity.JobRole;
+import com.pms.backend.entity.LeaveLedgerEntry;
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.LeaveLedgerEntryType;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.exception.ConstraintViolationException;
+import com.pms.backend.repository.DepartmentRepository;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.JobRoleRepository;
+import com.pms.backend.repository.LeaveLedgerRepository;
+import com.pms.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The ledger is native appends and aggregate reads, so it is exercised against H2 (MySQL mode).
+ * Each test rolls back.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:leaveledger;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "scheduling.enabled=false"
+})
+@ActiveProfiles("test")
+@Transactional
+class LeaveBalanceLedgerTest {
+
+    @Autowired private LeaveBalanceLedger leaveBalanceLedger;
+    @Autowired private UserRepository userRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private JobRoleRepository jobRoleRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+
+    private String departmentId;
+    private String jobId;
+
+    @BeforeEach
+    void seed() {
+        Department department = new Department();
+        department.setDepartmentName("Engineering");
+        departmentId = departmentRepository.save(department).getDepartmentId();
+
+        JobRole jobRole = new JobRole();
+        jobRole.setJobTitle("Engineer");
+        jobRole.setBaseSalary(new BigDecimal("50000.00"));
+        jobId = jobRoleRepository.save(jobRole).getJobId();
+    }
+
+    @Test
+    void testDebit_RefusedWhenBalanceIsShortAndNothingWritten() {
+        // Given
+        String employeeId = employee("short", "4");
+
+        // When
+        boolean first = leaveBalanceLedger.debit(employeeId, new BigDecimal("3"), "leave-1");
+        boolean second = leaveBalanceLedger.debit(employeeId, new BigDecimal("2"), "leave-2");
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(leaveBalanceLedger.balanceOf(employeeId)).isEqualByComparingTo("1");
+        assertThat(leaveBalanceLedger.history(employeeId)).extracting(LeaveLedgerEntry::getReferenceId)
+                .containsExactly("leave-1", null);
+    }
+
+    @Test
+    void testDebitInOrder_SkipsLeavesTheRemainingBalanceDoesNotCover() {
+        // Given
+        String employeeId = employee("ordered", "5");
+        Map<String, BigDecimal> leaves = new LinkedHashMap<>();
+        leaves.put("early", new BigDecimal("3"));
+        leaves.put("middle", new BigDecimal("4"));
+        leaves.put("late", new BigDecimal("2"));
+
+        // When
+        var refused = leaveBalanceLedger.debitInOrder(employeeId, leaves);
+
+        // Then
+        assertThat(refused).containsExactly("middle");
+        assertThat(leaveBalanceLedger.balanceOf(employeeId)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void testAdjustTo_AppendsTheDifference() {
+        // Given
+        String employeeId = employee("adjusted", "10");
+
+        // When
+        leaveBalanceLedger.adjustTo(employeeId, new BigDecimal("12.5"));
+
+        // Then
+        List<LeaveLedgerEntry> history = leaveBalanceLedger.history(employeeId);
+        assertThat(history.get(0).getEntryType()).isEqualTo(LeaveLedgerEntryType.Adjustment);
+        assertThat(history.get(0).getDays()).isEqualByComparingTo("2.5");
+        assertThat(leaveBalanceLedger.balanceOf(employeeId)).isEqualByComparingTo("12.5");
+    }
+
+    @Test
+    void testCompact_KeepsBalancesAndHistory() {
+        // Given
+        String employeeId = employee("compacted", "10");
+        String untouched = employee("untouched", "7");
+        leaveBalanceLedger.debit(employeeId, new BigDecimal("2"), "leave-1");
+        leaveBalanceLedger.compact();
+        leaveBalanceLedger.debit(employeeId, new BigDecimal("1"), "leave-2");
+
+        // When
+        int refreshed = leaveBalanceLedger.compact();
+
+        // Then - only the snapshot with newer entries is folded again
+        assertThat(refreshed).isEqualTo(1);
+        assertThat(leaveBalanceLedger.balanceOf(employeeId)).isEqualByComparingTo("7");
+        assertThat(leaveBalanceLedger.allBalances()).containsKeys(employeeId, untouched);
+        assertThat(leaveBalanceLedger.history(employeeId)).extracting(LeaveLedgerEntry::getSeq).containsExactly(3, 2, 1);
+
+        leaveBalanceLedger.debit(employeeId, new BigDecimal("7"), "leave-3");
+        assertThat(leaveBalanceLedger.balanceOf(employeeId)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void testDebit_Failure_WhenAnotherWriterTookTheSeq() {
+        // Given - a writer that read seq 4 loses the race for seq 5
+        LeaveLedgerRepository repository = mock(LeaveLedgerRepository.class);
+        when(repository.findPosition("emp-1")).thenReturn(List.<Object[]>of(new Object[]{4, new BigDecimal("10")}));
+        when(repository.insertEntry(eq("emp-1"), eq(5), anyString(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'emp-1-5'"));
+        LeaveBalanceLedger ledger = new LeaveBalanceLedger(repository);
+
+        // When / Then
+        assertThatThrownBy(() -> ledger.debit("emp-1", new BigDecimal("2"), "leave-1"))
+                .isInstanceOf(ConstraintViolationException.class)
+                .hasMessageContaining("changed concurrently");
+    }
+
+    // ====== Fixture ======
+
+    private String employee(String username, String openingBalance) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.Employee);
+        user = userRepository.save(user);
+
+        Employee employee = new Employee();
+        employee.setUserId(user.getUserId());
+        employee.setDepartmentId(departmentId);
+        employee.setJobId(jobId);
+        employee.setFirstName(username);
+        employee.setLastName("Test");
+        employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        String employeeId = employeeRepository.save(employee).getEmployeeId();
+        leaveBalanceLedger.open(employeeId, new BigDecimal(openingBalance));
+        return employeeId;
+    }
+}
@@ -1,14 +1,26 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.calendar.LeaveOccupancyIndex;
+import com.pms.backend.calendar.WorkingDayCalendar;
+import com.pms.backend.dto.CursorPage;
+import com.pms.backend.dto.KeysetCursor;
+import com.pms.backend.dto.leave.LeaveBulkDecisionDto;
+import com.pms.backend.dto.leave.LeaveBulkDecisionResponseDto;
+import com.pms.backend.dto.leave.LeaveDecisionResultDto;
 import com.pms.backend.dto.leave.LeaveRequestCreateDto;
+import com.pms.backend.dto.leave.LeaveRequestResponseDto;
 import com.pms.backend.dto.leave.LeaveStatusUpdateDto;
 import com.pms.backend.entity.Employee;
 import com.pms.backend.entity.LeaveRequest;
 import com.pms.backend.entity.enums.LeaveStatus;
 import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.event.LeaveRequestsChangedEvent;
 import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.exception.ResourceNotFoundException;
+import com.pms.backend.repository.DepartmentRepository;
 import com.pms.backend.repository.EmployeeRepository;
 import com.pms.backend.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -17,10 +29,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,18 +54,34 @@ class LeaveRequestServiceImplTest {
 
     @Mock private LeaveRequestRepository leaveRequestRepository;
     @Mock private EmployeeRepository employeeRepository;
+    @Mock private DepartmentRepository departmentRepository;
+    @Mock private LeaveStatisticsUpdater leaveStatisticsUpdater;
+    @Mock private LeaveOccupancyIndex leaveOccupancyIndex;
+    @Mock private WorkingDayCalendar workingDayCalendar;
+    @Mock private LeaveBalanceLedger leaveBalanceLedger;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private LeaveRequestServiceImpl leaveService;
 
+    @BeforeEach
+    void setup() {
+        // Every day is a working day unless a test says otherwise
+        when(workingDayCalendar.workingDaysBetween(any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation -> {
+            LocalDate from = invocation.getArgument(0);
+            LocalDate to = invocation.getArgument(1);
+            return (int) Math.max(0, ChronoUnit.DAYS.between(from, to) + 1);
+        });
+    }
+
     @Test
     void testApplyForLeave_Failure_WhenPaidDaysExceedBalance() {
         // Given
         String empId = "emp-1";
         Employee emp = new Employee();
         emp.setEmployeeId(empId);
-        emp.setLeaveBalance(new BigDecimal("3"));
         when(employeeRepository.findById(empId)).thenReturn(Optional.of(emp));
+        when(leaveBalanceLedger.balanceOf(empId)).thenReturn(new BigDecimal("3"));
 
         LeaveRequestCreateDto req = new LeaveRequestCreateDto(LeaveType.Paid,
                 LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 5), "Family");
@@ -60,15 +97,20 @@ class LeaveRequestServiceImplTest {
         String empId = "emp-2";
         Employee emp = new Employee();
         emp.setEmployeeId(empId);
-        emp.setLeaveBalance(new BigDecimal("10"));
         when(employeeRepository.findById(empId)).thenReturn(Optional.of(emp));
+        when(leaveBalanceLedger.balanceOf(empId)).thenReturn(new BigDecimal("10"));
+        when(leaveBalanceLedger.debit(eq(empId), any(), anyString())).thenReturn(true);
 
         LeaveRequestCreateDto req = new LeaveRequestCreateDto(LeaveType.Paid,
                 LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2), "Trip");
 
         when(leaveRequestRepository.findOverlappingLeaveRequests(eq(empId), any(), any(), isNull()))
                 .thenReturn(java.util.Collections.emptyList());
-        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> {
+            LeaveRequest saved = invocation.getArgument(0);
+            saved.setLeaveId("leave-new");
+            return saved;
+        });
 
         // When
         var result = leaveService.applyForLeave(empId, req);
@@ -116,8 +158,9 @@ class LeaveRequestServiceImplTest {
         String empId = "emp-1";
         Employee emp = new Employee();
         emp.setEmployeeId(empId);
-        emp.setLeaveBalance(new BigDecimal("10"));
         when(employeeRepository.findById(empId)).thenReturn(Optional.of(emp));
+        when(leaveBalanceLedger.balanceOf(empId)).thenReturn(new BigDecimal("10"));
+        when(leaveBalanceLedger.debit(eq(empId), any(), anyString())).thenReturn(true);
 
         LeaveRequest lr = new LeaveRequest();
         lr.setLeaveId("lr-1");
@@ -135,10 +178,9 @@ class LeaveRequestServiceImplTest {
         when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
         leaveService.updateLeaveStatus("lr-1", update);
 
-        // Then
-        ArgumentCaptor<Employee> empCaptor = ArgumentCaptor.forClass(Employee.class);
-        verify(employeeRepository).save(empCaptor.capture());
-        assertThat(empCaptor.getValue().getLeaveBalance()).isEqualByComparingTo(new BigDecimal("5"));
+        // Then - appended to the ledger, the employee row is never written
+        verify(leaveBalanceLedger).debit(empId, new BigDecimal("5"), "lr-1");
+        verify(employeeRepository, never()).save(any(Employee.class));
     }
 
     @Test
@@ -147,8 +189,9 @@ class LeaveRequestServiceImplTest {
         String empId = "emp-1";
         Employee emp = new Employee();
         emp.setEmployeeId(empId);
-        emp.setLeaveBalance(new BigDecimal("10"));
         when(employeeRepository.findById(empId)).thenReturn(Optional.of(emp));
+        when(leaveBalanceLedger.balanceOf(empId)).thenReturn(new BigDecimal("10"));
+        when(leaveBalanceLedger.debit(eq(empId), any(), anyString())).thenReturn(true);
 
         LeaveRequest lr = new LeaveRequest();
         lr.setLeaveId("lr-2");
@@ -167,8 +210,258 @@ class LeaveRequestServiceImplTest {
         leaveService.updateLeaveStatus("lr-2", update);
 
         // Then
+        verify(leaveBalanceLedger, never()).debit(anyString(), any(), anyString());
+    }
+
+    @Test
+    void testUpdateLeaveStatus_Reject_MovesStatisticsBucket() {
+        // Given
+        String empId = "emp-5";
+        Employee emp = new Employee();
+        emp.setEmployeeId(empId);
+        emp.setDepartmentId("dept-1");
+        when(employeeRepository.findById(empId)).thenReturn(Optional.of(emp));
+
+        LeaveRequest lr = new LeaveRequest();
+        lr.setLeaveId("lr-5");
+        lr.setEmployeeId(empId);
+        lr.setLeaveType(LeaveType.Casual);
+        lr.setStartDate(LocalDate.of(2025, 8, 1));
+        lr.setEndDate(LocalDate.of(2025, 8, 2));
+        lr.setStatus(LeaveStatus.Pending);
+        when(leaveRequestRepository.findById("lr-5")).thenReturn(Optional.of(lr));
+        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LeaveStatusUpdateDto update = new LeaveStatusUpdateDto();
+        update.setStatus(LeaveStatus.Rejected);
+
+        // When
+        leaveService.updateLeaveStatus("lr-5", update);
+
+        // Then
+        verify(leaveStatisticsUpdater).recordStatusChange(lr, "dept-1", LeaveStatus.Pending, LeaveStatus.Rejected);
+    }
+
+    @Test
+    void testGetLeaveRequestsPage_FetchesOneExtraRowAndEncodesCursor() {
+        // Given
+        LeaveRequest newest = new LeaveRequest();
+        newest.setLeaveId("lr-9");
+        newest.setCreatedAt(LocalDateTime.of(2025, 8, 3, 10, 0));
+        LeaveRequest older = new LeaveRequest();
+        older.setLeaveId("lr-8");
+        older.setCreatedAt(LocalDateTime.of(2025, 8, 2, 10, 0));
+        when(leaveRequestRepository.findPage(eq(LeaveStatus.Pending), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), argThat((Pageable p) -> p.getPageSize() == 2)))
+                .thenReturn(List.of(newest, older));
+
+        // When
+        CursorPage<LeaveRequestResponseDto> page = leaveService.getLeaveRequestsPage(
+                LeaveStatus.Pending, null, null, null, null, null, 1);
+
+        // Then
+        assertThat(page.getItems()).extracting(LeaveRequestResponseDto::getLeaveId).containsExactly("lr-9");
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor(), "leave-requests:createdAt", 2);
+        assertThat(next.getDateTime(0)).isEqualTo(newest.getCreatedAt());
+        assertThat(next.getString(1)).isEqualTo("lr-9");
+    }
+
+    @Test
+    void testGetLeaveRequestsPage_Failure_WhenLimitOutOfRange() {
+        assertThrows(BadRequestException.class,
+                () -> leaveService.getLeaveRequestsPage(null, null, null, null, null, null, 500));
+        verifyNoInteractions(leaveRequestRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDecideLeaveRequests_ApprovePaidLeave_DeductsOncePerEmployee() {
+        // Given - two paid requests for emp-1 (3 + 2 days) and a sick request for emp-2
+        List<LeaveRequest> requests = List.of(
+                leave("lr-1", "emp-1", LeaveType.Paid, 1, 3),
+                leave("lr-2", "emp-1", LeaveType.Paid, 10, 11),
+                leave("lr-3", "emp-2", LeaveType.Sick, 5, 5));
+        when(leaveRequestRepository.findForDecisionByLeaveIdIn(List.of("lr-1", "lr-2", "lr-3"))).thenReturn(requests);
+        when(leaveBalanceLedger.debitInOrder(eq("emp-1"), anyMap())).thenReturn(Set.of());
+        when(leaveRequestRepository.updatePendingStatus(anyCollection(), eq(LeaveStatus.Approved), any())).thenReturn(3);
+        List<Object[]> departments = new ArrayList<>();
+        departments.add(new Object[]{"emp-1", "dept-1"});
+        when(employeeRepository.findDepartmentIdsByIdIn(anyCollection())).thenReturn(departments);
+
+        // When
+        LeaveBulkDecisionResponseDto response = leaveService.decideLeaveRequests(
+                decision(LeaveStatus.Approved, "lr-1", "lr-2", "lr-3", "lr-1"));
+
+        // Then
+        assertThat(response.getRequestedCount()).isEqualTo(3);
+        assertThat(response.getSucceededCount()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(LeaveDecisionResultDto::getStatus).containsOnly(LeaveStatus.Approved);
+        verify(leaveBalanceLedger, times(1)).debitInOrder(anyString(), anyMap());
+        verify(leaveBalanceLedger).debitInOrder("emp-1", Map.of("lr-1", BigDecimal.valueOf(3), "lr-2", BigDecimal.valueOf(2)));
         verify(employeeRepository, never()).save(any(Employee.class));
+
+        ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(leaveRequestRepository).updatePendingStatus(ids.capture(), eq(LeaveStatus.Approved), any());
+        assertThat(ids.getValue()).containsExactly("lr-1", "lr-2", "lr-3");
+        verify(leaveStatisticsUpdater).recordStatusChanges(anyList(), any(), eq(LeaveStatus.Pending), eq(LeaveStatus.Approved));
     }
-}
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDecideLeaveRequests_FallsBackPerRequestWhenBalanceIsShort() {
+        // Given - 3 + 4 days requested, only the earlier 3-day request fits
+        when(leaveRequestRepository.findForDecisionByLeaveIdIn(anyCollection())).thenReturn(List.of(
+                leave("lr-late", "emp-1", LeaveType.Paid, 20, 23),
+                leave("lr-early", "emp-1", LeaveType.Paid, 1, 3)));
+        ArgumentCaptor<Map<String, BigDecimal>> debits = ArgumentCaptor.forClass(Map.class);
+        when(leaveBalanceLedger.debitInOrder(eq("emp-1"), debits.capture())).thenReturn(Set.of("lr-late"));
+        when(leaveRequestRepository.updatePendingStatus(eq(List.of("lr-early")), eq(LeaveStatus.Approved), any()))
+                .thenReturn(1);
+
+        // When
+        LeaveBulkDecisionResponseDto response = leaveService.decideLeaveRequests(
+                decision(LeaveStatus.Approved, "lr-late", "lr-early"));
+
+        // Then - results keep the input order
+        assertThat(response.getSucceededCount()).isEqualTo(1);
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        LeaveDecisionResultDto late = response.getResults().get(0);
+        assertThat(late.getLeaveId()).isEqualTo("lr-late");
+        assertThat(late.isSuccess()).isFalse();
+        assertThat(late.getStatus()).isEqualTo(LeaveStatus.Pending);
+        assertThat(late.getMessage()).contains("Insufficient paid leave balance");
+        assertThat(response.getResults().get(1).isSuccess()).isTrue();
+        assertThat(debits.getValue().keySet()).containsExactly("lr-early", "lr-late");
+    }
+
+    @Test
+    void testDecideLeaveRequests_Reject_ReportsMissingAndDecidedRequestsWithoutDeducting() {
+        // Given
+        LeaveRequest approved = leave("lr-2", "emp-1", LeaveType.Paid, 1, 2);
+        approved.setStatus(LeaveStatus.Approved);
+        when(leaveRequestRepository.findForDecisionByLeaveIdIn(anyCollection())).thenReturn(List.of(
+                leave("lr-1", "emp-1", LeaveType.Paid, 5, 6), approved));
+        when(leaveRequestRepository.updatePendingStatus(eq(List.of("lr-1")), eq(LeaveStatus.Rejected), any())).thenReturn(1);
+
+        // When
+        LeaveBulkDecisionResponseDto response = leaveService.decideLeaveRequests(
+                decision(LeaveStatus.Rejected, "lr-1", "lr-2", "lr-missing"));
+
+        // Then
+        assertThat(response.getResults()).extracting(LeaveDecisionResultDto::isSuccess).containsExactly(true, false, false);
+        assertThat(response.getResults().get(1).getMessage()).contains("Only pending");
+        assertThat(response.getResults().get(2).getMessage()).contains("not found");
+        verifyNoInteractions(leaveBalanceLedger);
+    }
+
+    @Test
+    void testDecideLeaveRequests_Failure_WhenStatusIsPending() {
+        assertThrows(BadRequestException.class,
+                () -> leaveService.decideLeaveRequests(decision(LeaveStatus.Pending, "lr-1")));
+        verifyNoInteractions(leaveRequestRepository);
+    }
+
+    private LeaveRequest leave(String leaveId, String employeeId, LeaveType type, int startDay, int endDay) {
+        LeaveRequest lr = new LeaveRequest();
+        lr.setLeaveId(leaveId);
+        lr.setEmployeeId(employeeId);
+        lr.setLeaveType(type);
+        lr.setStartDate(LocalDate.of(2025, 9, startDay));
+        lr.setEndDate(LocalDate.of(2025, 9, endDay));
+        lr.setStatus(LeaveStatus.Pending);
+        return lr;
+    }
+
+    private LeaveBulkDecisionDto decision(LeaveStatus status, String... leaveIds) {
+        LeaveBulkDecisionDto dto = new LeaveBulkDecisionDto();
+        dto.setStatus(status);
+        dto.setLeaveIds(List.of(leaveIds));
+        return dto;
+    }
+
+    @Test
+    void testCancelLeaveRequest_PublishesChangeForAvailabilityIndex() {
+        // Given
+        LeaveRequest request = new LeaveRequest();
+        request.setLeaveId("leave-1");
+        request.setEmployeeId("emp-1");
+        request.setStatus(LeaveStatus.Pending);
+        when(leaveRequestRepository.findById("leave-1")).thenReturn(Optional.of(request));
+
+        // When
+        leaveService.cancelLeaveRequest("leave-1", "emp-1");
+
+        // Then
+        ArgumentCaptor<LeaveRequestsChangedEvent> event = ArgumentCaptor.forClass(LeaveRequestsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getLeaveIds()).containsExactly("leave-1");
+    }
+
+    @Test
+    void testGetTeamAvailability_ValidatesWindowAndDepartment() {
+        // Given
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        when(departmentRepository.existsById("dept-x")).thenReturn(false);
+
+        // When / Then
+        assertThrows(BadRequestException.class,
+                () -> leaveService.getTeamAvailability("dept-1", from, from.minusDays(1)));
+        assertThrows(BadRequestException.class,
+                () -> leaveService.getTeamAvailability("dept-1", from, from.plusDays(366)));
+        assertThrows(ResourceNotFoundException.class,
+                () -> leaveService.getTeamAvailability("dept-x", from, from.plusDays(90)));
+        verifyNoInteractions(leaveOccupancyIndex);
+    }
 
+    @Test
+    void testUpdateLeaveStatus_ApprovePaidLeave_DeductsWorkingDaysOnly() {
+        // Given - Fri 1 Aug to Tue 5 Aug 2025 spans a weekend: 3 working days
+        String empId = "emp-1";
+        Employee emp = new Employee();
+        emp.setEmployeeId(empId);
+        when(employeeRepository.findById(empId)).thenReturn(Optional.of(emp));
+        when(leaveBalanceLedger.balanceOf(empId)).thenReturn(new BigDecimal("10"));
+        when(leaveBalanceLedger.debit(eq(empId), any(), anyString())).thenReturn(true);
+        when(workingDayCalendar.workingDaysBetween(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 5))).thenReturn(3);
+
+        LeaveRequest lr = new LeaveRequest();
+        lr.setLeaveId("lr-1");
+        lr.setEmployeeId(empId);
+        lr.setLeaveType(LeaveType.Paid);
+        lr.setStartDate(LocalDate.of(2025, 8, 1));
+        lr.setEndDate(LocalDate.of(2025, 8, 5));
+        lr.setStatus(LeaveStatus.Pending);
+        when(leaveRequestRepository.findById("lr-1")).thenReturn(Optional.of(lr));
+        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LeaveStatusUpdateDto update = new LeaveStatusUpdateDto();
+        update.setStatus(LeaveStatus.Approved);
+
+        // When
+        LeaveRequestResponseDto response = leaveService.updateLeaveStatus("lr-1", update);
+
+        // Then
+        verify(leaveBalanceLedger).debit(empId, new BigDecimal("3"), "lr-1");
+        assertThat(response.getDurationInDays()).isEqualTo(5);
+        assertThat(response.getWorkingDays()).isEqualTo(3);
+    }
+
+    @Test
+    void testApplyForLeave_Failure_WhenNoWorkingDay() {
+        // Given - a weekend only
+        String empId = "emp-1";
+        Employee emp = new Employee();
+        emp.setEmployeeId(empId);
+        when(employeeRepository.findById(empId)).thenReturn(Optional.of(emp));
+        when(leaveBalanceLedger.balanceOf(empId)).thenReturn(new BigDecimal("10"));
+        when(leaveBalanceLedger.debit(eq(empId), any(), anyString())).thenReturn(true);
+        when(workingDayCalendar.workingDaysBetween(LocalDate.of(2025, 8, 2), LocalDate.of(2025, 8, 3))).thenReturn(0);
+
+        LeaveRequestCreateDto req = new LeaveRequestCreateDto(LeaveType.Sick,
+                LocalDate.of(2025, 8, 2), LocalDate.of(2025, 8, 3), "Flu");
+
+        // When / Then
+        assertThrows(BadRequestException.class, () -> leaveService.applyForLeave(empId, req));
+        verify(leaveRequestRepository, never()).save(any(LeaveRequest.class));
+    }
+}
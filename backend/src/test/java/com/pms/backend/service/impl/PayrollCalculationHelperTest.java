@@ -0,0 +1,65 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.calendar.WorkingDayCalendar;
+import com.pms.backend.entity.LeaveRequest;
+import com.pms.backend.entity.enums.LeaveStatus;
+import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollCalculationHelperTest {
+
+    @Mock private LeaveRequestRepository leaveRequestRepository;
+    @Mock private WorkingDayCalendar workingDayCalendar;
+
+    @InjectMocks
+    private PayrollCalculationHelper calculationHelper;
+
+    @Test
+    void testLossOfPay_DeductsWorkingDaysAtWorkingDayRate() {
+        // Given - sick leave 30 Jul to 5 Aug 2025; in August that is Fri 1 to Tue 5, 3 working days of 21
+        LocalDate monthStart = LocalDate.of(2025, 8, 1);
+        LocalDate monthEnd = LocalDate.of(2025, 8, 31);
+        LeaveRequest sick = new LeaveRequest();
+        sick.setEmployeeId("emp-1");
+        sick.setLeaveType(LeaveType.Sick);
+        sick.setStatus(LeaveStatus.Approved);
+        sick.setStartDate(LocalDate.of(2025, 7, 30));
+        sick.setEndDate(LocalDate.of(2025, 8, 5));
+        when(leaveRequestRepository.findApprovedUnpaidLeaveOverlapping("emp-1", monthStart, monthEnd))
+                .thenReturn(List.of(sick));
+        when(workingDayCalendar.workingDaysBetween(monthStart, LocalDate.of(2025, 8, 5))).thenReturn(3);
+
+        // When - annual 1,260,000 is 105,000 a month, 5,000 per working day
+        BigDecimal deduction = calculationHelper.calculateLossOfPayDeduction(
+                "emp-1", monthStart, monthEnd, new BigDecimal("1260000"), 21);
+
+        // Then
+        assertThat(deduction).isEqualByComparingTo(new BigDecimal("15000"));
+    }
+
+    @Test
+    void testLossOfPay_ZeroWithoutUnpaidLeave() {
+        // Given
+        LocalDate monthStart = LocalDate.of(2025, 8, 1);
+        LocalDate monthEnd = LocalDate.of(2025, 8, 31);
+        when(leaveRequestRepository.findApprovedUnpaidLeaveOverlapping("emp-1", monthStart, monthEnd))
+                .thenReturn(List.of());
+
+        // When / Then
+        assertThat(calculationHelper.calculateLossOfPayDeduction(
+                "emp-1", monthStart, monthEnd, new BigDecimal("1260000"), 21)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+}
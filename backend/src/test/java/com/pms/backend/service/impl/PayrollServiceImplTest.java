@@ -1,11 +1,13 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.calendar.WorkingDayCalendar;
 import com.pms.backend.dto.payroll.PayrollRunCreateRequest;
 import com.pms.backend.entity.Employee;
 import com.pms.backend.entity.PayrollItem;
 import com.pms.backend.entity.PayrollRun;
 import com.pms.backend.entity.SalaryStructure;
 import com.pms.backend.entity.enums.PayrollStatus;
+import com.pms.backend.event.PayrollRunLockedEvent;
 import com.pms.backend.exception.BadRequestException;
 import com.pms.backend.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,8 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,6 +40,10 @@ class PayrollServiceImplTest {
     @Mock private SalaryStructureRepository salaryStructureRepository;
     @Mock private LeaveRequestRepository leaveRequestRepository;
     @Mock private PayrollCalculationHelper calculationHelper;
+    @Mock private PayrollCostRollupRepository payrollCostRollupRepository;
+    @Mock private WorkingDayCalendar workingDayCalendar;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private PayrollTraceSampler traceSampler;
 
     @InjectMocks
     private PayrollServiceImpl payrollService;
@@ -389,6 +397,50 @@ class PayrollServiceImplTest {
         // When / Then
         assertThrows(BadRequestException.class, () -> payrollService.createPayrollRun(req));
     }
-}
 
+    @Test
+    void testLockPayrollRun_PublishesLockedEvent() {
+        // Given
+        PayrollRun run = createRun("run-16", 2025, 8, PayrollStatus.Processed);
+        when(payrollRunRepository.findById("run-16")).thenReturn(Optional.of(run));
+
+        // When
+        payrollService.lockPayrollRun("run-16");
+
+        // Then
+        ArgumentCaptor<PayrollRunLockedEvent> eventCaptor = ArgumentCaptor.forClass(PayrollRunLockedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getRunId()).isEqualTo("run-16");
+        assertThat(run.getStatus()).isEqualTo(PayrollStatus.Locked);
+        InOrder inOrder = inOrder(payrollCostRollupRepository);
+        inOrder.verify(payrollCostRollupRepository).deleteByRunId("run-16");
+        inOrder.verify(payrollCostRollupRepository).insertRollupsForRun("run-16");
+    }
+
+    @Test
+    void testProcessPayrollRun_TagsLogsWithRunAndEmployee() {
+        // Given
+        PayrollRun run = createRun("run-17", 2025, 8, PayrollStatus.Draft);
+        when(payrollRunRepository.findById("run-17")).thenReturn(Optional.of(run));
+        when(employeeRepository.findAll()).thenReturn(Collections.singletonList(employee));
+        when(salaryStructureRepository.findActiveStructureForEmployee(eq("emp-1"), any(LocalDate.class)))
+                .thenReturn(Optional.of(salaryStructure));
+        when(traceSampler.isSampled("emp-1")).thenReturn(true);
+        Map<String, String> contextDuringCalculation = new HashMap<>();
+        when(calculationHelper.calculateBonus(eq(salaryStructure), any(BigDecimal.class))).thenAnswer(invocation -> {
+            contextDuringCalculation.putAll(MDC.getCopyOfContextMap());
+            return BigDecimal.ZERO;
+        });
+        when(calculationHelper.calculateLossOfPayDeduction(eq("emp-1"), any(), any(), any(BigDecimal.class), anyInt()))
+                .thenReturn(BigDecimal.ZERO);
+
+        // When
+        payrollService.processPayrollRun("run-17");
 
+        // Then
+        assertThat(contextDuringCalculation).containsEntry("runId", "run-17").containsEntry("employeeId", "emp-1");
+        assertThat(MDC.get("runId")).isNull();
+        assertThat(MDC.get("employeeId")).isNull();
+        verify(traceSampler).isSampled("emp-1");
+    }
+}
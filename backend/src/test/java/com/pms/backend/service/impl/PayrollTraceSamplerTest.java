@@ -0,0 +1,35 @@
+package com.pms.backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayrollTraceSamplerTest {
+
+    @Test
+    void testIsSampled_OffByDefaultAndEveryoneAtOne() {
+        // Given
+        PayrollTraceSampler off = new PayrollTraceSampler(0);
+        PayrollTraceSampler all = new PayrollTraceSampler(1);
+
+        // Then
+        assertThat(off.isSampled("emp-1")).isFalse();
+        assertThat(all.isSampled("emp-1")).isTrue();
+    }
+
+    @Test
+    void testIsSampled_PicksAboutTheRateAndTheSameEmployeesEachTime() {
+        // Given
+        PayrollTraceSampler sampler = new PayrollTraceSampler(0.1);
+
+        // When
+        long sampled = IntStream.range(0, 10_000).filter(i -> sampler.isSampled("emp-" + i)).count();
+
+        // Then
+        assertThat(sampled).isBetween(800L, 1200L);
+        IntStream.range(0, 100).forEach(i -> assertThat(new PayrollTraceSampler(0.1).isSampled("emp-" + i))
+                .isEqualTo(sampler.isSampled("emp-" + i)));
+    }
+}
@@ -0,0 +1,197 @@
+package com.pms.backend.service.impl;
+
+import com.pms.backend.analytics.PayrollColumnStore;
+import com.pms.backend.dto.report.CubeDimension;
+import com.pms.backend.dto.report.CubeMeasure;
+import com.pms.backend.dto.report.LeaveTrendDto;
+import com.pms.backend.dto.report.PayrollCubeDto;
+import com.pms.backend.dto.report.PayrollCubeQuery;
+import com.pms.backend.dto.report.RankedEntryDto;
+import com.pms.backend.dto.report.RankedPage;
+import com.pms.backend.dto.report.RankingType;
+import com.pms.backend.entity.Department;
+import com.pms.backend.entity.enums.LeaveType;
+import com.pms.backend.entity.enums.PayrollStatus;
+import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.repository.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportServiceImplTest {
+
+    @Mock private PayrollItemRepository payrollItemRepository;
+    @Mock private LeaveRequestRepository leaveRequestRepository;
+    @Mock private LeaveStatisticRepository leaveStatisticRepository;
+    @Mock private DepartmentRepository departmentRepository;
+    @Mock private JobRoleRepository jobRoleRepository;
+    @Mock private PayrollCostRollupRepository payrollCostRollupRepository;
+    @Mock private PayrollColumnStore payrollColumnStore;
+
+    @InjectMocks
+    private ReportServiceImpl reportService;
+
+    @Test
+    void testGetPayrollCostCube_MapsDimensionsAndMeasuresInRequestOrder() {
+        // Given
+        Department engineering = new Department();
+        engineering.setDepartmentId("dept-1");
+        engineering.setDepartmentName("Engineering");
+        when(departmentRepository.findAll()).thenReturn(List.of(engineering));
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"dept-1", PayrollStatus.Locked, new BigDecimal("5000.00"), 4L});
+        when(payrollCostRollupRepository.aggregateCube(any(PayrollCubeQuery.class))).thenReturn(rows);
+
+        PayrollCubeQuery query = new PayrollCubeQuery();
+        query.setDimensions(Arrays.asList(CubeDimension.DEPARTMENT, CubeDimension.RUN_STATUS));
+        query.setMeasures(Arrays.asList(CubeMeasure.NET, CubeMeasure.HEADCOUNT));
+
+        // When
+        PayrollCubeDto cube = reportService.getPayrollCostCube(query);
+
+        // Then
+        assertThat(cube.getDimensions()).containsExactly("department", "runStatus");
+        assertThat(cube.getMeasures()).containsExactly("net", "headcount");
+        assertThat(cube.getRows()).hasSize(1);
+        assertThat(cube.getRows().get(0))
+                .containsEntry("department", "dept-1")
+                .containsEntry("departmentName", "Engineering")
+                .containsEntry("runStatus", "Locked")
+                .containsEntry("net", new BigDecimal("5000.00"))
+                .containsEntry("headcount", 4L);
+        verify(jobRoleRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetPayrollCostCube_DefaultsToAllMeasures() {
+        // Given
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ONE, 1L});
+        when(payrollCostRollupRepository.aggregateCube(any(PayrollCubeQuery.class))).thenReturn(rows);
+
+        // When
+        PayrollCubeDto cube = reportService.getPayrollCostCube(new PayrollCubeQuery());
+
+        // Then
+        assertThat(cube.getDimensions()).isEmpty();
+        assertThat(cube.getMeasures()).containsExactly("base", "bonus", "deductions", "net", "headcount");
+        assertThat(cube.getRows().get(0)).hasSize(5);
+    }
+
+    @Test
+    void testGetLeaveTrendsReport_ReadsCountersWhenNoDateRange() {
+        // Given
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{LeaveType.Sick, 3L, 2L, 1L, 0L, 4L});
+        when(leaveStatisticRepository.getLeaveTrendsReport(2025)).thenReturn(rows);
+
+        // When
+        List<LeaveTrendDto> trends = reportService.getLeaveTrendsReport(null, null, 2025);
+
+        // Then
+        assertThat(trends).hasSize(1);
+        assertThat(trends.get(0).getTotalRequests()).isEqualTo(3L);
+        assertThat(trends.get(0).getTotalApprovedDays()).isEqualTo(4L);
+        verify(leaveRequestRepository, never()).getLeaveTrendsReport(any(), any(), any());
+    }
+
+    @Test
+    void testGetLeaveTrendsReport_FallsBackToRowsForDateRange() {
+        // Given
+        LocalDate start = LocalDate.of(2025, 3, 10);
+        LocalDate end = LocalDate.of(2025, 4, 20);
+        when(leaveRequestRepository.getLeaveTrendsReport(start, end, null)).thenReturn(new ArrayList<>());
+
+        // When
+        reportService.getLeaveTrendsReport(start, end, null);
+
+        // Then
+        verify(leaveRequestRepository).getLeaveTrendsReport(start, end, null);
+        verify(leaveStatisticRepository, never()).getLeaveTrendsReport(any());
+    }
+
+    @Test
+    void testGetRanking_LeaveDays_PushesOffsetAndLimitToDatabase() {
+        // Given - a full window, so the total comes from the count query
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"emp-21", "Asha", "Rao", "Engineering", 12L});
+        rows.add(new Object[]{"emp-22", "Ben", "Lee", "Finance", 11L});
+        when(leaveRequestRepository.getTopLeaveTakingEmployees(eq(2025), isNull(),
+                argThat(p -> p.getOffset() == 20 && p.getPageSize() == 2))).thenReturn(rows);
+        when(leaveRequestRepository.countLeaveTakingEmployees(2025, null)).thenReturn(100000L);
+
+        // When
+        RankedPage<RankedEntryDto> page = reportService.getRanking(RankingType.LEAVE_DAYS, 2025, null, 20, 2);
+
+        // Then
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getItems().get(0).getRank()).isEqualTo(21L);
+        assertThat(page.getItems().get(0).getLabel()).isEqualTo("Asha Rao");
+        assertThat(page.getItems().get(1).getValue()).isEqualByComparingTo("11");
+        assertThat(page.getTotal()).isEqualTo(100000L);
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @Test
+    void testGetRanking_DepartmentSpend_SelectsWindowFromColumnStore() {
+        // Given
+        PayrollColumnStore.Aggregate low = mock(PayrollColumnStore.Aggregate.class);
+        when(low.getDepartmentId()).thenReturn("dept-low");
+        when(low.getNetCents()).thenReturn(100L);
+        PayrollColumnStore.Aggregate high = mock(PayrollColumnStore.Aggregate.class);
+        when(high.getDepartmentId()).thenReturn("dept-high");
+        when(high.getNetCents()).thenReturn(900L);
+        when(high.getTotalNetSalary()).thenReturn(new BigDecimal("9.00"));
+        when(payrollColumnStore.isReady()).thenReturn(true);
+        when(payrollColumnStore.aggregateByDepartment(2025, null, null, null)).thenReturn(List.of(low, high));
+
+        Department department = new Department();
+        department.setDepartmentId("dept-high");
+        department.setDepartmentName("Sales");
+        when(departmentRepository.findAllById(List.of("dept-high"))).thenReturn(List.of(department));
+
+        // When
+        RankedPage<RankedEntryDto> page = reportService.getRanking(RankingType.DEPARTMENT_SPEND, 2025, null, 0, 1);
+
+        // Then
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getItems().get(0).getId()).isEqualTo("dept-high");
+        assertThat(page.getItems().get(0).getLabel()).isEqualTo("Sales");
+        assertThat(page.getTotal()).isEqualTo(2L);
+        verify(payrollItemRepository, never()).getDepartmentSpendRanking(any(), any());
+    }
+
+    @Test
+    void testGetRanking_RejectsOversizedLimit() {
+        assertThrows(BadRequestException.class,
+                () -> reportService.getRanking(RankingType.LEAVE_DAYS, null, null, 0, 1000));
+    }
+
+    @Test
+    void testGetRanking_RejectsOversizedOffset() {
+        assertThrows(BadRequestException.class,
+                () -> reportService.getRanking(RankingType.DEPARTMENT_SPEND, 2026, null, Integer.MAX_VALUE, 10));
+        verifyNoInteractions(payrollColumnStore, payrollItemRepository);
+    }
+}
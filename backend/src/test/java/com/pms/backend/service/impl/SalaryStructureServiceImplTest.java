@@ -1,8 +1,12 @@
 package com.pms.backend.service.impl;
 
+import com.pms.backend.dto.salary.SalaryAdjustmentType;
+import com.pms.backend.dto.salary.SalaryRevisionRequest;
+import com.pms.backend.dto.salary.SalaryRevisionResult;
 import com.pms.backend.dto.salary.SalaryStructureRequest;
 import com.pms.backend.entity.SalaryStructure;
 import com.pms.backend.exception.BadRequestException;
+import com.pms.backend.exception.ConstraintViolationException;
 import com.pms.backend.exception.ResourceNotFoundException;
 import com.pms.backend.repository.EmployeeRepository;
 import com.pms.backend.repository.SalaryStructureRepository;
@@ -15,8 +19,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -76,6 +82,79 @@ class SalaryStructureServiceImplTest {
         assertThatThrownBy(() -> salaryService.deleteStructure("missing"))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
-}
 
+    @Test
+    void reviseSalaries_DryRun_ShouldPreviewWithoutWriting() {
+        SalaryRevisionRequest req = revision(SalaryAdjustmentType.Percentage, "7.5");
+        when(salaryStructureRepository.countRevisionSelection(req)).thenReturn(3L);
+        when(salaryStructureRepository.findRevisableStructures(req)).thenReturn(List.of(
+                revisable("emp-1", "1000.05"),
+                revisable("emp-2", "2000.00")));
+
+        SalaryRevisionResult result = salaryService.reviseSalaries(req, true);
+
+        assertThat(result.isDryRun()).isTrue();
+        assertThat(result.getRevisedCount()).isEqualTo(2);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getLines()).extracting("newBaseSalary")
+                .containsExactly(new BigDecimal("1075.05"), new BigDecimal("2150.00"));
+        assertThat(result.getNewBaseTotal()).isEqualByComparingTo("3225.05");
+        verify(salaryStructureRepository, never()).insertRevisedStructures(any(), any(), any(), any());
+        verify(salaryStructureRepository, never()).closeRevisedStructures(any(), any());
+    }
+
+    @Test
+    void reviseSalaries_ShouldInsertThenCloseWithSetBasedStatements() {
+        SalaryRevisionRequest req = revision(SalaryAdjustmentType.Fixed, "250");
+        when(salaryStructureRepository.countRevisionSelection(req)).thenReturn(2L);
+        when(salaryStructureRepository.findRevisableStructures(req)).thenReturn(List.of(
+                revisable("emp-1", "1000.00"),
+                revisable("emp-2", "2000.00")));
+        when(salaryStructureRepository.insertRevisedStructures(eq(req), any(), any(), any())).thenReturn(2);
+        when(salaryStructureRepository.closeRevisedStructures(eq(req), any())).thenReturn(2);
+
+        SalaryRevisionResult result = salaryService.reviseSalaries(req, false);
+
+        assertThat(result.getRevisedCount()).isEqualTo(2);
+        verify(salaryStructureRepository).insertRevisedStructures(eq(req), eq(BigDecimal.ONE), eq(new BigDecimal("250")), any());
+        verify(salaryStructureRepository, never()).save(any());
+    }
+
+    @Test
+    void reviseSalaries_ShouldThrow_WhenStructuresChangeDuringRevision() {
+        SalaryRevisionRequest req = revision(SalaryAdjustmentType.Percentage, "5");
+        when(salaryStructureRepository.findRevisableStructures(req)).thenReturn(List.<Object[]>of(revisable("emp-1", "1000.00")));
+        when(salaryStructureRepository.insertRevisedStructures(eq(req), any(), any(), any())).thenReturn(1);
+        when(salaryStructureRepository.closeRevisedStructures(eq(req), any())).thenReturn(2);
+
+        assertThatThrownBy(() -> salaryService.reviseSalaries(req, false))
+                .isInstanceOf(ConstraintViolationException.class);
+    }
+
+    @Test
+    void reviseSalaries_ShouldThrow_WhenNoSelectorOrSalaryWouldDropToZero() {
+        SalaryRevisionRequest unselected = revision(SalaryAdjustmentType.Percentage, "5");
+        unselected.setDepartmentId(null);
+        assertThatThrownBy(() -> salaryService.reviseSalaries(unselected, true))
+                .isInstanceOf(BadRequestException.class);
+
+        SalaryRevisionRequest cut = revision(SalaryAdjustmentType.Fixed, "-1000");
+        when(salaryStructureRepository.findRevisableStructures(cut)).thenReturn(List.<Object[]>of(revisable("emp-1", "1000.00")));
+        assertThatThrownBy(() -> salaryService.reviseSalaries(cut, true))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("emp-1");
+    }
+
+    private SalaryRevisionRequest revision(SalaryAdjustmentType type, String value) {
+        SalaryRevisionRequest req = new SalaryRevisionRequest();
+        req.setDepartmentId("dept-1");
+        req.setAdjustmentType(type);
+        req.setAdjustmentValue(new BigDecimal(value));
+        req.setEffectiveFrom(LocalDate.of(2025, 4, 1));
+        return req;
+    }
 
+    private Object[] revisable(String employeeId, String baseSalary) {
+        return new Object[]{employeeId, "First", "Last", "s-" + employeeId, LocalDate.of(2024, 1, 1), new BigDecimal(baseSalary)};
+    }
+}
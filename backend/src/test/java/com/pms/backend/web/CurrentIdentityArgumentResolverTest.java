@@ -0,0 +1,116 @@
+package com.pms.backend.web;
+
+import com.pms.backend.entity.User;
+import com.pms.backend.entity.enums.Role;
+import com.pms.backend.exception.ResourceNotFoundException;
+import com.pms.backend.repository.EmployeeRepository;
+import com.pms.backend.repository.UserRepository;
+import com.pms.backend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentIdentityArgumentResolverTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private CurrentIdentityArgumentResolver resolver;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testResolve_UsesTokenClaimsWithoutQueries() throws Exception {
+        // Given
+        User user = new User();
+        user.setUserId("u-1");
+        user.setUsername("asha");
+        user.setRole(Role.Employee);
+        UserPrincipal principal = UserPrincipal.fromUser(user, "emp-1");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // When / Then
+        assertThat(resolver.resolveArgument(parameter(1), null, request, null)).isEqualTo("u-1");
+        assertThat(resolver.resolveArgument(parameter(0), null, request, null)).isEqualTo("emp-1");
+        verifyNoInteractions(userRepository, employeeRepository);
+    }
+
+    @Test
+    void testResolve_FallsBackToIdQueriesOncePerRequest() throws Exception {
+        // Given - a principal without claims, e.g. a test user
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("asha", null, List.of()));
+        User user = new User();
+        user.setUserId("u-1");
+        when(userRepository.findByUsername("asha")).thenReturn(Optional.of(user));
+        when(employeeRepository.findIdByUserId("u-1")).thenReturn(Optional.of("emp-1"));
+        NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // When
+        Object first = resolver.resolveArgument(parameter(0), null, request, null);
+        Object second = resolver.resolveArgument(parameter(0), null, request, null);
+
+        // Then
+        assertThat(first).isEqualTo("emp-1");
+        assertThat(second).isEqualTo("emp-1");
+        verify(userRepository, times(1)).findByUsername("asha");
+        verify(employeeRepository, times(1)).findIdByUserId("u-1");
+    }
+
+    @Test
+    void testResolve_Failure_WhenUserHasNoEmployeeRecord() throws Exception {
+        // Given
+        User user = new User();
+        user.setUserId("u-9");
+        user.setUsername("admin");
+        user.setRole(Role.Admin);
+        UserPrincipal principal = UserPrincipal.fromUser(user, null);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(employeeRepository.findIdByUserId("u-9")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> resolver.resolveArgument(
+                parameter(0), null, new ServletWebRequest(new MockHttpServletRequest()), null));
+    }
+
+    @Test
+    void testSupportsParameter_OnlyAnnotatedStrings() throws Exception {
+        assertThat(resolver.supportsParameter(parameter(0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(1))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(2))).isFalse();
+    }
+
+    private MethodParameter parameter(int index) throws NoSuchMethodException {
+        return new MethodParameter(Handler.class.getDeclaredMethod("handle", String.class, String.class, String.class), index);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handler {
+        void handle(@CurrentEmployee String employeeId, @CurrentUser String userId, String other) {
+        }
+    }
+}